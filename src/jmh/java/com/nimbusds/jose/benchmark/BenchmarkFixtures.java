@@ -0,0 +1,204 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.benchmark;
+
+
+import java.util.*;
+
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.Ed25519Signer;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.*;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.OctetKeyPairGenerator;
+import com.nimbusds.jose.jwk.gen.OctetSequenceKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+
+/**
+ * Shared fixtures for the JMH benchmarks: keys, JWK sets and tokens shaped
+ * like those issued by a typical OpenID provider.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+public final class BenchmarkFixtures {
+
+
+	/**
+	 * The issuer of the benchmark tokens.
+	 */
+	public static final String ISSUER = "https://c2id.com";
+
+
+	/**
+	 * The audience of the benchmark tokens.
+	 */
+	public static final String AUDIENCE = "https://api.example.com";
+
+
+	/**
+	 * Generates a signing key for the specified JWS algorithm.
+	 *
+	 * @param alg The JWS algorithm, HS256, RS256, ES256 or EdDSA.
+	 *
+	 * @return The JWK, with a key ID.
+	 */
+	public static JWK generateSigningKey(final JWSAlgorithm alg)
+		throws JOSEException {
+
+		String kid = alg.getName().toLowerCase() + "-" + UUID.randomUUID();
+
+		if (JWSAlgorithm.HS256.equals(alg)) {
+			return new OctetSequenceKeyGenerator(256)
+				.keyID(kid)
+				.algorithm(alg)
+				.generate();
+		} else if (JWSAlgorithm.RS256.equals(alg)) {
+			return new RSAKeyGenerator(2048)
+				.keyID(kid)
+				.keyUse(KeyUse.SIGNATURE)
+				.algorithm(alg)
+				.generate();
+		} else if (JWSAlgorithm.ES256.equals(alg)) {
+			return new ECKeyGenerator(Curve.P_256)
+				.keyID(kid)
+				.keyUse(KeyUse.SIGNATURE)
+				.algorithm(alg)
+				.generate();
+		} else if (JWSAlgorithm.EdDSA.equals(alg)) {
+			return new OctetKeyPairGenerator(Curve.Ed25519)
+				.keyID(kid)
+				.keyUse(KeyUse.SIGNATURE)
+				.algorithm(alg)
+				.generate();
+		}
+
+		throw new IllegalArgumentException("Unsupported benchmark JWS algorithm: " + alg);
+	}
+
+
+	/**
+	 * Creates a signer for the specified JWK.
+	 *
+	 * @param jwk The JWK.
+	 *
+	 * @return The JWS signer.
+	 */
+	public static JWSSigner createSigner(final JWK jwk)
+		throws JOSEException {
+
+		if (jwk instanceof OctetSequenceKey) {
+			return new MACSigner((OctetSequenceKey) jwk);
+		} else if (jwk instanceof RSAKey) {
+			return new RSASSASigner((RSAKey) jwk);
+		} else if (jwk instanceof ECKey) {
+			return new ECDSASigner((ECKey) jwk);
+		} else if (jwk instanceof OctetKeyPair) {
+			return new Ed25519Signer((OctetKeyPair) jwk);
+		}
+
+		throw new IllegalArgumentException("Unsupported benchmark JWK: " + jwk.getKeyType());
+	}
+
+
+	/**
+	 * Creates a claims set resembling an OAuth 2.0 access token.
+	 *
+	 * @return The JWT claims set.
+	 */
+	public static JWTClaimsSet createClaimsSet() {
+
+		Date now = new Date();
+
+		return new JWTClaimsSet.Builder()
+			.issuer(ISSUER)
+			.subject("alice@example.com")
+			.audience(AUDIENCE)
+			.issueTime(now)
+			.notBeforeTime(now)
+			.expirationTime(new Date(now.getTime() + 24 * 3600 * 1000L))
+			.jwtID(UUID.randomUUID().toString())
+			.claim("client_id", "000123")
+			.claim("scope", "openid email profile api:read api:write")
+			.claim("roles", Arrays.asList("admin", "audit", "support"))
+			.claim("tenant", "acme")
+			.build();
+	}
+
+
+	/**
+	 * Creates a signed JWT with the specified key.
+	 *
+	 * @param alg The JWS algorithm.
+	 * @param jwk The signing JWK.
+	 *
+	 * @return The serialised signed JWT.
+	 */
+	public static String createSignedJWT(final JWSAlgorithm alg, final JWK jwk)
+		throws JOSEException {
+
+		SignedJWT jwt = new SignedJWT(
+			new JWSHeader.Builder(alg)
+				.type(JOSEObjectType.JWT)
+				.keyID(jwk.getKeyID())
+				.build(),
+			createClaimsSet());
+
+		jwt.sign(createSigner(jwk));
+
+		return jwt.serialize();
+	}
+
+
+	/**
+	 * Creates a public JWK set with the specified number of keys, of
+	 * mixed RSA, EC and OKP types, and the specified extra keys appended.
+	 *
+	 * @param numKeys   The number of generated keys.
+	 * @param extraKeys Additional keys to include, may be empty.
+	 *
+	 * @return The public JWK set.
+	 */
+	public static JWKSet createJWKSet(final int numKeys, final JWK ... extraKeys)
+		throws JOSEException {
+
+		List<JWK> keys = new LinkedList<>();
+
+		JWSAlgorithm[] algs = { JWSAlgorithm.RS256, JWSAlgorithm.ES256, JWSAlgorithm.EdDSA };
+
+		for (int i=0; i < numKeys; i++) {
+			keys.add(generateSigningKey(algs[i % algs.length]).toPublicJWK());
+		}
+
+		for (JWK jwk: extraKeys) {
+			// Symmetric keys have no public form
+			JWK publicJWK = jwk.toPublicJWK();
+			keys.add(publicJWK != null ? publicJWK : jwk);
+		}
+
+		return new JWKSet(keys);
+	}
+
+
+	private BenchmarkFixtures() {}
+}
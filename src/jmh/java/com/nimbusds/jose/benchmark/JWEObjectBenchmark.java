@@ -0,0 +1,139 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.benchmark;
+
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.crypto.*;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.OctetSequenceKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+
+
+/**
+ * Benchmarks JWE encryption and decryption for common algorithm and
+ * encryption method pairs.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JWEObjectBenchmark {
+
+
+	@Param({
+		"RSA-OAEP-256/A128GCM",
+		"RSA-OAEP-256/A256GCM",
+		"ECDH-ES/A128GCM",
+		"ECDH-ES+A128KW/A128CBC-HS256",
+		"A128KW/A128GCM",
+		"dir/A256GCM"
+	})
+	public String algEnc;
+
+
+	private JWEHeader header;
+
+
+	private Payload payload;
+
+
+	private JWEEncrypter encrypter;
+
+
+	private JWEDecrypter decrypter;
+
+
+	private String jweString;
+
+
+	@Setup
+	public void setUp()
+		throws Exception {
+
+		String[] parts = algEnc.split("/");
+		JWEAlgorithm alg = JWEAlgorithm.parse(parts[0]);
+		EncryptionMethod enc = EncryptionMethod.parse(parts[1]);
+
+		if (JWEAlgorithm.Family.RSA.contains(alg)) {
+			RSAKey rsaJWK = new RSAKeyGenerator(2048).generate();
+			encrypter = new RSAEncrypter(rsaJWK);
+			decrypter = new RSADecrypter(rsaJWK);
+		} else if (JWEAlgorithm.Family.ECDH_ES.contains(alg)) {
+			ECKey ecJWK = new ECKeyGenerator(Curve.P_256).generate();
+			encrypter = new ECDHEncrypter(ecJWK);
+			decrypter = new ECDHDecrypter(ecJWK);
+		} else if (JWEAlgorithm.Family.AES_KW.contains(alg)) {
+			int keyBitLength = JWEAlgorithm.A128KW.equals(alg) ? 128 : JWEAlgorithm.A192KW.equals(alg) ? 192 : 256;
+			OctetSequenceKey octJWK = new OctetSequenceKeyGenerator(keyBitLength).generate();
+			encrypter = new AESEncrypter(octJWK);
+			decrypter = new AESDecrypter(octJWK);
+		} else if (JWEAlgorithm.DIR.equals(alg)) {
+			OctetSequenceKey octJWK = new OctetSequenceKeyGenerator(enc.cekBitLength()).generate();
+			encrypter = new DirectEncrypter(octJWK);
+			decrypter = new DirectDecrypter(octJWK);
+		} else {
+			throw new IllegalArgumentException("Unsupported benchmark JWE algorithm: " + alg);
+		}
+
+		header = new JWEHeader.Builder(alg, enc)
+			.contentType("JWT")
+			.build();
+
+		// Nested signed JWT, the typical JWE payload
+		payload = new Payload(BenchmarkFixtures.createSignedJWT(
+			JWSAlgorithm.RS256,
+			BenchmarkFixtures.generateSigningKey(JWSAlgorithm.RS256)));
+
+		JWEObject jweObject = new JWEObject(header, payload);
+		jweObject.encrypt(encrypter);
+		jweString = jweObject.serialize();
+	}
+
+
+	@Benchmark
+	public String encrypt()
+		throws Exception {
+
+		JWEObject jweObject = new JWEObject(header, payload);
+		jweObject.encrypt(encrypter);
+		return jweObject.serialize();
+	}
+
+
+	@Benchmark
+	public Payload decrypt()
+		throws Exception {
+
+		JWEObject jweObject = JWEObject.parse(jweString);
+		jweObject.decrypt(decrypter);
+		return jweObject.getPayload();
+	}
+}
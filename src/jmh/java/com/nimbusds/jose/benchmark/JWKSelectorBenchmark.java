@@ -0,0 +1,81 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.benchmark;
+
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+
+
+/**
+ * Benchmarks the selection of a signature verification key by key ID from
+ * public JWK sets of typical and multi-tenant sizes.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JWKSelectorBenchmark {
+
+
+	@Param({"3", "300"})
+	public int numKeys;
+
+
+	private JWKSet jwkSet;
+
+
+	private JWKSelector selector;
+
+
+	@Setup
+	public void setUp()
+		throws Exception {
+
+		JWK jwk = BenchmarkFixtures.generateSigningKey(JWSAlgorithm.ES256);
+
+		jwkSet = BenchmarkFixtures.createJWKSet(numKeys - 1, jwk);
+
+		selector = new JWKSelector(new JWKMatcher.Builder()
+			.keyID(jwk.getKeyID())
+			.keyType(jwk.getKeyType())
+			.keyUse(KeyUse.SIGNATURE)
+			.algorithm(JWSAlgorithm.ES256)
+			.build());
+	}
+
+
+	@Benchmark
+	public List<JWK> selectByKeyID() {
+
+		return selector.select(jwkSet);
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.benchmark;
+
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.nimbusds.jose.jwk.JWKSet;
+
+
+/**
+ * Benchmarks the parsing of public JWK sets of typical sizes, with mixed
+ * RSA, EC and OKP keys.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JWKSetParseBenchmark {
+
+
+	@Param({"3", "30"})
+	public int numKeys;
+
+
+	private String jwkSetString;
+
+
+	@Setup
+	public void setUp()
+		throws Exception {
+
+		jwkSetString = BenchmarkFixtures.createJWKSet(numKeys).toString();
+	}
+
+
+	@Benchmark
+	public JWKSet parse()
+		throws Exception {
+
+		return JWKSet.parse(jwkSetString);
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.benchmark;
+
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.jwk.JWK;
+
+
+/**
+ * Benchmarks the signing of JWS objects with a JWT claims payload.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JWSObjectSignBenchmark {
+
+
+	@Param({"HS256", "RS256", "ES256", "EdDSA"})
+	public String alg;
+
+
+	private JWSHeader header;
+
+
+	private Payload payload;
+
+
+	private JWSSigner signer;
+
+
+	@Setup
+	public void setUp()
+		throws Exception {
+
+		JWSAlgorithm jwsAlg = JWSAlgorithm.parse(alg);
+		JWK jwk = BenchmarkFixtures.generateSigningKey(jwsAlg);
+		header = new JWSHeader.Builder(jwsAlg)
+			.type(JOSEObjectType.JWT)
+			.keyID(jwk.getKeyID())
+			.build();
+		payload = new Payload(BenchmarkFixtures.createClaimsSet().toJSONObject());
+		signer = BenchmarkFixtures.createSigner(jwk);
+	}
+
+
+	@Benchmark
+	public String signAndSerialize()
+		throws Exception {
+
+		JWSObject jwsObject = new JWSObject(header, payload);
+		jwsObject.sign(signer);
+		return jwsObject.serialize();
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.benchmark;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.nimbusds.jwt.proc.JWTProcessingResult;
+
+
+/**
+ * Benchmarks the batch processing of signed JWTs against processing them
+ * one by one on a single thread.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JWTBatchProcessorBenchmark {
+
+
+	@Param({"RS256", "ES256"})
+	public String alg;
+
+
+	@Param({"1000"})
+	public int batchSize;
+
+
+	private DefaultJWTProcessor<SecurityContext> jwtProcessor;
+
+
+	private List<String> jwtStrings;
+
+
+	@Setup
+	public void setUp()
+		throws Exception {
+
+		JWSAlgorithm jwsAlg = JWSAlgorithm.parse(alg);
+
+		// Tokens signed with two keys, as during a key rollover
+		JWK jwk1 = BenchmarkFixtures.generateSigningKey(jwsAlg);
+		JWK jwk2 = BenchmarkFixtures.generateSigningKey(jwsAlg);
+
+		jwtStrings = new ArrayList<>(batchSize);
+		for (int i=0; i < batchSize; i++) {
+			jwtStrings.add(BenchmarkFixtures.createSignedJWT(jwsAlg, i % 2 == 0 ? jwk1 : jwk2));
+		}
+
+		JWKSet jwkSet = BenchmarkFixtures.createJWKSet(3, jwk1, jwk2);
+
+		jwtProcessor = new DefaultJWTProcessor<>();
+		jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(
+			jwsAlg,
+			new ImmutableJWKSet<SecurityContext>(jwkSet)));
+	}
+
+
+	@Benchmark
+	public List<JWTProcessingResult> processAll() {
+
+		return jwtProcessor.processAll(jwtStrings, null);
+	}
+
+
+	@Benchmark
+	public List<JWTClaimsSet> processEach()
+		throws Exception {
+
+		List<JWTClaimsSet> claimsSets = new ArrayList<>(jwtStrings.size());
+		for (String jwtString: jwtStrings) {
+			claimsSets.add(jwtProcessor.process(jwtString, null));
+		}
+		return claimsSets;
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.benchmark;
+
+
+import java.security.Key;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.Ed25519Verifier;
+import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
+import com.nimbusds.jose.jwk.*;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import com.nimbusds.jose.proc.JWSKeySelector;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.proc.DefaultJWTClaimsVerifier;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+
+
+/**
+ * Benchmarks the full JWT processing path: parsing, key selection from a
+ * JWK set, signature verification and claims verification.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JWTProcessorBenchmark {
+
+
+	@Param({"HS256", "RS256", "ES256", "EdDSA"})
+	public String alg;
+
+
+	@Param({"5"})
+	public int jwkSetSize;
+
+
+	private DefaultJWTProcessor<SecurityContext> jwtProcessor;
+
+
+	private String jwtString;
+
+
+	@Setup
+	public void setUp()
+		throws Exception {
+
+		JWSAlgorithm jwsAlg = JWSAlgorithm.parse(alg);
+		final JWK jwk = BenchmarkFixtures.generateSigningKey(jwsAlg);
+		jwtString = BenchmarkFixtures.createSignedJWT(jwsAlg, jwk);
+
+		jwtProcessor = new DefaultJWTProcessor<>();
+
+		if (JWSAlgorithm.HS256.equals(jwsAlg)) {
+			jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(
+				jwsAlg,
+				new ImmutableSecret<>(jwk.toOctetSequenceKey().toSecretKey())));
+		} else if (JWSAlgorithm.EdDSA.equals(jwsAlg)) {
+			// The default JWS verifier factory works with JCA keys,
+			// pass the Ed25519 public key as raw bytes
+			final Key x = new SecretKeySpec(jwk.toOctetKeyPair().getDecodedX(), "Ed25519");
+			jwtProcessor.setJWSKeySelector(new JWSKeySelector<SecurityContext>() {
+				@Override
+				public List<? extends Key> selectJWSKeys(final JWSHeader header, final SecurityContext context) {
+					return Collections.singletonList(x);
+				}
+			});
+			jwtProcessor.setJWSVerifierFactory(new DefaultJWSVerifierFactory() {
+				@Override
+				public JWSVerifier createJWSVerifier(final JWSHeader header, final Key key)
+					throws JOSEException {
+
+					if (! JWSAlgorithm.EdDSA.equals(header.getAlgorithm())) {
+						return super.createJWSVerifier(header, key);
+					}
+					return new Ed25519Verifier(
+						new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(key.getEncoded()))
+							.build());
+				}
+			});
+		} else {
+			JWKSet jwkSet = BenchmarkFixtures.createJWKSet(jwkSetSize - 1, jwk);
+			jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(
+				jwsAlg,
+				new ImmutableJWKSet<>(jwkSet)));
+		}
+
+		jwtProcessor.setJWTClaimsSetVerifier(new DefaultJWTClaimsVerifier<>(
+			BenchmarkFixtures.AUDIENCE,
+			new JWTClaimsSet.Builder()
+				.issuer(BenchmarkFixtures.ISSUER)
+				.build(),
+			null));
+	}
+
+
+	@Benchmark
+	public JWTClaimsSet process()
+		throws Exception {
+
+		return jwtProcessor.process(jwtString, null);
+	}
+}
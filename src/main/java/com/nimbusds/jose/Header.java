@@ -24,6 +24,7 @@ import java.util.*;
 
 import com.nimbusds.jose.util.Base64URL;
 import com.nimbusds.jose.util.JSONObjectUtils;
+import com.nimbusds.jose.util.StandardCharset;
 
 
 /**
@@ -34,7 +35,7 @@ import com.nimbusds.jose.util.JSONObjectUtils;
  * parameters}; these will be serialised and parsed along the registered ones.
  *
  * @author Vladimir Dzhuvinov
- * @version 2021-08-11
+ * @version 2026-10-15
  */
 public abstract class Header implements Serializable {
 	
@@ -523,6 +524,29 @@ public abstract class Header implements Serializable {
 	public static Header parse(final Base64URL base64URL)
 		throws ParseException {
 
-		return parse(base64URL.decodeToString(), base64URL);
+		byte[] json = base64URL.decode();
+
+		if (json.length <= MAX_HEADER_STRING_LENGTH) {
+
+			HeaderReader reader = new HeaderReader(json);
+
+			try {
+				reader.scanAlgorithms();
+
+				if (reader.isEncryptionMethodPresent()) {
+					// JWE
+					return JWEHeader.parse(reader, base64URL);
+				} else if (reader.getAlgorithmName() != null && ! Algorithm.NONE.getName().equals(reader.getAlgorithmName())) {
+					// JWS
+					return JWSHeader.parse(reader, base64URL);
+				}
+			} catch (ParseException e) {
+				// Lenient or invalid JSON, leave the parsing and
+				// error reporting to the generic JSON parser
+			}
+		}
+
+		// Plain or fallback
+		return parse(new String(json, StandardCharset.UTF_8), base64URL);
 	}
 }
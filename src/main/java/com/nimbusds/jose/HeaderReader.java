@@ -0,0 +1,166 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose;
+
+
+import java.text.ParseException;
+
+import com.nimbusds.jose.util.JSONObjectReader;
+
+
+/**
+ * Streaming reader of JOSE header JSON objects, operating directly on the
+ * UTF-8 encoded header bytes. The registered header parameter names are
+ * returned as the {@link HeaderParameterNames} constants. Adds a scan for
+ * the algorithm and encryption method, which the header builders require
+ * before the other parameters.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+final class HeaderReader extends JSONObjectReader {
+	
+	
+	/**
+	 * The registered header parameter names.
+	 */
+	private static final String[] REGISTERED_NAMES = {
+		HeaderParameterNames.ALGORITHM,
+		HeaderParameterNames.ENCRYPTION_ALGORITHM,
+		HeaderParameterNames.COMPRESSION_ALGORITHM,
+		HeaderParameterNames.JWK_SET_URL,
+		HeaderParameterNames.JWK,
+		HeaderParameterNames.KEY_ID,
+		HeaderParameterNames.X_509_CERT_URL,
+		HeaderParameterNames.X_509_CERT_CHAIN,
+		HeaderParameterNames.X_509_CERT_SHA_1_THUMBPRINT,
+		HeaderParameterNames.X_509_CERT_SHA_256_THUMBPRINT,
+		HeaderParameterNames.TYPE,
+		HeaderParameterNames.CONTENT_TYPE,
+		HeaderParameterNames.CRITICAL,
+		HeaderParameterNames.EPHEMERAL_PUBLIC_KEY,
+		HeaderParameterNames.AGREEMENT_PARTY_U_INFO,
+		HeaderParameterNames.AGREEMENT_PARTY_V_INFO,
+		HeaderParameterNames.INITIALIZATION_VECTOR,
+		HeaderParameterNames.AUTHENTICATION_TAG,
+		HeaderParameterNames.PBES2_SALT_INPUT,
+		HeaderParameterNames.PBES2_COUNT,
+		HeaderParameterNames.SENDER_KEY_ID,
+		HeaderParameterNames.BASE64_URL_ENCODE_PAYLOAD
+	};
+	
+	
+	/**
+	 * The algorithm ({@code alg}) name found by {@link #scanAlgorithms},
+	 * {@code null} if none.
+	 */
+	private String algName;
+	
+	
+	/**
+	 * The encryption method ({@code enc}) name found by
+	 * {@link #scanAlgorithms}, {@code null} if none.
+	 */
+	private String encName;
+	
+	
+	/**
+	 * {@code true} if {@link #scanAlgorithms} found an encryption method
+	 * ({@code enc}) member.
+	 */
+	private boolean encPresent;
+	
+	
+	/**
+	 * Creates a new header reader.
+	 *
+	 * @param json The UTF-8 encoded JSON object. Must not be
+	 *             {@code null}.
+	 */
+	HeaderReader(final byte[] json) {
+		super(json, REGISTERED_NAMES);
+	}
+	
+	
+	/**
+	 * Scans the top-level JSON object for the algorithm ({@code alg}) and
+	 * encryption method ({@code enc}) members, skipping the other
+	 * members. Their values must be strings or null.
+	 *
+	 * @throws ParseException On a syntax error or an unexpected value
+	 *                        type.
+	 */
+	void scanAlgorithms()
+		throws ParseException {
+		
+		algName = null;
+		encName = null;
+		encPresent = false;
+		
+		beginObject();
+		
+		while (hasNextMember()) {
+			
+			String name = nextName();
+			
+			if (HeaderParameterNames.ALGORITHM.equals(name)) {
+				algName = nextString(name);
+			} else if (HeaderParameterNames.ENCRYPTION_ALGORITHM.equals(name)) {
+				encName = nextString(name);
+				encPresent = true;
+			} else {
+				skipValue();
+			}
+		}
+		
+		endObject();
+	}
+	
+	
+	/**
+	 * Returns the algorithm ({@code alg}) name found by
+	 * {@link #scanAlgorithms}.
+	 *
+	 * @return The algorithm name, {@code null} if none.
+	 */
+	String getAlgorithmName() {
+		return algName;
+	}
+	
+	
+	/**
+	 * Returns the encryption method ({@code enc}) name found by
+	 * {@link #scanAlgorithms}.
+	 *
+	 * @return The encryption method name, {@code null} if none.
+	 */
+	String getEncryptionMethodName() {
+		return encName;
+	}
+	
+	
+	/**
+	 * Returns {@code true} if {@link #scanAlgorithms} found an encryption
+	 * method ({@code enc}) member.
+	 *
+	 * @return {@code true} if an encryption method member is present.
+	 */
+	boolean isEncryptionMethodPresent() {
+		return encPresent;
+	}
+}
@@ -32,7 +32,7 @@ import com.nimbusds.jose.util.JSONObjectUtils;
  * serialisable to compact encoding.
  *
  * @author Vladimir Dzhuvinov
- * @version 2021-10-05
+ * @version 2026-10-15
  */
 public abstract class JOSEObject implements Serializable {
 	
@@ -215,54 +215,57 @@ public abstract class JOSEObject implements Serializable {
 	public static Base64URL[] split(final String s)
 		throws ParseException {
 
+		// Returns the same string if there is no surrounding white space
 		final String t = s.trim();
 		
-		// We must have 2 (JWS) or 4 dots (JWE)
-
-		// String.split() cannot handle empty parts
-		final int dot1 = t.indexOf(".");
+		// We must have 2 (JWS) or 4 dots (JWE), locate them in a single
+		// pass, String.split() cannot handle empty parts
+		final int[] dots = new int[4];
+		int numDots = 0;
+		
+		for (int i=0; i < t.length(); i++) {
+			
+			if (t.charAt(i) != '.') {
+				continue;
+			}
+			
+			if (numDots == dots.length) {
+				throw new ParseException("Invalid serialized unsecured/JWS/JWE object: Too many part delimiters", 0);
+			}
+			
+			dots[numDots++] = i;
+		}
 
-		if (dot1 == -1) {
+		if (numDots == 0) {
 			throw new ParseException("Invalid serialized unsecured/JWS/JWE object: Missing part delimiters", 0);
 		}
 
-		final int dot2 = t.indexOf(".", dot1 + 1);
-
-		if (dot2 == -1) {
+		if (numDots == 1) {
 			throw new ParseException("Invalid serialized unsecured/JWS/JWE object: Missing second delimiter", 0);
 		}
 
-		// Third dot for JWE only
-		final int dot3 = t.indexOf(".", dot2 + 1);
-
-		if (dot3 == -1) {
+		if (numDots == 2) {
 
 			// Two dots only? -> We have a JWS
 			Base64URL[] parts = new Base64URL[3];
-			parts[0] = new Base64URL(t.substring(0, dot1));
-			parts[1] = new Base64URL(t.substring(dot1 + 1, dot2));
-			parts[2] = new Base64URL(t.substring(dot2 + 1));
+			parts[0] = new Base64URL(t.substring(0, dots[0]));
+			parts[1] = new Base64URL(t.substring(dots[0] + 1, dots[1]));
+			parts[2] = new Base64URL(t.substring(dots[1] + 1));
 			return parts;
 		}
 
 		// Fourth final dot for JWE
-		final int dot4 = t.indexOf(".", dot3 + 1);
-
-		if (dot4 == -1) {
+		if (numDots == 3) {
 			throw new ParseException("Invalid serialized JWE object: Missing fourth delimiter", 0);
 		}
 
-		if (dot4 != -1 && t.indexOf(".", dot4 + 1) != -1) {
-			throw new ParseException("Invalid serialized unsecured/JWS/JWE object: Too many part delimiters", 0);
-		}
-
 		// Four dots -> five parts
 		Base64URL[] parts = new Base64URL[5];
-		parts[0] = new Base64URL(t.substring(0, dot1));
-		parts[1] = new Base64URL(t.substring(dot1 + 1, dot2));
-		parts[2] = new Base64URL(t.substring(dot2 + 1, dot3));
-		parts[3] = new Base64URL(t.substring(dot3 + 1, dot4));
-		parts[4] = new Base64URL(t.substring(dot4 + 1));
+		parts[0] = new Base64URL(t.substring(0, dots[0]));
+		parts[1] = new Base64URL(t.substring(dots[0] + 1, dots[1]));
+		parts[2] = new Base64URL(t.substring(dots[1] + 1, dots[2]));
+		parts[3] = new Base64URL(t.substring(dots[2] + 1, dots[3]));
+		parts[4] = new Base64URL(t.substring(dots[3] + 1));
 		return parts;
 	}
 
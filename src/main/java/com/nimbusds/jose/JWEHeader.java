@@ -28,6 +28,7 @@ import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.util.Base64;
 import com.nimbusds.jose.util.Base64URL;
 import com.nimbusds.jose.util.JSONObjectUtils;
+import com.nimbusds.jose.util.StandardCharset;
 import com.nimbusds.jose.util.X509CertChainUtils;
 
 
@@ -74,7 +75,7 @@ import com.nimbusds.jose.util.X509CertChainUtils;
  * </pre>
  *
  * @author Vladimir Dzhuvinov
- * @version 2022-03-07
+ * @version 2026-10-15
  */
 @Immutable
 public final class JWEHeader extends CommonSEHeader {
@@ -1396,6 +1397,115 @@ public final class JWEHeader extends CommonSEHeader {
 	public static JWEHeader parse(final Base64URL base64URL)
 		throws ParseException {
 
-		return parse(base64URL.decodeToString(), base64URL);
+		byte[] json = base64URL.decode();
+
+		if (json.length <= MAX_HEADER_STRING_LENGTH) {
+			try {
+				return parse(new HeaderReader(json), base64URL);
+			} catch (ParseException e) {
+				// Lenient or invalid JSON, leave the parsing and
+				// error reporting to the generic JSON parser
+			}
+		}
+
+		return parse(new String(json, StandardCharset.UTF_8), base64URL);
+	}
+
+
+	/**
+	 * Parses a JWE header with the specified streaming reader, applying
+	 * the registered parameters to the builder directly.
+	 *
+	 * @param reader          The header reader. Must not be
+	 *                        {@code null}.
+	 * @param parsedBase64URL The original parsed Base64URL, {@code null}
+	 *                        if not applicable.
+	 *
+	 * @return The JWE header.
+	 *
+	 * @throws ParseException If the JSON object doesn't represent a
+	 *                        valid JWE header, or isn't strict JSON.
+	 */
+	static JWEHeader parse(final HeaderReader reader,
+			       final Base64URL parsedBase64URL)
+		throws ParseException {
+
+		// Get the "enc" parameter
+		reader.scanAlgorithms();
+
+		if (reader.getAlgorithmName() == null || reader.getEncryptionMethodName() == null) {
+			throw new ParseException("Not a JWE header", 0);
+		}
+
+		EncryptionMethod enc = EncryptionMethod.parse(reader.getEncryptionMethodName());
+
+		JWEHeader.Builder header = new Builder(enc).parsedBase64URL(parsedBase64URL);
+
+		// Parse optional + custom parameters
+		reader.beginObject();
+
+		while (reader.hasNextMember()) {
+
+			final String name = reader.nextName();
+
+			if(HeaderParameterNames.ALGORITHM.equals(name)) {
+				header = header.alg(JWEAlgorithm.parse(reader.nextString(name)));
+			} else if(HeaderParameterNames.ENCRYPTION_ALGORITHM.equals(name)) {
+				reader.skipValue();
+			} else if(HeaderParameterNames.TYPE.equals(name)) {
+				String typValue = reader.nextString(name);
+				if (typValue != null) {
+					header = header.type(new JOSEObjectType(typValue));
+				}
+			} else if(HeaderParameterNames.CONTENT_TYPE.equals(name)) {
+				header = header.contentType(reader.nextString(name));
+			} else if(HeaderParameterNames.CRITICAL.equals(name)) {
+				List<String> critValues = reader.nextStringList(name);
+				if (critValues != null) {
+					header = header.criticalParams(new HashSet<>(critValues));
+				}
+			} else if(HeaderParameterNames.JWK_SET_URL.equals(name)) {
+				header = header.jwkURL(reader.nextURI(name));
+			} else if(HeaderParameterNames.JWK.equals(name)) {
+				header = header.jwk(CommonSEHeader.parsePublicJWK(reader.nextJSONObject(name)));
+			} else if(HeaderParameterNames.X_509_CERT_URL.equals(name)) {
+				header = header.x509CertURL(reader.nextURI(name));
+			} else if(HeaderParameterNames.X_509_CERT_SHA_1_THUMBPRINT.equals(name)) {
+				header = header.x509CertThumbprint(Base64URL.from(reader.nextString(name)));
+			} else if(HeaderParameterNames.X_509_CERT_SHA_256_THUMBPRINT.equals(name)) {
+				header = header.x509CertSHA256Thumbprint(Base64URL.from(reader.nextString(name)));
+			} else if(HeaderParameterNames.X_509_CERT_CHAIN.equals(name)) {
+				header = header.x509CertChain(X509CertChainUtils.toBase64List(reader.nextJSONArray(name)));
+			} else if(HeaderParameterNames.KEY_ID.equals(name)) {
+				header = header.keyID(reader.nextString(name));
+			} else if(HeaderParameterNames.EPHEMERAL_PUBLIC_KEY.equals(name)) {
+				header = header.ephemeralPublicKey(JWK.parse(reader.nextJSONObject(name)));
+			} else if(HeaderParameterNames.COMPRESSION_ALGORITHM.equals(name)) {
+				String zipValue = reader.nextString(name);
+				if (zipValue != null) {
+					header = header.compressionAlgorithm(new CompressionAlgorithm(zipValue));
+				}
+			} else if(HeaderParameterNames.AGREEMENT_PARTY_U_INFO.equals(name)) {
+				header = header.agreementPartyUInfo(Base64URL.from(reader.nextString(name)));
+			} else if(HeaderParameterNames.AGREEMENT_PARTY_V_INFO.equals(name)) {
+				header = header.agreementPartyVInfo(Base64URL.from(reader.nextString(name)));
+			} else if(HeaderParameterNames.PBES2_SALT_INPUT.equals(name)) {
+				header = header.pbes2Salt(Base64URL.from(reader.nextString(name)));
+			} else if(HeaderParameterNames.PBES2_COUNT.equals(name)) {
+				header = header.pbes2Count(reader.nextInt(name));
+			} else if(HeaderParameterNames.INITIALIZATION_VECTOR.equals(name)) {
+				header = header.iv(Base64URL.from(reader.nextString(name)));
+			} else if(HeaderParameterNames.AUTHENTICATION_TAG.equals(name)) {
+				header = header.authTag(Base64URL.from(reader.nextString(name)));
+			} else if(HeaderParameterNames.SENDER_KEY_ID.equals(name)) {
+				header = header.senderKeyID(reader.nextString(name));
+			} else {
+				header = header.customParam(name, reader.nextValue());
+			}
+		}
+
+		reader.endObject();
+
+		return header.build();
 	}
 }
@@ -28,6 +28,7 @@ import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.util.Base64;
 import com.nimbusds.jose.util.Base64URL;
 import com.nimbusds.jose.util.JSONObjectUtils;
+import com.nimbusds.jose.util.StandardCharset;
 import com.nimbusds.jose.util.X509CertChainUtils;
 
 
@@ -65,7 +66,7 @@ import com.nimbusds.jose.util.X509CertChainUtils;
  * </pre>
  *
  * @author Vladimir Dzhuvinov
- * @version 2022-03-07
+ * @version 2026-10-15
  */
 @Immutable
 public final class JWSHeader extends CommonSEHeader {
@@ -864,6 +865,94 @@ public final class JWSHeader extends CommonSEHeader {
 	public static JWSHeader parse(final Base64URL base64URL)
 		throws ParseException {
 
-		return parse(base64URL.decodeToString(), base64URL);
+		byte[] json = base64URL.decode();
+
+		if (json.length <= MAX_HEADER_STRING_LENGTH) {
+			try {
+				return parse(new HeaderReader(json), base64URL);
+			} catch (ParseException e) {
+				// Lenient or invalid JSON, leave the parsing and
+				// error reporting to the generic JSON parser
+			}
+		}
+
+		return parse(new String(json, StandardCharset.UTF_8), base64URL);
+	}
+
+
+	/**
+	 * Parses a JWS header with the specified streaming reader, applying
+	 * the registered parameters to the builder directly.
+	 *
+	 * @param reader          The header reader. Must not be
+	 *                        {@code null}.
+	 * @param parsedBase64URL The original parsed Base64URL, {@code null}
+	 *                        if not applicable.
+	 *
+	 * @return The JWS header.
+	 *
+	 * @throws ParseException If the JSON object doesn't represent a
+	 *                        valid JWS header, or isn't strict JSON.
+	 */
+	static JWSHeader parse(final HeaderReader reader,
+			       final Base64URL parsedBase64URL)
+		throws ParseException {
+
+		// Get the "alg" parameter
+		reader.scanAlgorithms();
+
+		String algName = reader.getAlgorithmName();
+
+		if (algName == null || reader.isEncryptionMethodPresent() || Algorithm.NONE.getName().equals(algName)) {
+			throw new ParseException("Not a JWS header", 0);
+		}
+
+		JWSHeader.Builder header = new Builder(JWSAlgorithm.parse(algName)).parsedBase64URL(parsedBase64URL);
+
+		// Parse optional + custom parameters
+		reader.beginObject();
+
+		while (reader.hasNextMember()) {
+
+			final String name = reader.nextName();
+
+			if(HeaderParameterNames.ALGORITHM.equals(name)) {
+				reader.skipValue();
+			} else if(HeaderParameterNames.TYPE.equals(name)) {
+				String typValue = reader.nextString(name);
+				if (typValue != null) {
+					header = header.type(new JOSEObjectType(typValue));
+				}
+			} else if(HeaderParameterNames.CONTENT_TYPE.equals(name)) {
+				header = header.contentType(reader.nextString(name));
+			} else if(HeaderParameterNames.CRITICAL.equals(name)) {
+				List<String> critValues = reader.nextStringList(name);
+				if (critValues != null) {
+					header = header.criticalParams(new HashSet<>(critValues));
+				}
+			} else if(HeaderParameterNames.JWK_SET_URL.equals(name)) {
+				header = header.jwkURL(reader.nextURI(name));
+			} else if(HeaderParameterNames.JWK.equals(name)) {
+				header = header.jwk(CommonSEHeader.parsePublicJWK(reader.nextJSONObject(name)));
+			} else if(HeaderParameterNames.X_509_CERT_URL.equals(name)) {
+				header = header.x509CertURL(reader.nextURI(name));
+			} else if(HeaderParameterNames.X_509_CERT_SHA_1_THUMBPRINT.equals(name)) {
+				header = header.x509CertThumbprint(Base64URL.from(reader.nextString(name)));
+			} else if(HeaderParameterNames.X_509_CERT_SHA_256_THUMBPRINT.equals(name)) {
+				header = header.x509CertSHA256Thumbprint(Base64URL.from(reader.nextString(name)));
+			} else if(HeaderParameterNames.X_509_CERT_CHAIN.equals(name)) {
+				header = header.x509CertChain(X509CertChainUtils.toBase64List(reader.nextJSONArray(name)));
+			} else if(HeaderParameterNames.KEY_ID.equals(name)) {
+				header = header.keyID(reader.nextString(name));
+			} else if(HeaderParameterNames.BASE64_URL_ENCODE_PAYLOAD.equals(name)) {
+				header = header.base64URLEncodePayload(reader.nextBoolean(name));
+			} else {
+				header = header.customParam(name, reader.nextValue());
+			}
+		}
+
+		reader.endObject();
+
+		return header.build();
 	}
 }
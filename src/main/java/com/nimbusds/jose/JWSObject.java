@@ -35,7 +35,7 @@ import java.util.concurrent.atomic.AtomicReference;
  * <p>This class is thread-safe.
  *
  * @author Vladimir Dzhuvinov
- * @version 2022-09-27
+ * @version 2026-10-15
  */
 @ThreadSafe
 public class JWSObject extends JOSEObject {
@@ -84,6 +84,12 @@ public class JWSObject extends JOSEObject {
 	private final String signingInputString;
 
 
+	/**
+	 * The UTF-8 encoded signing input, lazily computed and cached.
+	 */
+	private transient volatile byte[] signingInput;
+
+
 	/**
 	 * The signature, {@code null} if not signed.
 	 */
@@ -158,14 +164,37 @@ public class JWSObject extends JOSEObject {
 	public JWSObject(final Base64URL firstPart, final Payload payload, final Base64URL thirdPart)
 		throws ParseException {
 
-		if (firstPart == null) {
-			throw new IllegalArgumentException("The first part must not be null");
+		this(parseHeader(firstPart), payload, thirdPart);
+	}
+	
+	
+	/**
+	 * Creates a new signed JSON Web Signature (JWS) object with the
+	 * specified parsed header, payload which can be optionally unencoded
+	 * (RFC 7797) and serialised signature part. Intended for parsers which
+	 * have already processed the header, to avoid decoding and parsing it
+	 * a second time. The state will be {@link State#SIGNED signed}.
+	 *
+	 * @param parsedHeader The parsed JWS header. Must not be {@code null}
+	 *                     and must have its
+	 *                     {@link JWSHeader#getParsedBase64URL() parsed
+	 *                     Base64URL} set.
+	 * @param payload      The payload. Must not be {@code null}.
+	 * @param thirdPart    The third part, corresponding to the signature.
+	 *                     Must not be {@code null}.
+	 *
+	 * @throws ParseException If the signature part is empty.
+	 */
+	public JWSObject(final JWSHeader parsedHeader, final Payload payload, final Base64URL thirdPart)
+		throws ParseException {
+
+		if (parsedHeader == null) {
+			throw new IllegalArgumentException("The parsed JWS header must not be null");
 		}
-		try {
-			this.header = JWSHeader.parse(firstPart);
-		} catch (ParseException e) {
-			throw new ParseException("Invalid JWS header: " + e.getMessage(), 0);
+		if (parsedHeader.getParsedBase64URL() == null) {
+			throw new IllegalArgumentException("The parsed JWS header must have its parsed Base64URL set");
 		}
+		this.header = parsedHeader;
 
 		if (payload == null) {
 			throw new IllegalArgumentException("The payload (second part) must not be null");
@@ -185,9 +214,33 @@ public class JWSObject extends JOSEObject {
 		state.set(State.SIGNED); // but signature not verified yet!
 
 		if (getHeader().isBase64URLEncodePayload()) {
-			setParsedParts(firstPart, payload.toBase64URL(), thirdPart);
+			setParsedParts(parsedHeader.getParsedBase64URL(), payload.toBase64URL(), thirdPart);
 		} else {
-			setParsedParts(firstPart, new Base64URL(""), thirdPart);
+			setParsedParts(parsedHeader.getParsedBase64URL(), new Base64URL(""), thirdPart);
+		}
+	}
+	
+	
+	/**
+	 * Parses the JWS header from the specified first part.
+	 *
+	 * @param firstPart The first part, corresponding to the JWS header.
+	 *                  Must not be {@code null}.
+	 *
+	 * @return The JWS header.
+	 *
+	 * @throws ParseException If parsing failed.
+	 */
+	private static JWSHeader parseHeader(final Base64URL firstPart)
+		throws ParseException {
+		
+		if (firstPart == null) {
+			throw new IllegalArgumentException("The first part must not be null");
+		}
+		try {
+			return JWSHeader.parse(firstPart);
+		} catch (ParseException e) {
+			throw new ParseException("Invalid JWS header: " + e.getMessage(), 0);
 		}
 	}
 
@@ -220,7 +273,27 @@ public class JWSObject extends JOSEObject {
 	 */
 	public byte[] getSigningInput() {
 		
-		return signingInputString.getBytes(StandardCharset.UTF_8);
+		return cachedSigningInput().clone();
+	}
+
+
+	/**
+	 * Returns the cached signing input for this JWS object, encoding it
+	 * on the first call. The returned array must not be modified.
+	 *
+	 * @return The signing input.
+	 */
+	private byte[] cachedSigningInput() {
+		
+		byte[] bytes = signingInput;
+		
+		if (bytes == null) {
+			// Benign race, the encoding is deterministic
+			bytes = signingInputString.getBytes(StandardCharset.UTF_8);
+			signingInput = bytes;
+		}
+		
+		return bytes;
 	}
 
 
@@ -312,7 +385,7 @@ public class JWSObject extends JOSEObject {
 		ensureJWSSignerSupport(signer);
 
 		try {
-			signature = signer.sign(getHeader(), getSigningInput());
+			signature = signer.sign(getHeader(), cachedSigningInput());
 			
 		} catch (final ActionRequiredForJWSCompletionException e) {
 			// Catch to enable state SIGNED update
@@ -373,7 +446,7 @@ public class JWSObject extends JOSEObject {
 		boolean verified;
 
 		try {
-			verified = verifier.verify(getHeader(), getSigningInput(), getSignature());
+			verified = verifier.verify(getHeader(), cachedSigningInput(), getSignature());
 
 		} catch (JOSEException e) {
 
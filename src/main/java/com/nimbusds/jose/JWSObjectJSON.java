@@ -21,6 +21,7 @@ package com.nimbusds.jose;
 import com.nimbusds.jose.util.Base64URL;
 import com.nimbusds.jose.util.JSONArrayUtils;
 import com.nimbusds.jose.util.JSONObjectUtils;
+import com.nimbusds.jose.util.StandardCharset;
 import net.jcip.annotations.Immutable;
 import net.jcip.annotations.ThreadSafe;
 
@@ -38,7 +39,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
  *
  * @author Alexander Martynov
  * @author Vladimir Dzhuvinov
- * @version 2021-10-09
+ * @version 2026-10-15
  */
 @ThreadSafe
 public class JWSObjectJSON extends JOSEObjectJSON {
@@ -47,6 +48,82 @@ public class JWSObjectJSON extends JOSEObjectJSON {
 	private static final long serialVersionUID = 1L;
 	
 	
+	/**
+	 * Signing input buffer shared by the signatures of a JWS secured
+	 * object. The Base64URL-encoded payload is copied into the buffer
+	 * once, the protected header of each signature to verify is written
+	 * in front of it.
+	 */
+	@ThreadSafe
+	private static final class SigningInputBuffer {
+		
+		
+		/**
+		 * The payload.
+		 */
+		private final Payload payload;
+		
+		
+		/**
+		 * The buffer, {@code null} if not allocated yet.
+		 */
+		private byte[] buffer;
+		
+		
+		/**
+		 * The space for the header in front of the '.' and payload.
+		 */
+		private int headerSpace;
+		
+		
+		/**
+		 * Creates a new signing input buffer.
+		 *
+		 * @param payload The payload. Must not be {@code null}.
+		 */
+		private SigningInputBuffer(final Payload payload) {
+			this.payload = payload;
+		}
+		
+		
+		/**
+		 * Verifies the specified signature with the header written in
+		 * front of the Base64URL-encoded payload.
+		 *
+		 * @param header    The JWS protected header, with the
+		 *                  Base64URL-encoded payload option. Must not
+		 *                  be {@code null}.
+		 * @param signature The signature. Must not be {@code null}.
+		 * @param verifier  The JWS verifier. Must not be {@code null}.
+		 *
+		 * @return {@code true} if the signature was successfully
+		 *         verified, else {@code false}.
+		 *
+		 * @throws JOSEException If the signature verification failed.
+		 */
+		private synchronized boolean verify(final JWSHeader header,
+						    final Base64URL signature,
+						    final JWSSliceVerifier verifier)
+			throws JOSEException {
+			
+			byte[] headerBytes = header.toBase64URL().toString().getBytes(StandardCharset.UTF_8);
+			
+			if (buffer == null || headerBytes.length > headerSpace) {
+				byte[] payloadBytes = payload.toBase64URL().toString().getBytes(StandardCharset.UTF_8);
+				headerSpace = headerBytes.length;
+				buffer = new byte[headerSpace + 1 + payloadBytes.length];
+				buffer[headerSpace] = '.';
+				System.arraycopy(payloadBytes, 0, buffer, headerSpace + 1, payloadBytes.length);
+			}
+			
+			int offset = headerSpace - headerBytes.length;
+			System.arraycopy(headerBytes, 0, buffer, offset, headerBytes.length);
+			
+			return verifier.verify(header, buffer, offset, buffer.length - offset, signature);
+		}
+	}
+	
+	
 	/**
 	 * Individual signature in a JWS secured object serialisable to JSON.
 	 */
@@ -78,6 +155,13 @@ public class JWSObjectJSON extends JOSEObjectJSON {
 		private final Base64URL signature;
 		
 		
+		/**
+		 * The signing input buffer shared with the other signatures,
+		 * {@code null} if none.
+		 */
+		private final SigningInputBuffer signingInputBuffer;
+		
+		
 		/**
 		 * The signature verified state.
 		 */
@@ -87,19 +171,23 @@ public class JWSObjectJSON extends JOSEObjectJSON {
 		/**
 		 * Creates a new parsed signature.
 		 *
-		 * @param payload           The payload. Must not be
-		 *                          {@code null}.
-		 * @param header            The JWS protected header,
-		 *                          {@code null} if none.
-		 * @param unprotectedHeader The unprotected header,
-		 *                          {@code null} if none.
-		 * @param signature         The signature. Must not be
-		 *                          {@code null}.
+		 * @param payload            The payload. Must not be
+		 *                           {@code null}.
+		 * @param header             The JWS protected header,
+		 *                           {@code null} if none.
+		 * @param unprotectedHeader  The unprotected header,
+		 *                           {@code null} if none.
+		 * @param signature          The signature. Must not be
+		 *                           {@code null}.
+		 * @param signingInputBuffer The signing input buffer shared
+		 *                           with the other signatures,
+		 *                           {@code null} if none.
 		 */
 		private Signature(final Payload payload,
 				  final JWSHeader header,
 				  final UnprotectedHeader unprotectedHeader,
-				  final Base64URL signature) {
+				  final Base64URL signature,
+				  final SigningInputBuffer signingInputBuffer) {
 			
 			Objects.requireNonNull(payload);
 			this.payload = payload;
@@ -109,6 +197,8 @@ public class JWSObjectJSON extends JOSEObjectJSON {
 			
 			Objects.requireNonNull(signature);
 			this.signature = signature;
+			
+			this.signingInputBuffer = signingInputBuffer;
 		}
 		
 		
@@ -209,7 +299,12 @@ public class JWSObjectJSON extends JOSEObjectJSON {
 			throws JOSEException {
 			
 			try {
-				verified.set(toJWSObject().verify(verifier));
+				if (verifier instanceof JWSSliceVerifier && signingInputBuffer != null && header.isBase64URLEncodePayload()) {
+					// Verify without copying the payload
+					verified.set(signingInputBuffer.verify(header, signature, (JWSSliceVerifier) verifier));
+				} else {
+					verified.set(toJWSObject().verify(verifier));
+				}
 			} catch (JOSEException e) {
 				throw e;
 			} catch (Exception e) {
@@ -256,6 +351,12 @@ public class JWSObjectJSON extends JOSEObjectJSON {
 	private final List<Signature> signatures = new LinkedList<>();
 	
 	
+	/**
+	 * The signing input buffer shared by the signatures.
+	 */
+	private transient SigningInputBuffer signingInputBuffer;
+	
+	
 	/**
 	 * Creates a new to-be-signed JSON Web Signature (JWS) secured object
 	 * with the specified payload.
@@ -266,6 +367,7 @@ public class JWSObjectJSON extends JOSEObjectJSON {
 		
 		super(payload);
 		Objects.requireNonNull(payload, "The payload must not be null");
+		signingInputBuffer = new SigningInputBuffer(payload);
 	}
 	
 	
@@ -273,15 +375,19 @@ public class JWSObjectJSON extends JOSEObjectJSON {
 	 * Creates a new JSON Web Signature (JWS) secured object with one or
 	 * more signatures.
 	 *
-	 * @param payload    The payload. Must not be {@code null}.
-	 * @param signatures The signatures. Must be at least one.
+	 * @param payload            The payload. Must not be {@code null}.
+	 * @param signatures         The signatures. Must be at least one.
+	 * @param signingInputBuffer The signing input buffer shared by the
+	 *                           signatures. Must not be {@code null}.
 	 */
 	private JWSObjectJSON(final Payload payload,
-			      final List<Signature> signatures) {
+			      final List<Signature> signatures,
+			      final SigningInputBuffer signingInputBuffer) {
 		
 		super(payload);
 		
 		Objects.requireNonNull(payload, "The payload must not be null");
+		this.signingInputBuffer = signingInputBuffer;
 		
 		if (signatures.isEmpty()) {
 			throw new IllegalArgumentException("At least one signature required");
@@ -353,7 +459,12 @@ public class JWSObjectJSON extends JOSEObjectJSON {
 		JWSObject jwsObject = new JWSObject(jwsHeader, getPayload());
 		jwsObject.sign(signer);
 		
-		signatures.add(new Signature(getPayload(), jwsHeader, unprotectedHeader, jwsObject.getSignature()));
+		if (signingInputBuffer == null) {
+			// Deserialised object
+			signingInputBuffer = new SigningInputBuffer(getPayload());
+		}
+		
+		signatures.add(new Signature(getPayload(), jwsHeader, unprotectedHeader, jwsObject.getSignature(), signingInputBuffer));
 	}
 	
 	
@@ -472,6 +583,8 @@ public class JWSObjectJSON extends JOSEObjectJSON {
 		
 		Payload payload = new Payload(payloadB64URL);
 		
+		SigningInputBuffer signingInputBuffer = new SigningInputBuffer(payload);
+		
 		// Signature present at top-level in flattened JSON
 		Base64URL topLevelSignatureB64 = JSONObjectUtils.getBase64URL(jsonObject, "signature");
 		
@@ -497,7 +610,7 @@ public class JWSObjectJSON extends JOSEObjectJSON {
 				throw new ParseException(e.getMessage(), 0);
 			}
 			
-			signatureList.add(new Signature(payload, jwsHeader, unprotectedHeader, topLevelSignatureB64));
+			signatureList.add(new Signature(payload, jwsHeader, unprotectedHeader, topLevelSignatureB64, signingInputBuffer));
 			
 		} else {
 			Map<String, Object>[] signatures = JSONObjectUtils.getJSONObjectArray(jsonObject, "signatures");
@@ -523,11 +636,11 @@ public class JWSObjectJSON extends JOSEObjectJSON {
 					throw new ParseException("Missing \"signature\" member", 0);
 				}
 				
-				signatureList.add(new Signature(payload, jwsHeader, unprotectedHeader, signatureB64));
+				signatureList.add(new Signature(payload, jwsHeader, unprotectedHeader, signatureB64, signingInputBuffer));
 			}
 		}
 		
-		return new JWSObjectJSON(payload, signatureList);
+		return new JWSObjectJSON(payload, signatureList, signingInputBuffer);
 	}
 	
 	
@@ -0,0 +1,66 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose;
+
+
+import com.nimbusds.jose.util.Base64URL;
+
+
+/**
+ * JSON Web Signature (JWS) verifier that can verify a signing input given as
+ * a slice of a larger byte array. Lets the caller verify without copying the
+ * signing input out of a shared buffer, for example when the signatures of a
+ * {@link JWSObjectJSON JSON-serialised JWS} share the same payload.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+public interface JWSSliceVerifier extends JWSVerifier {
+
+
+	/**
+	 * Verifies the specified {@link JWSObject#getSignature signature} of a
+	 * {@link JWSObject JWS object}, with the signing input given as a
+	 * byte array slice.
+	 *
+	 * @param header       The JSON Web Signature (JWS) header. Must
+	 *                     specify a supported JWS algorithm and must not
+	 *                     be {@code null}.
+	 * @param signingInput The array holding the signing input. Must not
+	 *                     be {@code null}.
+	 * @param offset       The offset of the signing input in the array.
+	 * @param length       The length of the signing input.
+	 * @param signature    The signature part of the JWS object. Must not
+	 *                     be {@code null}.
+	 *
+	 * @return {@code true} if the signature was successfully verified,
+	 *         {@code false} if the signature is invalid or if a critical
+	 *         header is neither supported nor marked for deferral to the
+	 *         application.
+	 *
+	 * @throws JOSEException If the JWS algorithm is not supported, or if
+	 *                       signature verification failed for some other
+	 *                       internal reason.
+	 */
+	boolean verify(final JWSHeader header,
+		       final byte[] signingInput,
+		       final int offset,
+		       final int length,
+		       final Base64URL signature)
+		throws JOSEException;
+}
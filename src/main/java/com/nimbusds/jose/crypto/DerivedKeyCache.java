@@ -0,0 +1,198 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.crypto;
+
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import net.jcip.annotations.Immutable;
+import net.jcip.annotations.ThreadSafe;
+
+
+/**
+ * Bounded cache of Password-Based Key Derivation Function 2 (PBKDF2)
+ * derived keys, keyed by the formatted salt (which includes the JWE
+ * algorithm) and the iteration count. Intended to be owned by a single
+ * password-based decrypter, so the password is implicit and is never part
+ * of the cache key.
+ *
+ * <p>The key bytes are stored in arrays which are zeroed when the entry is
+ * evicted. When the maximum size is reached the cache is cleared. Each
+ * lookup returns a new {@link SecretKey} instance.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@ThreadSafe
+public final class DerivedKeyCache {
+	
+	
+	/**
+	 * Formatted salt and iteration count pair.
+	 */
+	@Immutable
+	private static final class CacheKey {
+		
+		private final byte[] formattedSalt;
+		
+		private final int iterationCount;
+		
+		private final int hashCode;
+		
+		private CacheKey(final byte[] formattedSalt, final int iterationCount) {
+			this.formattedSalt = formattedSalt.clone();
+			this.iterationCount = iterationCount;
+			hashCode = 31 * Arrays.hashCode(formattedSalt) + iterationCount;
+		}
+		
+		@Override
+		public boolean equals(final Object o) {
+			if (this == o) return true;
+			if (!(o instanceof CacheKey)) return false;
+			CacheKey other = (CacheKey) o;
+			return iterationCount == other.iterationCount && Arrays.equals(formattedSalt, other.formattedSalt);
+		}
+		
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+	
+	
+	/**
+	 * The maximum number of cached keys.
+	 */
+	private final int maxSize;
+	
+	
+	/**
+	 * The cached key bytes. Guarded by this object, so that no key is
+	 * zeroed while being copied.
+	 */
+	private final Map<CacheKey, byte[]> entries = new HashMap<>();
+	
+	
+	/**
+	 * Creates a new derived key cache.
+	 *
+	 * @param maxSize The maximum number of cached keys. Must be positive.
+	 */
+	public DerivedKeyCache(final int maxSize) {
+		
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("The max derived key cache size must be positive");
+		}
+		this.maxSize = maxSize;
+	}
+	
+	
+	/**
+	 * Returns the maximum number of cached keys.
+	 *
+	 * @return The maximum size.
+	 */
+	public int getMaxSize() {
+		
+		return maxSize;
+	}
+	
+	
+	/**
+	 * Returns the number of cached keys.
+	 *
+	 * @return The number of cached keys.
+	 */
+	public synchronized int size() {
+		
+		return entries.size();
+	}
+	
+	
+	/**
+	 * Gets the cached derived key for the specified formatted salt and
+	 * iteration count.
+	 *
+	 * @param formattedSalt  The formatted salt. Must not be {@code null}.
+	 * @param iterationCount The iteration count.
+	 *
+	 * @return The derived key (with "AES" algorithm), {@code null} if not
+	 *         cached.
+	 */
+	public synchronized SecretKey get(final byte[] formattedSalt, final int iterationCount) {
+		
+		byte[] keyBytes = entries.get(new CacheKey(formattedSalt, iterationCount));
+		
+		if (keyBytes == null) {
+			return null;
+		}
+		
+		// Copies the bytes
+		return new SecretKeySpec(keyBytes, "AES");
+	}
+	
+	
+	/**
+	 * Caches the derived key for the specified formatted salt and
+	 * iteration count. If the maximum size is reached the cache is
+	 * cleared first.
+	 *
+	 * @param formattedSalt  The formatted salt. Must not be {@code null}.
+	 * @param iterationCount The iteration count.
+	 * @param derivedKey     The derived key. Must not be {@code null}.
+	 */
+	public synchronized void put(final byte[] formattedSalt, final int iterationCount, final SecretKey derivedKey) {
+		
+		CacheKey key = new CacheKey(formattedSalt, iterationCount);
+		
+		if (entries.size() >= maxSize && ! entries.containsKey(key)) {
+			clear();
+		}
+		
+		zero(entries.put(key, derivedKey.getEncoded()));
+	}
+	
+	
+	/**
+	 * Clears the cache, zeroing the cached key bytes.
+	 */
+	public synchronized void clear() {
+		
+		for (byte[] keyBytes: entries.values()) {
+			zero(keyBytes);
+		}
+		entries.clear();
+	}
+	
+	
+	/**
+	 * Zeroes the specified key bytes.
+	 *
+	 * @param keyBytes The key bytes, {@code null} if none.
+	 */
+	private static void zero(final byte[] keyBytes) {
+		
+		if (keyBytes != null) {
+			Arrays.fill(keyBytes, (byte) 0);
+		}
+	}
+}
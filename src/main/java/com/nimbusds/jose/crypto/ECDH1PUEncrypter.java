@@ -91,7 +91,7 @@ import java.util.Set;
  *
  * @author Alexander Martynov
  * @author Egor Puzanov
- * @version 2023-05-17
+ * @version 2026-10-15
  */
 @ThreadSafe
 public class ECDH1PUEncrypter extends ECDH1PUCryptoProvider implements JWEEncrypter {
@@ -122,6 +122,12 @@ public class ECDH1PUEncrypter extends ECDH1PUCryptoProvider implements JWEEncryp
      */
     private final ECPrivateKey privateKey;
 
+    /**
+     * The optional pool of precomputed ephemeral key pairs, {@code null}
+     * if not specified.
+     */
+    private final EphemeralKeyPool<KeyPair> ephemeralKeyPool;
+
     /**
      * Creates a new Elliptic Curve Diffie-Hellman encrypter.
      *
@@ -158,10 +164,47 @@ public class ECDH1PUEncrypter extends ECDH1PUCryptoProvider implements JWEEncryp
                             final SecretKey contentEncryptionKey)
             throws JOSEException {
 
+        this(privateKey, publicKey, contentEncryptionKey, null);
+    }
+
+
+    /**
+     * Creates a new Elliptic Curve Diffie-Hellman encrypter with an
+     * optionally specified content encryption key (CEK) and pool of
+     * precomputed ephemeral key pairs.
+     *
+     * @param privateKey           The private EC key. Must not be
+     *                             {@code null}.
+     * @param publicKey            The public EC key. Must not be
+     *                             {@code null}.
+     * @param contentEncryptionKey The content encryption key (CEK) to use.
+     *                             If specified its algorithm must be "AES"
+     *                             and its length must match the expected
+     *                             for the JWE encryption method ("enc").
+     *                             If {@code null} a CEK will be generated
+     *                             for each JWE.
+     * @param ephemeralKeyPool     The pool to take the ephemeral EC key
+     *                             pairs from, on the curve of the public
+     *                             key. If {@code null} an ephemeral key
+     *                             pair will be generated for each JWE.
+     * @throws JOSEException       If the elliptic curve is not supported
+     *                             or doesn't match the pool curve.
+     */
+    public ECDH1PUEncrypter(final ECPrivateKey privateKey,
+                            final ECPublicKey publicKey,
+                            final SecretKey contentEncryptionKey,
+                            final EphemeralKeyPool<KeyPair> ephemeralKeyPool)
+            throws JOSEException {
+
         super(Curve.forECParameterSpec(publicKey.getParams()), contentEncryptionKey);
 
+        if (ephemeralKeyPool != null && ! getCurve().equals(ephemeralKeyPool.getCurve())) {
+            throw new JOSEException("The ephemeral key pool curve must match the public EC key curve " + getCurve());
+        }
+
         this.privateKey = privateKey;
         this.publicKey = publicKey;
+        this.ephemeralKeyPool = ephemeralKeyPool;
     }
 
 
@@ -187,6 +230,17 @@ public class ECDH1PUEncrypter extends ECDH1PUCryptoProvider implements JWEEncryp
     }
 
 
+    /**
+     * Returns the pool of precomputed ephemeral key pairs.
+     *
+     * @return The ephemeral key pool, {@code null} if not specified.
+     */
+    public EphemeralKeyPool<KeyPair> getEphemeralKeyPool() {
+
+        return ephemeralKeyPool;
+    }
+
+
     @Override
     public Set<Curve> supportedEllipticCurves() {
 
@@ -220,8 +274,11 @@ public class ECDH1PUEncrypter extends ECDH1PUCryptoProvider implements JWEEncryp
     public JWECryptoParts encrypt(final JWEHeader header, final byte[] clearText, final byte[] aad)
         throws JOSEException {
 
-        // Generate ephemeral EC key pair on the same curve as the consumer's public key
-        KeyPair ephemeralKeyPair = generateEphemeralKeyPair(publicKey.getParams());
+        // Generate ephemeral EC key pair on the same curve as the consumer's public key,
+        // or take a precomputed one
+        KeyPair ephemeralKeyPair = ephemeralKeyPool != null ?
+                ephemeralKeyPool.take() :
+                generateEphemeralKeyPair(publicKey.getParams());
         ECPublicKey ephemeralPublicKey = (ECPublicKey)ephemeralKeyPair.getPublic();
         ECPrivateKey ephemeralPrivateKey = (ECPrivateKey)ephemeralKeyPair.getPrivate();
 
@@ -91,7 +91,7 @@ import net.jcip.annotations.ThreadSafe;
  * @author Vladimir Dzhuvinov
  * @author Fernando González Callejas
  * @author Egor Puzanov
- * @version 2023-05-17
+ * @version 2026-10-15
  */
 @ThreadSafe
 public class ECDHEncrypter extends ECDHCryptoProvider implements JWEEncrypter {
@@ -117,6 +117,13 @@ public class ECDHEncrypter extends ECDHCryptoProvider implements JWEEncrypter {
 	 */
 	private final ECPublicKey publicKey;
 
+
+	/**
+	 * The optional pool of precomputed ephemeral key pairs, {@code null}
+	 * if not specified.
+	 */
+	private final EphemeralKeyPool<KeyPair> ephemeralKeyPool;
+
 	/**
 	 * Creates a new Elliptic Curve Diffie-Hellman encrypter.
 	 *
@@ -161,9 +168,43 @@ public class ECDHEncrypter extends ECDHCryptoProvider implements JWEEncrypter {
 	public ECDHEncrypter(final ECPublicKey publicKey, final SecretKey contentEncryptionKey)
 		throws JOSEException {
 		
+		this(publicKey, contentEncryptionKey, null);
+	}
+
+
+	/**
+	 * Creates a new Elliptic Curve Diffie-Hellman encrypter with an
+	 * optionally specified content encryption key (CEK) and pool of
+	 * precomputed ephemeral key pairs.
+	 *
+	 * @param publicKey            The public EC key. Must not be
+	 *                             {@code null}.
+	 * @param contentEncryptionKey The content encryption key (CEK) to use.
+	 *                             If specified its algorithm must be "AES"
+	 *                             and its length must match the expected
+	 *                             for the JWE encryption method ("enc").
+	 *                             If {@code null} a CEK will be generated
+	 *                             for each JWE.
+	 * @param ephemeralKeyPool     The pool to take the ephemeral EC key
+	 *                             pairs from, on the curve of the public
+	 *                             key. If {@code null} an ephemeral key
+	 *                             pair will be generated for each JWE.
+	 * @throws JOSEException       If the elliptic curve is not supported
+	 *                             or doesn't match the pool curve.
+	 */
+	public ECDHEncrypter(final ECPublicKey publicKey,
+			     final SecretKey contentEncryptionKey,
+			     final EphemeralKeyPool<KeyPair> ephemeralKeyPool)
+		throws JOSEException {
+		
 		super(Curve.forECParameterSpec(publicKey.getParams()), contentEncryptionKey);
 		
+		if (ephemeralKeyPool != null && ! getCurve().equals(ephemeralKeyPool.getCurve())) {
+			throw new JOSEException("The ephemeral key pool curve must match the public EC key curve " + getCurve());
+		}
+		
 		this.publicKey = publicKey;
+		this.ephemeralKeyPool = ephemeralKeyPool;
 	}
 
 
@@ -178,6 +219,17 @@ public class ECDHEncrypter extends ECDHCryptoProvider implements JWEEncrypter {
 	}
 
 
+	/**
+	 * Returns the pool of precomputed ephemeral key pairs.
+	 *
+	 * @return The ephemeral key pool, {@code null} if not specified.
+	 */
+	public EphemeralKeyPool<KeyPair> getEphemeralKeyPool() {
+
+		return ephemeralKeyPool;
+	}
+
+
 	@Override
 	public Set<Curve> supportedEllipticCurves() {
 
@@ -211,8 +263,11 @@ public class ECDHEncrypter extends ECDHCryptoProvider implements JWEEncrypter {
 	public JWECryptoParts encrypt(final JWEHeader header, final byte[] clearText, final byte[] aad)
 		throws JOSEException {
 
-		// Generate ephemeral EC key pair on the same curve as the consumer's public key
-		KeyPair ephemeralKeyPair = generateEphemeralKeyPair(publicKey.getParams());
+		// Generate ephemeral EC key pair on the same curve as the consumer's public key,
+		// or take a precomputed one
+		KeyPair ephemeralKeyPair = ephemeralKeyPool != null ?
+			ephemeralKeyPool.take() :
+			generateEphemeralKeyPair(publicKey.getParams());
 		ECPublicKey ephemeralPublicKey = (ECPublicKey)ephemeralKeyPair.getPublic();
 		ECPrivateKey ephemeralPrivateKey = (ECPrivateKey)ephemeralKeyPair.getPrivate();
 
@@ -71,7 +71,7 @@ import com.nimbusds.jose.util.Base64URL;
  *
  * @author Axel Nennker
  * @author Vladimir Dzhuvinov
- * @version 2023-04-20
+ * @version 2026-10-15
  */
 @ThreadSafe
 public class ECDSASigner extends ECDSAProvider implements JWSSigner {
@@ -248,10 +248,15 @@ public class ECDSASigner extends ECDSAProvider implements JWSSigner {
 		// DER-encoded signature, according to JCA spec
 		final byte[] jcaSignature;
 		try {
-			final Signature dsa = ECDSA.getSignerAndVerifier(alg, getJCAContext().getProvider());
+			final boolean completionDeferred = OptionUtils.optionIsPresent(opts, UserAuthenticationRequired.class);
+
+			// A pooled signature must not escape to deferred completion
+			final Signature dsa = ! completionDeferred && getJCAContext().isEnginePoolingEnabled() ?
+				ECDSA.getPooledSignerAndVerifier(alg, getJCAContext().getProvider()) :
+				ECDSA.getSignerAndVerifier(alg, getJCAContext().getProvider());
 			dsa.initSign(privateKey, getJCAContext().getSecureRandom());
 
-			if (OptionUtils.optionIsPresent(opts, UserAuthenticationRequired.class)) {
+			if (completionDeferred) {
 
 				throw new ActionRequiredForJWSCompletionException(
 						"Authenticate user to complete signing",
@@ -59,10 +59,10 @@ import com.nimbusds.jose.util.Base64URL;
  * 
  * @author Axel Nennker
  * @author Vladimir Dzhuvinov
- * @version 2022-04-22
+ * @version 2026-10-15
  */
 @ThreadSafe
-public class ECDSAVerifier extends ECDSAProvider implements JWSVerifier, CriticalHeaderParamsAware {
+public class ECDSAVerifier extends ECDSAProvider implements JWSSliceVerifier, CriticalHeaderParamsAware {
 
 
 	/**
@@ -166,6 +166,18 @@ public class ECDSAVerifier extends ECDSAProvider implements JWSVerifier, Critica
 		              final Base64URL signature)
 		throws JOSEException {
 
+		return verify(header, signedContent, 0, signedContent.length, signature);
+	}
+
+
+	@Override
+	public boolean verify(final JWSHeader header,
+			      final byte[] signedContent,
+			      final int offset,
+			      final int length,
+			      final Base64URL signature)
+		throws JOSEException {
+
 		final JWSAlgorithm alg = header.getAlgorithm();
 
 		if (! supportedJWSAlgorithms().contains(alg)) {
@@ -193,11 +205,13 @@ public class ECDSAVerifier extends ECDSAProvider implements JWSVerifier, Critica
 			return false;
 		}
 
-		Signature sig = ECDSA.getSignerAndVerifier(alg, getJCAContext().getProvider());
+		Signature sig = getJCAContext().isEnginePoolingEnabled() ?
+			ECDSA.getPooledSignerAndVerifier(alg, getJCAContext().getProvider()) :
+			ECDSA.getSignerAndVerifier(alg, getJCAContext().getProvider());
 
 		try {
 			sig.initVerify(publicKey);
-			sig.update(signedContent);
+			sig.update(signedContent, offset, length);
 			return sig.verify(derSignature);
 
 		} catch (InvalidKeyException e) {
@@ -19,6 +19,7 @@ package com.nimbusds.jose.crypto;
 
 
 import java.security.GeneralSecurityException;
+import java.util.Arrays;
 import java.util.Set;
 
 import com.google.crypto.tink.subtle.Ed25519Verify;
@@ -54,10 +55,10 @@ import net.jcip.annotations.ThreadSafe;
  * </ul>
  *
  * @author Tim McLean
- * @version 2018-07-11
+ * @version 2026-10-15
  */
 @ThreadSafe
-public class Ed25519Verifier extends EdDSAProvider implements JWSVerifier, CriticalHeaderParamsAware {
+public class Ed25519Verifier extends EdDSAProvider implements JWSSliceVerifier, CriticalHeaderParamsAware {
 
 
 	private final CriticalHeaderParamsDeferral critPolicy = new CriticalHeaderParamsDeferral();
@@ -143,6 +144,18 @@ public class Ed25519Verifier extends EdDSAProvider implements JWSVerifier, Criti
 		              final Base64URL signature)
 		throws JOSEException {
 
+		return verify(header, signedContent, 0, signedContent.length, signature);
+	}
+
+
+	@Override
+	public boolean verify(final JWSHeader header,
+			      final byte[] signedContent,
+			      final int offset,
+			      final int length,
+			      final Base64URL signature)
+		throws JOSEException {
+
 		// Check alg field in header
 		final JWSAlgorithm alg = header.getAlgorithm();
 		if (! JWSAlgorithm.EdDSA.equals(alg)) {
@@ -157,7 +170,12 @@ public class Ed25519Verifier extends EdDSAProvider implements JWSVerifier, Criti
 		final byte[] jwsSignature = signature.decode();
 
 		try {
-			tinkVerifier.verify(jwsSignature, signedContent);
+			// The Tink verifier takes whole arrays only
+			if (offset == 0 && length == signedContent.length) {
+				tinkVerifier.verify(jwsSignature, signedContent);
+			} else {
+				tinkVerifier.verify(jwsSignature, Arrays.copyOfRange(signedContent, offset, offset + length));
+			}
 			return true;
 
 		} catch (GeneralSecurityException e) {
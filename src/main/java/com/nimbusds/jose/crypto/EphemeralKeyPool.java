@@ -0,0 +1,328 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.crypto;
+
+
+import java.io.Closeable;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.Provider;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import net.jcip.annotations.ThreadSafe;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.gen.OctetKeyPairGenerator;
+
+
+/**
+ * Bounded pool of precomputed single-use ephemeral key pairs for the
+ * Elliptic Curve Diffie-Hellman (ECDH) encrypters. Moves the ephemeral key
+ * generation, the most expensive part of ECDH-ES encryption for the P-384
+ * and P-521 curves, off the encrypting thread.
+ *
+ * <p>A background daemon thread keeps the pool filled up to its capacity.
+ * Each key pair is handed out by {@link #take()} exactly once and is not
+ * retained by the pool afterwards. When the pool is empty, or has been
+ * closed, the key pair is generated on the calling thread.
+ *
+ * <p>Supported curves:
+ *
+ * <ul>
+ *     <li>{@link Curve#P_256}, {@link Curve#P_384}, {@link Curve#P_521},
+ *         as {@link KeyPair}s, for the {@link ECDHEncrypter} and
+ *         {@link ECDH1PUEncrypter}.
+ *     <li>{@link Curve#X25519}, as private {@link OctetKeyPair}s, for the
+ *         {@link X25519Encrypter}.
+ * </ul>
+ *
+ * <p>Example:
+ *
+ * <pre>
+ * EphemeralKeyPool&lt;KeyPair&gt; pool = EphemeralKeyPool.forEC(Curve.P_384, 100, null);
+ *
+ * JWEEncrypter encrypter = new ECDHEncrypter(ecPublicJWK.toECPublicKey(), null, pool);
+ * </pre>
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@ThreadSafe
+public final class EphemeralKeyPool<K> implements Closeable {
+	
+	
+	/**
+	 * Ephemeral key pair generator.
+	 */
+	private static abstract class Generator<K> {
+		
+		
+		/**
+		 * Generates a new ephemeral key pair.
+		 *
+		 * @return The key pair.
+		 *
+		 * @throws JOSEException If generation failed.
+		 */
+		abstract K generate() throws JOSEException;
+	}
+	
+	
+	/**
+	 * The curve.
+	 */
+	private final Curve curve;
+	
+	
+	/**
+	 * The pool capacity.
+	 */
+	private final int capacity;
+	
+	
+	/**
+	 * The generated key pairs waiting to be handed out.
+	 */
+	private final BlockingQueue<K> queue;
+	
+	
+	/**
+	 * The key pair generator.
+	 */
+	private final Generator<K> generator;
+	
+	
+	/**
+	 * The background producer thread.
+	 */
+	private final Thread producer;
+	
+	
+	/**
+	 * Set when the pool is closed.
+	 */
+	private volatile boolean closed;
+	
+	
+	/**
+	 * Creates a new ephemeral key pool and starts its producer thread.
+	 *
+	 * @param curve     The curve.
+	 * @param capacity  The capacity.
+	 * @param generator The key pair generator.
+	 */
+	private EphemeralKeyPool(final Curve curve, final int capacity, final Generator<K> generator)
+		throws JOSEException {
+		
+		if (capacity < 1) {
+			throw new IllegalArgumentException("The ephemeral key pool capacity must be positive");
+		}
+		this.curve = curve;
+		this.capacity = capacity;
+		this.generator = generator;
+		queue = new ArrayBlockingQueue<>(capacity);
+		
+		// Fail early if the curve is not supported by the provider
+		queue.add(generator.generate());
+		
+		producer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				produce();
+			}
+		}, "nimbus-ephemeral-key-pool-" + curve.getName());
+		producer.setDaemon(true);
+		producer.start();
+	}
+	
+	
+	/**
+	 * Creates a new pool of ephemeral EC key pairs.
+	 *
+	 * @param curve    The curve, {@link Curve#P_256}, {@link Curve#P_384}
+	 *                 or {@link Curve#P_521}. Must not be {@code null}.
+	 * @param capacity The maximum number of precomputed key pairs. Must
+	 *                 be positive.
+	 * @param provider The JCA provider for the key pair generation,
+	 *                 {@code null} to use the default one.
+	 *
+	 * @return The ephemeral key pool, with its producer thread started.
+	 *
+	 * @throws JOSEException If the curve is not supported.
+	 */
+	public static EphemeralKeyPool<KeyPair> forEC(final Curve curve, final int capacity, final Provider provider)
+		throws JOSEException {
+		
+		Objects.requireNonNull(curve);
+		
+		if (! Curve.P_256.equals(curve) && ! Curve.P_384.equals(curve) && ! Curve.P_521.equals(curve)) {
+			throw new JOSEException("Unsupported ephemeral EC key curve: " + curve);
+		}
+		
+		return new EphemeralKeyPool<>(curve, capacity, new Generator<KeyPair>() {
+			@Override
+			KeyPair generate() throws JOSEException {
+				try {
+					KeyPairGenerator generator;
+					
+					if (provider != null) {
+						generator = KeyPairGenerator.getInstance("EC", provider);
+					} else {
+						generator = KeyPairGenerator.getInstance("EC");
+					}
+					
+					generator.initialize(curve.toECParameterSpec());
+					return generator.generateKeyPair();
+				} catch (NoSuchAlgorithmException | InvalidAlgorithmParameterException e) {
+					throw new JOSEException("Couldn't generate ephemeral EC key pair: " + e.getMessage(), e);
+				}
+			}
+		});
+	}
+	
+	
+	/**
+	 * Creates a new pool of ephemeral X25519 key pairs.
+	 *
+	 * @param capacity The maximum number of precomputed key pairs. Must
+	 *                 be positive.
+	 *
+	 * @return The ephemeral key pool, with its producer thread started.
+	 *
+	 * @throws JOSEException If X25519 key generation failed.
+	 */
+	public static EphemeralKeyPool<OctetKeyPair> forX25519(final int capacity)
+		throws JOSEException {
+		
+		return new EphemeralKeyPool<>(Curve.X25519, capacity, new Generator<OctetKeyPair>() {
+			@Override
+			OctetKeyPair generate() throws JOSEException {
+				return new OctetKeyPairGenerator(Curve.X25519).generate();
+			}
+		});
+	}
+	
+	
+	/**
+	 * Keeps the pool filled until closed or interrupted.
+	 */
+	private void produce() {
+		
+		try {
+			while (! closed) {
+				// Blocks while the pool is full
+				queue.put(generator.generate());
+			}
+		} catch (JOSEException | InterruptedException e) {
+			// Generation shouldn't fail after the initial key pair,
+			// take() falls back to generating on the calling thread
+		} finally {
+			if (closed) {
+				// Discard any key pair put after the close
+				queue.clear();
+			}
+		}
+	}
+	
+	
+	/**
+	 * Returns the curve of the ephemeral key pairs.
+	 *
+	 * @return The curve.
+	 */
+	public Curve getCurve() {
+		
+		return curve;
+	}
+	
+	
+	/**
+	 * Returns the maximum number of precomputed key pairs.
+	 *
+	 * @return The capacity.
+	 */
+	public int getCapacity() {
+		
+		return capacity;
+	}
+	
+	
+	/**
+	 * Returns the current number of precomputed key pairs in the pool.
+	 *
+	 * @return The fill level, from zero up to the capacity.
+	 */
+	public int getFillLevel() {
+		
+		return queue.size();
+	}
+	
+	
+	/**
+	 * Takes an ephemeral key pair from the pool. The key pair is removed
+	 * from the pool and will not be handed out again. If the pool is
+	 * empty or closed a new key pair is generated on the calling thread.
+	 *
+	 * @return The ephemeral key pair.
+	 *
+	 * @throws JOSEException If the key pair had to be generated and the
+	 *                       generation failed.
+	 */
+	public K take()
+		throws JOSEException {
+		
+		K keyPair = queue.poll();
+		
+		if (keyPair != null) {
+			return keyPair;
+		}
+		
+		return generator.generate();
+	}
+	
+	
+	/**
+	 * Returns {@code true} if the pool is closed.
+	 *
+	 * @return {@code true} if closed, else {@code false}.
+	 */
+	public boolean isClosed() {
+		
+		return closed;
+	}
+	
+	
+	/**
+	 * Stops the producer thread and discards the precomputed key pairs.
+	 * Subsequent calls to {@link #take()} generate the key pairs on the
+	 * calling thread.
+	 */
+	@Override
+	public void close() {
+		
+		closed = true;
+		producer.interrupt();
+		queue.clear();
+	}
+}
@@ -20,7 +20,6 @@ package com.nimbusds.jose.crypto;
 
 import com.nimbusds.jose.*;
 import com.nimbusds.jose.crypto.impl.AlgorithmSupportMessage;
-import com.nimbusds.jose.crypto.impl.HMAC;
 import com.nimbusds.jose.crypto.impl.MACProvider;
 import com.nimbusds.jose.jwk.OctetSequenceKey;
 import com.nimbusds.jose.util.Base64URL;
@@ -57,7 +56,7 @@ import java.util.Set;
  * 
  * @author Vladimir Dzhuvinov
  * @author Ulrich Winter
- * @version 2023-09-14
+ * @version 2026-10-15
  */
 @ThreadSafe
 public class MACSigner extends MACProvider implements JWSSigner {
@@ -204,7 +203,7 @@ public class MACSigner extends MACProvider implements JWSSigner {
 		}
 
 		String jcaAlg = getJCAAlgorithmName(header.getAlgorithm());
-		byte[] hmac = HMAC.compute(jcaAlg, getSecretKey(), signingInput, getJCAContext().getProvider());
+		byte[] hmac = computeHMAC(jcaAlg, signingInput);
 		return Base64URL.encode(hmac);
 	}
 }
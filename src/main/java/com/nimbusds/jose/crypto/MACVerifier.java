@@ -21,9 +21,8 @@ package com.nimbusds.jose.crypto;
 import com.nimbusds.jose.CriticalHeaderParamsAware;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSHeader;
-import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.JWSSliceVerifier;
 import com.nimbusds.jose.crypto.impl.CriticalHeaderParamsDeferral;
-import com.nimbusds.jose.crypto.impl.HMAC;
 import com.nimbusds.jose.crypto.impl.MACProvider;
 import com.nimbusds.jose.crypto.utils.ConstantTimeUtils;
 import com.nimbusds.jose.jwk.OctetSequenceKey;
@@ -56,10 +55,10 @@ import java.util.Set;
  <p>Tested with the AWS CloudHSM JCE provider.
  * 
  * @author Vladimir Dzhuvinov
- * @version 2016-06-26
+ * @version 2026-10-15
  */
 @ThreadSafe
-public class MACVerifier extends MACProvider implements JWSVerifier, CriticalHeaderParamsAware {
+public class MACVerifier extends MACProvider implements JWSSliceVerifier, CriticalHeaderParamsAware {
 
 
 	/**
@@ -216,12 +215,24 @@ public class MACVerifier extends MACProvider implements JWSVerifier, CriticalHea
 		              final Base64URL signature)
 		throws JOSEException {
 
+		return verify(header, signedContent, 0, signedContent.length, signature);
+	}
+
+
+	@Override
+	public boolean verify(final JWSHeader header,
+			      final byte[] signedContent,
+			      final int offset,
+			      final int length,
+			      final Base64URL signature)
+		throws JOSEException {
+
 		if (! critPolicy.headerPasses(header)) {
 			return false;
 		}
 
 		String jcaAlg = getJCAAlgorithmName(header.getAlgorithm());
-		byte[] expectedHMAC = HMAC.compute(jcaAlg, getSecretKey(), signedContent, getJCAContext().getProvider());
+		byte[] expectedHMAC = computeHMAC(jcaAlg, signedContent, offset, length);
 		return ConstantTimeUtils.areEqual(expectedHMAC, signature.decode());
 	}
 }
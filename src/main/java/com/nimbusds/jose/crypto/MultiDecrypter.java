@@ -19,9 +19,16 @@ package com.nimbusds.jose.crypto;
 
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 import com.nimbusds.jose.*;
 import com.nimbusds.jose.crypto.impl.AAD;
@@ -84,8 +91,15 @@ import net.jcip.annotations.ThreadSafe;
  *     <li>{@link com.nimbusds.jose.EncryptionMethod#XC20P} (requires 256 bit key)
  * </ul>
  *
+ * <p>The recipient is identified by the key ID ("kid") or another key
+ * identifying parameter in its header, matched against the JWK. If an
+ * {@link Executor} is specified and no recipient is identified, the
+ * recipients without a key ID are tried concurrently on the executor, the
+ * first successful decryption is returned.
+ *
  * @author Egor Puzanov
- * @version 2023-09-10
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
  */
 @ThreadSafe
 public class MultiDecrypter extends MultiCryptoProvider implements JWEDecrypter, CriticalHeaderParamsAware {
@@ -133,12 +147,33 @@ public class MultiDecrypter extends MultiCryptoProvider implements JWEDecrypter,
 	private final Base64URL thumbprint;
 
 
+	/**
+	 * The default maximum number of recipients without a key ID to try
+	 * in a concurrent trial decryption.
+	 */
+	public static final int DEFAULT_MAX_TRIAL_DECRYPTIONS = 10;
+
+
 	/**
 	 * The critical header policy.
 	 */
 	private final CriticalHeaderParamsDeferral critPolicy = new CriticalHeaderParamsDeferral();
 
 
+	/**
+	 * The executor for the concurrent trial decryption, {@code null} if
+	 * not specified.
+	 */
+	private final Executor executor;
+
+
+	/**
+	 * The maximum number of recipients to try in a concurrent trial
+	 * decryption.
+	 */
+	private final int maxTrialDecryptions;
+
+
 	/**
 	 * Creates a new multi-recipient decrypter.
 	 *
@@ -172,8 +207,74 @@ public class MultiDecrypter extends MultiCryptoProvider implements JWEDecrypter,
 	public MultiDecrypter(final JWK jwk, final Set<String> defCritHeaders)
 		throws JOSEException, KeyLengthException {
 
+		this(jwk, defCritHeaders, null);
+	}
+
+
+	/**
+	 * Creates a new multi-recipient decrypter with concurrent trial
+	 * decryption.
+	 *
+	 * @param jwk            The JSON Web Key (JWK). Must contain a private
+	 *                       part. Must not be {@code null}.
+	 * @param defCritHeaders The names of the critical header parameters
+	 *                       that are deferred to the application for
+	 *                       processing, empty set or {@code null} if none.
+	 * @param executor       The executor for trying the recipients without
+	 *                       a key ID concurrently when no recipient
+	 *                       matches the JWK, {@code null} to fail in that
+	 *                       case. At most
+	 *                       {@link #DEFAULT_MAX_TRIAL_DECRYPTIONS}
+	 *                       recipients are tried.
+	 *
+	 * @throws KeyLengthException If the symmetric key length is not
+	 *                            compatible.
+	 * @throws JOSEException      If an internal exception is encountered.
+	 */
+	public MultiDecrypter(final JWK jwk, final Set<String> defCritHeaders, final Executor executor)
+		throws JOSEException, KeyLengthException {
+
+		this(jwk, defCritHeaders, executor, DEFAULT_MAX_TRIAL_DECRYPTIONS);
+	}
+
+
+	/**
+	 * Creates a new multi-recipient decrypter with concurrent trial
+	 * decryption.
+	 *
+	 * @param jwk                 The JSON Web Key (JWK). Must contain a
+	 *                            private part. Must not be {@code null}.
+	 * @param defCritHeaders      The names of the critical header
+	 *                            parameters that are deferred to the
+	 *                            application for processing, empty set or
+	 *                            {@code null} if none.
+	 * @param executor            The executor for trying the recipients
+	 *                            without a key ID concurrently when no
+	 *                            recipient matches the JWK, {@code null}
+	 *                            to fail in that case.
+	 * @param maxTrialDecryptions The maximum number of recipients without
+	 *                            a key ID to try. JWEs with more such
+	 *                            recipients are rejected, since each trial
+	 *                            costs a private key operation. Must be
+	 *                            positive.
+	 *
+	 * @throws KeyLengthException If the symmetric key length is not
+	 *                            compatible.
+	 * @throws JOSEException      If an internal exception is encountered.
+	 */
+	public MultiDecrypter(final JWK jwk,
+			      final Set<String> defCritHeaders,
+			      final Executor executor,
+			      final int maxTrialDecryptions)
+		throws JOSEException, KeyLengthException {
+
 		super(null);
 
+		if (maxTrialDecryptions <= 0) {
+			throw new IllegalArgumentException("The maximum number of trial decryptions must be positive");
+		}
+		this.maxTrialDecryptions = maxTrialDecryptions;
+
 		if (jwk == null) {
 			throw new IllegalArgumentException("The private key (JWK) must not be null");
 		}
@@ -186,6 +287,30 @@ public class MultiDecrypter extends MultiCryptoProvider implements JWEDecrypter,
 		this.thumbprint = jwk.computeThumbprint();
 
 		critPolicy.setDeferredCriticalHeaderParams(defCritHeaders);
+		this.executor = executor;
+	}
+
+
+	/**
+	 * Returns the executor for the concurrent trial decryption.
+	 *
+	 * @return The executor, {@code null} if not specified.
+	 */
+	public Executor getExecutor() {
+
+		return executor;
+	}
+
+
+	/**
+	 * Returns the maximum number of recipients without a key ID to try in
+	 * a concurrent trial decryption.
+	 *
+	 * @return The maximum number of trial decryptions.
+	 */
+	public int getMaxTrialDecryptions() {
+
+		return maxTrialDecryptions;
 	}
 
 
@@ -290,10 +415,10 @@ public class MultiDecrypter extends MultiCryptoProvider implements JWEDecrypter,
 		}
 
 		final JWEDecrypter decrypter;
-		final KeyType kty = jwk.getKeyType();
-		final Set<String> defCritHeaders = critPolicy.getDeferredCriticalHeaderParams();
 		JWEObjectJSON.Recipient recipient = null;
 		JWEHeader recipientHeader = null;
+		List<JWEHeader> candidateHeaders = new ArrayList<>();
+		List<JWEObjectJSON.Recipient> candidates = new ArrayList<>();
 		try {
 			// The encryptedKey value contains the Base64URL encoded JSON string
 			// {"recipients":[{recipient1},{recipient2}]} if multiple recipients are used.
@@ -307,6 +432,10 @@ public class MultiDecrypter extends MultiCryptoProvider implements JWEDecrypter,
 				if (jwkMatched(recipientHeader)) {
 					break;
 				}
+				if (executor != null && recipientHeader.getKeyID() == null) {
+					candidateHeaders.add(recipientHeader);
+					candidates.add(recipient);
+				}
 				recipientHeader = null;
 			}
 		} catch (Exception e) {
@@ -316,26 +445,141 @@ public class MultiDecrypter extends MultiCryptoProvider implements JWEDecrypter,
 		}
 
 		if (recipientHeader == null) {
+			if (candidates.size() > maxTrialDecryptions) {
+				throw new JOSEException("Too many recipients without a key ID for trial decryption, the maximum is " + maxTrialDecryptions);
+			}
+			if (! candidates.isEmpty()) {
+				return decryptWithCandidates(candidateHeaders, candidates, iv, cipherText, authTag, aad);
+			}
 			throw new JOSEException("No recipient found");
 		}
 
 		final JWEAlgorithm alg = JWEHeaderValidation.getAlgorithmAndEnsureNotNull(recipientHeader);
 		critPolicy.ensureHeaderPasses(recipientHeader);
 
+		decrypter = createDecrypter(alg);
+
+		if (decrypter == null) {
+			throw new JOSEException("Unsupported algorithm");
+		}
+
+		return decrypter.decrypt(recipientHeader, recipient.getEncryptedKey(), iv, cipherText, authTag, aad);
+	}
+
+
+	/**
+	 * Creates a decrypter for the JWK and the specified JWE algorithm.
+	 *
+	 * @param alg The JWE algorithm. Must not be {@code null}.
+	 *
+	 * @return The decrypter, {@code null} if the JWE algorithm is not
+	 *         supported for the JWK.
+	 *
+	 * @throws JOSEException If the decrypter couldn't be created.
+	 */
+	private JWEDecrypter createDecrypter(final JWEAlgorithm alg)
+		throws JOSEException {
+
+		final KeyType kty = jwk.getKeyType();
+		final Set<String> defCritHeaders = critPolicy.getDeferredCriticalHeaderParams();
+
 		if (KeyType.RSA.equals(kty) && RSADecrypter.SUPPORTED_ALGORITHMS.contains(alg)) {
-			decrypter = new RSADecrypter(jwk.toRSAKey().toRSAPrivateKey(), defCritHeaders);
+			return new RSADecrypter(jwk.toRSAKey().toRSAPrivateKey(), defCritHeaders);
 		} else if (KeyType.EC.equals(kty) && ECDHDecrypter.SUPPORTED_ALGORITHMS.contains(alg)) {
-			decrypter = new ECDHDecrypter(jwk.toECKey().toECPrivateKey(), defCritHeaders);
+			return new ECDHDecrypter(jwk.toECKey().toECPrivateKey(), defCritHeaders);
 		} else if (KeyType.OCT.equals(kty) && AESDecrypter.SUPPORTED_ALGORITHMS.contains(alg)) {
-			decrypter = new AESDecrypter(jwk.toOctetSequenceKey().toSecretKey("AES"), defCritHeaders);
+			return new AESDecrypter(jwk.toOctetSequenceKey().toSecretKey("AES"), defCritHeaders);
 		} else if (KeyType.OCT.equals(kty) && DirectDecrypter.SUPPORTED_ALGORITHMS.contains(alg)) {
-			decrypter = new DirectDecrypter(jwk.toOctetSequenceKey().toSecretKey("AES"), defCritHeaders);
+			return new DirectDecrypter(jwk.toOctetSequenceKey().toSecretKey("AES"), defCritHeaders);
 		} else if (KeyType.OKP.equals(kty) && X25519Decrypter.SUPPORTED_ALGORITHMS.contains(alg)) {
-			decrypter = new X25519Decrypter(jwk.toOctetKeyPair(), defCritHeaders);
+			return new X25519Decrypter(jwk.toOctetKeyPair(), defCritHeaders);
 		} else {
-			throw new JOSEException("Unsupported algorithm");
+			return null;
 		}
+	}
 
-		return decrypter.decrypt(recipientHeader, recipient.getEncryptedKey(), iv, cipherText, authTag, aad);
+
+	/**
+	 * Tries the specified candidate recipients concurrently on the
+	 * executor. The content is authenticated, so only the recipient for
+	 * the JWK can decrypt it.
+	 *
+	 * @param candidateHeaders The JWE headers of the candidate recipients.
+	 * @param candidates       The candidate recipients.
+	 * @param iv               The initialisation vector.
+	 * @param cipherText       The cipher text.
+	 * @param authTag          The authentication tag.
+	 * @param aad              The additional authenticated data.
+	 *
+	 * @return The clear text of the first successful decryption.
+	 *
+	 * @throws JOSEException If no candidate recipient could be decrypted.
+	 */
+	private byte[] decryptWithCandidates(final List<JWEHeader> candidateHeaders,
+					     final List<JWEObjectJSON.Recipient> candidates,
+					     final Base64URL iv,
+					     final Base64URL cipherText,
+					     final Base64URL authTag,
+					     final byte[] aad)
+		throws JOSEException {
+
+		CompletionService<byte[]> completionService = new ExecutorCompletionService<>(executor);
+		List<Future<byte[]>> futures = new ArrayList<>(candidates.size());
+		Exception lastException = null;
+
+		try {
+			for (int i = 0; i < candidates.size(); i++) {
+
+				final JWEHeader candidateHeader = candidateHeaders.get(i);
+				final Base64URL candidateEncryptedKey = candidates.get(i).getEncryptedKey();
+				final JWEDecrypter decrypter;
+
+				try {
+					JWEAlgorithm alg = JWEHeaderValidation.getAlgorithmAndEnsureNotNull(candidateHeader);
+					critPolicy.ensureHeaderPasses(candidateHeader);
+					decrypter = createDecrypter(alg);
+				} catch (JOSEException e) {
+					lastException = e;
+					continue;
+				}
+
+				if (decrypter == null) {
+					continue;
+				}
+
+				try {
+					futures.add(completionService.submit(new Callable<byte[]>() {
+						@Override
+						public byte[] call() throws JOSEException {
+							return decrypter.decrypt(candidateHeader, candidateEncryptedKey, iv, cipherText, authTag, aad);
+						}
+					}));
+				} catch (RejectedExecutionException e) {
+					throw new JOSEException("Trial decryption rejected: " + e.getMessage(), e);
+				}
+			}
+
+			for (int i = 0; i < futures.size(); i++) {
+				Future<byte[]> future;
+				try {
+					future = completionService.take();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new JOSEException("Interrupted while waiting for a recipient task", e);
+				}
+				try {
+					return getResult(future);
+				} catch (JOSEException | RuntimeException e) {
+					// Not the recipient for the JWK
+					lastException = e;
+				}
+			}
+		} finally {
+			for (Future<byte[]> future : futures) {
+				future.cancel(true);
+			}
+		}
+
+		throw new JOSEException("No recipient found", lastException);
 	}
 }
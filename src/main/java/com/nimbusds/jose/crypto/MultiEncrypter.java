@@ -30,8 +30,13 @@ import com.nimbusds.jose.util.JSONObjectUtils;
 import net.jcip.annotations.ThreadSafe;
 
 import javax.crypto.SecretKey;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 
 /**
@@ -83,9 +88,16 @@ import java.util.Map;
  *     <li>{@link com.nimbusds.jose.EncryptionMethod#XC20P} (requires 256 bit key)
  * </ul>
  *
+ * <p>The content encryption key (CEK) is wrapped for the recipients one
+ * after another on the calling thread, unless an {@link Executor} is
+ * specified. The CEK is then wrapped for the second and subsequent
+ * recipients in parallel on the executor, while the calling thread encrypts
+ * the content for the first recipient. This can reduce the encryption
+ * latency considerably for many RSA or ECDH recipients.
+ *
  * @author Egor Puzanov
  * @author Vladimir Dzhuvinov
- * @version 2023-09-10
+ * @version 2026-10-15
  */
 @ThreadSafe
 public class MultiEncrypter extends MultiCryptoProvider implements JWEEncrypter {
@@ -110,6 +122,13 @@ public class MultiEncrypter extends MultiCryptoProvider implements JWEEncrypter
 	private final JWKSet keys;
 
 
+	/**
+	 * The executor for the parallel key wrapping, {@code null} if not
+	 * specified.
+	 */
+	private final Executor executor;
+
+
 	/**
 	 * Creates a new multi-recipient encrypter.
 	 *
@@ -125,6 +144,24 @@ public class MultiEncrypter extends MultiCryptoProvider implements JWEEncrypter
 	}
 
 
+	/**
+	 * Creates a new multi-recipient encrypter with parallel key wrapping.
+	 *
+	 * @param keys     The keys to encrypt to. Must not be {@code null}.
+	 * @param executor The executor for wrapping the content encryption
+	 *                 key (CEK) for the recipients in parallel,
+	 *                 {@code null} to wrap it on the calling thread.
+	 *
+	 * @throws KeyLengthException If the symmetric key length is not
+	 *                            compatible.
+	 */
+	public MultiEncrypter(final JWKSet keys, final Executor executor)
+		throws KeyLengthException {
+
+		this(keys, findDirectCEK(keys), executor);
+	}
+
+
 	/**
 	 * Creates a new multi-recipient encrypter.
 	 *
@@ -142,6 +179,31 @@ public class MultiEncrypter extends MultiCryptoProvider implements JWEEncrypter
 	 */
 	public MultiEncrypter(final JWKSet keys, final SecretKey contentEncryptionKey)
 		throws KeyLengthException {
+
+		this(keys, contentEncryptionKey, null);
+	}
+
+
+	/**
+	 * Creates a new multi-recipient encrypter with parallel key wrapping.
+	 *
+	 * @param keys                 The keys to encrypt to. Must not be
+	 *                             {@code null}.
+	 * @param contentEncryptionKey The content encryption key (CEK) to use.
+	 *                             If specified its algorithm must be "AES"
+	 *                             or "ChaCha20" and its length must match
+	 *                             the expected for the JWE encryption
+	 *                             method ("enc"). If {@code null} a CEK
+	 *                             will be generated for each JWE.
+	 * @param executor             The executor for wrapping the CEK for
+	 *                             the recipients in parallel, {@code null}
+	 *                             to wrap it on the calling thread.
+	 *
+	 * @throws KeyLengthException If the symmetric key length is not
+	 *                            compatible.
+	 */
+	public MultiEncrypter(final JWKSet keys, final SecretKey contentEncryptionKey, final Executor executor)
+		throws KeyLengthException {
 		
 		super(contentEncryptionKey);
 
@@ -170,6 +232,18 @@ public class MultiEncrypter extends MultiCryptoProvider implements JWEEncrypter
 		}
 
 		this.keys = keys;
+		this.executor = executor;
+	}
+
+
+	/**
+	 * Returns the executor for the parallel key wrapping.
+	 *
+	 * @return The executor, {@code null} if not specified.
+	 */
+	public Executor getExecutor() {
+
+		return executor;
 	}
 
 
@@ -226,16 +300,8 @@ public class MultiEncrypter extends MultiCryptoProvider implements JWEEncrypter
 		final EncryptionMethod enc = header.getEncryptionMethod();
 		final SecretKey cek = getCEK(enc);
 
-		JWECryptoParts jweParts;
-		JWEEncrypter encrypter;
-		JWEHeader recipientHeader = null;
-		Base64URL encryptedKey = null;
-		Base64URL cipherText = null;
-		Base64URL iv = null;
-		Base64URL tag = null;
-		JWEAlgorithm alg;
-		Payload payload = new Payload(clearText);
-		List<Object> recipients = JSONArrayUtils.newJSONArray();
+		List<JWEHeader> recipientHeaders = new ArrayList<>();
+		List<JWEEncrypter> encrypters = new ArrayList<>();
 
 		for (JWK key : keys.getKeys()) {
 			KeyType kty = key.getKeyType();
@@ -249,14 +315,16 @@ public class MultiEncrypter extends MultiCryptoProvider implements JWEEncrypter
 				}
 			}
 
-			// create recipients JWEObject, select encrypter and encrypt the payload.
+			// create recipients JWEObject and select encrypter
+			JWEHeader recipientHeader;
 			try {
 				recipientHeader = (JWEHeader) header.join(unprotected.build());
 			} catch (Exception e) {
 				throw new JOSEException(e.getMessage(), e);
 			}
-			alg = JWEHeaderValidation.getAlgorithmAndEnsureNotNull(recipientHeader);
+			JWEAlgorithm alg = JWEHeaderValidation.getAlgorithmAndEnsureNotNull(recipientHeader);
 
+			JWEEncrypter encrypter;
 			if (KeyType.RSA.equals(kty) && RSAEncrypter.SUPPORTED_ALGORITHMS.contains(alg)) {
 				encrypter = new RSAEncrypter(key.toRSAKey().toRSAPublicKey(), cek);
 			} else if (KeyType.EC.equals(kty) && ECDHEncrypter.SUPPORTED_ALGORITHMS.contains(alg)) {
@@ -270,7 +338,21 @@ public class MultiEncrypter extends MultiCryptoProvider implements JWEEncrypter
 			} else {
 				continue;
 			}
-			jweParts = encrypter.encrypt(recipientHeader, payload.toBytes(), aad);
+			recipientHeaders.add(recipientHeader);
+			encrypters.add(encrypter);
+		}
+
+		// the payload is encrypted for the first recipient only, the
+		// CEK wrapped for the others with an empty payload
+		List<JWECryptoParts> jwePartsList = encrypt(recipientHeaders, encrypters, clearText, aad);
+
+		Base64URL encryptedKey = null;
+		Base64URL cipherText = null;
+		Base64URL iv = null;
+		Base64URL tag = null;
+		List<Object> recipients = JSONArrayUtils.newJSONArray();
+
+		for (JWECryptoParts jweParts : jwePartsList) {
 
 			// build recipients header object by removing protected header params from recipients JWEHeader
 			Map<String, Object> recipientHeaderMap = jweParts.getHeader().toJSONObject();
@@ -281,14 +363,13 @@ public class MultiEncrypter extends MultiCryptoProvider implements JWEEncrypter
 			recipient.put("header", recipientHeaderMap);
 
 			// do not put symmetric keys into JWE JSON object
-			if (!JWEAlgorithm.DIR.equals(alg)) {
+			if (!JWEAlgorithm.DIR.equals(jweParts.getHeader().getAlgorithm())) {
 				recipient.put("encrypted_key", jweParts.getEncryptedKey().toString());
 			}
 			recipients.add(recipient);
 
-			// update the iv, cipherText and tag parameters only after first round. Set payload to empty string.
+			// take the iv, cipherText and tag parameters from the first round
 			if (recipients.size() == 1) {
-				payload = new Payload("");
 				encryptedKey = jweParts.getEncryptedKey();
 				iv = jweParts.getInitializationVector();
 				cipherText = jweParts.getCipherText();
@@ -302,4 +383,71 @@ public class MultiEncrypter extends MultiCryptoProvider implements JWEEncrypter
 		}
 		return new JWECryptoParts(header, encryptedKey, iv, cipherText, tag);
 	}
-}
\ No newline at end of file
+
+
+	/**
+	 * Encrypts the clear text for the first recipient and wraps the CEK
+	 * for the others, in parallel if an executor is specified.
+	 *
+	 * @param recipientHeaders The recipient JWE headers.
+	 * @param encrypters       The recipient encrypters.
+	 * @param clearText        The clear text.
+	 * @param aad              The additional authenticated data.
+	 *
+	 * @return The JWE crypto parts for each recipient.
+	 *
+	 * @throws JOSEException If encryption failed.
+	 */
+	private List<JWECryptoParts> encrypt(final List<JWEHeader> recipientHeaders,
+					     final List<JWEEncrypter> encrypters,
+					     final byte[] clearText,
+					     final byte[] aad)
+		throws JOSEException {
+
+		List<JWECryptoParts> jwePartsList = new ArrayList<>(encrypters.size());
+
+		if (executor == null || encrypters.size() < 2) {
+			for (int i = 0; i < encrypters.size(); i++) {
+				jwePartsList.add(encrypters.get(i).encrypt(recipientHeaders.get(i), i == 0 ? clearText : new byte[0], aad));
+			}
+			return jwePartsList;
+		}
+
+		List<FutureTask<JWECryptoParts>> tasks = new ArrayList<>(encrypters.size() - 1);
+
+		try {
+			for (int i = 1; i < encrypters.size(); i++) {
+
+				final JWEHeader recipientHeader = recipientHeaders.get(i);
+				final JWEEncrypter encrypter = encrypters.get(i);
+
+				FutureTask<JWECryptoParts> task = new FutureTask<>(new Callable<JWECryptoParts>() {
+					@Override
+					public JWECryptoParts call() throws JOSEException {
+						return encrypter.encrypt(recipientHeader, new byte[0], aad);
+					}
+				});
+				tasks.add(task);
+
+				try {
+					executor.execute(task);
+				} catch (RejectedExecutionException e) {
+					task.run();
+				}
+			}
+
+			jwePartsList.add(encrypters.get(0).encrypt(recipientHeaders.get(0), clearText, aad));
+
+			for (FutureTask<JWECryptoParts> task : tasks) {
+				jwePartsList.add(getResult(task));
+			}
+
+			return jwePartsList;
+
+		} finally {
+			for (FutureTask<JWECryptoParts> task : tasks) {
+				task.cancel(true);
+			}
+		}
+	}
+}
@@ -38,6 +38,11 @@ import java.util.Set;
  *
  * <p>This class is thread-safe.
  *
+ * <p>Can be configured with a bounded cache of the PBKDF2 derived keys, so
+ * that repeated JWE objects with the same salt ("p2s") and iteration count
+ * ("p2c") don't repeat the key derivation. Keys are cached only after they
+ * successfully unwrapped a content encryption key (CEK).
+ *
  * <p>Supports the following key management algorithms:
  *
  * <ul>
@@ -62,7 +67,7 @@ import java.util.Set;
  *
  * @author Vladimir Dzhuvinov
  * @author Egor Puzanov
- * @version 2023-12-03
+ * @version 2026-10-15
  */
 @ThreadSafe
 public class PasswordBasedDecrypter extends PasswordBasedCryptoProvider implements JWEDecrypter, CriticalHeaderParamsAware {
@@ -80,6 +85,12 @@ public class PasswordBasedDecrypter extends PasswordBasedCryptoProvider implemen
 	private final CriticalHeaderParamsDeferral critPolicy = new CriticalHeaderParamsDeferral();
 
 
+	/**
+	 * The derived key cache, {@code null} if disabled.
+	 */
+	private final DerivedKeyCache derivedKeyCache;
+
+
 	/**
 	 * Creates a new password-based decrypter.
 	 *
@@ -89,6 +100,23 @@ public class PasswordBasedDecrypter extends PasswordBasedCryptoProvider implemen
 	public PasswordBasedDecrypter(final byte[] password) {
 
 		super(password);
+		derivedKeyCache = null;
+	}
+
+
+	/**
+	 * Creates a new password-based decrypter with a cache of the derived
+	 * keys.
+	 *
+	 * @param password             The password bytes. Must not be empty
+	 *                             or {@code null}.
+	 * @param derivedKeyCacheSize  The maximum number of cached derived
+	 *                             keys. Must be positive.
+	 */
+	public PasswordBasedDecrypter(final byte[] password, final int derivedKeyCacheSize) {
+
+		super(password);
+		derivedKeyCache = new DerivedKeyCache(derivedKeyCacheSize);
 	}
 
 
@@ -101,6 +129,34 @@ public class PasswordBasedDecrypter extends PasswordBasedCryptoProvider implemen
 	public PasswordBasedDecrypter(final String password) {
 
 		super(password.getBytes(StandardCharset.UTF_8));
+		derivedKeyCache = null;
+	}
+
+
+	/**
+	 * Creates a new password-based decrypter with a cache of the derived
+	 * keys.
+	 *
+	 * @param password             The password, as a UTF-8 encoded
+	 *                             string. Must not be empty or
+	 *                             {@code null}.
+	 * @param derivedKeyCacheSize  The maximum number of cached derived
+	 *                             keys. Must be positive.
+	 */
+	public PasswordBasedDecrypter(final String password, final int derivedKeyCacheSize) {
+
+		this(password.getBytes(StandardCharset.UTF_8), derivedKeyCacheSize);
+	}
+
+
+	/**
+	 * Returns the cache of the derived keys.
+	 *
+	 * @return The derived key cache, {@code null} if disabled.
+	 */
+	public DerivedKeyCache getDerivedKeyCache() {
+
+		return derivedKeyCache;
 	}
 
 
@@ -196,10 +252,21 @@ public class PasswordBasedDecrypter extends PasswordBasedCryptoProvider implemen
 		final JWEAlgorithm alg = JWEHeaderValidation.getAlgorithmAndEnsureNotNull(header);
 		final byte[] formattedSalt = PBKDF2.formatSalt(alg, salt);
 		final PRFParams prfParams = PRFParams.resolve(alg, getJCAContext().getMACProvider());
-		final SecretKey psKey = PBKDF2.deriveKey(getPassword(), formattedSalt, iterationCount, prfParams);
+
+		SecretKey psKey = derivedKeyCache != null ? derivedKeyCache.get(formattedSalt, iterationCount) : null;
+		final boolean derived = psKey == null;
+
+		if (derived) {
+			psKey = PBKDF2.deriveKey(getPassword(), formattedSalt, iterationCount, prfParams);
+		}
 
 		final SecretKey cek = AESKW.unwrapCEK(psKey, encryptedKey.decode(), getJCAContext().getKeyEncryptionProvider());
 
+		if (derived && derivedKeyCache != null) {
+			// The key unwrapped the CEK, cache it
+			derivedKeyCache.put(formattedSalt, iterationCount, psKey);
+		}
+
 		return ContentCryptoProvider.decrypt(header, aad, encryptedKey, iv, cipherText, authTag, cek, getJCAContext());
 	}
 }
@@ -81,7 +81,7 @@ import com.nimbusds.jose.util.Base64URL;
  * 
  * @author Vladimir Dzhuvinov
  * @author Omer Levi Hevroni
- * @version 2023-01-31
+ * @version 2026-10-15
  */
 @ThreadSafe
 public class RSASSASigner extends RSASSAProvider implements JWSSigner {
@@ -253,9 +253,12 @@ public class RSASSASigner extends RSASSAProvider implements JWSSigner {
 	public Base64URL sign(final JWSHeader header, final byte[] signingInput)
 		throws JOSEException {
 
-		final Signature signer = getInitiatedSignature(header);
+		final boolean completionDeferred = OptionUtils.optionIsPresent(opts, UserAuthenticationRequired.class);
 		
-		if (OptionUtils.optionIsPresent(opts, UserAuthenticationRequired.class)) {
+		// A pooled signature must not escape to deferred completion
+		final Signature signer = getInitiatedSignature(header, ! completionDeferred && getJCAContext().isEnginePoolingEnabled());
+		
+		if (completionDeferred) {
 			
 			throw new ActionRequiredForJWSCompletionException(
 				"Authenticate user to complete signing",
@@ -279,10 +282,12 @@ public class RSASSASigner extends RSASSAProvider implements JWSSigner {
 	}
 	
 	
-	private Signature getInitiatedSignature(final JWSHeader header)
+	private Signature getInitiatedSignature(final JWSHeader header, final boolean pooled)
 		throws JOSEException {
 		
-		Signature signer = RSASSA.getSignerAndVerifier(header.getAlgorithm(), getJCAContext().getProvider());
+		Signature signer = pooled ?
+			RSASSA.getPooledSignerAndVerifier(header.getAlgorithm(), getJCAContext().getProvider()) :
+			RSASSA.getSignerAndVerifier(header.getAlgorithm(), getJCAContext().getProvider());
 		try {
 			signer.initSign(privateKey);
 		} catch (InvalidKeyException e) {
@@ -59,10 +59,10 @@ import com.nimbusds.jose.util.Base64URL;
  * <p>Supports the BouncyCastle FIPS provider for the PSxxx family of JWS algorithms.
  * 
  * @author Vladimir Dzhuvinov
- * @version 2015-06-02
+ * @version 2026-10-15
  */
 @ThreadSafe
-public class RSASSAVerifier extends RSASSAProvider implements JWSVerifier, CriticalHeaderParamsAware {
+public class RSASSAVerifier extends RSASSAProvider implements JWSSliceVerifier, CriticalHeaderParamsAware {
 
 
 	/**
@@ -154,11 +154,25 @@ public class RSASSAVerifier extends RSASSAProvider implements JWSVerifier, Criti
 		              final Base64URL signature)
 		throws JOSEException {
 
+		return verify(header, signedContent, 0, signedContent.length, signature);
+	}
+
+
+	@Override
+	public boolean verify(final JWSHeader header,
+			      final byte[] signedContent,
+			      final int offset,
+			      final int length,
+			      final Base64URL signature)
+		throws JOSEException {
+
 		if (! critPolicy.headerPasses(header)) {
 			return false;
 		}
 
-		final Signature verifier = RSASSA.getSignerAndVerifier(header.getAlgorithm(), getJCAContext().getProvider());
+		final Signature verifier = getJCAContext().isEnginePoolingEnabled() ?
+			RSASSA.getPooledSignerAndVerifier(header.getAlgorithm(), getJCAContext().getProvider()) :
+			RSASSA.getSignerAndVerifier(header.getAlgorithm(), getJCAContext().getProvider());
 
 		try {
 			verifier.initVerify(publicKey);
@@ -168,7 +182,7 @@ public class RSASSAVerifier extends RSASSAProvider implements JWSVerifier, Criti
 		}
 
 		try {
-			verifier.update(signedContent);
+			verifier.update(signedContent, offset, length);
 			return verifier.verify(signature.decode());
 
 		} catch (SignatureException e) {
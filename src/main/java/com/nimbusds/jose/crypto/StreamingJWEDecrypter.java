@@ -0,0 +1,739 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.crypto;
+
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.security.PrivateKey;
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import javax.crypto.SecretKey;
+
+import net.jcip.annotations.ThreadSafe;
+
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.crypto.impl.*;
+import com.nimbusds.jose.jca.JWEJCAContext;
+import com.nimbusds.jose.util.Base64;
+import com.nimbusds.jose.util.Base64URL;
+
+
+/**
+ * Streaming decrypter of large JSON Web Encryption (JWE) objects in compact
+ * serialisation. The JWE is read from an input stream or channel and the
+ * decrypted content is written to an output channel in chunks, with DEFLATE
+ * decompression on the fly if required.
+ *
+ * <p>Decrypts with a shared symmetric key (direct encryption or AES key
+ * wrapping) or with a private RSA key (RSA-OAEP key encryption).
+ *
+ * <p>Important: The authentication tag is checked at the end of the JWE,
+ * after the content has been written to the output channel. If the
+ * decryption throws an exception the written content must be discarded.
+ * Note that the JCA providers typically buffer the AES/GCM content until
+ * the authentication tag is checked, so constant memory use is achieved
+ * for AES/CBC/HMAC-SHA2 only. Since DEFLATE compressed content is
+ * decompressed before it is authenticated, the decompressed length is
+ * limited, by default to {@link #DEFAULT_MAX_DECOMPRESSED_LENGTH}.
+ *
+ * <p>This class is thread-safe.
+ *
+ * <p>Supports the following key management algorithms:
+ *
+ * <ul>
+ *     <li>{@link com.nimbusds.jose.JWEAlgorithm#DIR}
+ *     <li>{@link com.nimbusds.jose.JWEAlgorithm#A128KW}
+ *     <li>{@link com.nimbusds.jose.JWEAlgorithm#A192KW}
+ *     <li>{@link com.nimbusds.jose.JWEAlgorithm#A256KW}
+ *     <li>{@link com.nimbusds.jose.JWEAlgorithm#A128GCMKW}
+ *     <li>{@link com.nimbusds.jose.JWEAlgorithm#A192GCMKW}
+ *     <li>{@link com.nimbusds.jose.JWEAlgorithm#A256GCMKW}
+ *     <li>{@link com.nimbusds.jose.JWEAlgorithm#RSA_OAEP_256}
+ *     <li>{@link com.nimbusds.jose.JWEAlgorithm#RSA_OAEP_384}
+ *     <li>{@link com.nimbusds.jose.JWEAlgorithm#RSA_OAEP_512}
+ *     <li>{@link com.nimbusds.jose.JWEAlgorithm#RSA_OAEP} (deprecated)
+ * </ul>
+ *
+ * <p>Supports the following content encryption algorithms:
+ *
+ * <ul>
+ *     <li>{@link com.nimbusds.jose.EncryptionMethod#A128CBC_HS256}
+ *     <li>{@link com.nimbusds.jose.EncryptionMethod#A192CBC_HS384}
+ *     <li>{@link com.nimbusds.jose.EncryptionMethod#A256CBC_HS512}
+ *     <li>{@link com.nimbusds.jose.EncryptionMethod#A128GCM}
+ *     <li>{@link com.nimbusds.jose.EncryptionMethod#A192GCM}
+ *     <li>{@link com.nimbusds.jose.EncryptionMethod#A256GCM}
+ * </ul>
+ *
+ * <p>Supports the following compression algorithms:
+ *
+ * <ul>
+ *     <li>{@link com.nimbusds.jose.CompressionAlgorithm#DEF}
+ * </ul>
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@ThreadSafe
+public class StreamingJWEDecrypter implements CriticalHeaderParamsAware {
+	
+	
+	/**
+	 * The supported JWE algorithms with a shared symmetric key.
+	 */
+	public static final Set<JWEAlgorithm> SUPPORTED_SECRET_KEY_ALGORITHMS;
+	
+	
+	/**
+	 * The supported JWE algorithms with a private RSA key.
+	 */
+	public static final Set<JWEAlgorithm> SUPPORTED_PRIVATE_KEY_ALGORITHMS;
+	
+	
+	static {
+		Set<JWEAlgorithm> algs = new LinkedHashSet<>();
+		algs.add(JWEAlgorithm.DIR);
+		algs.add(JWEAlgorithm.A128KW);
+		algs.add(JWEAlgorithm.A192KW);
+		algs.add(JWEAlgorithm.A256KW);
+		algs.add(JWEAlgorithm.A128GCMKW);
+		algs.add(JWEAlgorithm.A192GCMKW);
+		algs.add(JWEAlgorithm.A256GCMKW);
+		SUPPORTED_SECRET_KEY_ALGORITHMS = Collections.unmodifiableSet(algs);
+		
+		algs = new LinkedHashSet<>();
+		algs.add(JWEAlgorithm.RSA_OAEP_256);
+		algs.add(JWEAlgorithm.RSA_OAEP_384);
+		algs.add(JWEAlgorithm.RSA_OAEP_512);
+		algs.add(JWEAlgorithm.RSA_OAEP);
+		SUPPORTED_PRIVATE_KEY_ALGORITHMS = Collections.unmodifiableSet(algs);
+	}
+	
+	
+	/**
+	 * The default maximum length of the decompressed content, in bytes
+	 * (100 MiB).
+	 */
+	public static final long DEFAULT_MAX_DECOMPRESSED_LENGTH = 100L * 1024 * 1024;
+	
+	
+	/**
+	 * The maximum allowed length of the encoded initialisation vector
+	 * (IV) and authentication tag.
+	 */
+	private static final int MAX_SMALL_PART_LENGTH = 128;
+	
+	
+	/**
+	 * The maximum allowed length of the encoded encrypted key, enough for
+	 * 8192 bit RSA.
+	 */
+	private static final int MAX_ENCRYPTED_KEY_LENGTH = 2048;
+	
+	
+	/**
+	 * The shared symmetric key, {@code null} if a private key is used.
+	 */
+	private final SecretKey key;
+	
+	
+	/**
+	 * The private RSA key, {@code null} if a shared key is used.
+	 */
+	private final PrivateKey privateKey;
+	
+	
+	/**
+	 * The maximum length of the decompressed content, in bytes.
+	 */
+	private final long maxDecompressedLength;
+	
+	
+	/**
+	 * The critical header policy.
+	 */
+	private final CriticalHeaderParamsDeferral critPolicy = new CriticalHeaderParamsDeferral();
+	
+	
+	/**
+	 * The JWE JCA context.
+	 */
+	private final JWEJCAContext jcaContext = new JWEJCAContext();
+	
+	
+	/**
+	 * Creates a new streaming JWE decrypter with a shared symmetric key.
+	 *
+	 * @param key The shared symmetric key, the Content Encryption Key
+	 *            (CEK) for direct encryption or the Key Encryption Key
+	 *            (KEK) for AES key wrapping. Its algorithm should be
+	 *            "AES". Must not be {@code null}.
+	 */
+	public StreamingJWEDecrypter(final SecretKey key) {
+		
+		this(key, null);
+	}
+	
+	
+	/**
+	 * Creates a new streaming JWE decrypter with a shared symmetric key.
+	 *
+	 * @param key            The shared symmetric key, the Content
+	 *                       Encryption Key (CEK) for direct encryption or
+	 *                       the Key Encryption Key (KEK) for AES key
+	 *                       wrapping. Its algorithm should be "AES". Must
+	 *                       not be {@code null}.
+	 * @param defCritHeaders The names of the critical header parameters
+	 *                       that are deferred to the application for
+	 *                       processing, empty set or {@code null} if none.
+	 */
+	public StreamingJWEDecrypter(final SecretKey key, final Set<String> defCritHeaders) {
+		
+		this(key, defCritHeaders, DEFAULT_MAX_DECOMPRESSED_LENGTH);
+	}
+	
+	
+	/**
+	 * Creates a new streaming JWE decrypter with a shared symmetric key.
+	 *
+	 * @param key                   The shared symmetric key, the Content
+	 *                              Encryption Key (CEK) for direct
+	 *                              encryption or the Key Encryption Key
+	 *                              (KEK) for AES key wrapping. Its
+	 *                              algorithm should be "AES". Must not be
+	 *                              {@code null}.
+	 * @param defCritHeaders        The names of the critical header
+	 *                              parameters that are deferred to the
+	 *                              application for processing, empty set
+	 *                              or {@code null} if none.
+	 * @param maxDecompressedLength The maximum length of the decompressed
+	 *                              content, in bytes. Must be positive.
+	 */
+	public StreamingJWEDecrypter(final SecretKey key,
+				     final Set<String> defCritHeaders,
+				     final long maxDecompressedLength) {
+		
+		this(Objects.requireNonNull(key), null, defCritHeaders, maxDecompressedLength);
+	}
+	
+	
+	/**
+	 * Creates a new streaming JWE decrypter with a private RSA key.
+	 *
+	 * @param privateKey The private RSA key. Must not be {@code null}.
+	 */
+	public StreamingJWEDecrypter(final PrivateKey privateKey) {
+		
+		this(privateKey, null);
+	}
+	
+	
+	/**
+	 * Creates a new streaming JWE decrypter with a private RSA key.
+	 *
+	 * @param privateKey     The private RSA key. Must not be
+	 *                       {@code null}.
+	 * @param defCritHeaders The names of the critical header parameters
+	 *                       that are deferred to the application for
+	 *                       processing, empty set or {@code null} if none.
+	 */
+	public StreamingJWEDecrypter(final PrivateKey privateKey, final Set<String> defCritHeaders) {
+		
+		this(privateKey, defCritHeaders, DEFAULT_MAX_DECOMPRESSED_LENGTH);
+	}
+	
+	
+	/**
+	 * Creates a new streaming JWE decrypter with a private RSA key.
+	 *
+	 * @param privateKey            The private RSA key. Must not be
+	 *                              {@code null}.
+	 * @param defCritHeaders        The names of the critical header
+	 *                              parameters that are deferred to the
+	 *                              application for processing, empty set
+	 *                              or {@code null} if none.
+	 * @param maxDecompressedLength The maximum length of the decompressed
+	 *                              content, in bytes. Must be positive.
+	 */
+	public StreamingJWEDecrypter(final PrivateKey privateKey,
+				     final Set<String> defCritHeaders,
+				     final long maxDecompressedLength) {
+		
+		this(null, Objects.requireNonNull(privateKey), defCritHeaders, maxDecompressedLength);
+	}
+	
+	
+	/**
+	 * Creates a new streaming JWE decrypter.
+	 */
+	private StreamingJWEDecrypter(final SecretKey key,
+				      final PrivateKey privateKey,
+				      final Set<String> defCritHeaders,
+				      final long maxDecompressedLength) {
+		
+		if (maxDecompressedLength <= 0) {
+			throw new IllegalArgumentException("The maximum decompressed length must be positive");
+		}
+		
+		this.key = key;
+		this.privateKey = privateKey;
+		this.maxDecompressedLength = maxDecompressedLength;
+		critPolicy.setDeferredCriticalHeaderParams(defCritHeaders);
+	}
+	
+	
+	/**
+	 * Returns the shared symmetric key.
+	 *
+	 * @return The key, {@code null} if a private key is used.
+	 */
+	public SecretKey getKey() {
+		return key;
+	}
+	
+	
+	/**
+	 * Returns the private RSA key.
+	 *
+	 * @return The private key, {@code null} if a shared key is used.
+	 */
+	public PrivateKey getPrivateKey() {
+		return privateKey;
+	}
+	
+	
+	/**
+	 * Returns the supported JWE algorithms for the configured key.
+	 *
+	 * @return The supported JWE algorithms.
+	 */
+	public Set<JWEAlgorithm> supportedJWEAlgorithms() {
+		return key != null ? SUPPORTED_SECRET_KEY_ALGORITHMS : SUPPORTED_PRIVATE_KEY_ALGORITHMS;
+	}
+	
+	
+	/**
+	 * Returns the maximum length of the decompressed content.
+	 *
+	 * @return The maximum length, in bytes.
+	 */
+	public long getMaxDecompressedLength() {
+		return maxDecompressedLength;
+	}
+	
+	
+	/**
+	 * Returns the JCA context for the key and content decryption.
+	 *
+	 * @return The JWE JCA context.
+	 */
+	public JWEJCAContext getJCAContext() {
+		return jcaContext;
+	}
+	
+	
+	@Override
+	public Set<String> getProcessedCriticalHeaderParams() {
+		
+		return critPolicy.getProcessedCriticalHeaderParams();
+	}
+	
+	
+	@Override
+	public Set<String> getDeferredCriticalHeaderParams() {
+		
+		return critPolicy.getDeferredCriticalHeaderParams();
+	}
+	
+	
+	/**
+	 * Decrypts the JWE compact serialisation from the specified input
+	 * stream and writes the content to the specified output channel.
+	 *
+	 * @param in  The input stream of the JWE. Must not be {@code null}.
+	 * @param out The output channel of the content. Must not be
+	 *            {@code null}.
+	 *
+	 * @return The JWE header.
+	 *
+	 * @throws ParseException If the JWE couldn't be parsed.
+	 * @throws JOSEException  If the JWE algorithm, encryption method or
+	 *                        compression algorithm are not supported, the
+	 *                        authentication tag is invalid, the maximum
+	 *                        decompressed length is exceeded, or
+	 *                        decryption failed for some other reason. The
+	 *                        output must be discarded.
+	 * @throws IOException    If reading or writing failed.
+	 */
+	public JWEHeader decrypt(final InputStream in, final WritableByteChannel out)
+		throws ParseException, JOSEException, IOException {
+		
+		return decrypt(Channels.newChannel(in), out);
+	}
+	
+	
+	/**
+	 * Decrypts the JWE compact serialisation from the specified input
+	 * channel and writes the content to the specified output channel.
+	 *
+	 * @param in  The input channel of the JWE, in blocking mode. Must not
+	 *            be {@code null}.
+	 * @param out The output channel of the content, in blocking mode.
+	 *            Must not be {@code null}.
+	 *
+	 * @return The JWE header.
+	 *
+	 * @throws ParseException If the JWE couldn't be parsed.
+	 * @throws JOSEException  If the JWE algorithm, encryption method or
+	 *                        compression algorithm are not supported, the
+	 *                        authentication tag is invalid, the maximum
+	 *                        decompressed length is exceeded, or
+	 *                        decryption failed for some other reason. The
+	 *                        output must be discarded.
+	 * @throws IOException    If reading or writing failed.
+	 */
+	public JWEHeader decrypt(final ReadableByteChannel in, final WritableByteChannel out)
+		throws ParseException, JOSEException, IOException {
+		
+		PartReader reader = new PartReader(in);
+		
+		Base64URL encodedHeader = new Base64URL(reader.readPart(Base64URL.computeEncodedLength(Header.MAX_HEADER_STRING_LENGTH), true));
+		
+		JWEHeader header;
+		try {
+			header = JWEHeader.parse(encodedHeader);
+		} catch (ParseException e) {
+			throw new ParseException("Invalid JWE header: " + e.getMessage(), 0);
+		}
+		
+		if (! supportedJWEAlgorithms().contains(header.getAlgorithm())) {
+			throw new JOSEException(AlgorithmSupportMessage.unsupportedJWEAlgorithm(
+				header.getAlgorithm(),
+				supportedJWEAlgorithms()));
+		}
+		
+		final CompressionAlgorithm zip = header.getCompressionAlgorithm();
+		
+		if (zip != null && ! CompressionAlgorithm.DEF.equals(zip)) {
+			throw new JOSEException("Unsupported compression algorithm: " + zip);
+		}
+		
+		critPolicy.ensureHeaderPasses(header);
+		
+		String encryptedKey = reader.readPart(MAX_ENCRYPTED_KEY_LENGTH, true);
+		
+		String iv = reader.readPart(MAX_SMALL_PART_LENGTH, true);
+		
+		if (iv.isEmpty()) {
+			throw new JOSEException("Missing JWE initialization vector (IV)");
+		}
+		
+		StreamingContentCipher cipher = StreamingContentCipher.forDecryption(
+			header.getEncryptionMethod(),
+			decryptCEK(header, encryptedKey),
+			new Base64URL(iv).decode(),
+			AAD.compute(header),
+			jcaContext);
+		
+		Inflater inflater = zip != null ? new Inflater(true) : null;
+		
+		try {
+			ContentWriter writer = new ContentWriter(out, inflater, maxDecompressedLength);
+			
+			// Decode the cipher text in groups of 4 chars
+			byte[] encoded = new byte[StreamingJWEEncrypter.CHUNK_SIZE];
+			byte[] decoded = new byte[StreamingJWEEncrypter.CHUNK_SIZE / 4 * 3];
+			int encodedLength = 0;
+			
+			int b;
+			while ((b = reader.read()) != '.') {
+				
+				if (b < 0) {
+					throw new ParseException("Unexpected number of Base64URL parts, must be five", 0);
+				}
+				
+				encoded[encodedLength++] = (byte) b;
+				
+				if (encodedLength == encoded.length) {
+					int len = Base64.decode(encoded, 0, encodedLength, decoded, 0);
+					writer.write(cipher.update(decoded, 0, len));
+					encodedLength = 0;
+				}
+			}
+			
+			if (encodedLength > 0) {
+				int len = Base64.decode(encoded, 0, encodedLength, decoded, 0);
+				writer.write(cipher.update(decoded, 0, len));
+			}
+			
+			String authTag = reader.readPart(MAX_SMALL_PART_LENGTH, false);
+			
+			if (authTag.isEmpty()) {
+				throw new JOSEException("Missing JWE authentication tag");
+			}
+			
+			writer.write(cipher.finishDecryption(new Base64URL(authTag).decode()));
+			
+			if (inflater != null && ! inflater.finished()) {
+				throw new JOSEException("Couldn't decompress plain text: Unexpected end of the DEFLATE stream");
+			}
+			
+		} finally {
+			if (inflater != null) {
+				inflater.end();
+			}
+		}
+		
+		return header;
+	}
+	
+	
+	/**
+	 * Decrypts the Content Encryption Key (CEK).
+	 *
+	 * @param header       The JWE header. Must not be {@code null}.
+	 * @param encryptedKey The encoded encrypted key, empty if none.
+	 *
+	 * @return The CEK.
+	 *
+	 * @throws JOSEException If decryption of the CEK failed.
+	 */
+	private SecretKey decryptCEK(final JWEHeader header, final String encryptedKey)
+		throws JOSEException {
+		
+		final JWEAlgorithm alg = header.getAlgorithm();
+		
+		if (JWEAlgorithm.DIR.equals(alg)) {
+			
+			if (! encryptedKey.isEmpty()) {
+				throw new JOSEException("Unexpected present JWE encrypted key");
+			}
+			
+			return key;
+		}
+		
+		if (encryptedKey.isEmpty()) {
+			throw new JOSEException("Missing JWE encrypted key");
+		}
+		
+		byte[] encryptedKeyBytes = new Base64URL(encryptedKey).decode();
+		
+		if (JWEAlgorithm.Family.AES_KW.contains(alg)) {
+			
+			return AESKW.unwrapCEK(key, encryptedKeyBytes, jcaContext.getKeyEncryptionProvider());
+			
+		} else if (JWEAlgorithm.Family.AES_GCM_KW.contains(alg)) {
+			
+			if (header.getIV() == null) {
+				throw new JOSEException("Missing JWE \"iv\" header parameter");
+			}
+			
+			if (header.getAuthTag() == null) {
+				throw new JOSEException("Missing JWE \"tag\" header parameter");
+			}
+			
+			AuthenticatedCipherText authEncrCEK = new AuthenticatedCipherText(encryptedKeyBytes, header.getAuthTag().decode());
+			return AESGCMKW.decryptCEK(
+				key,
+				header.getIV().decode(),
+				authEncrCEK,
+				header.getEncryptionMethod().cekBitLength(),
+				jcaContext.getKeyEncryptionProvider());
+			
+		} else if (JWEAlgorithm.RSA_OAEP.equals(alg)) {
+			return RSA_OAEP.decryptCEK(privateKey, encryptedKeyBytes, jcaContext.getKeyEncryptionProvider());
+		} else if (JWEAlgorithm.RSA_OAEP_256.equals(alg)) {
+			return RSA_OAEP_SHA2.decryptCEK(privateKey, encryptedKeyBytes, 256, jcaContext.getKeyEncryptionProvider());
+		} else if (JWEAlgorithm.RSA_OAEP_384.equals(alg)) {
+			return RSA_OAEP_SHA2.decryptCEK(privateKey, encryptedKeyBytes, 384, jcaContext.getKeyEncryptionProvider());
+		} else if (JWEAlgorithm.RSA_OAEP_512.equals(alg)) {
+			return RSA_OAEP_SHA2.decryptCEK(privateKey, encryptedKeyBytes, 512, jcaContext.getKeyEncryptionProvider());
+		}
+		
+		throw new JOSEException(AlgorithmSupportMessage.unsupportedJWEAlgorithm(alg, supportedJWEAlgorithms()));
+	}
+
+
+	/**
+	 * Buffered reader of the JWE parts.
+	 */
+	private static final class PartReader {
+		
+		
+		private final ReadableByteChannel in;
+		
+		
+		private final ByteBuffer buf = ByteBuffer.allocate(StreamingJWEEncrypter.CHUNK_SIZE);
+		
+		
+		private boolean eof = false;
+		
+		
+		private PartReader(final ReadableByteChannel in) {
+			this.in = in;
+			buf.flip();
+		}
+		
+		
+		/**
+		 * Reads the next byte.
+		 *
+		 * @return The byte, -1 at the end of the input.
+		 */
+		private int read()
+			throws IOException {
+			
+			while (! buf.hasRemaining()) {
+				if (eof) {
+					return -1;
+				}
+				buf.clear();
+				eof = in.read(buf) < 0;
+				buf.flip();
+			}
+			
+			return buf.get() & 0xff;
+		}
+		
+		
+		/**
+		 * Reads the next part up to the next '.' delimiter, or up to
+		 * the end of the input if the part is the last.
+		 *
+		 * @param maxLength The maximum part length.
+		 * @param delimited {@code true} if the part must be followed by
+		 *                  a delimiter, {@code false} if the part is
+		 *                  the last.
+		 *
+		 * @return The part.
+		 */
+		private String readPart(final int maxLength, final boolean delimited)
+			throws IOException, ParseException {
+			
+			StringBuilder sb = new StringBuilder();
+			
+			int b;
+			while ((b = read()) != '.') {
+				
+				if (b < 0) {
+					if (delimited) {
+						throw new ParseException("Unexpected number of Base64URL parts, must be five", 0);
+					}
+					return sb.toString();
+				}
+				
+				if (sb.length() == maxLength) {
+					throw new ParseException("The JWE part exceeds the maximum allowed length of " + maxLength + " chars", 0);
+				}
+				
+				sb.append((char) b);
+			}
+			
+			if (! delimited) {
+				throw new ParseException("Unexpected number of Base64URL parts, must be five", 0);
+			}
+			
+			return sb.toString();
+		}
+	}
+	
+	
+	/**
+	 * Writer of the decrypted content, decompressing it if required.
+	 */
+	private static final class ContentWriter {
+		
+		
+		private final WritableByteChannel out;
+		
+		
+		private final Inflater inflater;
+		
+		
+		private final byte[] inflated;
+		
+		
+		private final long maxDecompressedLength;
+		
+		
+		private long decompressedLength = 0;
+		
+		
+		private ContentWriter(final WritableByteChannel out, final Inflater inflater, final long maxDecompressedLength) {
+			this.out = out;
+			this.inflater = inflater;
+			this.maxDecompressedLength = maxDecompressedLength;
+			inflated = inflater != null ? new byte[StreamingJWEEncrypter.CHUNK_SIZE] : null;
+		}
+		
+		
+		private void write(final byte[] bytes)
+			throws IOException, JOSEException {
+			
+			if (bytes.length == 0) {
+				return;
+			}
+			
+			if (inflater == null) {
+				writeFully(ByteBuffer.wrap(bytes));
+				return;
+			}
+			
+			inflater.setInput(bytes);
+			
+			try {
+				while (true) {
+					int len = inflater.inflate(inflated);
+					if (len > 0) {
+						// The content isn't authenticated yet
+						decompressedLength += len;
+						if (decompressedLength > maxDecompressedLength) {
+							throw new JOSEException("Couldn't decompress plain text: The decompressed content exceeds the maximum allowed length of " + maxDecompressedLength + " bytes");
+						}
+						writeFully(ByteBuffer.wrap(inflated, 0, len));
+					} else if (inflater.finished() || inflater.needsInput()) {
+						return;
+					} else if (inflater.needsDictionary()) {
+						throw new JOSEException("Couldn't decompress plain text: Unexpected preset dictionary");
+					}
+				}
+			} catch (DataFormatException e) {
+				throw new JOSEException("Couldn't decompress plain text: " + e.getMessage(), e);
+			}
+		}
+		
+		
+		private void writeFully(final ByteBuffer buf)
+			throws IOException {
+			
+			while (buf.hasRemaining()) {
+				out.write(buf);
+			}
+		}
+	}
+}
@@ -0,0 +1,639 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.crypto;
+
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+import java.util.zip.Deflater;
+import javax.crypto.SecretKey;
+
+import net.jcip.annotations.ThreadSafe;
+
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.crypto.impl.AAD;
+import com.nimbusds.jose.crypto.impl.AuthenticatedCipherText;
+import com.nimbusds.jose.crypto.impl.ContentCryptoProvider;
+import com.nimbusds.jose.crypto.impl.StreamingContentCipher;
+import com.nimbusds.jose.crypto.utils.ConstantTimeUtils;
+import com.nimbusds.jose.jca.JWEJCAContext;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jose.util.StandardCharset;
+
+
+/**
+ * Streaming encrypter of large contents into JSON Web Encryption (JWE)
+ * objects. The content is read from an input stream or channel and the
+ * JWE is written to an output channel in chunks, with optional DEFLATE
+ * compression on the fly, so that the memory use remains constant
+ * regardless of the content size.
+ *
+ * <p>A new Content Encryption Key (CEK) and initialisation vector (IV) are
+ * generated for each JWE. The key management is delegated to a regular
+ * {@link JWEEncrypter}, created for each CEK by a
+ * {@link KeyEncrypterFactory}, for example:
+ *
+ * <pre>
+ * StreamingJWEEncrypter encrypter = new StreamingJWEEncrypter(new StreamingJWEEncrypter.KeyEncrypterFactory() {
+ *     public JWEEncrypter createKeyEncrypter(SecretKey cek) {
+ *         return new RSAEncrypter(rsaPublicKey, cek);
+ *     }
+ * });
+ * encrypter.encrypt(new JWEHeader(JWEAlgorithm.RSA_OAEP_256, EncryptionMethod.A256GCM), in, out);
+ * </pre>
+ *
+ * <p>With direct encryption the shared symmetric key is the CEK of every
+ * JWE.
+ *
+ * <p>This class is thread-safe if the key encrypter factory is
+ * thread-safe.
+ *
+ * <p>Supports the following key management algorithms:
+ *
+ * <ul>
+ *     <li>{@link com.nimbusds.jose.JWEAlgorithm#DIR}, with the shared key
+ *         specified at construction
+ *     <li>All key encryption, key wrapping and key agreement with key
+ *         wrapping algorithms supported by the key encrypter, except the
+ *         ECDH-1PU family, where the key wrapping depends on the
+ *         authentication tag
+ * </ul>
+ *
+ * <p>Supports the following content encryption algorithms:
+ *
+ * <ul>
+ *     <li>{@link com.nimbusds.jose.EncryptionMethod#A128CBC_HS256}
+ *     <li>{@link com.nimbusds.jose.EncryptionMethod#A192CBC_HS384}
+ *     <li>{@link com.nimbusds.jose.EncryptionMethod#A256CBC_HS512}
+ *     <li>{@link com.nimbusds.jose.EncryptionMethod#A128GCM}
+ *     <li>{@link com.nimbusds.jose.EncryptionMethod#A192GCM}
+ *     <li>{@link com.nimbusds.jose.EncryptionMethod#A256GCM}
+ * </ul>
+ *
+ * <p>Supports the following compression algorithms:
+ *
+ * <ul>
+ *     <li>{@link com.nimbusds.jose.CompressionAlgorithm#DEF}
+ * </ul>
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@ThreadSafe
+public class StreamingJWEEncrypter {
+	
+	
+	/**
+	 * The size of the read buffer, in bytes.
+	 */
+	static final int CHUNK_SIZE = 8 * 1024;
+	
+	
+	/**
+	 * Factory of key encrypters for the JWEs, each configured with a
+	 * newly generated Content Encryption Key (CEK).
+	 */
+	public interface KeyEncrypterFactory {
+		
+		
+		/**
+		 * Creates a new key encrypter for the specified Content
+		 * Encryption Key (CEK).
+		 *
+		 * @param cek The Content Encryption Key (CEK) to encrypt,
+		 *            wrap or agree on. Not {@code null}.
+		 *
+		 * @return The JWE encrypter for the key management.
+		 *
+		 * @throws JOSEException If the key encrypter couldn't be
+		 *                       created.
+		 */
+		JWEEncrypter createKeyEncrypter(final SecretKey cek)
+			throws JOSEException;
+	}
+	
+	
+	/**
+	 * The key encrypter factory, {@code null} for direct encryption.
+	 */
+	private final KeyEncrypterFactory keyEncrypterFactory;
+	
+	
+	/**
+	 * The shared key for direct encryption, {@code null} if none.
+	 */
+	private final SecretKey directKey;
+	
+	
+	/**
+	 * The direct encrypter, {@code null} if none.
+	 */
+	private final DirectEncrypter directEncrypter;
+	
+	
+	/**
+	 * The JWE JCA context.
+	 */
+	private final JWEJCAContext jcaContext = new JWEJCAContext();
+	
+	
+	/**
+	 * Creates a new streaming JWE encrypter with a key encrypter for the
+	 * Content Encryption Key (CEK) of each JWE.
+	 *
+	 * @param keyEncrypterFactory The key encrypter factory. Must not be
+	 *                            {@code null}.
+	 */
+	public StreamingJWEEncrypter(final KeyEncrypterFactory keyEncrypterFactory) {
+		this.keyEncrypterFactory = Objects.requireNonNull(keyEncrypterFactory);
+		directKey = null;
+		directEncrypter = null;
+	}
+	
+	
+	/**
+	 * Creates a new streaming JWE encrypter for direct encryption.
+	 *
+	 * @param key The shared symmetric key. Its algorithm should be "AES".
+	 *            Must be 128 bits (16 bytes), 192 bits (24 bytes), 256
+	 *            bits (32 bytes), 384 bits (48 bytes) or 512 bits (64
+	 *            bytes) long. Must not be {@code null}.
+	 *
+	 * @throws KeyLengthException If the symmetric key length is not
+	 *                            compatible.
+	 */
+	public StreamingJWEEncrypter(final SecretKey key)
+		throws KeyLengthException {
+		keyEncrypterFactory = null;
+		directEncrypter = new DirectEncrypter(key);
+		directKey = key;
+	}
+	
+	
+	/**
+	 * Returns the key encrypter factory.
+	 *
+	 * @return The key encrypter factory, {@code null} for direct
+	 *         encryption.
+	 */
+	public KeyEncrypterFactory getKeyEncrypterFactory() {
+		return keyEncrypterFactory;
+	}
+	
+	
+	/**
+	 * Returns the JCA context for the content encryption.
+	 *
+	 * @return The JWE JCA context.
+	 */
+	public JWEJCAContext getJCAContext() {
+		return jcaContext;
+	}
+	
+	
+	/**
+	 * Encrypts the content from the specified input stream and writes the
+	 * JWE compact serialisation to the specified output channel.
+	 *
+	 * @param header The JWE header. Must not be {@code null}.
+	 * @param in     The input stream of the content. Must not be
+	 *               {@code null}.
+	 * @param out    The output channel. Must not be {@code null}.
+	 *
+	 * @return The final JWE header, with any parameters set by the key
+	 *         encrypter.
+	 *
+	 * @throws JOSEException If the JWE algorithm, encryption method or
+	 *                       compression algorithm are not supported, or
+	 *                       encryption failed for some other reason.
+	 * @throws IOException   If reading or writing failed.
+	 */
+	public JWEHeader encrypt(final JWEHeader header, final InputStream in, final WritableByteChannel out)
+		throws JOSEException, IOException {
+		
+		return encrypt(header, Channels.newChannel(in), out);
+	}
+	
+	
+	/**
+	 * Encrypts the content from the specified input channel and writes
+	 * the JWE compact serialisation to the specified output channel.
+	 *
+	 * @param header The JWE header. Must not be {@code null}.
+	 * @param in     The input channel of the content, in blocking mode.
+	 *               Must not be {@code null}.
+	 * @param out    The output channel, in blocking mode. Must not be
+	 *               {@code null}.
+	 *
+	 * @return The final JWE header, with any parameters set by the key
+	 *         encrypter.
+	 *
+	 * @throws JOSEException If the JWE algorithm, encryption method or
+	 *                       compression algorithm are not supported, or
+	 *                       encryption failed for some other reason.
+	 * @throws IOException   If reading or writing failed.
+	 */
+	public JWEHeader encrypt(final JWEHeader header, final ReadableByteChannel in, final WritableByteChannel out)
+		throws JOSEException, IOException {
+		
+		Preparation prep = prepare(header);
+		
+		writeASCII(out,
+			prep.header.toBase64URL() + "." +
+			(prep.encryptedKey != null ? prep.encryptedKey : "") + "." +
+			prep.iv + ".");
+		
+		Base64URL authTag = encryptContent(prep, in, out);
+		
+		writeASCII(out, "." + authTag);
+		
+		return prep.header;
+	}
+	
+	
+	/**
+	 * Encrypts the content from the specified input stream and writes the
+	 * flattened JWE JSON serialisation to the specified output channel.
+	 *
+	 * @param header The JWE header, to become the protected header. Must
+	 *               not be {@code null}.
+	 * @param in     The input stream of the content. Must not be
+	 *               {@code null}.
+	 * @param out    The output channel. Must not be {@code null}.
+	 *
+	 * @return The final JWE header, with any parameters set by the key
+	 *         encrypter.
+	 *
+	 * @throws JOSEException If the JWE algorithm, encryption method or
+	 *                       compression algorithm are not supported, or
+	 *                       encryption failed for some other reason.
+	 * @throws IOException   If reading or writing failed.
+	 */
+	public JWEHeader encryptToFlattenedJSON(final JWEHeader header, final InputStream in, final WritableByteChannel out)
+		throws JOSEException, IOException {
+		
+		return encryptToFlattenedJSON(header, Channels.newChannel(in), out);
+	}
+	
+	
+	/**
+	 * Encrypts the content from the specified input channel and writes
+	 * the flattened JWE JSON serialisation to the specified output
+	 * channel.
+	 *
+	 * @param header The JWE header, to become the protected header. Must
+	 *               not be {@code null}.
+	 * @param in     The input channel of the content, in blocking mode.
+	 *               Must not be {@code null}.
+	 * @param out    The output channel, in blocking mode. Must not be
+	 *               {@code null}.
+	 *
+	 * @return The final JWE header, with any parameters set by the key
+	 *         encrypter.
+	 *
+	 * @throws JOSEException If the JWE algorithm, encryption method or
+	 *                       compression algorithm are not supported, or
+	 *                       encryption failed for some other reason.
+	 * @throws IOException   If reading or writing failed.
+	 */
+	public JWEHeader encryptToFlattenedJSON(final JWEHeader header, final ReadableByteChannel in, final WritableByteChannel out)
+		throws JOSEException, IOException {
+		
+		Preparation prep = prepare(header);
+		
+		// The tag member must follow the streamed cipher text
+		writeASCII(out,
+			"{\"protected\":\"" + prep.header.toBase64URL() + "\"," +
+			(prep.encryptedKey != null ? "\"encrypted_key\":\"" + prep.encryptedKey + "\"," : "") +
+			"\"iv\":\"" + prep.iv + "\"," +
+			"\"ciphertext\":\"");
+		
+		Base64URL authTag = encryptContent(prep, in, out);
+		
+		writeASCII(out, "\",\"tag\":\"" + authTag + "\"}");
+		
+		return prep.header;
+	}
+	
+	
+	/**
+	 * The prepared key management and content cipher for a JWE.
+	 */
+	private static final class Preparation {
+		
+		
+		private final JWEHeader header;
+		
+		
+		private final Base64URL encryptedKey;
+		
+		
+		private final Base64URL iv;
+		
+		
+		private final StreamingContentCipher cipher;
+		
+		
+		private final boolean deflate;
+		
+		
+		private Preparation(final JWEHeader header,
+				    final Base64URL encryptedKey,
+				    final Base64URL iv,
+				    final StreamingContentCipher cipher,
+				    final boolean deflate) {
+			this.header = header;
+			this.encryptedKey = encryptedKey;
+			this.iv = iv;
+			this.cipher = cipher;
+			this.deflate = deflate;
+		}
+	}
+	
+	
+	/**
+	 * Runs the key management for the specified header and prepares the
+	 * content cipher.
+	 *
+	 * @param header The JWE header. Must not be {@code null}.
+	 *
+	 * @return The preparation.
+	 *
+	 * @throws JOSEException If the preparation failed.
+	 */
+	private Preparation prepare(final JWEHeader header)
+		throws JOSEException {
+		
+		final JWEAlgorithm alg = header.getAlgorithm();
+		final EncryptionMethod enc = header.getEncryptionMethod();
+		
+		if (JWEAlgorithm.Family.ECDH_1PU.contains(alg)) {
+			throw new JOSEException("Streaming JWE encryption doesn't support the " + alg + " algorithm");
+		}
+		
+		if (directKey == null && JWEAlgorithm.DIR.equals(alg)) {
+			throw new JOSEException("Streaming JWE direct encryption requires a shared key");
+		}
+		
+		if (! StreamingContentCipher.SUPPORTED_ENCRYPTION_METHODS.contains(enc)) {
+			throw new JOSEException("Streaming JWE encryption doesn't support the " + enc + " encryption method");
+		}
+		
+		final SecretKey cek;
+		final JWEEncrypter keyEncrypter;
+		
+		if (directKey != null) {
+			cek = directKey;
+			keyEncrypter = directEncrypter;
+		} else {
+			// Fresh CEK for each JWE
+			cek = ContentCryptoProvider.generateCEK(enc, jcaContext.getSecureRandom());
+			keyEncrypter = keyEncrypterFactory.createKeyEncrypter(cek);
+		}
+		
+		if (keyEncrypter instanceof MultiEncrypter) {
+			throw new JOSEException("Streaming JWE encryption doesn't support multiple recipients");
+		}
+		
+		final CompressionAlgorithm zip = header.getCompressionAlgorithm();
+		
+		if (zip != null && ! CompressionAlgorithm.DEF.equals(zip)) {
+			throw new JOSEException("Unsupported compression algorithm: " + zip);
+		}
+		
+		// The key encrypter is run with empty content, for the
+		// encrypted key and the header parameters, the zip is put back
+		// into the header for the streamed content
+		JWEHeader keyHeader = zip != null ? new JWEHeader.Builder(header).compressionAlgorithm(null).build() : header;
+		
+		JWECryptoParts parts = keyEncrypter.encrypt(keyHeader, new byte[0], AAD.compute(keyHeader));
+		
+		if (parts.getInitializationVector() == null || parts.getAuthenticationTag() == null) {
+			throw new JOSEException("The key encrypter must output an initialization vector (IV) and an authentication tag");
+		}
+		
+		// Ensure the key encrypter used the same CEK
+		AuthenticatedCipherText emptyContent = StreamingContentCipher.forEncryption(
+			enc,
+			cek,
+			parts.getInitializationVector().decode(),
+			AAD.compute(parts.getHeader()),
+			jcaContext).finishEncryption();
+		
+		if (! ConstantTimeUtils.areEqual(emptyContent.getAuthenticationTag(), parts.getAuthenticationTag().decode())) {
+			throw new JOSEException("The key encrypter must use the same content encryption key (CEK)");
+		}
+		
+		JWEHeader outHeader = zip != null ? new JWEHeader.Builder(parts.getHeader()).compressionAlgorithm(zip).build() : parts.getHeader();
+		
+		// Never reuse the IV for the actual content
+		byte[] iv = StreamingContentCipher.generateIV(enc, jcaContext);
+		
+		StreamingContentCipher cipher = StreamingContentCipher.forEncryption(
+			enc,
+			cek,
+			iv,
+			AAD.compute(outHeader),
+			jcaContext);
+		
+		return new Preparation(outHeader, parts.getEncryptedKey(), Base64URL.encode(iv), cipher, zip != null);
+	}
+	
+	
+	/**
+	 * Compresses if required and encrypts the content from the specified
+	 * input channel and writes the cipher text to the specified output
+	 * channel.
+	 *
+	 * @param prep The preparation. Must not be {@code null}.
+	 * @param in   The input channel. Must not be {@code null}.
+	 * @param out  The output channel. Must not be {@code null}.
+	 *
+	 * @return The authentication tag.
+	 *
+	 * @throws JOSEException If encryption failed.
+	 * @throws IOException   If reading or writing failed.
+	 */
+	private static Base64URL encryptContent(final Preparation prep,
+						final ReadableByteChannel in,
+						final WritableByteChannel out)
+		throws JOSEException, IOException {
+		
+		Base64URLChannelWriter writer = new Base64URLChannelWriter(out);
+		
+		ByteBuffer buf = ByteBuffer.allocate(CHUNK_SIZE);
+		
+		Deflater deflater = prep.deflate ? new Deflater(Deflater.DEFLATED, true) : null;
+		byte[] deflated = prep.deflate ? new byte[CHUNK_SIZE] : null;
+		
+		try {
+			int n;
+			while ((n = in.read(buf)) >= 0) {
+				
+				if (n == 0) {
+					continue;
+				}
+				
+				if (deflater != null) {
+					deflater.setInput(buf.array(), 0, buf.position());
+					while (! deflater.needsInput()) {
+						int len = deflater.deflate(deflated);
+						writer.write(prep.cipher.update(deflated, 0, len));
+					}
+				} else {
+					writer.write(prep.cipher.update(buf.array(), 0, buf.position()));
+				}
+				
+				buf.clear();
+			}
+			
+			if (deflater != null) {
+				deflater.finish();
+				while (! deflater.finished()) {
+					int len = deflater.deflate(deflated);
+					writer.write(prep.cipher.update(deflated, 0, len));
+				}
+			}
+		} finally {
+			if (deflater != null) {
+				deflater.end();
+			}
+		}
+		
+		AuthenticatedCipherText last = prep.cipher.finishEncryption();
+		writer.write(last.getCipherText());
+		writer.flush();
+		
+		return Base64URL.encode(last.getAuthenticationTag());
+	}
+	
+	
+	/**
+	 * Writes the specified ASCII string to the output channel.
+	 *
+	 * @param out The output channel. Must not be {@code null}.
+	 * @param s   The string. Must not be {@code null}.
+	 *
+	 * @throws IOException If writing failed.
+	 */
+	private static void writeASCII(final WritableByteChannel out, final String s)
+		throws IOException {
+		
+		writeFully(out, ByteBuffer.wrap(s.getBytes(StandardCharset.UTF_8)));
+	}
+	
+	
+	/**
+	 * Writes the remaining bytes of the specified buffer to the output
+	 * channel.
+	 *
+	 * @param out The output channel. Must not be {@code null}.
+	 * @param buf The buffer. Must not be {@code null}.
+	 *
+	 * @throws IOException If writing failed.
+	 */
+	private static void writeFully(final WritableByteChannel out, final ByteBuffer buf)
+		throws IOException {
+		
+		while (buf.hasRemaining()) {
+			out.write(buf);
+		}
+	}
+	
+	
+	/**
+	 * Base64URL encoding writer, carrying over the trailing bytes which
+	 * don't form a complete 3 byte group to the next write.
+	 */
+	private static final class Base64URLChannelWriter {
+		
+		
+		private final WritableByteChannel out;
+		
+		
+		private final byte[] pending = new byte[3];
+		
+		
+		private int pendingLength = 0;
+		
+		
+		private byte[] encoded = new byte[0];
+		
+		
+		private Base64URLChannelWriter(final WritableByteChannel out) {
+			this.out = out;
+		}
+		
+		
+		private void write(final byte[] bytes)
+			throws IOException {
+			
+			int offset = 0;
+			
+			// Complete any pending group first
+			while (pendingLength > 0 && pendingLength < 3 && offset < bytes.length) {
+				pending[pendingLength++] = bytes[offset++];
+			}
+			
+			if (pendingLength == 3) {
+				encodeAndWrite(pending, 0, 3);
+				pendingLength = 0;
+			}
+			
+			int groupsLength = (bytes.length - offset) / 3 * 3;
+			
+			if (groupsLength > 0) {
+				encodeAndWrite(bytes, offset, groupsLength);
+				offset += groupsLength;
+			}
+			
+			while (offset < bytes.length) {
+				pending[pendingLength++] = bytes[offset++];
+			}
+		}
+		
+		
+		private void flush()
+			throws IOException {
+			
+			if (pendingLength > 0) {
+				encodeAndWrite(pending, 0, pendingLength);
+				pendingLength = 0;
+			}
+		}
+		
+		
+		private void encodeAndWrite(final byte[] bytes, final int offset, final int length)
+			throws IOException {
+			
+			int encodedLength = Base64URL.computeEncodedLength(length);
+			
+			if (encoded.length < encodedLength) {
+				encoded = new byte[encodedLength];
+			}
+			
+			Base64URL.encode(bytes, offset, length, encoded, 0);
+			writeFully(out, ByteBuffer.wrap(encoded, 0, encodedLength));
+		}
+	}
+}
@@ -78,7 +78,7 @@ import net.jcip.annotations.ThreadSafe;
  *
  * @author Tim McLean
  * @author Egor Puzanov
- * @version 2023-03-26
+ * @version 2026-10-15
  */
 @ThreadSafe
 public class X25519Encrypter extends ECDHCryptoProvider implements JWEEncrypter {
@@ -90,6 +90,13 @@ public class X25519Encrypter extends ECDHCryptoProvider implements JWEEncrypter
 	private final OctetKeyPair publicKey;
 
 
+	/**
+	 * The optional pool of precomputed ephemeral key pairs, {@code null}
+	 * if not specified.
+	 */
+	private final EphemeralKeyPool<OctetKeyPair> ephemeralKeyPool;
+
+
 	/**
 	 * Creates a new Curve25519 Elliptic Curve Diffie-Hellman encrypter.
 	 *
@@ -120,6 +127,34 @@ public class X25519Encrypter extends ECDHCryptoProvider implements JWEEncrypter
 	public X25519Encrypter(final OctetKeyPair publicKey, final SecretKey contentEncryptionKey)
 		throws JOSEException {
 
+		this(publicKey, contentEncryptionKey, null);
+	}
+
+
+	/**
+	 * Creates a new Curve25519 Elliptic Curve Diffie-Hellman encrypter
+	 * with a pool of precomputed ephemeral key pairs.
+	 *
+	 * @param publicKey            The public key. Must not be {@code null}.
+	 * @param contentEncryptionKey The content encryption key (CEK) to use.
+	 *                             If specified its algorithm must be "AES"
+	 *                             or "ChaCha20" and its length must match
+	 *                             the expected for the JWE encryption
+	 *                             method ("enc"). If {@code null} a CEK
+	 *                             will be generated for each JWE.
+	 * @param ephemeralKeyPool     The pool to take the ephemeral X25519
+	 *                             key pairs from. If {@code null} an
+	 *                             ephemeral key pair will be generated for
+	 *                             each JWE.
+	 *
+	 * @throws JOSEException If the key subtype is not supported or
+	 *                       doesn't match the pool curve.
+	 */
+	public X25519Encrypter(final OctetKeyPair publicKey,
+			       final SecretKey contentEncryptionKey,
+			       final EphemeralKeyPool<OctetKeyPair> ephemeralKeyPool)
+		throws JOSEException {
+
 		super(publicKey.getCurve(), contentEncryptionKey);
 
 		if (! Curve.X25519.equals(publicKey.getCurve())) {
@@ -130,7 +165,12 @@ public class X25519Encrypter extends ECDHCryptoProvider implements JWEEncrypter
 			throw new JOSEException("X25519Encrypter requires a public key, use OctetKeyPair.toPublicJWK()");
 		}
 
+		if (ephemeralKeyPool != null && ! Curve.X25519.equals(ephemeralKeyPool.getCurve())) {
+			throw new JOSEException("The ephemeral key pool curve must be X25519");
+		}
+
 		this.publicKey = publicKey;
+		this.ephemeralKeyPool = ephemeralKeyPool;
 	}
 
 
@@ -152,6 +192,17 @@ public class X25519Encrypter extends ECDHCryptoProvider implements JWEEncrypter
 	}
 
 
+	/**
+	 * Returns the pool of precomputed ephemeral key pairs.
+	 *
+	 * @return The ephemeral key pool, {@code null} if not specified.
+	 */
+	public EphemeralKeyPool<OctetKeyPair> getEphemeralKeyPool() {
+
+		return ephemeralKeyPool;
+	}
+
+
 	/**
 	 * Encrypts the specified clear text of a {@link JWEObject JWE object}.
 	 *
@@ -178,21 +229,10 @@ public class X25519Encrypter extends ECDHCryptoProvider implements JWEEncrypter
 	public JWECryptoParts encrypt(final JWEHeader header, final byte[] clearText, final byte[] aad)
 		throws JOSEException {
 
-		// Generate ephemeral X25519 key pair
-		final byte[] ephemeralPrivateKeyBytes = X25519.generatePrivateKey();
-		final byte[] ephemeralPublicKeyBytes;
-		try {
-			ephemeralPublicKeyBytes = X25519.publicFromPrivate(ephemeralPrivateKeyBytes);
-
-		} catch (InvalidKeyException e) {
-			// Should never happen since we just generated this private key
-			throw new JOSEException(e.getMessage(), e);
-		}
-
-		final OctetKeyPair ephemeralPrivateKey =
-			new OctetKeyPair.Builder(getCurve(), Base64URL.encode(ephemeralPublicKeyBytes)).
-			d(Base64URL.encode(ephemeralPrivateKeyBytes)).
-			build();
+		// Generate ephemeral X25519 key pair, or take a precomputed one
+		final OctetKeyPair ephemeralPrivateKey = ephemeralKeyPool != null ?
+			ephemeralKeyPool.take() :
+			generateEphemeralKeyPair();
 		final OctetKeyPair ephemeralPublicKey = ephemeralPrivateKey.toPublicJWK();
 
 		// Add the ephemeral public EC key to the header
@@ -208,4 +248,30 @@ public class X25519Encrypter extends ECDHCryptoProvider implements JWEEncrypter
 
 		return encryptWithZ(updatedHeader, Z, clearText, updatedAAD);
 	}
+
+
+	/**
+	 * Generates a new ephemeral X25519 key pair.
+	 *
+	 * @return The private X25519 key pair.
+	 *
+	 * @throws JOSEException If the key pair couldn't be generated.
+	 */
+	private OctetKeyPair generateEphemeralKeyPair()
+		throws JOSEException {
+
+		final byte[] ephemeralPrivateKeyBytes = X25519.generatePrivateKey();
+		final byte[] ephemeralPublicKeyBytes;
+		try {
+			ephemeralPublicKeyBytes = X25519.publicFromPrivate(ephemeralPrivateKeyBytes);
+
+		} catch (InvalidKeyException e) {
+			// Should never happen since we just generated this private key
+			throw new JOSEException(e.getMessage(), e);
+		}
+
+		return new OctetKeyPair.Builder(getCurve(), Base64URL.encode(ephemeralPublicKeyBytes)).
+			d(Base64URL.encode(ephemeralPrivateKeyBytes)).
+			build();
+	}
 }
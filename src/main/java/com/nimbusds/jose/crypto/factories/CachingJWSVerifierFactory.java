@@ -0,0 +1,225 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.crypto.factories;
+
+
+import java.security.Key;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import net.jcip.annotations.Immutable;
+import net.jcip.annotations.ThreadSafe;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.jca.JCAContext;
+import com.nimbusds.jose.proc.JWSVerifierFactory;
+
+
+/**
+ * Caching JSON Web Signature (JWS) verifier factory. Memoises the verifiers
+ * created by an underlying factory, by default
+ * {@link DefaultJWSVerifierFactory}, for each JWS algorithm and key
+ * instance. Key validation performed by the verifier constructors, such as
+ * the EC curve point checks of the {@link com.nimbusds.jose.crypto.ECDSAVerifier},
+ * is thus done once per key instead of once per verification.
+ *
+ * <p>Keys are compared by instance identity. Key selectors that convert
+ * JWKs to Java keys on each call, such as older custom selectors, will not
+ * benefit; the {@link com.nimbusds.jose.proc.JWSVerificationKeySelector}
+ * returns the same key instances for as long as the JWK set doesn't change.
+ * When the maximum cache size is reached the cache is cleared, which also
+ * drops the verifiers for keys rotated out.
+ *
+ * <p>The underlying factory must create thread-safe verifiers which depend
+ * only on the JWS algorithm and the key, and not on other header
+ * parameters. Changes to the JCA context after a verifier is cached don't
+ * apply to it.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@ThreadSafe
+public class CachingJWSVerifierFactory implements JWSVerifierFactory {
+	
+	
+	/**
+	 * The default maximum number of cached verifiers.
+	 */
+	public static final int DEFAULT_MAX_SIZE = 100;
+	
+	
+	/**
+	 * Algorithm and key instance pair for the cache.
+	 */
+	@Immutable
+	private static final class CacheKey {
+		
+		private final JWSAlgorithm alg;
+		
+		private final Key key;
+		
+		private CacheKey(final JWSAlgorithm alg, final Key key) {
+			this.alg = alg;
+			this.key = key;
+		}
+		
+		@Override
+		public boolean equals(final Object o) {
+			if (this == o) return true;
+			if (!(o instanceof CacheKey)) return false;
+			CacheKey other = (CacheKey) o;
+			return key == other.key && alg.equals(other.alg);
+		}
+		
+		@Override
+		public int hashCode() {
+			return 31 * alg.hashCode() + System.identityHashCode(key);
+		}
+	}
+	
+	
+	/**
+	 * The underlying JWS verifier factory.
+	 */
+	private final JWSVerifierFactory factory;
+	
+	
+	/**
+	 * The maximum number of cached verifiers.
+	 */
+	private final int maxSize;
+	
+	
+	/**
+	 * The cached verifiers.
+	 */
+	private final ConcurrentMap<CacheKey, JWSVerifier> cache = new ConcurrentHashMap<>();
+	
+	
+	/**
+	 * Creates a new caching JWS verifier factory backed by a
+	 * {@link DefaultJWSVerifierFactory} and with the
+	 * {@link #DEFAULT_MAX_SIZE default maximum size}.
+	 */
+	public CachingJWSVerifierFactory() {
+		this(new DefaultJWSVerifierFactory(), DEFAULT_MAX_SIZE);
+	}
+	
+	
+	/**
+	 * Creates a new caching JWS verifier factory.
+	 *
+	 * @param factory The underlying JWS verifier factory. Must not be
+	 *                {@code null}.
+	 * @param maxSize The maximum number of cached verifiers. Must be
+	 *                positive.
+	 */
+	public CachingJWSVerifierFactory(final JWSVerifierFactory factory, final int maxSize) {
+		if (factory == null) {
+			throw new IllegalArgumentException("The JWS verifier factory must not be null");
+		}
+		this.factory = factory;
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("The max cache size must be positive");
+		}
+		this.maxSize = maxSize;
+	}
+	
+	
+	/**
+	 * Returns the underlying JWS verifier factory.
+	 *
+	 * @return The underlying JWS verifier factory.
+	 */
+	public JWSVerifierFactory getJWSVerifierFactory() {
+		return factory;
+	}
+	
+	
+	/**
+	 * Returns the maximum number of cached verifiers.
+	 *
+	 * @return The maximum number of cached verifiers.
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+	
+	
+	/**
+	 * Returns the number of cached verifiers.
+	 *
+	 * @return The number of cached verifiers.
+	 */
+	public int size() {
+		return cache.size();
+	}
+	
+	
+	/**
+	 * Removes all cached verifiers.
+	 */
+	public void clear() {
+		cache.clear();
+	}
+	
+	
+	@Override
+	public Set<JWSAlgorithm> supportedJWSAlgorithms() {
+		
+		return factory.supportedJWSAlgorithms();
+	}
+	
+	
+	@Override
+	public JCAContext getJCAContext() {
+		
+		return factory.getJCAContext();
+	}
+	
+	
+	@Override
+	public JWSVerifier createJWSVerifier(final JWSHeader header, final Key key)
+		throws JOSEException {
+		
+		CacheKey cacheKey = new CacheKey(header.getAlgorithm(), key);
+		
+		JWSVerifier verifier = cache.get(cacheKey);
+		
+		if (verifier != null) {
+			return verifier;
+		}
+		
+		verifier = factory.createJWSVerifier(header, key);
+		
+		if (verifier == null) {
+			return null;
+		}
+		
+		if (cache.size() >= maxSize) {
+			cache.clear();
+		}
+		
+		JWSVerifier existing = cache.putIfAbsent(cacheKey, verifier);
+		return existing != null ? existing : verifier;
+	}
+}
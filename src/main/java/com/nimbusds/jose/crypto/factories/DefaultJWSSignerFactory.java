@@ -101,6 +101,7 @@ public class DefaultJWSSignerFactory implements JWSSignerFactory {
 		// Apply JCA context
 		signer.getJCAContext().setSecureRandom(jcaContext.getSecureRandom());
 		signer.getJCAContext().setProvider(jcaContext.getProvider());
+		signer.getJCAContext().setEnginePoolingEnabled(jcaContext.isEnginePoolingEnabled());
 
 		return signer;
 	}
@@ -155,6 +156,7 @@ public class DefaultJWSSignerFactory implements JWSSignerFactory {
 		// Apply JCA context
 		signer.getJCAContext().setSecureRandom(jcaContext.getSecureRandom());
 		signer.getJCAContext().setProvider(jcaContext.getProvider());
+		signer.getJCAContext().setEnginePoolingEnabled(jcaContext.isEnginePoolingEnabled());
 
 		return signer;
 	}
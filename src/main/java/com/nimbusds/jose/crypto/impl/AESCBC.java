@@ -48,7 +48,7 @@ import com.nimbusds.jose.util.StandardCharset;
  *
  * @author Vladimir Dzhuvinov
  * @author Axel Nennker
- * @version 2022-01-24
+ * @version 2026-10-15
  */
 @ThreadSafe
 public class AESCBC {
@@ -90,7 +90,7 @@ public class AESCBC {
 	 *
 	 * @return The AES/CBC/PKCS5Padding cipher.
 	 */
-	private static Cipher createAESCBCCipher(final SecretKey secretKey,
+	static Cipher createAESCBCCipher(final SecretKey secretKey,
 		                                 final boolean forEncryption,
 		                                 final byte[] iv,
 		                                 final Provider provider)
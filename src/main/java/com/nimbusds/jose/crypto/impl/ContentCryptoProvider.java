@@ -35,7 +35,7 @@ import com.nimbusds.jose.util.IntegerOverflowException;
  * JWE content encryption / decryption provider.
  *
  * @author Vladimir Dzhuvinov
- * @version 2023-03-21
+ * @version 2026-10-15
  */
 public class ContentCryptoProvider {
 
@@ -126,7 +126,7 @@ public class ContentCryptoProvider {
 	 * @throws KeyLengthException If the CEK length doesn't match the
 	 *                            encryption method.
 	 */
-	private static void checkCEKLength(final SecretKey cek, final EncryptionMethod enc)
+	static void checkCEKLength(final SecretKey cek, final EncryptionMethod enc)
 		throws KeyLengthException {
 		
 		final int cekBitLength;
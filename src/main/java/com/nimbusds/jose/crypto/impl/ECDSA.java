@@ -38,7 +38,7 @@ import com.nimbusds.jose.util.ByteUtils;
  *
  * @author Vladimir Dzhuvinov
  * @author Aleksei Doroganov
- * @version 2022-04-22
+ * @version 2026-10-15
  */
 public class ECDSA {
 
@@ -90,6 +90,36 @@ public class ECDSA {
 	}
 
 
+	/**
+	 * Gets a JCA signer / verifier for ECDSA from the
+	 * {@link JCAEnginePool#SIGNATURES per-thread pool}, creating and
+	 * pooling one if none. The returned instance must be initialised and
+	 * used by the calling thread only.
+	 *
+	 * @param alg         The ECDSA JWS algorithm. Must not be
+	 *                    {@code null}.
+	 * @param jcaProvider The JCA provider, {@code null} if not specified.
+	 *
+	 * @return The JCA signer / verifier instance.
+	 *
+	 * @throws JOSEException If a JCA signer / verifier couldn't be
+	 *                       created.
+	 */
+	public static Signature getPooledSignerAndVerifier(final JWSAlgorithm alg,
+							   final Provider jcaProvider)
+		throws JOSEException {
+
+		Signature signature = JCAEnginePool.SIGNATURES.get(alg.getName(), jcaProvider);
+
+		if (signature == null) {
+			signature = getSignerAndVerifier(alg, jcaProvider);
+			JCAEnginePool.SIGNATURES.put(alg.getName(), jcaProvider, signature);
+		}
+
+		return signature;
+	}
+
+
 	/**
 	 * Creates a new JCA signer / verifier for ECDSA.
 	 *
@@ -0,0 +1,147 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.crypto.impl;
+
+
+import java.security.Provider;
+import java.security.Signature;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.jcip.annotations.Immutable;
+import net.jcip.annotations.ThreadSafe;
+
+
+/**
+ * Per-thread pool of Java Cryptography Architecture (JCA) engines, such as
+ * {@link Signature} and {@link javax.crypto.Mac} instances, keyed by name
+ * and JCA provider. Reusing an engine saves the provider lookup and the
+ * engine allocation of the {@code getInstance} methods.
+ *
+ * <p>An engine obtained from the pool must be used by the calling thread
+ * only and must be fully (re)initialised before use. It must not be handed
+ * to code which may complete its use later, or on another thread. Note that
+ * a pooled engine keeps a reference to the last key it was initialised
+ * with.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@ThreadSafe
+public final class JCAEnginePool<T> {
+	
+	
+	/**
+	 * The shared pool of signature engines. The names are the JWS
+	 * algorithm names, as the signature parameters, e.g. for RSASSA-PSS,
+	 * are set when the engine is created.
+	 */
+	public static final JCAEnginePool<Signature> SIGNATURES = new JCAEnginePool<>();
+	
+	
+	/**
+	 * Engine name and JCA provider pair.
+	 */
+	@Immutable
+	private static final class EngineKey {
+		
+		private final String name;
+		
+		private final Provider provider;
+		
+		private EngineKey(final String name, final Provider provider) {
+			this.name = name;
+			this.provider = provider;
+		}
+		
+		@Override
+		public boolean equals(final Object o) {
+			if (this == o) return true;
+			if (!(o instanceof EngineKey)) return false;
+			EngineKey other = (EngineKey) o;
+			// Compare providers by identity, Provider is a Properties map
+			return provider == other.provider && name.equals(other.name);
+		}
+		
+		@Override
+		public int hashCode() {
+			return 31 * name.hashCode() + System.identityHashCode(provider);
+		}
+	}
+	
+	
+	/**
+	 * The engines of each thread.
+	 */
+	private final ThreadLocal<Map<EngineKey, T>> engines = new ThreadLocal<Map<EngineKey, T>>() {
+		@Override
+		protected Map<EngineKey, T> initialValue() {
+			return new HashMap<>();
+		}
+	};
+	
+	
+	/**
+	 * Gets a pooled engine for the current thread.
+	 *
+	 * @param name     The engine name, typically the JCA algorithm name.
+	 *                 Must not be {@code null}.
+	 * @param provider The JCA provider, {@code null} for the default.
+	 *
+	 * @return The engine, {@code null} if none was pooled yet.
+	 */
+	public T get(final String name, final Provider provider) {
+		
+		return engines.get().get(new EngineKey(name, provider));
+	}
+	
+	
+	/**
+	 * Pools an engine for the current thread, replacing any previous one
+	 * with the same name and JCA provider.
+	 *
+	 * @param name     The engine name, typically the JCA algorithm name.
+	 *                 Must not be {@code null}.
+	 * @param provider The JCA provider, {@code null} for the default.
+	 * @param engine   The engine. Must not be {@code null}.
+	 */
+	public void put(final String name, final Provider provider, final T engine) {
+		
+		engines.get().put(new EngineKey(name, provider), engine);
+	}
+	
+	
+	/**
+	 * Returns the number of pooled engines for the current thread.
+	 *
+	 * @return The number of pooled engines.
+	 */
+	public int size() {
+		
+		return engines.get().size();
+	}
+	
+	
+	/**
+	 * Removes the pooled engines of the current thread.
+	 */
+	public void clear() {
+		
+		engines.remove();
+	}
+}
@@ -23,8 +23,11 @@ import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.KeyLengthException;
 import com.nimbusds.jose.util.StandardCharset;
 
+import javax.crypto.Mac;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
+import java.security.InvalidKeyException;
+import java.security.Provider;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -44,7 +47,7 @@ import java.util.Set;
  * 
  * @author Vladimir Dzhuvinov
  * @author Ulrich Winter
- * @version 2019-09-14
+ * @version 2026-10-15
  */
 public abstract class MACProvider extends BaseJWSProvider {
 
@@ -104,6 +107,42 @@ public abstract class MACProvider extends BaseJWSProvider {
 	private final SecretKey secretKey;
 
 
+	/**
+	 * Pooled HMAC engine with the secret it was last initialised with.
+	 */
+	private static final class PooledMac {
+
+
+		/**
+		 * The HMAC engine.
+		 */
+		private final Mac mac;
+
+
+		/**
+		 * The secret ({@code byte[]} or {@link SecretKey}) the
+		 * engine was last initialised with, compared by identity,
+		 * {@code null} if not known.
+		 */
+		private Object secretRef;
+
+
+		private PooledMac(final Mac mac, final Object secretRef) {
+			this.mac = mac;
+			this.secretRef = secretRef;
+		}
+	}
+
+
+	/**
+	 * The HMAC engines, pooled per thread, JCA algorithm and JCA provider
+	 * and shared by all MAC providers. An engine is initialised again
+	 * when used with another secret, so the pool size doesn't grow with
+	 * the number of MAC provider instances.
+	 */
+	private static final JCAEnginePool<PooledMac> MACS = new JCAEnginePool<>();
+
+
 	/**
 	 * Creates a new Message Authentication (MAC) provider.
 	 *
@@ -208,4 +247,86 @@ public abstract class MACProvider extends BaseJWSProvider {
 
 		return new String(secret, StandardCharset.UTF_8);
 	}
+
+
+	/**
+	 * Computes a Hash-based Message Authentication Code (HMAC) for the
+	 * specified message with the secret key. If
+	 * {@link com.nimbusds.jose.jca.JCAContext#isEnginePoolingEnabled JCA
+	 * engine pooling} is enabled the MAC engine of the calling thread is
+	 * reused, without initialising it again if last used with the same
+	 * secret.
+	 *
+	 * @param jcaAlg  The Java Cryptography Architecture (JCA) HMAC
+	 *                algorithm name. Must not be {@code null}.
+	 * @param message The message. Must not be {@code null}.
+	 *
+	 * @return The computed HMAC.
+	 *
+	 * @throws JOSEException If the algorithm is not supported or the MAC
+	 *                       secret key is invalid.
+	 */
+	protected byte[] computeHMAC(final String jcaAlg, final byte[] message)
+		throws JOSEException {
+
+		return computeHMAC(jcaAlg, message, 0, message.length);
+	}
+
+
+	/**
+	 * Computes a Hash-based Message Authentication Code (HMAC) for the
+	 * specified message slice with the secret key. If
+	 * {@link com.nimbusds.jose.jca.JCAContext#isEnginePoolingEnabled JCA
+	 * engine pooling} is enabled the MAC engine of the calling thread is
+	 * reused, without initialising it again if last used with the same
+	 * secret.
+	 *
+	 * @param jcaAlg  The Java Cryptography Architecture (JCA) HMAC
+	 *                algorithm name. Must not be {@code null}.
+	 * @param message The array holding the message. Must not be
+	 *                {@code null}.
+	 * @param offset  The offset of the message in the array.
+	 * @param length  The length of the message.
+	 *
+	 * @return The computed HMAC.
+	 *
+	 * @throws JOSEException If the algorithm is not supported or the MAC
+	 *                       secret key is invalid.
+	 */
+	protected byte[] computeHMAC(final String jcaAlg, final byte[] message, final int offset, final int length)
+		throws JOSEException {
+
+		final Provider provider = getJCAContext().getProvider();
+
+		Mac mac;
+
+		if (! getJCAContext().isEnginePoolingEnabled()) {
+			mac = HMAC.getInitMac(jcaAlg, getSecretKey(), provider);
+		} else {
+			final Object secretRef = secretKey != null ? secretKey : secret;
+
+			PooledMac pooledMac = MACS.get(jcaAlg, provider);
+
+			if (pooledMac == null) {
+				mac = HMAC.getInitMac(jcaAlg, getSecretKey(), provider);
+				MACS.put(jcaAlg, provider, new PooledMac(mac, secretRef));
+			} else if (pooledMac.secretRef != secretRef) {
+				mac = pooledMac.mac;
+				pooledMac.secretRef = null;
+				try {
+					mac.init(getSecretKey());
+				} catch (InvalidKeyException e) {
+					throw new JOSEException("Invalid HMAC key: " + e.getMessage(), e);
+				}
+				pooledMac.secretRef = secretRef;
+			} else {
+				mac = pooledMac.mac;
+				// Discard any input left from an interrupted computation
+				mac.reset();
+			}
+		}
+
+		mac.update(message, offset, length);
+		return mac.doFinal();
+	}
 }
@@ -24,9 +24,12 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import javax.crypto.SecretKey;
 
 import com.nimbusds.jose.EncryptionMethod;
+import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWEAlgorithm;
 import com.nimbusds.jose.KeyLengthException;
 import com.nimbusds.jose.jwk.Curve;
@@ -81,7 +84,7 @@ import com.nimbusds.jose.jwk.Curve;
  *     <li>{@link com.nimbusds.jose.EncryptionMethod#XC20P}
  * </ul>
  * 
- * @version 2023-03-24
+ * @version 2026-10-15
  */
 public abstract class MultiCryptoProvider extends BaseJWEProvider {
 
@@ -182,4 +185,37 @@ public abstract class MultiCryptoProvider extends BaseJWEProvider {
 
 		super(SUPPORTED_ALGORITHMS, ContentCryptoProvider.SUPPORTED_ENCRYPTION_METHODS, cek);
 	}
+
+
+	/**
+	 * Waits for the result of the specified recipient task, run in
+	 * parallel with the tasks for the other recipients.
+	 *
+	 * @param future The future of the task. Must not be {@code null}.
+	 *
+	 * @return The result.
+	 *
+	 * @throws JOSEException If the task failed or the waiting was
+	 *                       interrupted.
+	 */
+	protected static <T> T getResult(final Future<T> future)
+		throws JOSEException {
+
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JOSEException("Interrupted while waiting for a recipient task", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof JOSEException) {
+				throw (JOSEException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new JOSEException(cause.getMessage(), cause);
+		}
+	}
 }
@@ -20,13 +20,14 @@ package com.nimbusds.jose.crypto.impl;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
 import javax.crypto.Mac;
 import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.SecretKeySpec;
 
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWEAlgorithm;
-import com.nimbusds.jose.util.ByteUtils;
 import com.nimbusds.jose.util.IntegerUtils;
 import com.nimbusds.jose.util.StandardCharset;
 
@@ -39,7 +40,7 @@ import com.nimbusds.jose.util.StandardCharset;
  * @author Brian Campbell
  * @author Yavor Vassilev
  * @author Vladimir Dzhuvinov
- * @version 2021-07-03
+ * @version 2026-10-15
  */
 public class PBKDF2 {
 	
@@ -186,17 +187,20 @@ public class PBKDF2 {
 		//
 		//               DK = T_1 || T_2 ||  ...  || T_l<0..r-1>
 		//
-		ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+		final byte[] dk = new byte[prfParams.getDerivedKeyByteLength()];
 		for (int i = 0; i < l; i++) {
 			byte[] block = extractBlock(formattedSalt, iterationCount, i + 1, prf);
-			if (i == (l - 1)) {
-				block = ByteUtils.subArray(block, 0, r);
-			}
-			byteArrayOutputStream.write(block, 0, block.length);
+			System.arraycopy(block, 0, dk, i * hLen, i == (l - 1) ? r : hLen);
+			Arrays.fill(block, (byte) 0);
 		}
 
 		//  5. Output the derived key DK.
-		return new SecretKeySpec(byteArrayOutputStream.toByteArray(), "AES");
+		try {
+			// Copies the bytes
+			return new SecretKeySpec(dk, "AES");
+		} finally {
+			Arrays.fill(dk, (byte) 0);
+		}
 	}
 
 
@@ -225,30 +229,32 @@ public class PBKDF2 {
 			throw new JOSEException("The iteration count must be greater than 0");
 		}
 
-		byte[] currentU;
-		byte[] lastU = null;
-		byte[] xorU = null;
+		// Reuse the PRF output buffer for all iterations
+		final int hLen = prf.getMacLength();
+		final byte[] u = new byte[hLen];
+		final byte[] xorU = new byte[hLen];
 
-		for (int i = 1; i <= iterationCount; i++)
-		{
-			byte[] inputBytes;
-			if (i == 1)
-			{
-				inputBytes = ByteUtils.concat(formattedSalt, IntegerUtils.toBytes(blockIndex));
-				currentU = prf.doFinal(inputBytes);
-				xorU = currentU;
-			}
-			else
-			{
-				currentU = prf.doFinal(lastU);
-				for (int j = 0; j < currentU.length; j++)
-				{
-					xorU[j] = (byte) (currentU[j] ^ xorU[j]);
+		try {
+			// U_1 = PRF (P, S || INT (i))
+			prf.update(formattedSalt);
+			prf.update(IntegerUtils.toBytes(blockIndex));
+			prf.doFinal(u, 0);
+			System.arraycopy(u, 0, xorU, 0, hLen);
+
+			// U_c = PRF (P, U_{c-1})
+			for (int i = 2; i <= iterationCount; i++) {
+				prf.update(u);
+				prf.doFinal(u, 0);
+				for (int j = 0; j < hLen; j++) {
+					xorU[j] ^= u[j];
 				}
 			}
-
-			lastU = currentU;
+		} catch (ShortBufferException e) {
+			throw new JOSEException(e.getMessage(), e);
+		} finally {
+			Arrays.fill(u, (byte) 0);
 		}
+
 		return xorU;
 	}
 
@@ -33,11 +33,40 @@ import com.nimbusds.jose.JWSAlgorithm;
  * RSA-SSA functions and utilities.
  *
  * @author Vladimir Dzhuvinov
- * @version 2021-08-01
+ * @version 2026-10-15
  */
 public class RSASSA {
 
 
+	/**
+	 * Returns a signer and verifier for the specified RSASSA-based JSON
+	 * Web Algorithm (JWA) from the {@link JCAEnginePool#SIGNATURES
+	 * per-thread pool}, creating and pooling one if none. The returned
+	 * instance must be initialised and used by the calling thread only.
+	 *
+	 * @param alg      The JSON Web Algorithm (JWA). Must be supported and
+	 *                 not {@code null}.
+	 * @param provider The JCA provider, {@code null} if not specified.
+	 *
+	 * @return A signer and verifier instance.
+	 *
+	 * @throws JOSEException If the algorithm is not supported.
+	 */
+	public static Signature getPooledSignerAndVerifier(final JWSAlgorithm alg,
+							   final Provider provider)
+		throws JOSEException {
+
+		Signature signature = JCAEnginePool.SIGNATURES.get(alg.getName(), provider);
+
+		if (signature == null) {
+			signature = getSignerAndVerifier(alg, provider);
+			JCAEnginePool.SIGNATURES.put(alg.getName(), provider, signature);
+		}
+
+		return signature;
+	}
+
+
 	/**
 	 * Returns a signer and verifier for the specified RSASSA-based JSON
 	 * Web Algorithm (JWA).
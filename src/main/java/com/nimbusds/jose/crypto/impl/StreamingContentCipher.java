@@ -0,0 +1,384 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.crypto.impl;
+
+
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import javax.crypto.BadPaddingException;
+import javax.crypto.Cipher;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.Mac;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+import net.jcip.annotations.NotThreadSafe;
+
+import com.nimbusds.jose.EncryptionMethod;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.crypto.utils.ConstantTimeUtils;
+import com.nimbusds.jose.jca.JWEJCAContext;
+import com.nimbusds.jose.util.ByteUtils;
+import com.nimbusds.jose.util.KeyUtils;
+
+
+/**
+ * Incremental JWE content encryption and decryption, for streaming large
+ * contents in constant memory. The content is fed in chunks with
+ * {@link #update}, the authentication tag is output or checked at the end.
+ *
+ * <p>Supports the following content encryption algorithms:
+ *
+ * <ul>
+ *     <li>{@link EncryptionMethod#A128CBC_HS256}
+ *     <li>{@link EncryptionMethod#A192CBC_HS384}
+ *     <li>{@link EncryptionMethod#A256CBC_HS512}
+ *     <li>{@link EncryptionMethod#A128GCM}
+ *     <li>{@link EncryptionMethod#A192GCM}
+ *     <li>{@link EncryptionMethod#A256GCM}
+ * </ul>
+ *
+ * <p>Note that on decryption the AES/CBC/HMAC-SHA2 plain text is output
+ * before the authentication tag is checked at the end, the output must be
+ * discarded if {@link #finishDecryption} fails. JCA providers typically
+ * buffer the AES/GCM cipher text until the tag is checked.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@NotThreadSafe
+public final class StreamingContentCipher {
+	
+	
+	/**
+	 * The supported encryption methods.
+	 */
+	public static final Set<EncryptionMethod> SUPPORTED_ENCRYPTION_METHODS;
+	
+	
+	static {
+		Set<EncryptionMethod> methods = new LinkedHashSet<>();
+		methods.add(EncryptionMethod.A128CBC_HS256);
+		methods.add(EncryptionMethod.A192CBC_HS384);
+		methods.add(EncryptionMethod.A256CBC_HS512);
+		methods.add(EncryptionMethod.A128GCM);
+		methods.add(EncryptionMethod.A192GCM);
+		methods.add(EncryptionMethod.A256GCM);
+		SUPPORTED_ENCRYPTION_METHODS = Collections.unmodifiableSet(methods);
+	}
+	
+	
+	/**
+	 * The AES/GCM authentication tag byte length.
+	 */
+	private static final int GCM_TAG_BYTE_LENGTH = ByteUtils.byteLength(AESGCM.AUTH_TAG_BIT_LENGTH);
+	
+	
+	/**
+	 * {@code true} for encryption, {@code false} for decryption.
+	 */
+	private final boolean forEncryption;
+	
+	
+	/**
+	 * The AES/CBC or AES/GCM cipher.
+	 */
+	private final Cipher cipher;
+	
+	
+	/**
+	 * The HMAC for AES/CBC/HMAC-SHA2, {@code null} for AES/GCM.
+	 */
+	private final Mac mac;
+	
+	
+	/**
+	 * The AAD length for AES/CBC/HMAC-SHA2, {@code null} for AES/GCM.
+	 */
+	private final byte[] al;
+	
+	
+	/**
+	 * The truncated MAC length for AES/CBC/HMAC-SHA2.
+	 */
+	private final int tagLength;
+	
+	
+	/**
+	 * Set when finished.
+	 */
+	private boolean finished;
+	
+	
+	/**
+	 * Creates a new streaming content cipher.
+	 */
+	private StreamingContentCipher(final boolean forEncryption,
+				       final EncryptionMethod enc,
+				       final SecretKey cek,
+				       final byte[] iv,
+				       final byte[] aad,
+				       final JWEJCAContext jcaContext)
+		throws JOSEException {
+		
+		if (! SUPPORTED_ENCRYPTION_METHODS.contains(enc)) {
+			throw new JOSEException(AlgorithmSupportMessage.unsupportedEncryptionMethod(
+				enc,
+				SUPPORTED_ENCRYPTION_METHODS));
+		}
+		
+		ContentCryptoProvider.checkCEKLength(cek, enc);
+		
+		this.forEncryption = forEncryption;
+		
+		if (EncryptionMethod.Family.AES_GCM.contains(enc)) {
+			
+			final SecretKey aesKey = KeyUtils.toAESKey(cek);
+			
+			try {
+				cipher = CipherHelper.getInstance("AES/GCM/NoPadding", jcaContext.getContentEncryptionProvider());
+				cipher.init(
+					forEncryption ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE,
+					aesKey,
+					new GCMParameterSpec(AESGCM.AUTH_TAG_BIT_LENGTH, iv));
+			} catch (NoSuchAlgorithmException | NoSuchPaddingException | InvalidKeyException | InvalidAlgorithmParameterException e) {
+				throw new JOSEException("Couldn't create AES/GCM/NoPadding cipher: " + e.getMessage(), e);
+			}
+			
+			cipher.updateAAD(aad);
+			mac = null;
+			al = null;
+			tagLength = GCM_TAG_BYTE_LENGTH;
+			
+		} else {
+			// Extract MAC + AES/CBC keys from input secret key
+			CompositeKey compositeKey = new CompositeKey(cek);
+			
+			cipher = AESCBC.createAESCBCCipher(compositeKey.getAESKey(), forEncryption, iv, jcaContext.getContentEncryptionProvider());
+			
+			// MAC input: AAD || IV || cipher text || AL
+			mac = HMAC.getInitMac(compositeKey.getMACKey(), jcaContext.getMACProvider());
+			mac.update(aad);
+			mac.update(iv);
+			al = AAD.computeLength(aad);
+			tagLength = compositeKey.getTruncatedMACByteLength();
+		}
+	}
+	
+	
+	/**
+	 * Creates a new streaming content cipher for encryption.
+	 *
+	 * @param enc        The encryption method. Must not be {@code null}.
+	 * @param cek        The Content Encryption Key (CEK). Must not be
+	 *                   {@code null}.
+	 * @param iv         The initialisation vector (IV). Must not be
+	 *                   {@code null}.
+	 * @param aad        The Additional Authenticated Data (AAD). Must
+	 *                   not be {@code null}.
+	 * @param jcaContext The JWE JCA context. Must not be {@code null}.
+	 *
+	 * @return The streaming content cipher.
+	 *
+	 * @throws JOSEException If the encryption method is not supported or
+	 *                       the cipher couldn't be created.
+	 */
+	public static StreamingContentCipher forEncryption(final EncryptionMethod enc,
+							   final SecretKey cek,
+							   final byte[] iv,
+							   final byte[] aad,
+							   final JWEJCAContext jcaContext)
+		throws JOSEException {
+		
+		return new StreamingContentCipher(true, enc, cek, iv, aad, jcaContext);
+	}
+	
+	
+	/**
+	 * Creates a new streaming content cipher for decryption.
+	 *
+	 * @param enc        The encryption method. Must not be {@code null}.
+	 * @param cek        The Content Encryption Key (CEK). Must not be
+	 *                   {@code null}.
+	 * @param iv         The initialisation vector (IV). Must not be
+	 *                   {@code null}.
+	 * @param aad        The Additional Authenticated Data (AAD). Must
+	 *                   not be {@code null}.
+	 * @param jcaContext The JWE JCA context. Must not be {@code null}.
+	 *
+	 * @return The streaming content cipher.
+	 *
+	 * @throws JOSEException If the encryption method is not supported or
+	 *                       the cipher couldn't be created.
+	 */
+	public static StreamingContentCipher forDecryption(final EncryptionMethod enc,
+							   final SecretKey cek,
+							   final byte[] iv,
+							   final byte[] aad,
+							   final JWEJCAContext jcaContext)
+		throws JOSEException {
+		
+		return new StreamingContentCipher(false, enc, cek, iv, aad, jcaContext);
+	}
+	
+	
+	/**
+	 * Generates a new initialisation vector (IV) for the specified
+	 * encryption method.
+	 *
+	 * @param enc        The encryption method. Must not be {@code null}.
+	 * @param jcaContext The JWE JCA context. Must not be {@code null}.
+	 *
+	 * @return The IV.
+	 */
+	public static byte[] generateIV(final EncryptionMethod enc, final JWEJCAContext jcaContext) {
+		
+		if (EncryptionMethod.Family.AES_GCM.contains(enc)) {
+			return AESGCM.generateIV(jcaContext.getSecureRandom());
+		} else {
+			return AESCBC.generateIV(jcaContext.getSecureRandom());
+		}
+	}
+	
+	
+	/**
+	 * Continues the encryption or decryption with the specified chunk.
+	 *
+	 * @param input  The input. Must not be {@code null}.
+	 * @param offset The input offset.
+	 * @param length The input length.
+	 *
+	 * @return The output, may be empty.
+	 */
+	public byte[] update(final byte[] input, final int offset, final int length) {
+		
+		if (finished) {
+			throw new IllegalStateException("Already finished");
+		}
+		
+		if (mac != null && ! forEncryption) {
+			mac.update(input, offset, length);
+		}
+		
+		byte[] output = cipher.update(input, offset, length);
+		
+		if (output == null) {
+			return new byte[0];
+		}
+		
+		if (mac != null && forEncryption) {
+			mac.update(output);
+		}
+		
+		return output;
+	}
+	
+	
+	/**
+	 * Finishes the encryption.
+	 *
+	 * @return The final cipher text chunk, may be empty, and the
+	 *         authentication tag.
+	 *
+	 * @throws JOSEException If encryption failed.
+	 */
+	public AuthenticatedCipherText finishEncryption()
+		throws JOSEException {
+		
+		if (! forEncryption) {
+			throw new IllegalStateException("Not in encryption mode");
+		}
+		if (finished) {
+			throw new IllegalStateException("Already finished");
+		}
+		finished = true;
+		
+		byte[] output;
+		try {
+			output = cipher.doFinal();
+		} catch (IllegalBlockSizeException | BadPaddingException e) {
+			throw new JOSEException("Couldn't encrypt: " + e.getMessage(), e);
+		}
+		
+		if (mac == null) {
+			// The GCM tag is appended to the cipher text
+			int tagPos = output.length - GCM_TAG_BYTE_LENGTH;
+			return new AuthenticatedCipherText(
+				Arrays.copyOf(output, tagPos),
+				Arrays.copyOfRange(output, tagPos, output.length));
+		}
+		
+		mac.update(output);
+		mac.update(al);
+		return new AuthenticatedCipherText(output, Arrays.copyOf(mac.doFinal(), tagLength));
+	}
+	
+	
+	/**
+	 * Finishes the decryption, checking the authentication tag. For
+	 * AES/CBC/HMAC-SHA2 the tag is checked before the padding.
+	 *
+	 * @param authTag The authentication tag. Must not be {@code null}.
+	 *
+	 * @return The final plain text chunk, may be empty.
+	 *
+	 * @throws JOSEException If the authentication tag is invalid or
+	 *                       decryption failed.
+	 */
+	public byte[] finishDecryption(final byte[] authTag)
+		throws JOSEException {
+		
+		if (forEncryption) {
+			throw new IllegalStateException("Not in decryption mode");
+		}
+		if (finished) {
+			throw new IllegalStateException("Already finished");
+		}
+		finished = true;
+		
+		if (mac == null) {
+			if (authTag.length != tagLength) {
+				throw new JOSEException("AES/GCM/NoPadding decryption failed: Invalid authentication tag length");
+			}
+			try {
+				return cipher.doFinal(authTag);
+			} catch (IllegalBlockSizeException | BadPaddingException e) {
+				throw new JOSEException("AES/GCM/NoPadding decryption failed: " + e.getMessage(), e);
+			}
+		}
+		
+		mac.update(al);
+		byte[] expectedAuthTag = Arrays.copyOf(mac.doFinal(), tagLength);
+		
+		if (! ConstantTimeUtils.areEqual(expectedAuthTag, authTag)) {
+			throw new JOSEException("MAC check failed");
+		}
+		
+		try {
+			return cipher.doFinal();
+		} catch (IllegalBlockSizeException | BadPaddingException e) {
+			throw new JOSEException(e.getMessage(), e);
+		}
+	}
+}
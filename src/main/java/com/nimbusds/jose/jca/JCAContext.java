@@ -25,10 +25,11 @@ import java.security.SecureRandom;
 /**
  * Java Cryptography Architecture (JCA) context, consisting of a JCA
  * {@link java.security.Provider provider} and
- * {@link java.security.SecureRandom secure random generator}.
+ * {@link java.security.SecureRandom secure random generator}, with an
+ * optional setting for JCA engine pooling.
  *
  * @author Vladimir Dzhuvinov
- * @version 2015-06-08
+ * @version 2026-10-15
  */
 public class JCAContext {
 
@@ -45,6 +46,12 @@ public class JCAContext {
 	private SecureRandom randomGen;
 
 
+	/**
+	 * Enables per-thread pooling of the JCA engines.
+	 */
+	private boolean enginePooling;
+
+
 	/**
 	 * Creates a new default JCA context.
 	 */
@@ -120,4 +127,37 @@ public class JCAContext {
 
 		this.randomGen = randomGen;
 	}
+
+
+	/**
+	 * Returns {@code true} if per-thread pooling of the JCA
+	 * {@link java.security.Signature} and {@link javax.crypto.Mac}
+	 * engines is enabled. Pooling is disabled by default.
+	 *
+	 * @return {@code true} if JCA engine pooling is enabled, else
+	 *         {@code false}.
+	 */
+	public boolean isEnginePoolingEnabled() {
+
+		return enginePooling;
+	}
+
+
+	/**
+	 * Enables or disables per-thread pooling of the JCA
+	 * {@link java.security.Signature} and {@link javax.crypto.Mac}
+	 * engines. Pooling saves the provider lookup and engine allocation on
+	 * each operation. The HMAC, RSASSA and ECDSA signers and verifiers
+	 * support pooling; HMAC signers and verifiers also skip the engine
+	 * initialisation when the previous HMAC on the thread was computed
+	 * with the same secret. The pooled engines are shared by all
+	 * instances and keep a reference to the last key used on the thread.
+	 *
+	 * @param enginePooling {@code true} to enable JCA engine pooling,
+	 *                      {@code false} to disable it.
+	 */
+	public void setEnginePoolingEnabled(final boolean enginePooling) {
+
+		this.enginePooling = enginePooling;
+	}
 }
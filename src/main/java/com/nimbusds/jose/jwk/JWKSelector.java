@@ -27,7 +27,7 @@ import net.jcip.annotations.Immutable;
  * Selects (filters) one or more JSON Web Keys (JWKs) from a JWK set.
  *
  * @author Vladimir Dzhuvinov
- * @version 2015-04-15
+ * @version 2026-10-15
  */
 @Immutable
 public final class JWKSelector {
@@ -66,10 +66,23 @@ public final class JWKSelector {
 	}
 
 
+	/**
+	 * The minimum number of keys in a JWK set for the selection to use
+	 * its index. Smaller sets, such as those created for a single call,
+	 * are scanned without creating the index.
+	 */
+	static final int MIN_INDEXED_JWK_SET_SIZE = 8;
+
+
 	/**
 	 * Selects the keys from the specified JWK set according to the
 	 * matcher's criteria.
 	 *
+	 * <p>If the matcher specifies a single key ID or key type and the JWK
+	 * set has at least {@link #MIN_INDEXED_JWK_SET_SIZE} keys the
+	 * candidate keys are looked up in the index of the JWK set, instead of
+	 * matching every key in the set.
+	 *
 	 * @param jwkSet The JWK set. May be {@code null}.
 	 *
 	 * @return The selected keys, ordered by their position in the JWK set,
@@ -77,12 +90,22 @@ public final class JWKSelector {
 	 */
 	public List<JWK> select(final JWKSet jwkSet) {
 
-		List<JWK> selectedKeys = new LinkedList<>();
-
 		if (jwkSet == null)
-			return selectedKeys;
+			return new LinkedList<>();
+		
+		List<JWK> candidates = null;
+		
+		if (jwkSet.getKeys().size() >= MIN_INDEXED_JWK_SET_SIZE) {
+			candidates = jwkSet.getIndex().getCandidates(matcher);
+		}
+		
+		if (candidates == null) {
+			candidates = jwkSet.getKeys();
+		}
+
+		List<JWK> selectedKeys = new LinkedList<>();
 
-		for (JWK key: jwkSet.getKeys()) {
+		for (JWK key: candidates) {
 
 			if (matcher.matches(key)) {
 				selectedKeys.add(key);
@@ -68,7 +68,7 @@ import java.util.*;
  *
  * @author Vladimir Dzhuvinov
  * @author Vedran Pavic
- * @version 2023-10-07
+ * @version 2026-10-15
  */
 @Immutable
 public class JWKSet implements Serializable {
@@ -94,6 +94,12 @@ public class JWKSet implements Serializable {
 	 * Additional custom members.
 	 */
 	private final Map<String,Object> customMembers;
+	
+	
+	/**
+	 * The lazily created key index, {@code null} if not created yet.
+	 */
+	private transient volatile JWKSetIndex index;
 
 
 	/**
@@ -145,7 +151,7 @@ public class JWKSet implements Serializable {
 			throw new IllegalArgumentException("The JWK list must not be null");
 		}
 
-		this.keys = Collections.unmodifiableList(keys);
+		this.keys = Collections.unmodifiableList(new ArrayList<>(keys));
 
 		this.customMembers = Collections.unmodifiableMap(customMembers);
 	}
@@ -196,15 +202,27 @@ public class JWKSet implements Serializable {
 	 */
 	public JWK getKeyByKeyId(String kid) {
 		
-		for (JWK key : getKeys()) {
-	        
-	        	if (key.getKeyID() != null && key.getKeyID().equals(kid)) {
-	        		return key;
-	        	}
-        	}
+		return getIndex().getKeyByKeyID(kid);
+	}
+	
+	
+	/**
+	 * Returns the index of the keys in this JWK set, created on first
+	 * use.
+	 *
+	 * @return The key index.
+	 */
+	JWKSetIndex getIndex() {
+		
+		JWKSetIndex idx = index;
+		
+		if (idx == null) {
+			// Benign race, the index is immutable
+			idx = new JWKSetIndex(getKeys());
+			index = idx;
+		}
 		
-		// no key found
-		return null;
+		return idx;
 	}
 	
 	
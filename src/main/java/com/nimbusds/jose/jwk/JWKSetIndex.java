@@ -0,0 +1,151 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.jwk;
+
+
+import java.util.*;
+
+import net.jcip.annotations.Immutable;
+
+
+/**
+ * Index of the keys in a JSON Web Key (JWK) set by key ID ("kid") and key
+ * type ("kty"). Lets {@link JWKSelector} and {@link JWKSet#getKeyByKeyId}
+ * narrow down the candidate keys with a hash lookup instead of a scan of the
+ * entire set.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@Immutable
+final class JWKSetIndex {
+	
+	
+	/**
+	 * The keys by key ID, as unmodifiable lists ordered by their position
+	 * in the JWK set. Keys without a key ID are not indexed.
+	 */
+	private final Map<String, List<JWK>> keysByID;
+	
+	
+	/**
+	 * The keys by key type, as unmodifiable lists ordered by their
+	 * position in the JWK set.
+	 */
+	private final Map<KeyType, List<JWK>> keysByType;
+	
+	
+	/**
+	 * Creates a new index for the specified keys.
+	 *
+	 * @param keys The keys. Must not be {@code null}.
+	 */
+	JWKSetIndex(final List<JWK> keys) {
+		
+		Map<String, List<JWK>> byID = new HashMap<>();
+		Map<KeyType, List<JWK>> byType = new HashMap<>();
+		
+		for (JWK key: keys) {
+			if (key.getKeyID() != null) {
+				add(byID, key.getKeyID(), key);
+			}
+			add(byType, key.getKeyType(), key);
+		}
+		
+		keysByID = seal(byID);
+		keysByType = seal(byType);
+	}
+	
+	
+	private static <K> void add(final Map<K, List<JWK>> map, final K indexKey, final JWK key) {
+		
+		List<JWK> list = map.get(indexKey);
+		if (list == null) {
+			list = new ArrayList<>(1);
+			map.put(indexKey, list);
+		}
+		list.add(key);
+	}
+	
+	
+	private static <K> Map<K, List<JWK>> seal(final Map<K, List<JWK>> map) {
+		
+		for (Map.Entry<K, List<JWK>> en: map.entrySet()) {
+			List<JWK> list = en.getValue();
+			if (list.size() == 1) {
+				en.setValue(Collections.singletonList(list.get(0)));
+			} else {
+				en.setValue(Collections.unmodifiableList(list));
+			}
+		}
+		return map;
+	}
+	
+	
+	/**
+	 * Returns the first key with the specified key ID.
+	 *
+	 * @param kid The key ID, {@code null} if not specified.
+	 *
+	 * @return The key, {@code null} if none.
+	 */
+	JWK getKeyByKeyID(final String kid) {
+		
+		List<JWK> keys = kid != null ? keysByID.get(kid) : null;
+		return keys != null ? keys.get(0) : null;
+	}
+	
+	
+	/**
+	 * Returns the candidate keys for the specified matcher. The
+	 * candidates are looked up by the key ID of the matcher if it
+	 * specifies a single one, else by the key type if it specifies a
+	 * single one.
+	 *
+	 * @param matcher The JWK matcher. Must not be {@code null}.
+	 *
+	 * @return The candidate keys as an unmodifiable list, ordered by their
+	 *         position in the JWK set and including all keys which may
+	 *         match, {@code null} if the matcher cannot be looked up in
+	 *         the index.
+	 */
+	List<JWK> getCandidates(final JWKMatcher matcher) {
+		
+		Set<String> ids = matcher.getKeyIDs();
+		
+		if (ids != null && ids.size() == 1) {
+			String kid = ids.iterator().next();
+			if (kid != null) {
+				List<JWK> keys = keysByID.get(kid);
+				return keys != null ? keys : Collections.<JWK>emptyList();
+			}
+		}
+		
+		Set<KeyType> types = matcher.getKeyTypes();
+		
+		if (types != null && types.size() == 1) {
+			KeyType type = types.iterator().next();
+			if (type != null) {
+				List<JWK> keys = keysByType.get(type);
+				return keys != null ? keys : Collections.<JWK>emptyList();
+			}
+		}
+		
+		return null;
+	}
+}
@@ -28,7 +28,8 @@ import com.nimbusds.jose.util.cache.CachedObject;
  * Abstract caching {@linkplain JWKSetSource}.
  *
  * @author Thomas Rørvik Skjølberg
- * @version 2022-04-09
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
  */
 @ThreadSafe
 abstract class AbstractCachingJWKSetSource<C extends SecurityContext> extends JWKSetSourceWrapper<C> {
@@ -108,8 +109,24 @@ abstract class AbstractCachingJWKSetSource<C extends SecurityContext> extends JW
 	 * @return Reference to the cached JWK set.
 	 */
 	CachedObject<JWKSet> cacheJWKSet(final JWKSet jwkSet, final long fetchTime) {
+		return cacheJWKSet(jwkSet, fetchTime, getTimeToLive());
+	}
+	
+	
+	/**
+	 * Caches the specified JWK set with the specified time to live.
+	 *
+	 * @param jwkSet     The JWK set. Must not be {@code null}.
+	 * @param fetchTime  The fetch time, in milliseconds since the Unix
+	 *                   epoch.
+	 * @param timeToLive The time to live of the cached JWK set, in
+	 *                   milliseconds.
+	 *
+	 * @return Reference to the cached JWK set.
+	 */
+	CachedObject<JWKSet> cacheJWKSet(final JWKSet jwkSet, final long fetchTime, final long timeToLive) {
 		long currentTime = currentTimeMillis();
-		CachedObject<JWKSet> cachedJWKSet = new CachedObject<>(jwkSet, currentTime, CachedObject.computeExpirationTime(fetchTime, getTimeToLive()));
+		CachedObject<JWKSet> cachedJWKSet = new CachedObject<>(jwkSet, currentTime, CachedObject.computeExpirationTime(fetchTime, timeToLive));
 		setCachedJWKSet(cachedJWKSet);
 		return cachedJWKSet;
 	}
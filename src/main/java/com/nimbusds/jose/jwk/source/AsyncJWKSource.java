@@ -0,0 +1,65 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.jwk.source;
+
+
+import java.nio.channels.CompletionHandler;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.proc.SecurityContext;
+
+
+/**
+ * JSON Web Key (JWK) source with non-blocking retrieval. Intended for
+ * callers on event loop threads, which must not block on a remote JWK set
+ * retrieval.
+ *
+ * <p>If the JWKs are available without blocking, typically from a valid
+ * cached JWK set, the completion handler is invoked on the calling thread
+ * before {@link #getAsync} returns. Else the JWKs are retrieved with the
+ * specified executor and the completion handler is invoked on the executor
+ * thread.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+public interface AsyncJWKSource <C extends SecurityContext> extends JWKSource<C> {
+	
+	
+	/**
+	 * Retrieves a list of JWKs matching the specified selector, without
+	 * blocking the calling thread.
+	 *
+	 * @param jwkSelector A JWK selector. Must not be {@code null}.
+	 * @param context     Optional context, {@code null} if not required.
+	 *                    Passed as attachment to the completion handler.
+	 * @param executor    The executor for a blocking JWK retrieval. Must
+	 *                    not be {@code null}.
+	 * @param handler     The completion handler, receiving the matching
+	 *                    JWKs, empty list if no matches were found, or the
+	 *                    {@link com.nimbusds.jose.KeySourceException} if
+	 *                    key sourcing failed. Must not be {@code null}.
+	 */
+	void getAsync(final JWKSelector jwkSelector,
+		      final C context,
+		      final Executor executor,
+		      final CompletionHandler<List<JWK>, ? super C> handler);
+}
@@ -0,0 +1,183 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.jwk.source;
+
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import net.jcip.annotations.ThreadSafe;
+
+import com.nimbusds.jose.util.Resource;
+
+
+/**
+ * Utility for deriving the expiration time of a retrieved resource from its
+ * HTTP {@code Cache-Control} and {@code Expires} response headers, as
+ * specified in RFC 9111, section 4.2.1.
+ *
+ * <p>The {@code Cache-Control} {@code no-store} and {@code no-cache}
+ * directives mark the resource as expired on retrieval, the
+ * {@code max-age} directive, reduced by the {@code Age} header, takes
+ * precedence over the {@code Expires} header. An {@code Expires} date is
+ * taken relative to the {@code Date} header, if present, to avoid
+ * depending on the clock of the server.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@ThreadSafe
+final class CacheControlHeaders {
+	
+	
+	/**
+	 * The maximum delta-seconds value.
+	 */
+	private static final long MAX_DELTA_SECONDS = 2147483648L;
+	
+	
+	/**
+	 * Parses the expiration time of the specified resource.
+	 *
+	 * @param resource The resource. Must not be {@code null}.
+	 * @param now      The current time. Must not be {@code null}.
+	 *
+	 * @return The expiration time, {@code null} if not specified by the
+	 *         response headers.
+	 */
+	static Date parseExpirationTime(final Resource resource, final Date now) {
+		
+		List<String> cacheControl = resource.getHeaders().get("Cache-Control");
+		
+		if (cacheControl != null) {
+			
+			long maxAge = -1L;
+			
+			for (String value: cacheControl) {
+				for (String directive: value.split(",")) {
+					
+					String d = directive.trim().toLowerCase(Locale.ROOT);
+					
+					if ("no-store".equals(d) || "no-cache".equals(d) || d.startsWith("no-cache=")) {
+						return now;
+					}
+					
+					if (d.startsWith("max-age=")) {
+						maxAge = parseDeltaSeconds(d.substring("max-age=".length()));
+						if (maxAge < 0) {
+							// Invalid, treat as expired
+							return now;
+						}
+					}
+				}
+			}
+			
+			if (maxAge >= 0) {
+				long age = parseDeltaSeconds(resource.getHeader("Age"));
+				// Cap at 2^31 seconds, as recommended in RFC 9111
+				long freshness = Math.min(Math.max(0L, maxAge - Math.max(0L, age)), MAX_DELTA_SECONDS);
+				return new Date(now.getTime() + freshness * 1000L);
+			}
+		}
+		
+		String expiresValue = resource.getHeader("Expires");
+		
+		if (expiresValue == null) {
+			return null;
+		}
+		
+		Date expires = parseHTTPDate(expiresValue);
+		
+		if (expires == null) {
+			// Invalid, such as "0", treat as expired
+			return now;
+		}
+		
+		Date date = parseHTTPDate(resource.getHeader("Date"));
+		
+		if (date == null) {
+			return expires;
+		}
+		
+		return new Date(now.getTime() + Math.max(0L, expires.getTime() - date.getTime()));
+	}
+	
+	
+	/**
+	 * Parses the specified delta-seconds value.
+	 *
+	 * @param value The value, {@code null} if not specified.
+	 *
+	 * @return The seconds, -1 if not specified or invalid.
+	 */
+	private static long parseDeltaSeconds(final String value) {
+		
+		if (value == null) {
+			return -1L;
+		}
+		
+		String s = value.trim();
+		
+		if (s.startsWith("\"") && s.endsWith("\"") && s.length() > 1) {
+			s = s.substring(1, s.length() - 1);
+		}
+		
+		try {
+			long seconds = Long.parseLong(s);
+			return seconds >= 0 ? seconds : -1L;
+		} catch (NumberFormatException e) {
+			return -1L;
+		}
+	}
+	
+	
+	/**
+	 * Parses the specified HTTP date in the preferred IMF-fixdate format.
+	 *
+	 * @param value The value, {@code null} if not specified.
+	 *
+	 * @return The date, {@code null} if not specified or invalid.
+	 */
+	private static Date parseHTTPDate(final String value) {
+		
+		if (value == null) {
+			return null;
+		}
+		
+		// SimpleDateFormat is not thread-safe
+		SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+		format.setTimeZone(TimeZone.getTimeZone("GMT"));
+		format.setLenient(false);
+		
+		try {
+			return format.parse(value.trim());
+		} catch (ParseException e) {
+			return null;
+		}
+	}
+	
+	
+	/**
+	 * Prevents public instantiation.
+	 */
+	private CacheControlHeaders() {}
+}
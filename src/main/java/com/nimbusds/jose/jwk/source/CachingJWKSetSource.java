@@ -19,7 +19,13 @@ package com.nimbusds.jose.jwk.source;
 
 
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 
 import net.jcip.annotations.ThreadSafe;
@@ -34,9 +40,28 @@ import com.nimbusds.jose.util.events.EventListener;
 /**
  * Caching {@linkplain JWKSetSource}. Blocks during cache updates.
  *
+ * <p>In the default mode the threads coordinate the cache updates with a
+ * lock: the first thread to acquire it retrieves the JWK set while the other
+ * threads wait for the lock, up to the cache refresh timeout.
+ *
+ * <p>In the optional single-flight refresh mode there is no lock on the read
+ * path. The first thread to find the cached JWK set missing or expired
+ * retrieves it, the other threads needing a refreshed JWK set join that
+ * retrieval, up to the cache refresh timeout. While the retrieval is in
+ * progress threads which merely found the cached JWK set expired continue to
+ * be served the expired JWK set. In this mode the thread queue length in the
+ * events is the number of threads waiting for the in-flight retrieval.
+ *
+ * <p>Can be configured to honour the HTTP {@code Cache-Control} max-age and
+ * {@code Expires} headers of the JWK set response, retrieved by an underlying
+ * {@link URLBasedJWKSetSource}. The time to live of each retrieved JWK set is
+ * then derived from the headers, clamped between a minimum and a maximum.
+ * JWK sets retrieved without such headers are cached for the fixed time to
+ * live.
+ *
  * @author Thomas Rørvik Skjølberg
  * @author Vladimir Dzhuvinov
- * @version 2022-11-08
+ * @version 2026-10-15
  */
 @ThreadSafe
 public class CachingJWKSetSource<C extends SecurityContext> extends AbstractCachingJWKSetSource<C> {
@@ -142,6 +167,20 @@ public class CachingJWKSetSource<C extends SecurityContext> extends AbstractCach
 
 	private final long cacheRefreshTimeout;
 	
+	private final boolean singleFlightRefresh;
+	
+	// the in-flight JWK set retrieval in single-flight refresh mode
+	private final AtomicReference<FutureTask<CachedObject<JWKSet>>> inFlightRefresh = new AtomicReference<>();
+	
+	// the threads waiting for the in-flight JWK set retrieval
+	private final AtomicInteger inFlightRefreshWaiters = new AtomicInteger();
+	
+	// the bounds of the time to live derived from the HTTP caching headers,
+	// -1 if not honoured
+	private final long cacheControlMinTimeToLive;
+	
+	private final long cacheControlMaxTimeToLive;
+	
 	private final EventListener<CachingJWKSetSource<C>, C> eventListener;
 	
 	
@@ -161,8 +200,86 @@ public class CachingJWKSetSource<C extends SecurityContext> extends AbstractCach
 				   final long timeToLive,
 				   final long cacheRefreshTimeout,
 				   final EventListener<CachingJWKSetSource<C>, C> eventListener) {
+		this(source, timeToLive, cacheRefreshTimeout, false, eventListener);
+	}
+	
+	
+	/**
+	 * Creates a new caching JWK set source.
+	 *
+	 * @param source	      The JWK set source to decorate. Must not
+	 *                            be {@code null}.
+	 * @param timeToLive          The time to live of the cached JWK set,
+	 * 	                      in milliseconds.
+	 * @param cacheRefreshTimeout The cache refresh timeout, in
+	 *                            milliseconds.
+	 * @param singleFlightRefresh {@code true} to refresh the JWK set in
+	 *                            single-flight mode, serving the expired
+	 *                            JWK set while the refresh is in
+	 *                            progress, {@code false} to coordinate
+	 *                            the refreshes with a lock.
+	 * @param eventListener       The event listener, {@code null} if not
+	 *                            specified.
+	 */
+	public CachingJWKSetSource(final JWKSetSource<C> source,
+				   final long timeToLive,
+				   final long cacheRefreshTimeout,
+				   final boolean singleFlightRefresh,
+				   final EventListener<CachingJWKSetSource<C>, C> eventListener) {
+		this(source, timeToLive, cacheRefreshTimeout, singleFlightRefresh, -1L, -1L, eventListener);
+	}
+	
+	
+	/**
+	 * Creates a new caching JWK set source.
+	 *
+	 * @param source	            The JWK set source to decorate. Must
+	 *                                  not be {@code null}.
+	 * @param timeToLive                The time to live of the cached JWK
+	 *                                  set, in milliseconds, if not
+	 *                                  specified by the HTTP caching
+	 *                                  headers.
+	 * @param cacheRefreshTimeout       The cache refresh timeout, in
+	 *                                  milliseconds.
+	 * @param singleFlightRefresh       {@code true} to refresh the JWK
+	 *                                  set in single-flight mode, serving
+	 *                                  the expired JWK set while the
+	 *                                  refresh is in progress,
+	 *                                  {@code false} to coordinate the
+	 *                                  refreshes with a lock.
+	 * @param cacheControlMinTimeToLive The minimum time to live derived
+	 *                                  from the HTTP {@code Cache-Control}
+	 *                                  and {@code Expires} headers, in
+	 *                                  milliseconds, -1 if the headers
+	 *                                  are not honoured.
+	 * @param cacheControlMaxTimeToLive The maximum time to live derived
+	 *                                  from the HTTP {@code Cache-Control}
+	 *                                  and {@code Expires} headers, in
+	 *                                  milliseconds, -1 if the headers
+	 *                                  are not honoured.
+	 * @param eventListener             The event listener, {@code null}
+	 *                                  if not specified.
+	 */
+	public CachingJWKSetSource(final JWKSetSource<C> source,
+				   final long timeToLive,
+				   final long cacheRefreshTimeout,
+				   final boolean singleFlightRefresh,
+				   final long cacheControlMinTimeToLive,
+				   final long cacheControlMaxTimeToLive,
+				   final EventListener<CachingJWKSetSource<C>, C> eventListener) {
 		super(source, timeToLive);
 		this.cacheRefreshTimeout = cacheRefreshTimeout;
+		this.singleFlightRefresh = singleFlightRefresh;
+		if (cacheControlMinTimeToLive != -1L || cacheControlMaxTimeToLive != -1L) {
+			if (cacheControlMinTimeToLive <= 0L) {
+				throw new IllegalArgumentException("The Cache-Control min time-to-live must be positive");
+			}
+			if (cacheControlMaxTimeToLive < cacheControlMinTimeToLive) {
+				throw new IllegalArgumentException("The Cache-Control max time-to-live must not be less than the min time-to-live");
+			}
+		}
+		this.cacheControlMinTimeToLive = cacheControlMinTimeToLive;
+		this.cacheControlMaxTimeToLive = cacheControlMaxTimeToLive;
 		this.eventListener = eventListener;
 	}
 
@@ -180,7 +297,7 @@ public class CachingJWKSetSource<C extends SecurityContext> extends AbstractCach
 		}
 		
 		if (cache.isExpired(currentTime)) {
-			return loadJWKSetBlocking(JWKSetCacheRefreshEvaluator.referenceComparison(jwkSet), currentTime, context);
+			return refreshExpiredJWKSet(jwkSet, currentTime, context);
 		}
 
 		return cache.get();
@@ -197,6 +314,45 @@ public class CachingJWKSetSource<C extends SecurityContext> extends AbstractCach
 	}
 	
 	
+	/**
+	 * Returns {@code true} if the JWK set is refreshed in single-flight
+	 * mode, serving the expired JWK set while the refresh is in progress.
+	 *
+	 * @return {@code true} for single-flight refresh mode, {@code false}
+	 *         if the refreshes are coordinated with a lock.
+	 */
+	public boolean isSingleFlightRefresh() {
+		return singleFlightRefresh;
+	}
+	
+	
+	/**
+	 * Refreshes the expired cached JWK set. In single-flight refresh mode
+	 * returns the expired JWK set if a refresh is already in progress.
+	 *
+	 * @param expiredJWKSet The expired cached JWK set. Must not be
+	 *                      {@code null}.
+	 * @param currentTime   The current time, in milliseconds since the
+	 *                      Unix epoch.
+	 * @param context       Optional context, {@code null} if not
+	 *                      required.
+	 *
+	 * @return The refreshed JWK set, or the expired JWK set while a
+	 *         single-flight refresh is in progress.
+	 *
+	 * @throws KeySourceException If retrieval failed.
+	 */
+	JWKSet refreshExpiredJWKSet(final JWKSet expiredJWKSet, final long currentTime, final C context)
+		throws KeySourceException {
+		
+		if (singleFlightRefresh && inFlightRefresh.get() != null) {
+			return expiredJWKSet;
+		}
+		
+		return loadJWKSetBlocking(JWKSetCacheRefreshEvaluator.referenceComparison(expiredJWKSet), currentTime, context);
+	}
+	
+	
 	/**
 	 * Loads and caches the JWK set, with blocking.
 	 *
@@ -213,6 +369,10 @@ public class CachingJWKSetSource<C extends SecurityContext> extends AbstractCach
 	JWKSet loadJWKSetBlocking(final JWKSetCacheRefreshEvaluator refreshEvaluator, final long currentTime, final C context)
 		throws KeySourceException {
 		
+		if (singleFlightRefresh) {
+			return loadJWKSetSingleFlight(refreshEvaluator, currentTime, context);
+		}
+		
 		// Synchronize so that the first thread to acquire the lock
 		// exclusively gets to call the underlying source.
 		// Other (later) threads must wait until the result is ready.
@@ -310,6 +470,160 @@ public class CachingJWKSetSource<C extends SecurityContext> extends AbstractCach
 	}
 	
 	
+	/**
+	 * Loads and caches the JWK set, joining an already in-flight
+	 * retrieval.
+	 *
+	 * @param refreshEvaluator The JWK set cache refresh evaluator.
+	 * @param currentTime      The current time, in milliseconds since the
+	 *                         Unix epoch.
+	 * @param context          Optional context, {@code null} if not
+	 *                         required.
+	 *
+	 * @return The loaded and cached JWK set.
+	 *
+	 * @throws KeySourceException If retrieval failed.
+	 */
+	private JWKSet loadJWKSetSingleFlight(final JWKSetCacheRefreshEvaluator refreshEvaluator, final long currentTime, final C context)
+		throws KeySourceException {
+		
+		FutureTask<CachedObject<JWKSet>> task;
+		
+		while (true) {
+			task = inFlightRefresh.get();
+			
+			if (task != null) {
+				break; // join
+			}
+			
+			// Check evaluator, another thread might have already updated the JWKs
+			CachedObject<JWKSet> cachedJWKSet = getCachedJWKSet();
+			if (cachedJWKSet != null && ! refreshEvaluator.requiresRefresh(cachedJWKSet.get())) {
+				return toValidJWKSet(cachedJWKSet, currentTime, context);
+			}
+			
+			FutureTask<CachedObject<JWKSet>> newTask = new FutureTask<>(new Callable<CachedObject<JWKSet>>() {
+				@Override
+				public CachedObject<JWKSet> call() throws KeySourceException {
+					
+					if (eventListener != null) {
+						eventListener.notify(new RefreshInitiatedEvent<>(CachingJWKSetSource.this, inFlightRefreshWaiters.get(), context));
+					}
+					
+					CachedObject<JWKSet> result = loadJWKSetNotThreadSafe(refreshEvaluator, currentTime, context);
+					
+					if (eventListener != null) {
+						eventListener.notify(new RefreshCompletedEvent<>(CachingJWKSetSource.this, result.get(), inFlightRefreshWaiters.get(), context));
+					}
+					
+					return result;
+				}
+			});
+			
+			if (inFlightRefresh.compareAndSet(null, newTask)) {
+				// This thread retrieves the JWK set
+				try {
+					newTask.run();
+				} finally {
+					inFlightRefresh.compareAndSet(newTask, null);
+				}
+				return toValidJWKSet(getResult(newTask), currentTime, context);
+			}
+		}
+		
+		// Retrieval in flight on another thread, wait for refresh timeout
+		int queueLength = inFlightRefreshWaiters.incrementAndGet();
+		try {
+			if (eventListener != null) {
+				eventListener.notify(new WaitingForRefreshEvent<>(this, queueLength, context));
+			}
+			
+			task.get(getCacheRefreshTimeout(), TimeUnit.MILLISECONDS);
+			
+		} catch (TimeoutException e) {
+			
+			if (eventListener != null) {
+				eventListener.notify(new RefreshTimedOutEvent<>(this, inFlightRefreshWaiters.get(), context));
+			}
+			
+			throw new JWKSetUnavailableException("Timeout while waiting for cache refresh (" + cacheRefreshTimeout + "ms exceeded)");
+			
+		} catch (InterruptedException e) {
+			
+			Thread.currentThread().interrupt();
+			
+			throw new JWKSetUnavailableException("Interrupted while waiting for cache refresh", e);
+			
+		} catch (ExecutionException e) {
+			// Rethrown below
+		} finally {
+			inFlightRefreshWaiters.decrementAndGet();
+		}
+		
+		return toValidJWKSet(getResult(task), currentTime, context);
+	}
+	
+	
+	/**
+	 * Returns the result of a completed JWK set retrieval.
+	 *
+	 * @param task The completed retrieval task.
+	 *
+	 * @return The cached JWK set.
+	 *
+	 * @throws KeySourceException If retrieval failed.
+	 */
+	private static CachedObject<JWKSet> getResult(final FutureTask<CachedObject<JWKSet>> task)
+		throws KeySourceException {
+		
+		try {
+			return task.get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof KeySourceException) {
+				throw (KeySourceException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new JWKSetUnavailableException("Unable to refresh cache", cause);
+		} catch (InterruptedException e) {
+			// Not reached, the task is completed
+			Thread.currentThread().interrupt();
+			throw new JWKSetUnavailableException("Interrupted while waiting for cache refresh", e);
+		}
+	}
+	
+	
+	/**
+	 * Returns the specified cached JWK set if valid.
+	 *
+	 * @param cache       The cached JWK set, {@code null} if none.
+	 * @param currentTime The current time, in milliseconds since the Unix
+	 *                    epoch.
+	 * @param context     Optional context, {@code null} if not required.
+	 *
+	 * @return The JWK set.
+	 *
+	 * @throws KeySourceException If the cached JWK set is missing or
+	 *                            expired.
+	 */
+	private JWKSet toValidJWKSet(final CachedObject<JWKSet> cache, final long currentTime, final C context)
+		throws KeySourceException {
+		
+		if (cache != null && cache.isValid(currentTime)) {
+			return cache.get();
+		}
+		
+		if (eventListener != null) {
+			eventListener.notify(new UnableToRefreshEvent<>(this, context));
+		}
+		
+		throw new JWKSetUnavailableException("Unable to refresh cache");
+	}
+	
+	
 	/**
 	 * Loads the JWK set from the wrapped source and caches it. Should not
 	 * be run by more than one thread at a time.
@@ -328,11 +642,88 @@ public class CachingJWKSetSource<C extends SecurityContext> extends AbstractCach
 		throws KeySourceException {
 		
 		JWKSet jwkSet = getSource().getJWKSet(refreshEvaluator, currentTime, context);
+		
+		if (isCacheControl()) {
+			long timeToLive = getCacheControlTimeToLive(jwkSet);
+			if (timeToLive >= 0L) {
+				return cacheJWKSet(jwkSet, currentTime, timeToLive);
+			}
+		}
 
 		return cacheJWKSet(jwkSet, currentTime);
 	}
 	
 	
+	/**
+	 * Returns the time to live of the specified retrieved JWK set derived
+	 * from the HTTP caching headers, clamped between the configured
+	 * bounds.
+	 *
+	 * @param jwkSet The retrieved JWK set.
+	 *
+	 * @return The time to live, in milliseconds, -1 if not specified.
+	 */
+	private long getCacheControlTimeToLive(final JWKSet jwkSet) {
+		
+		JWKSetSource<C> source = getSource();
+		while (source instanceof JWKSetSourceWrapper) {
+			source = ((JWKSetSourceWrapper<C>) source).getSource();
+		}
+		
+		if (! (source instanceof URLBasedJWKSetSource)) {
+			return -1L;
+		}
+		
+		JWKSetWithTimestamp lastRetrieved = ((URLBasedJWKSetSource<C>) source).getLastRetrievedJWKSet();
+		
+		if (lastRetrieved == null || lastRetrieved.getJWKSet() != jwkSet || lastRetrieved.getExpirationTime() == null) {
+			// Not retrieved with caching headers, or served from
+			// an intermediate (outage) cache
+			return -1L;
+		}
+		
+		long timeToLive = lastRetrieved.getExpirationTime().getTime() - lastRetrieved.getDate().getTime();
+		
+		return Math.min(Math.max(timeToLive, cacheControlMinTimeToLive), cacheControlMaxTimeToLive);
+	}
+	
+	
+	/**
+	 * Returns {@code true} if the time to live of the retrieved JWK sets
+	 * is derived from the HTTP {@code Cache-Control} and {@code Expires}
+	 * headers.
+	 *
+	 * @return {@code true} if the HTTP caching headers are honoured.
+	 */
+	public boolean isCacheControl() {
+		return cacheControlMinTimeToLive > 0L;
+	}
+	
+	
+	/**
+	 * Returns the minimum time to live derived from the HTTP
+	 * {@code Cache-Control} and {@code Expires} headers.
+	 *
+	 * @return The minimum time to live, in milliseconds, -1 if the
+	 *         headers are not honoured.
+	 */
+	public long getCacheControlMinTimeToLive() {
+		return cacheControlMinTimeToLive;
+	}
+	
+	
+	/**
+	 * Returns the maximum time to live derived from the HTTP
+	 * {@code Cache-Control} and {@code Expires} headers.
+	 *
+	 * @return The maximum time to live, in milliseconds, -1 if the
+	 *         headers are not honoured.
+	 */
+	public long getCacheControlMaxTimeToLive() {
+		return cacheControlMaxTimeToLive;
+	}
+	
+	
 	/**
 	 * Returns the lock.
 	 *
@@ -0,0 +1,420 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.jwk.source;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import net.jcip.annotations.ThreadSafe;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.IOUtils;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import com.nimbusds.jose.util.StandardCharset;
+import com.nimbusds.jose.util.events.EventListener;
+
+
+/**
+ * {@linkplain JWKSetSource} which keeps a snapshot of the last retrieved JWK
+ * set in a local file, to speed up cold starts. Intended to wrap a
+ * {@linkplain CachingJWKSetSource}.
+ *
+ * <p>On creation a snapshot not older than the configured maximum age is
+ * loaded from the file. The snapshot is then served while an initial refresh
+ * of the wrapped source runs in the background. Requests that require a
+ * refresh of the snapshot, for instance because it lacks a key, are passed to
+ * the wrapped source. After the initial refresh, or once the snapshot
+ * exceeds the maximum age while the initial refresh keeps failing, the
+ * wrapped source is used exclusively.
+ *
+ * <p>Each newly retrieved JWK set is written to the file in the background,
+ * atomically (via a temporary file and rename) where the file system
+ * supports it. Only the public keys are written. Snapshot read and write
+ * errors are reported as events and don't affect the JWK set retrieval.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@ThreadSafe
+public class FileSnapshotJWKSetSource<C extends SecurityContext> extends JWKSetSourceWrapper<C> {
+	
+	
+	/**
+	 * JWK set snapshot loaded event.
+	 */
+	public static class SnapshotLoadedEvent<C extends SecurityContext> extends AbstractJWKSetSourceEvent<FileSnapshotJWKSetSource<C>, C> {
+		
+		private final JWKSetWithTimestamp snapshot;
+		
+		private SnapshotLoadedEvent(final FileSnapshotJWKSetSource<C> source,
+					    final JWKSetWithTimestamp snapshot) {
+			super(source, null);
+			Objects.requireNonNull(snapshot);
+			this.snapshot = snapshot;
+		}
+		
+		
+		/**
+		 * Returns the loaded snapshot.
+		 *
+		 * @return The JWK set with the timestamp of its retrieval.
+		 */
+		public JWKSetWithTimestamp getSnapshot() {
+			return snapshot;
+		}
+	}
+	
+	
+	/**
+	 * JWK set snapshot load or write failed event.
+	 */
+	public static class SnapshotFailedEvent<C extends SecurityContext> extends AbstractJWKSetSourceEvent<FileSnapshotJWKSetSource<C>, C> {
+		
+		private final Exception exception;
+		
+		private SnapshotFailedEvent(final FileSnapshotJWKSetSource<C> source,
+					    final Exception exception,
+					    final C context) {
+			super(source, context);
+			Objects.requireNonNull(exception);
+			this.exception = exception;
+		}
+		
+		
+		/**
+		 * Returns the exception that caused the failure.
+		 *
+		 * @return The exception.
+		 */
+		public Exception getException() {
+			return exception;
+		}
+	}
+	
+	
+	/**
+	 * Initial refresh in the background failed event. The snapshot
+	 * continues to be served until the next attempt.
+	 */
+	public static class InitialRefreshFailedEvent<C extends SecurityContext> extends AbstractJWKSetSourceEvent<FileSnapshotJWKSetSource<C>, C> {
+		
+		private final Exception exception;
+		
+		private InitialRefreshFailedEvent(final FileSnapshotJWKSetSource<C> source,
+						  final Exception exception,
+						  final C context) {
+			super(source, context);
+			Objects.requireNonNull(exception);
+			this.exception = exception;
+		}
+		
+		
+		/**
+		 * Returns the exception that caused the failure.
+		 *
+		 * @return The exception.
+		 */
+		public Exception getException() {
+			return exception;
+		}
+	}
+	
+	
+	private final File file;
+	
+	private final long maxAge; // milliseconds
+	
+	private final ExecutorService executorService;
+	
+	// the snapshot served until the initial refresh completes, null after
+	private volatile JWKSetWithTimestamp snapshot;
+	
+	private final AtomicBoolean initialRefreshInProgress = new AtomicBoolean();
+	
+	// the last JWK set written or scheduled for writing to the file
+	private volatile JWKSet lastSaved;
+	
+	private final EventListener<FileSnapshotJWKSetSource<C>, C> eventListener;
+	
+	
+	/**
+	 * Creates a new file snapshot JWK set source. Loads the snapshot from
+	 * the file, if present and not older than the maximum age, and
+	 * starts the initial refresh in the background.
+	 *
+	 * @param source        The JWK set source to decorate. Must not be
+	 *                      {@code null}.
+	 * @param file          The snapshot file. Must not be {@code null}.
+	 * @param maxAge        The maximum age of the snapshot to serve, in
+	 *                      milliseconds.
+	 * @param eventListener The event listener, {@code null} if not
+	 *                      specified.
+	 */
+	public FileSnapshotJWKSetSource(final JWKSetSource<C> source,
+					final File file,
+					final long maxAge,
+					final EventListener<FileSnapshotJWKSetSource<C>, C> eventListener) {
+		super(source);
+		Objects.requireNonNull(file, "The snapshot file must not be null");
+		this.file = file;
+		if (maxAge <= 0) {
+			throw new IllegalArgumentException("The snapshot max age must be positive");
+		}
+		this.maxAge = maxAge;
+		this.eventListener = eventListener;
+		executorService = Executors.newSingleThreadExecutor();
+		
+		JWKSetWithTimestamp loaded = loadSnapshot(System.currentTimeMillis());
+		
+		if (loaded != null) {
+			snapshot = loaded;
+			lastSaved = loaded.getJWKSet();
+			if (eventListener != null) {
+				eventListener.notify(new SnapshotLoadedEvent<>(this, loaded));
+			}
+			startInitialRefresh(null);
+		}
+	}
+	
+	
+	/**
+	 * Returns the snapshot file.
+	 *
+	 * @return The snapshot file.
+	 */
+	public File getFile() {
+		return file;
+	}
+	
+	
+	/**
+	 * Returns the maximum age of the snapshot to serve.
+	 *
+	 * @return The maximum age, in milliseconds.
+	 */
+	public long getMaxAge() {
+		return maxAge;
+	}
+	
+	
+	/**
+	 * Returns the snapshot served until the initial refresh completes.
+	 *
+	 * @return The snapshot, {@code null} if none was loaded or the
+	 *         initial refresh completed.
+	 */
+	public JWKSetWithTimestamp getSnapshot() {
+		return snapshot;
+	}
+	
+	
+	@Override
+	public JWKSet getJWKSet(final JWKSetCacheRefreshEvaluator refreshEvaluator, final long currentTime, final C context) throws KeySourceException {
+		
+		JWKSetWithTimestamp threadSafeSnapshot = snapshot; // defensive copy
+		
+		if (threadSafeSnapshot != null && currentTime - threadSafeSnapshot.getDate().getTime() > maxAge) {
+			// Expired while the initial refresh kept failing, don't
+			// serve keys the issuer may have revoked since
+			snapshot = null;
+			threadSafeSnapshot = null;
+		}
+		
+		if (threadSafeSnapshot != null && ! refreshEvaluator.requiresRefresh(threadSafeSnapshot.getJWKSet())) {
+			// Retry if a previous attempt failed
+			startInitialRefresh(context);
+			return threadSafeSnapshot.getJWKSet();
+		}
+		
+		JWKSet jwkSet;
+		if (threadSafeSnapshot != null) {
+			// Refresh of the snapshot required, any JWK set of the
+			// wrapped source is more recent than the snapshot
+			jwkSet = getSource().getJWKSet(JWKSetCacheRefreshEvaluator.noRefresh(), currentTime, context);
+			snapshot = null;
+		} else {
+			jwkSet = getSource().getJWKSet(refreshEvaluator, currentTime, context);
+		}
+		
+		saveSnapshotIfChanged(jwkSet, context);
+		return jwkSet;
+	}
+	
+	
+	/**
+	 * Starts the initial refresh in the background, unless completed or
+	 * already in progress.
+	 *
+	 * @param context Optional context, {@code null} if not required.
+	 */
+	private void startInitialRefresh(final C context) {
+		
+		if (snapshot == null || ! initialRefreshInProgress.compareAndSet(false, true)) {
+			return;
+		}
+		
+		try {
+			executorService.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						JWKSet jwkSet = getSource().getJWKSet(JWKSetCacheRefreshEvaluator.noRefresh(), System.currentTimeMillis(), context);
+						snapshot = null;
+						saveSnapshotIfChanged(jwkSet, context);
+					} catch (Exception e) {
+						if (eventListener != null) {
+							eventListener.notify(new InitialRefreshFailedEvent<>(FileSnapshotJWKSetSource.this, e, context));
+						}
+					} finally {
+						initialRefreshInProgress.set(false);
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// Closed
+			initialRefreshInProgress.set(false);
+		}
+	}
+	
+	
+	/**
+	 * Loads the snapshot from the file.
+	 *
+	 * @param currentTime The current time, in milliseconds since the Unix
+	 *                    epoch.
+	 *
+	 * @return The snapshot, {@code null} if none, invalid or older than
+	 *         the maximum age.
+	 */
+	private JWKSetWithTimestamp loadSnapshot(final long currentTime) {
+		
+		if (! file.exists()) {
+			return null;
+		}
+		
+		try {
+			String content = IOUtils.readFileToString(file, StandardCharset.UTF_8);
+			Map<String, Object> jsonObject = JSONObjectUtils.parse(content);
+			
+			long timestamp = JSONObjectUtils.getLong(jsonObject, "timestamp");
+			JWKSet jwkSet = JWKSet.parse(JSONObjectUtils.getJSONObject(jsonObject, "jwk_set"));
+			
+			if (currentTime - timestamp > maxAge) {
+				return null;
+			}
+			
+			return new JWKSetWithTimestamp(jwkSet, new Date(timestamp));
+			
+		} catch (Exception e) {
+			if (eventListener != null) {
+				eventListener.notify(new SnapshotFailedEvent<>(this, e, null));
+			}
+			return null;
+		}
+	}
+	
+	
+	/**
+	 * Saves the specified JWK set to the file in the background, if
+	 * changed since the last save.
+	 *
+	 * @param jwkSet  The JWK set.
+	 * @param context Optional context, {@code null} if not required.
+	 */
+	private void saveSnapshotIfChanged(final JWKSet jwkSet, final C context) {
+		
+		if (jwkSet == lastSaved) {
+			return;
+		}
+		
+		lastSaved = jwkSet;
+		
+		try {
+			executorService.execute(new Runnable() {
+				@Override
+				public void run() {
+					if (jwkSet != lastSaved) {
+						return; // superseded
+					}
+					try {
+						saveSnapshot(new JWKSetWithTimestamp(jwkSet));
+					} catch (IOException e) {
+						if (eventListener != null) {
+							eventListener.notify(new SnapshotFailedEvent<>(FileSnapshotJWKSetSource.this, e, context));
+						}
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// Closed
+		}
+	}
+	
+	
+	/**
+	 * Writes the specified snapshot to the file, via a temporary file in
+	 * the same directory.
+	 *
+	 * @param jwkSetWithTimestamp The JWK set with timestamp.
+	 *
+	 * @throws IOException If writing failed.
+	 */
+	void saveSnapshot(final JWKSetWithTimestamp jwkSetWithTimestamp)
+		throws IOException {
+		
+		Map<String, Object> jsonObject = JSONObjectUtils.newJSONObject();
+		jsonObject.put("timestamp", jwkSetWithTimestamp.getDate().getTime());
+		jsonObject.put("jwk_set", jwkSetWithTimestamp.getJWKSet().toJSONObject(true));
+		
+		byte[] content = JSONObjectUtils.toJSONString(jsonObject).getBytes(StandardCharset.UTF_8);
+		
+		Path target = file.getAbsoluteFile().toPath();
+		Path tmp = Files.createTempFile(target.getParent(), file.getName(), ".tmp");
+		try {
+			Files.write(tmp, content);
+			try {
+				Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+	}
+	
+	
+	@Override
+	public void close() throws IOException {
+		executorService.shutdown();
+		super.close();
+	}
+}
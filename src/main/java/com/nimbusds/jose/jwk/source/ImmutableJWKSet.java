@@ -18,7 +18,9 @@
 package com.nimbusds.jose.jwk.source;
 
 
+import java.nio.channels.CompletionHandler;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import net.jcip.annotations.Immutable;
 
@@ -33,10 +35,10 @@ import com.nimbusds.jose.proc.SecurityContext;
  *
  * @author Vladimir Dzhuvinov
  * @author Thomas Rørvik Skjølberg
- * @version 2022-08-24
+ * @version 2026-10-15
  */
 @Immutable
-public class ImmutableJWKSet<C extends SecurityContext> implements JWKSource<C> {
+public class ImmutableJWKSet<C extends SecurityContext> implements AsyncJWKSource<C> {
 
 
 	/**
@@ -76,4 +78,18 @@ public class ImmutableJWKSet<C extends SecurityContext> implements JWKSource<C>
 
 		return jwkSelector.select(jwkSet);
 	}
+
+	
+	/**
+	 * {@inheritDoc} Always completes on the calling thread. The security
+	 * context is ignored.
+	 */
+	@Override
+	public void getAsync(final JWKSelector jwkSelector,
+			     final C context,
+			     final Executor executor,
+			     final CompletionHandler<List<JWK>, ? super C> handler) {
+		
+		handler.completed(get(jwkSelector, context), context);
+	}
 }
@@ -20,8 +20,11 @@ package com.nimbusds.jose.jwk.source;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.channels.CompletionHandler;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import net.jcip.annotations.ThreadSafe;
 
@@ -30,22 +33,41 @@ import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSelector;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.cache.CachedObject;
 
 
 /**
  * JSON Web Key (JWK) set based JWK source.
  *
+ * <p>Can be configured with a negative cache for the key IDs ("kid") and
+ * X.509 certificate SHA-256 thumbprints ("x5t#S256") which were not found in
+ * the JWK set, even after a refresh. Repeated requests for such keys are then
+ * answered with an empty list, without touching the underlying JWK set source
+ * (and thus without causing a refresh), until the negative cache entry expires
+ * or another JWK set is retrieved.
+ *
+ * <p>Supports non-blocking retrieval: JWKs matched in a valid cached JWK set
+ * (or known to be missing from it) are returned on the calling thread, all
+ * other retrievals are run with the caller's executor.
+ *
  * @author Thomas Rørvik Skjølberg
  * @author Vladimir Dzhuvinov
- * @version 2022-11-22
+ * @version 2026-10-15
  */
 @ThreadSafe
-public class JWKSetBasedJWKSource<C extends SecurityContext> implements JWKSource<C>, Closeable {
+public class JWKSetBasedJWKSource<C extends SecurityContext> implements AsyncJWKSource<C>, Closeable {
 
 	
 	private final JWKSetSource<C> source;
 	
 	
+	/**
+	 * The negative cache of missed key IDs and thumbprints, {@code null}
+	 * if disabled.
+	 */
+	private final NegativeJWKMatchCache negativeCache;
+	
+	
 	/**
 	 * Creates a new JWK set based JWK source.
 	 *
@@ -54,6 +76,28 @@ public class JWKSetBasedJWKSource<C extends SecurityContext> implements JWKSourc
 	public JWKSetBasedJWKSource(final JWKSetSource<C> source) {
 		Objects.requireNonNull(source);
 		this.source = source;
+		negativeCache = null;
+	}
+	
+	
+	/**
+	 * Creates a new JWK set based JWK source with a negative cache of
+	 * missed key IDs and X.509 certificate SHA-256 thumbprints.
+	 *
+	 * @param source                   The JWK set source. Must not be
+	 *                                 {@code null}.
+	 * @param negativeCacheTimeToLive  The time-to-live of the negative
+	 *                                 cache entries, in milliseconds.
+	 *                                 Must be positive.
+	 * @param negativeCacheMaxSize     The maximum number of negative
+	 *                                 cache entries. Must be positive.
+	 */
+	public JWKSetBasedJWKSource(final JWKSetSource<C> source,
+				    final long negativeCacheTimeToLive,
+				    final int negativeCacheMaxSize) {
+		Objects.requireNonNull(source);
+		this.source = source;
+		negativeCache = new NegativeJWKMatchCache(negativeCacheTimeToLive, negativeCacheMaxSize);
 	}
 
 	
@@ -77,12 +121,142 @@ public class JWKSetBasedJWKSource<C extends SecurityContext> implements JWKSourc
 		
 		List<JWK> select = jwkSelector.select(jwkSet);
 		if (select.isEmpty()) {
+			
+			if (negativeCache != null && negativeCache.isKnownMiss(jwkSelector.getMatcher(), jwkSet, currentTime)) {
+				// Recently missed in the same JWK set, don't refresh
+				return select;
+			}
+			
 			JWKSet recentJwkSet = source.getJWKSet(JWKSetCacheRefreshEvaluator.referenceComparison(jwkSet), currentTime, context);
 			select = jwkSelector.select(recentJwkSet);
+			
+			if (select.isEmpty() && negativeCache != null) {
+				negativeCache.recordMiss(jwkSelector.getMatcher(), recentJwkSet, currentTime);
+			}
 		}
 		return select;
 	}
 	
+	
+	@Override
+	public void getAsync(final JWKSelector jwkSelector,
+			     final C context,
+			     final Executor executor,
+			     final CompletionHandler<List<JWK>, ? super C> handler) {
+		
+		List<JWK> select;
+		try {
+			select = getWithoutBlocking(jwkSelector, context);
+		} catch (KeySourceException | RuntimeException e) {
+			handler.failed(e, context);
+			return;
+		}
+		
+		if (select != null) {
+			handler.completed(select, context);
+			return;
+		}
+		
+		try {
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					List<JWK> select;
+					try {
+						select = get(jwkSelector, context);
+					} catch (KeySourceException | RuntimeException e) {
+						handler.failed(e, context);
+						return;
+					}
+					handler.completed(select, context);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			handler.failed(e, context);
+		}
+	}
+	
+	
+	/**
+	 * Retrieves a list of JWKs matching the specified selector if they
+	 * are available without blocking, from a valid cached JWK set or a
+	 * JWK set snapshot.
+	 *
+	 * @param jwkSelector A JWK selector. Must not be {@code null}.
+	 * @param context     Optional context, {@code null} if not required.
+	 *
+	 * @return The matching JWKs, empty list if known to be missing,
+	 *         {@code null} if a blocking retrieval is required.
+	 *
+	 * @throws KeySourceException If key sourcing failed.
+	 */
+	private List<JWK> getWithoutBlocking(final JWKSelector jwkSelector, final C context)
+		throws KeySourceException {
+		
+		JWKSetSource<C> cachingSource = source;
+		
+		if (source instanceof FileSnapshotJWKSetSource) {
+			// Serves the snapshot without blocking until the
+			// initial refresh completes, then the cached JWK set
+			FileSnapshotJWKSetSource<C> snapshotSource = (FileSnapshotJWKSetSource<C>) source;
+			cachingSource = snapshotSource.getSnapshot() != null ? null : snapshotSource.getSource();
+		}
+		
+		long currentTime = System.currentTimeMillis();
+		
+		if (cachingSource != null) {
+			
+			if (! (cachingSource instanceof AbstractCachingJWKSetSource)) {
+				return null;
+			}
+			
+			CachedObject<JWKSet> cache = ((AbstractCachingJWKSetSource<C>) cachingSource).getCachedJWKSetIfValid(currentTime);
+			
+			if (cache == null) {
+				return null;
+			}
+		}
+		
+		// Doesn't block for a valid cached JWK set or snapshot
+		JWKSet jwkSet = source.getJWKSet(JWKSetCacheRefreshEvaluator.noRefresh(), currentTime, context);
+		
+		List<JWK> select = jwkSelector.select(jwkSet);
+		
+		if (! select.isEmpty()) {
+			return select;
+		}
+		
+		if (negativeCache != null && negativeCache.isKnownMiss(jwkSelector.getMatcher(), jwkSet, currentTime)) {
+			return select;
+		}
+		
+		return null;
+	}
+	
+	
+	/**
+	 * Returns the time-to-live of the negative cache entries for missed
+	 * key IDs and X.509 certificate SHA-256 thumbprints.
+	 *
+	 * @return The time-to-live, in milliseconds, -1 if the negative cache
+	 *         is disabled.
+	 */
+	public long getNegativeCacheTimeToLive() {
+		return negativeCache != null ? negativeCache.getTimeToLive() : -1L;
+	}
+	
+	
+	/**
+	 * Returns the maximum number of negative cache entries for missed key
+	 * IDs and X.509 certificate SHA-256 thumbprints.
+	 *
+	 * @return The maximum number of entries, -1 if the negative cache is
+	 *         disabled.
+	 */
+	public int getNegativeCacheMaxSize() {
+		return negativeCache != null ? negativeCache.getMaxSize() : -1;
+	}
+	
 	/**
 	 * Returns the underlying JWK set source.
 	 *
@@ -0,0 +1,265 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.jwk.source;
+
+
+import java.io.Closeable;
+import java.lang.reflect.Method;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.jcip.annotations.ThreadSafe;
+
+
+/**
+ * Refresh scheduler for sharing between many
+ * {@linkplain RefreshAheadCachingJWKSetSource refresh-ahead caching JWK set
+ * sources}, in place of the dedicated threads of each source.
+ *
+ * <p>The refresh timers of all sources are kept in the delay queue of a
+ * single timer thread, which only hands the due refresh tasks over to the
+ * executor service running them. The executor service is a pool of daemon
+ * threads, or on Java 21+ optionally a virtual thread per task executor.
+ *
+ * <p>A random jitter, up to a configured maximum, can be subtracted from the
+ * delay of each scheduled refresh, to spread the refreshes of the same JWK
+ * set across a fleet of servers started at the same time. The jitter never
+ * delays a refresh.
+ *
+ * <p>Example:
+ *
+ * <pre>
+ * JWKSetRefreshScheduler scheduler = new JWKSetRefreshScheduler(4, true, 10_000L);
+ *
+ * JWKSource&lt;SecurityContext&gt; jwkSource = JWKSourceBuilder.create(jwkSetURL)
+ *     .refreshAheadCache(JWKSourceBuilder.DEFAULT_REFRESH_AHEAD_TIME, true)
+ *     .refreshScheduler(scheduler)
+ *     .build();
+ * </pre>
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@ThreadSafe
+public class JWKSetRefreshScheduler implements Closeable {
+	
+	
+	/**
+	 * The default number of threads in the pool running the refresh
+	 * tasks.
+	 */
+	public static final int DEFAULT_THREADS = 2;
+	
+	
+	/**
+	 * The default maximum jitter of the scheduled refreshes, in
+	 * milliseconds.
+	 */
+	public static final long DEFAULT_MAX_JITTER = 5_000L;
+	
+	
+	/**
+	 * The timer thread.
+	 */
+	private final ScheduledThreadPoolExecutor timer;
+	
+	
+	/**
+	 * The executor service running the refresh tasks.
+	 */
+	private final ExecutorService executorService;
+	
+	
+	/**
+	 * {@code true} if the refresh tasks run on virtual threads.
+	 */
+	private final boolean virtualThreads;
+	
+	
+	/**
+	 * The maximum jitter, in milliseconds.
+	 */
+	private final long maxJitter;
+	
+	
+	/**
+	 * Creates a new refresh scheduler with {@link #DEFAULT_THREADS}
+	 * platform threads and the {@link #DEFAULT_MAX_JITTER}.
+	 */
+	public JWKSetRefreshScheduler() {
+		this(DEFAULT_THREADS, false, DEFAULT_MAX_JITTER);
+	}
+	
+	
+	/**
+	 * Creates a new refresh scheduler.
+	 *
+	 * @param threads        The number of platform threads in the pool
+	 *                       running the refresh tasks, if virtual
+	 *                       threads aren't used. Must be positive.
+	 * @param virtualThreads {@code true} to run the refresh tasks on
+	 *                       virtual threads when available (Java 21+).
+	 * @param maxJitter      The maximum jitter to subtract from the delay
+	 *                       of the scheduled refreshes, in milliseconds,
+	 *                       zero for none.
+	 */
+	public JWKSetRefreshScheduler(final int threads, final boolean virtualThreads, final long maxJitter) {
+		
+		if (threads <= 0) {
+			throw new IllegalArgumentException("The number of threads must be positive");
+		}
+		
+		if (maxJitter < 0) {
+			throw new IllegalArgumentException("The max jitter must not be negative");
+		}
+		
+		this.maxJitter = maxJitter;
+		
+		timer = new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory("jwk-set-refresh-timer"));
+		timer.setRemoveOnCancelPolicy(true);
+		
+		ExecutorService virtualThreadExecutor = virtualThreads ? newVirtualThreadPerTaskExecutor() : null;
+		
+		if (virtualThreadExecutor != null) {
+			executorService = virtualThreadExecutor;
+			this.virtualThreads = true;
+		} else {
+			executorService = Executors.newFixedThreadPool(threads, new DaemonThreadFactory("jwk-set-refresh"));
+			this.virtualThreads = false;
+		}
+	}
+	
+	
+	/**
+	 * Creates a new virtual thread per task executor, if supported by the
+	 * Java runtime.
+	 *
+	 * @return The executor service, {@code null} if not supported.
+	 */
+	private static ExecutorService newVirtualThreadPerTaskExecutor() {
+		
+		try {
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		} catch (Exception e) {
+			// Java 20 and older
+			return null;
+		}
+	}
+	
+	
+	/**
+	 * Returns {@code true} if the refresh tasks run on virtual threads.
+	 *
+	 * @return {@code true} for virtual threads, {@code false} for a pool
+	 *         of platform threads.
+	 */
+	public boolean isVirtualThreads() {
+		return virtualThreads;
+	}
+	
+	
+	/**
+	 * Returns the maximum jitter of the scheduled refreshes.
+	 *
+	 * @return The maximum jitter, in milliseconds, zero for none.
+	 */
+	public long getMaxJitter() {
+		return maxJitter;
+	}
+	
+	
+	/**
+	 * Returns the executor service running the refresh tasks.
+	 *
+	 * @return The executor service.
+	 */
+	public ExecutorService getExecutorService() {
+		return executorService;
+	}
+	
+	
+	/**
+	 * Returns the number of pending scheduled refreshes.
+	 *
+	 * @return The number of pending scheduled refreshes.
+	 */
+	public int getScheduledCount() {
+		return timer.getQueue().size();
+	}
+	
+	
+	/**
+	 * Schedules the specified refresh task, with jitter.
+	 *
+	 * @param task  The refresh task. Must not be {@code null}.
+	 * @param delay The delay, in milliseconds.
+	 *
+	 * @return The scheduled future, for cancellation.
+	 */
+	public ScheduledFuture<?> schedule(final Runnable task, final long delay) {
+		
+		long jitter = maxJitter > 0 && delay > 0 ? ThreadLocalRandom.current().nextLong(Math.min(maxJitter, delay) + 1) : 0L;
+		
+		return timer.schedule(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					executorService.execute(task);
+				} catch (RejectedExecutionException e) {
+					// Closed
+				}
+			}
+		}, delay - jitter, TimeUnit.MILLISECONDS);
+	}
+	
+	
+	/**
+	 * Shuts down the timer and the executor service.
+	 */
+	@Override
+	public void close() {
+		timer.shutdownNow();
+		executorService.shutdownNow();
+	}
+	
+	
+	/**
+	 * Thread factory of named daemon threads.
+	 */
+	private static final class DaemonThreadFactory implements ThreadFactory {
+		
+		
+		private final String namePrefix;
+		
+		private final AtomicInteger counter = new AtomicInteger();
+		
+		
+		private DaemonThreadFactory(final String namePrefix) {
+			this.namePrefix = namePrefix;
+		}
+		
+		
+		@Override
+		public Thread newThread(final Runnable runnable) {
+			Thread thread = new Thread(runnable, namePrefix + "-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
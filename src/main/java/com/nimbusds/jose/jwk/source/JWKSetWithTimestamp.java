@@ -26,13 +26,13 @@ import com.nimbusds.jose.jwk.JWKSet;
 
 
 /**
- * JSON Web Key (JWK) set with timestamp.
+ * JSON Web Key (JWK) set with timestamp and optional expiration time, for
+ * instance derived from the HTTP caching headers of the response it was
+ * retrieved with.
  *
  * @author Vladimir Dzhuvinov
- * @version 2020-12-27
- * @deprecated see {@linkplain RemoteJWKSet}.
+ * @version 2026-10-15
  */
-@Deprecated
 @Immutable
 public final class JWKSetWithTimestamp {
 
@@ -43,6 +43,9 @@ public final class JWKSetWithTimestamp {
 	private final Date timestamp;
 	
 	
+	private final Date expirationTime;
+	
+	
 	/**
 	 * Creates a new JWK set with a timestamp set to now.
 	 */
@@ -58,6 +61,19 @@ public final class JWKSetWithTimestamp {
 	 * @param timestamp The timestamp date. Must not be {@code null}.
 	 */
 	public JWKSetWithTimestamp(final JWKSet jwkSet, final Date timestamp) {
+		this(jwkSet, timestamp, null);
+	}
+	
+	
+	/**
+	 * Creates a new JWK set with timestamp and expiration time.
+	 *
+	 * @param jwkSet         The JWK set. Must not be {@code null}.
+	 * @param timestamp      The timestamp date. Must not be {@code null}.
+	 * @param expirationTime The expiration time, {@code null} if not
+	 *                       specified.
+	 */
+	public JWKSetWithTimestamp(final JWKSet jwkSet, final Date timestamp, final Date expirationTime) {
 		if (jwkSet == null) {
 			throw new IllegalArgumentException("The JWK set must not be null");
 		}
@@ -66,6 +82,7 @@ public final class JWKSetWithTimestamp {
 			throw new IllegalArgumentException("The timestamp must not null");
 		}
 		this.timestamp = timestamp;
+		this.expirationTime = expirationTime;
 	}
 	
 	
@@ -87,4 +104,14 @@ public final class JWKSetWithTimestamp {
 	public Date getDate() {
 		return timestamp;
 	}
+	
+	
+	/**
+	 * Returns the expiration time.
+	 *
+	 * @return The expiration time, {@code null} if not specified.
+	 */
+	public Date getExpirationTime() {
+		return expirationTime;
+	}
 }
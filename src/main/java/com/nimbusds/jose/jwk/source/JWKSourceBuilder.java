@@ -18,8 +18,11 @@
 package com.nimbusds.jose.jwk.source;
 
 
+import java.io.File;
 import java.net.URL;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import com.nimbusds.jose.proc.SecurityContext;
 import com.nimbusds.jose.util.DefaultResourceRetriever;
@@ -46,7 +49,7 @@ import com.nimbusds.jose.util.health.HealthReportListener;
  *
  * @author Thomas Rørvik Skjølberg
  * @author Vladimir Dzhuvinov
- * @version 2023-12-10
+ * @version 2026-10-15
  */
 public class JWKSourceBuilder<C extends SecurityContext> {
 	
@@ -100,6 +103,43 @@ public class JWKSourceBuilder<C extends SecurityContext> {
 	public static final long DEFAULT_RATE_LIMIT_MIN_INTERVAL = 30_000L;
 	
 	
+	/**
+	 * The default time-to-live of the negative cache entries for missed
+	 * key IDs and X.509 certificate thumbprints, in milliseconds.
+	 */
+	public static final long DEFAULT_NEGATIVE_CACHE_TIME_TO_LIVE = 30_000L;
+	
+	
+	/**
+	 * The default maximum number of negative cache entries for missed key
+	 * IDs and X.509 certificate thumbprints.
+	 */
+	public static final int DEFAULT_NEGATIVE_CACHE_MAX_SIZE = 1000;
+	
+	
+	/**
+	 * The default minimum time-to-live of a JWK set derived from the
+	 * HTTP {@code Cache-Control} and {@code Expires} headers, in
+	 * milliseconds.
+	 */
+	public static final long DEFAULT_CACHE_CONTROL_MIN_TIME_TO_LIVE = 60_000L;
+	
+	
+	/**
+	 * The default maximum time-to-live of a JWK set derived from the
+	 * HTTP {@code Cache-Control} and {@code Expires} headers, in
+	 * milliseconds.
+	 */
+	public static final long DEFAULT_CACHE_CONTROL_MAX_TIME_TO_LIVE = 24 * 60 * 60 * 1000L;
+	
+	
+	/**
+	 * The default maximum age of a JWK set snapshot to serve on startup,
+	 * in milliseconds.
+	 */
+	public static final long DEFAULT_SNAPSHOT_MAX_AGE = 24 * 60 * 60 * 1000L;
+	
+	
 	/**
 	 * Creates a new JWK source builder using the specified JWK set URL
 	 * and {@linkplain DefaultResourceRetriever} with default timeouts.
@@ -152,6 +192,13 @@ public class JWKSourceBuilder<C extends SecurityContext> {
 	private boolean refreshAhead = true;
 	private long refreshAheadTime = DEFAULT_REFRESH_AHEAD_TIME;
 	private boolean refreshAheadScheduled = false;
+	private ExecutorService refreshAheadExecutorService;
+	private JWKSetRefreshScheduler refreshScheduler;
+
+	private boolean singleFlightRefresh = false;
+	private boolean cacheControl = false;
+	private long cacheControlMinTimeToLive = DEFAULT_CACHE_CONTROL_MIN_TIME_TO_LIVE;
+	private long cacheControlMaxTimeToLive = DEFAULT_CACHE_CONTROL_MAX_TIME_TO_LIVE;
 
 	// rate limiting (retry on network error will not count against this)
 	private boolean rateLimited = true;
@@ -166,10 +213,20 @@ public class JWKSourceBuilder<C extends SecurityContext> {
 	private boolean outageTolerant = false;
 	private long outageCacheTimeToLive = -1L;
 	private EventListener<OutageTolerantJWKSetSource<C>, C> outageEventListener;
+	
+	// on-disk snapshot
+	private File snapshotFile;
+	private long snapshotMaxAge = DEFAULT_SNAPSHOT_MAX_AGE;
+	private EventListener<FileSnapshotJWKSetSource<C>, C> snapshotEventListener;
 
 	// health status reporting
 	private HealthReportListener<JWKSetSourceWithHealthStatusReporting<C>, C> healthReportListener;
 
+	// negative caching of missed key IDs/thumbprints
+	private boolean negativeCaching = false;
+	private long negativeCacheTimeToLive = DEFAULT_NEGATIVE_CACHE_TIME_TO_LIVE;
+	private int negativeCacheMaxSize = DEFAULT_NEGATIVE_CACHE_MAX_SIZE;
+
 	// failover
 	protected JWKSource<C> failover;
 	
@@ -253,6 +310,65 @@ public class JWKSourceBuilder<C extends SecurityContext> {
 	}
 	
 	
+	/**
+	 * Toggles single-flight refresh of the cached JWK set. Only one
+	 * thread retrieves the JWK set, the other threads needing a refreshed
+	 * JWK set join that retrieval instead of queueing on a lock. While
+	 * the retrieval is in progress an expired cached JWK set continues to
+	 * be served.
+	 *
+	 * @param enable {@code true} to enable single-flight refresh,
+	 *               {@code false} to coordinate the refreshes with a
+	 *               lock (the default).
+	 *
+	 * @return This builder.
+	 */
+	public JWKSourceBuilder<C> singleFlightRefresh(final boolean enable) {
+		this.singleFlightRefresh = enable;
+		return this;
+	}
+	
+	
+	/**
+	 * Toggles derivation of the cached JWK set time-to-live from the HTTP
+	 * {@code Cache-Control} max-age and {@code Expires} headers of the
+	 * JWK set URL response, clamped between
+	 * {@link #DEFAULT_CACHE_CONTROL_MIN_TIME_TO_LIVE} and
+	 * {@link #DEFAULT_CACHE_CONTROL_MAX_TIME_TO_LIVE}. The configured
+	 * cache time-to-live applies to responses without such headers.
+	 *
+	 * @param enable {@code true} to honour the HTTP caching headers,
+	 *               {@code false} to use the configured cache
+	 *               time-to-live only (the default).
+	 *
+	 * @return This builder.
+	 */
+	public JWKSourceBuilder<C> cacheControl(final boolean enable) {
+		this.cacheControl = enable;
+		return this;
+	}
+	
+	
+	/**
+	 * Enables derivation of the cached JWK set time-to-live from the
+	 * HTTP {@code Cache-Control} max-age and {@code Expires} headers of
+	 * the JWK set URL response, clamped between the specified bounds.
+	 * The configured cache time-to-live applies to responses without
+	 * such headers.
+	 *
+	 * @param minTimeToLive The minimum time-to-live, in milliseconds.
+	 * @param maxTimeToLive The maximum time-to-live, in milliseconds.
+	 *
+	 * @return This builder.
+	 */
+	public JWKSourceBuilder<C> cacheControl(final long minTimeToLive, final long maxTimeToLive) {
+		this.cacheControl = true;
+		this.cacheControlMinTimeToLive = minTimeToLive;
+		this.cacheControlMaxTimeToLive = maxTimeToLive;
+		return this;
+	}
+	
+	
 	/**
 	 * Toggles refresh-ahead caching of the JWK set.
 	 *
@@ -309,6 +425,42 @@ public class JWKSourceBuilder<C extends SecurityContext> {
 		this.cachingEventListener = eventListener;
 		return this;
 	}
+	
+	
+	/**
+	 * Sets the executor service to run the refresh-ahead updates of the
+	 * JWK set in the background. Intended for sharing one executor service
+	 * between many JWK sources. The executor service is not shut down when
+	 * the JWK source is closed.
+	 *
+	 * @param executorService The executor service, {@code null} to create
+	 *                        a dedicated single thread executor (the
+	 *                        default).
+	 *
+	 * @return This builder.
+	 */
+	public JWKSourceBuilder<C> refreshAheadExecutor(final ExecutorService executorService) {
+		this.refreshAheadExecutorService = executorService;
+		return this;
+	}
+	
+	
+	/**
+	 * Sets a refresh scheduler, shared between many JWK sources, to run
+	 * the refresh-ahead updates of the JWK set in the background, and
+	 * the scheduled updates in scheduled mode. Takes precedence over a
+	 * {@link #refreshAheadExecutor refresh-ahead executor}. The refresh
+	 * scheduler is not closed when the JWK source is closed.
+	 *
+	 * @param refreshScheduler The refresh scheduler, {@code null} to
+	 *                         create dedicated threads (the default).
+	 *
+	 * @return This builder.
+	 */
+	public JWKSourceBuilder<C> refreshScheduler(final JWKSetRefreshScheduler refreshScheduler) {
+		this.refreshScheduler = refreshScheduler;
+		return this;
+	}
 
 
 	/**
@@ -358,6 +510,43 @@ public class JWKSourceBuilder<C extends SecurityContext> {
 	}
 	
 	
+	/**
+	 * Toggles negative caching of key IDs ("kid") and X.509 certificate
+	 * SHA-256 thumbprints ("x5t#S256") which were not found in the JWK
+	 * set, even after a refresh. Repeated requests for such keys are
+	 * then answered without a JWK set refresh, preventing refresh storms
+	 * caused by tokens with unknown keys.
+	 *
+	 * @param enable {@code true} to enable negative caching.
+	 *
+	 * @return This builder.
+	 */
+	public JWKSourceBuilder<C> negativeCache(final boolean enable) {
+		this.negativeCaching = enable;
+		return this;
+	}
+	
+	
+	/**
+	 * Enables negative caching of key IDs ("kid") and X.509 certificate
+	 * SHA-256 thumbprints ("x5t#S256") which were not found in the JWK
+	 * set, even after a refresh.
+	 *
+	 * @param timeToLive The time-to-live of the negative cache entries, in
+	 *                   milliseconds. An entry also expires when another
+	 *                   JWK set is retrieved.
+	 * @param maxSize    The maximum number of negative cache entries.
+	 *
+	 * @return This builder.
+	 */
+	public JWKSourceBuilder<C> negativeCache(final long timeToLive, final int maxSize) {
+		this.negativeCaching = true;
+		this.negativeCacheTimeToLive = timeToLive;
+		this.negativeCacheMaxSize = maxSize;
+		return this;
+	}
+	
+	
 	/**
 	 * Sets a failover JWK source.
 	 *
@@ -476,6 +665,48 @@ public class JWKSourceBuilder<C extends SecurityContext> {
 		this.outageEventListener = eventListener;
 		return this;
 	}
+	
+	
+	/**
+	 * Enables a snapshot of the last retrieved JWK set in the specified
+	 * local file. On startup a snapshot not older than
+	 * {@link #DEFAULT_SNAPSHOT_MAX_AGE} is served while the initial JWK
+	 * set retrieval runs in the background.
+	 *
+	 * @param file The snapshot file, {@code null} to disable the
+	 *             snapshot.
+	 *
+	 * @return This builder.
+	 */
+	public JWKSourceBuilder<C> snapshot(final File file) {
+		this.snapshotFile = file;
+		return this;
+	}
+	
+	
+	/**
+	 * Enables a snapshot of the last retrieved JWK set in the specified
+	 * local file. On startup a snapshot not older than the specified
+	 * maximum age is served while the initial JWK set retrieval runs in
+	 * the background.
+	 *
+	 * @param file          The snapshot file. Must not be {@code null}.
+	 * @param maxAge        The maximum age of the snapshot to serve on
+	 *                      startup, in milliseconds.
+	 * @param eventListener The event listener, {@code null} if not
+	 *                      specified.
+	 *
+	 * @return This builder.
+	 */
+	public JWKSourceBuilder<C> snapshot(final File file,
+					    final long maxAge,
+					    final EventListener<FileSnapshotJWKSetSource<C>, C> eventListener) {
+		Objects.requireNonNull(file, "The snapshot file must not be null");
+		this.snapshotFile = file;
+		this.snapshotMaxAge = maxAge;
+		this.snapshotEventListener = eventListener;
+		return this;
+	}
 
 	
 	/**
@@ -495,6 +726,10 @@ public class JWKSourceBuilder<C extends SecurityContext> {
 			throw new IllegalStateException("The rate limiting min time interval between requests must be less than the cache time-to-live");
 		}
 		
+		if (caching && rateLimited && cacheControl && cacheControlMinTimeToLive <= minTimeInterval) {
+			throw new IllegalStateException("The rate limiting min time interval between requests must be less than the Cache-Control min time-to-live");
+		}
+		
 		if (caching && outageTolerant && cacheTimeToLive == Long.MAX_VALUE && outageCacheTimeToLive == Long.MAX_VALUE) {
 			// TODO consider adjusting instead of exception
 			throw new IllegalStateException("Outage tolerance not necessary with a non-expiring cache");
@@ -530,13 +765,29 @@ public class JWKSourceBuilder<C extends SecurityContext> {
 			source = new RateLimitedJWKSetSource<>(source, minTimeInterval, rateLimitedEventListener);
 		}
 		
-		if (refreshAhead) {
-			source = new RefreshAheadCachingJWKSetSource<>(source, cacheTimeToLive, cacheRefreshTimeout, refreshAheadTime, refreshAheadScheduled, cachingEventListener);
+		long minTimeToLive = cacheControl ? cacheControlMinTimeToLive : -1L;
+		long maxTimeToLive = cacheControl ? cacheControlMaxTimeToLive : -1L;
+		
+		if (refreshAhead && refreshScheduler != null) {
+			source = new RefreshAheadCachingJWKSetSource<>(source, cacheTimeToLive, cacheRefreshTimeout, refreshAheadTime, refreshAheadScheduled, refreshScheduler, singleFlightRefresh, minTimeToLive, maxTimeToLive, cachingEventListener);
+		} else if (refreshAhead) {
+			boolean sharedExecutor = refreshAheadExecutorService != null;
+			ExecutorService executorService = sharedExecutor ? refreshAheadExecutorService : Executors.newSingleThreadExecutor();
+			source = new RefreshAheadCachingJWKSetSource<>(source, cacheTimeToLive, cacheRefreshTimeout, refreshAheadTime, refreshAheadScheduled, executorService, ! sharedExecutor, singleFlightRefresh, minTimeToLive, maxTimeToLive, cachingEventListener);
 		} else if (caching) {
-			source = new CachingJWKSetSource<>(source, cacheTimeToLive, cacheRefreshTimeout, cachingEventListener);
+			source = new CachingJWKSetSource<>(source, cacheTimeToLive, cacheRefreshTimeout, singleFlightRefresh, minTimeToLive, maxTimeToLive, cachingEventListener);
 		}
 
-		JWKSource<C> jwkSource = new JWKSetBasedJWKSource<>(source);
+		if (snapshotFile != null) {
+			source = new FileSnapshotJWKSetSource<>(source, snapshotFile, snapshotMaxAge, snapshotEventListener);
+		}
+
+		JWKSource<C> jwkSource;
+		if (negativeCaching) {
+			jwkSource = new JWKSetBasedJWKSource<>(source, negativeCacheTimeToLive, negativeCacheMaxSize);
+		} else {
+			jwkSource = new JWKSetBasedJWKSource<>(source);
+		}
 		if (failover != null) {
 			return new JWKSourceWithFailover<>(jwkSource, failover);
 		}
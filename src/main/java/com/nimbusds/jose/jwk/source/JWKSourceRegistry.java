@@ -0,0 +1,935 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.jwk.source;
+
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.jcip.annotations.Immutable;
+import net.jcip.annotations.ThreadSafe;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.DefaultResourceRetriever;
+import com.nimbusds.jose.util.ResourceRetriever;
+
+
+/**
+ * Registry of JSON Web Key (JWK) sources for multiple tenants, keyed by
+ * issuer, each with a registered JWK set URL.
+ *
+ * <p>The JWK sources of the tenants share one resource retriever and one
+ * {@link JWKSetRefreshScheduler scheduler} for the refresh-ahead updates, so
+ * no threads are dedicated to a single tenant. The JWK sources are created on demand and
+ * kept in a bounded cache: when the maximum size is exceeded the least
+ * recently used JWK source is evicted, JWK sources not used for longer than
+ * the maximum idle time are evicted too. The recency of use is tracked to a
+ * resolution of one second. The idle JWK sources are swept with the refresh
+ * scheduler, so that they stop their scheduled refreshes, and on JWK source
+ * requests. An evicted JWK source is closed and recreated on the next request
+ * for its tenant.
+ *
+ * <p>Per-tenant statistics are kept for the active JWK sources.
+ *
+ * <p>Example:
+ *
+ * <pre>
+ * JWKSourceRegistry&lt;SecurityContext&gt; registry = new JWKSourceRegistry.Builder&lt;&gt;()
+ *     .maxSize(5000)
+ *     .maxIdleTime(3600_000L)
+ *     .build();
+ *
+ * registry.register("https://tenant-1.example.com", new URL("https://tenant-1.example.com/jwks.json"));
+ * registry.register("https://tenant-2.example.com", new URL("https://tenant-2.example.com/jwks.json"));
+ *
+ * JWKSource&lt;SecurityContext&gt; jwkSource = registry.getJWKSource("https://tenant-1.example.com");
+ * </pre>
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@ThreadSafe
+public class JWKSourceRegistry<C extends SecurityContext> implements Closeable {
+	
+	
+	/**
+	 * The default maximum number of active JWK sources.
+	 */
+	public static final int DEFAULT_MAX_SIZE = 1000;
+	
+	
+	/**
+	 * The default maximum idle time of a JWK source before eviction, in
+	 * milliseconds.
+	 */
+	public static final long DEFAULT_MAX_IDLE_TIME = 60 * 60 * 1000L;
+	
+	
+	/**
+	 * The default number of threads of the shared executor service for
+	 * the refresh-ahead updates.
+	 */
+	public static final int DEFAULT_REFRESH_THREADS = 4;
+	
+	
+	/**
+	 * The resolution of the access order of the JWK sources, in
+	 * milliseconds.
+	 */
+	static final long ACCESS_ORDER_RESOLUTION = 1000L;
+	
+	
+	/**
+	 * Builder of JWK source registries.
+	 */
+	public static class Builder<C extends SecurityContext> {
+		
+		
+		private ResourceRetriever resourceRetriever;
+		
+		private long cacheTimeToLive = JWKSourceBuilder.DEFAULT_CACHE_TIME_TO_LIVE;
+		
+		private long cacheRefreshTimeout = JWKSourceBuilder.DEFAULT_CACHE_REFRESH_TIMEOUT;
+		
+		private boolean refreshAhead = true;
+		
+		private long refreshAheadTime = JWKSourceBuilder.DEFAULT_REFRESH_AHEAD_TIME;
+		
+		private int maxSize = DEFAULT_MAX_SIZE;
+		
+		private long maxIdleTime = DEFAULT_MAX_IDLE_TIME;
+		
+		private ExecutorService executorService;
+		
+		private JWKSetRefreshScheduler refreshScheduler;
+		
+		
+		/**
+		 * Sets the resource retriever shared by the JWK sources.
+		 *
+		 * @param resourceRetriever The resource retriever, {@code null}
+		 *                          for a {@link DefaultResourceRetriever}
+		 *                          with the default timeouts and size
+		 *                          limit.
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> resourceRetriever(final ResourceRetriever resourceRetriever) {
+			this.resourceRetriever = resourceRetriever;
+			return this;
+		}
+		
+		
+		/**
+		 * Sets the caching of the JWK sets.
+		 *
+		 * @param timeToLive          The time to live of the cached JWK
+		 *                            sets, in milliseconds.
+		 * @param cacheRefreshTimeout The cache refresh timeout, in
+		 *                            milliseconds.
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> cache(final long timeToLive, final long cacheRefreshTimeout) {
+			this.cacheTimeToLive = timeToLive;
+			this.cacheRefreshTimeout = cacheRefreshTimeout;
+			return this;
+		}
+		
+		
+		/**
+		 * Toggles refresh-ahead caching of the JWK sets.
+		 *
+		 * @param enable {@code true} to enable refresh-ahead caching
+		 *               (the default).
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> refreshAheadCache(final boolean enable) {
+			this.refreshAhead = enable;
+			return this;
+		}
+		
+		
+		/**
+		 * Enables refresh-ahead caching of the JWK sets.
+		 *
+		 * @param refreshAheadTime The refresh ahead time, in
+		 *                         milliseconds.
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> refreshAheadCache(final long refreshAheadTime) {
+			this.refreshAhead = true;
+			this.refreshAheadTime = refreshAheadTime;
+			return this;
+		}
+		
+		
+		/**
+		 * Sets the maximum number of active JWK sources.
+		 *
+		 * @param maxSize The maximum number of active JWK sources. Must
+		 *                be positive.
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> maxSize(final int maxSize) {
+			this.maxSize = maxSize;
+			return this;
+		}
+		
+		
+		/**
+		 * Sets the maximum idle time of a JWK source before eviction.
+		 *
+		 * @param maxIdleTime The maximum idle time, in milliseconds.
+		 *                    Must be positive.
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> maxIdleTime(final long maxIdleTime) {
+			this.maxIdleTime = maxIdleTime;
+			return this;
+		}
+		
+		
+		/**
+		 * Sets the executor service for the refresh-ahead updates,
+		 * shared by the JWK sources. The executor service is not shut
+		 * down when the registry is closed.
+		 *
+		 * @param executorService The executor service, {@code null}
+		 *                        to use the refresh scheduler.
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> executorService(final ExecutorService executorService) {
+			this.executorService = executorService;
+			return this;
+		}
+		
+		
+		/**
+		 * Sets the scheduler for the refresh-ahead updates, shared by
+		 * the JWK sources. The refresh-ahead updates are then timed
+		 * with the scheduler, with jitter, instead of run on the first
+		 * key request past the refresh-ahead time. The scheduler is not
+		 * closed when the registry is closed. Ignored if an executor
+		 * service is set.
+		 *
+		 * @param refreshScheduler The refresh scheduler, {@code null}
+		 *                         to create one with
+		 *                         {@link #DEFAULT_REFRESH_THREADS}
+		 *                         daemon threads, closed when the
+		 *                         registry is closed.
+		 *
+		 * @return This builder.
+		 */
+		public Builder<C> refreshScheduler(final JWKSetRefreshScheduler refreshScheduler) {
+			this.refreshScheduler = refreshScheduler;
+			return this;
+		}
+		
+		
+		/**
+		 * Builds a new JWK source registry.
+		 *
+		 * @return The JWK source registry.
+		 */
+		public JWKSourceRegistry<C> build() {
+			
+			if (maxSize <= 0) {
+				throw new IllegalStateException("The max size must be positive");
+			}
+			
+			if (maxIdleTime <= 0) {
+				throw new IllegalStateException("The max idle time must be positive");
+			}
+			
+			return new JWKSourceRegistry<>(this);
+		}
+	}
+	
+	
+	/**
+	 * Statistics of the active JWK source of a tenant.
+	 */
+	@Immutable
+	public static final class TenantStats {
+		
+		
+		private final String issuer;
+		
+		private final URL jwkSetURL;
+		
+		private final long creationTime;
+		
+		private final long lastAccessTime;
+		
+		private final long requestCount;
+		
+		private final long retrievalCount;
+		
+		private final long retrievalFailureCount;
+		
+		
+		private TenantStats(final JWKSourceRegistry<?>.Tenant tenant) {
+			issuer = tenant.issuer;
+			jwkSetURL = tenant.jwkSetURL;
+			creationTime = tenant.creationTime;
+			lastAccessTime = tenant.lastAccessTime;
+			requestCount = tenant.requestCount.get();
+			retrievalCount = tenant.retrievalCount.get();
+			retrievalFailureCount = tenant.retrievalFailureCount.get();
+		}
+		
+		
+		/**
+		 * Returns the issuer of the tenant.
+		 *
+		 * @return The issuer.
+		 */
+		public String getIssuer() {
+			return issuer;
+		}
+		
+		
+		/**
+		 * Returns the JWK set URL of the tenant.
+		 *
+		 * @return The JWK set URL.
+		 */
+		public URL getJWKSetURL() {
+			return jwkSetURL;
+		}
+		
+		
+		/**
+		 * Returns the creation time of the JWK source.
+		 *
+		 * @return The creation time, in milliseconds since the Unix
+		 *         epoch.
+		 */
+		public long getCreationTime() {
+			return creationTime;
+		}
+		
+		
+		/**
+		 * Returns the time of the last request to the JWK source.
+		 *
+		 * @return The last access time, in milliseconds since the Unix
+		 *         epoch.
+		 */
+		public long getLastAccessTime() {
+			return lastAccessTime;
+		}
+		
+		
+		/**
+		 * Returns the number of key requests to the JWK source.
+		 *
+		 * @return The request count.
+		 */
+		public long getRequestCount() {
+			return requestCount;
+		}
+		
+		
+		/**
+		 * Returns the number of JWK set retrievals from the URL.
+		 *
+		 * @return The retrieval count, including the failed ones.
+		 */
+		public long getRetrievalCount() {
+			return retrievalCount;
+		}
+		
+		
+		/**
+		 * Returns the number of failed JWK set retrievals from the URL.
+		 *
+		 * @return The failed retrieval count.
+		 */
+		public long getRetrievalFailureCount() {
+			return retrievalFailureCount;
+		}
+	}
+	
+	
+	/**
+	 * The active JWK source of a tenant.
+	 */
+	private final class Tenant implements JWKSource<C> {
+		
+		
+		private final String issuer;
+		
+		private final URL jwkSetURL;
+		
+		private final long creationTime;
+		
+		private volatile long lastAccessTime;
+		
+		private final AtomicLong requestCount = new AtomicLong();
+		
+		private final AtomicLong retrievalCount = new AtomicLong();
+		
+		private final AtomicLong retrievalFailureCount = new AtomicLong();
+		
+		private final JWKSetBasedJWKSource<C> jwkSource;
+		
+		
+		private Tenant(final String issuer, final URL jwkSetURL, final long now) {
+			
+			this.issuer = issuer;
+			this.jwkSetURL = jwkSetURL;
+			creationTime = now;
+			lastAccessTime = now;
+			
+			JWKSetSource<C> source = new CountingJWKSetSource<>(
+				new URLBasedJWKSetSource<C>(jwkSetURL, resourceRetriever),
+				retrievalCount,
+				retrievalFailureCount);
+			
+			JWKSourceBuilder<C> builder = JWKSourceBuilder.create(source)
+				.cache(cacheTimeToLive, cacheRefreshTimeout);
+			
+			if (refreshScheduler != null) {
+				builder.refreshAheadCache(refreshAheadTime, true)
+					.refreshScheduler(refreshScheduler);
+			} else if (refreshAhead) {
+				builder.refreshAheadCache(refreshAheadTime, false)
+					.refreshAheadExecutor(executorService);
+			} else {
+				builder.refreshAheadCache(false);
+			}
+			
+			jwkSource = (JWKSetBasedJWKSource<C>) builder.build();
+		}
+		
+		
+		@Override
+		public List<JWK> get(final JWKSelector jwkSelector, final C context)
+			throws KeySourceException {
+			
+			requestCount.incrementAndGet();
+			long now = System.currentTimeMillis();
+			if (now - lastAccessTime >= ACCESS_ORDER_RESOLUTION) {
+				touch(this);
+			}
+			lastAccessTime = now;
+			return jwkSource.get(jwkSelector, context);
+		}
+	}
+	
+	
+	/**
+	 * Counts the JWK set retrievals of a tenant.
+	 */
+	private static final class CountingJWKSetSource<C extends SecurityContext> extends JWKSetSourceWrapper<C> {
+		
+		
+		private final AtomicLong retrievalCount;
+		
+		private final AtomicLong retrievalFailureCount;
+		
+		
+		private CountingJWKSetSource(final JWKSetSource<C> source,
+					     final AtomicLong retrievalCount,
+					     final AtomicLong retrievalFailureCount) {
+			super(source);
+			this.retrievalCount = retrievalCount;
+			this.retrievalFailureCount = retrievalFailureCount;
+		}
+		
+		
+		@Override
+		public JWKSet getJWKSet(final JWKSetCacheRefreshEvaluator refreshEvaluator, final long currentTime, final C context)
+			throws KeySourceException {
+			
+			retrievalCount.incrementAndGet();
+			try {
+				return getSource().getJWKSet(refreshEvaluator, currentTime, context);
+			} catch (KeySourceException | RuntimeException e) {
+				retrievalFailureCount.incrementAndGet();
+				throw e;
+			}
+		}
+	}
+	
+	
+	private final ResourceRetriever resourceRetriever;
+	
+	private final long cacheTimeToLive;
+	
+	private final long cacheRefreshTimeout;
+	
+	private final boolean refreshAhead;
+	
+	private final long refreshAheadTime;
+	
+	private final int maxSize;
+	
+	private final long maxIdleTime;
+	
+	private final ExecutorService executorService;
+	
+	private final JWKSetRefreshScheduler refreshScheduler;
+	
+	private final boolean closeRefreshOnClose;
+	
+	// issuer -> JWK set URL
+	private final ConcurrentHashMap<String, URL> registrations = new ConcurrentHashMap<>();
+	
+	// issuer -> active JWK source
+	private final ConcurrentHashMap<String, Tenant> tenants = new ConcurrentHashMap<>();
+	
+	// issuer -> active JWK source, least recently used first, guarded
+	// by itself
+	private final LinkedHashMap<String, Tenant> accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+	
+	private final AtomicLong evictionCount = new AtomicLong();
+	
+	private volatile long lastIdlePurge;
+	
+	private volatile ScheduledFuture<?> idleSweep;
+	
+	private volatile boolean closed = false;
+	
+	
+	/**
+	 * Creates a new JWK source registry.
+	 *
+	 * @param builder The builder.
+	 */
+	private JWKSourceRegistry(final Builder<C> builder) {
+		
+		if (builder.resourceRetriever != null) {
+			resourceRetriever = builder.resourceRetriever;
+		} else {
+			resourceRetriever = new DefaultResourceRetriever(
+				JWKSourceBuilder.DEFAULT_HTTP_CONNECT_TIMEOUT,
+				JWKSourceBuilder.DEFAULT_HTTP_READ_TIMEOUT,
+				JWKSourceBuilder.DEFAULT_HTTP_SIZE_LIMIT);
+		}
+		cacheTimeToLive = builder.cacheTimeToLive;
+		cacheRefreshTimeout = builder.cacheRefreshTimeout;
+		refreshAhead = builder.refreshAhead;
+		refreshAheadTime = builder.refreshAheadTime;
+		maxSize = builder.maxSize;
+		maxIdleTime = builder.maxIdleTime;
+		
+		if (! refreshAhead) {
+			executorService = null;
+			refreshScheduler = null;
+			closeRefreshOnClose = false;
+		} else if (builder.executorService != null) {
+			executorService = builder.executorService;
+			refreshScheduler = null;
+			closeRefreshOnClose = false;
+		} else if (builder.refreshScheduler != null) {
+			refreshScheduler = builder.refreshScheduler;
+			executorService = refreshScheduler.getExecutorService();
+			closeRefreshOnClose = false;
+		} else {
+			refreshScheduler = new JWKSetRefreshScheduler(
+				DEFAULT_REFRESH_THREADS,
+				false,
+				JWKSetRefreshScheduler.DEFAULT_MAX_JITTER);
+			executorService = refreshScheduler.getExecutorService();
+			closeRefreshOnClose = true;
+		}
+		
+		lastIdlePurge = System.currentTimeMillis();
+		
+		scheduleIdleSweep();
+	}
+	
+	
+	/**
+	 * Schedules the next sweep of the idle JWK sources with the refresh
+	 * scheduler, if any.
+	 */
+	private void scheduleIdleSweep() {
+		
+		if (refreshScheduler == null || closed) {
+			return;
+		}
+		
+		try {
+			idleSweep = refreshScheduler.schedule(new Runnable() {
+				@Override
+				public void run() {
+					long now = System.currentTimeMillis();
+					lastIdlePurge = now;
+					purgeIdle(now);
+					scheduleIdleSweep();
+				}
+			}, Math.max(1L, maxIdleTime / 2));
+		} catch (RejectedExecutionException e) {
+			// Scheduler closed
+		}
+	}
+	
+	
+	/**
+	 * Registers a tenant. Replaces the JWK set URL of an already
+	 * registered tenant, evicting its active JWK source.
+	 *
+	 * @param issuer    The issuer of the tenant. Must not be
+	 *                  {@code null}.
+	 * @param jwkSetURL The JWK set URL of the tenant. Must not be
+	 *                  {@code null}.
+	 */
+	public void register(final String issuer, final URL jwkSetURL) {
+		Objects.requireNonNull(issuer, "The issuer must not be null");
+		Objects.requireNonNull(jwkSetURL, "The JWK set URL must not be null");
+		URL previous = registrations.put(issuer, jwkSetURL);
+		if (previous != null && ! previous.toString().equals(jwkSetURL.toString())) {
+			evict(issuer);
+		}
+	}
+	
+	
+	/**
+	 * Unregisters a tenant, closing its active JWK source.
+	 *
+	 * @param issuer The issuer of the tenant. Must not be {@code null}.
+	 */
+	public void unregister(final String issuer) {
+		registrations.remove(issuer);
+		evict(issuer);
+	}
+	
+	
+	/**
+	 * Returns the issuers of the registered tenants.
+	 *
+	 * @return The issuers.
+	 */
+	public Set<String> getRegisteredIssuers() {
+		return Collections.unmodifiableSet(registrations.keySet());
+	}
+	
+	
+	/**
+	 * Returns the JWK source of the specified tenant, creating it if not
+	 * active.
+	 *
+	 * @param issuer The issuer of the tenant, {@code null} if not
+	 *               specified.
+	 *
+	 * @return The JWK source, {@code null} if the tenant isn't
+	 *         registered.
+	 */
+	public JWKSource<C> getJWKSource(final String issuer) {
+		
+		if (issuer == null) {
+			return null;
+		}
+		
+		long now = System.currentTimeMillis();
+		
+		if (now - lastIdlePurge >= maxIdleTime / 2) {
+			lastIdlePurge = now;
+			purgeIdle(now);
+		}
+		
+		Tenant tenant = tenants.get(issuer);
+		
+		if (tenant != null) {
+			return tenant;
+		}
+		
+		URL jwkSetURL = registrations.get(issuer);
+		
+		if (jwkSetURL == null) {
+			return null;
+		}
+		
+		Tenant newTenant = new Tenant(issuer, jwkSetURL, now);
+		
+		tenant = tenants.putIfAbsent(issuer, newTenant);
+		
+		if (tenant != null) {
+			// Lost the race to another thread
+			closeQuietly(newTenant);
+			return tenant;
+		}
+		
+		synchronized (accessOrder) {
+			accessOrder.put(issuer, newTenant);
+		}
+		
+		evictLeastRecentlyUsed();
+		
+		return newTenant;
+	}
+	
+	
+	/**
+	 * Moves the specified JWK source to the most recently used end of the
+	 * access order.
+	 *
+	 * @param tenant The active JWK source of the tenant.
+	 */
+	private void touch(final Tenant tenant) {
+		
+		synchronized (accessOrder) {
+			// Moves the entry, if not evicted
+			accessOrder.get(tenant.issuer);
+		}
+	}
+	
+	
+	/**
+	 * Evicts the least recently used JWK sources in excess of the
+	 * maximum size.
+	 */
+	private void evictLeastRecentlyUsed() {
+		
+		while (tenants.size() > maxSize) {
+			
+			Tenant lru;
+			synchronized (accessOrder) {
+				Iterator<Tenant> it = accessOrder.values().iterator();
+				lru = it.hasNext() ? it.next() : null;
+			}
+			
+			if (lru == null) {
+				return;
+			}
+			
+			evict(lru);
+		}
+	}
+	
+	
+	/**
+	 * Evicts the JWK sources idle for longer than the maximum idle time,
+	 * going through them from the least recently used.
+	 *
+	 * @param now The current time, in milliseconds since the Unix epoch.
+	 */
+	private void purgeIdle(final long now) {
+		
+		List<Tenant> idle = new ArrayList<>();
+		
+		synchronized (accessOrder) {
+			for (Tenant tenant: accessOrder.values()) {
+				if (now - tenant.lastAccessTime <= maxIdleTime) {
+					break;
+				}
+				idle.add(tenant);
+			}
+		}
+		
+		for (Tenant tenant: idle) {
+			evict(tenant);
+		}
+	}
+	
+	
+	/**
+	 * Evicts the active JWK source of the specified tenant.
+	 *
+	 * @param issuer The issuer of the tenant.
+	 */
+	private void evict(final String issuer) {
+		
+		Tenant tenant = tenants.get(issuer);
+		
+		if (tenant != null) {
+			evict(tenant);
+		}
+	}
+	
+	
+	/**
+	 * Evicts the specified active JWK source.
+	 *
+	 * @param tenant The active JWK source of the tenant.
+	 */
+	private void evict(final Tenant tenant) {
+		
+		synchronized (accessOrder) {
+			if (accessOrder.get(tenant.issuer) == tenant) {
+				accessOrder.remove(tenant.issuer);
+			}
+		}
+		
+		if (tenants.remove(tenant.issuer, tenant)) {
+			evictionCount.incrementAndGet();
+			closeQuietly(tenant);
+		}
+	}
+	
+	
+	/**
+	 * Closes the specified JWK source, ignoring exceptions.
+	 *
+	 * @param tenant The active JWK source of the tenant.
+	 */
+	private static void closeQuietly(final JWKSourceRegistry<?>.Tenant tenant) {
+		
+		try {
+			tenant.jwkSource.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+	
+	
+	/**
+	 * Returns the statistics of the active JWK source of the specified
+	 * tenant.
+	 *
+	 * @param issuer The issuer of the tenant.
+	 *
+	 * @return The statistics, {@code null} if the tenant has no active
+	 *         JWK source.
+	 */
+	public TenantStats getStats(final String issuer) {
+		
+		Tenant tenant = tenants.get(issuer);
+		return tenant != null ? new TenantStats(tenant) : null;
+	}
+	
+	
+	/**
+	 * Returns the statistics of the active JWK sources.
+	 *
+	 * @return The statistics, keyed by issuer.
+	 */
+	public Map<String, TenantStats> getStats() {
+		
+		Map<String, TenantStats> stats = new HashMap<>();
+		for (Tenant tenant: tenants.values()) {
+			stats.put(tenant.issuer, new TenantStats(tenant));
+		}
+		return stats;
+	}
+	
+	
+	/**
+	 * Returns the number of active JWK sources.
+	 *
+	 * @return The number of active JWK sources.
+	 */
+	public int size() {
+		return tenants.size();
+	}
+	
+	
+	/**
+	 * Returns the number of evicted JWK sources since the registry was
+	 * created.
+	 *
+	 * @return The eviction count.
+	 */
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+	
+	
+	/**
+	 * Returns the maximum number of active JWK sources.
+	 *
+	 * @return The maximum number of active JWK sources.
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+	
+	
+	/**
+	 * Returns the maximum idle time of a JWK source before eviction.
+	 *
+	 * @return The maximum idle time, in milliseconds.
+	 */
+	public long getMaxIdleTime() {
+		return maxIdleTime;
+	}
+	
+	
+	/**
+	 * Returns the executor service for the refresh-ahead updates, shared
+	 * by the JWK sources.
+	 *
+	 * @return The executor service, {@code null} if refresh-ahead caching
+	 *         is disabled.
+	 */
+	public ExecutorService getExecutorService() {
+		return executorService;
+	}
+	
+	
+	/**
+	 * Returns the scheduler for the refresh-ahead updates, shared by the
+	 * JWK sources.
+	 *
+	 * @return The refresh scheduler, {@code null} if refresh-ahead
+	 *         caching is disabled or an executor service is set.
+	 */
+	public JWKSetRefreshScheduler getRefreshScheduler() {
+		return refreshScheduler;
+	}
+	
+	
+	/**
+	 * Closes the active JWK sources and, if created by the registry, the
+	 * refresh scheduler. The tenants remain registered.
+	 */
+	@Override
+	public void close() {
+		
+		closed = true;
+		
+		ScheduledFuture<?> sweep = idleSweep;
+		if (sweep != null) {
+			sweep.cancel(false);
+		}
+		
+		synchronized (accessOrder) {
+			accessOrder.clear();
+		}
+		
+		for (Tenant tenant: tenants.values()) {
+			if (tenants.remove(tenant.issuer, tenant)) {
+				closeQuietly(tenant);
+			}
+		}
+		
+		if (closeRefreshOnClose) {
+			refreshScheduler.close();
+		}
+	}
+}
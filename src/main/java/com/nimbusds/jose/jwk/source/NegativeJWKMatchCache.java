@@ -0,0 +1,286 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.jwk.source;
+
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.jcip.annotations.ThreadSafe;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.util.Base64URL;
+
+
+/**
+ * Bounded negative cache of key IDs ("kid") and X.509 certificate SHA-256
+ * thumbprints ("x5t#S256") which were not found in a JWK set, even after a
+ * refresh. Lets {@link JWKSetBasedJWKSource} answer repeated requests for
+ * unknown keys without forcing another JWK set refresh.
+ *
+ * <p>An entry is valid for the JWK set instance in which the key was missed,
+ * up to the configured time-to-live. Entries become invalid as soon as
+ * another JWK set is retrieved.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@ThreadSafe
+class NegativeJWKMatchCache {
+	
+	
+	/**
+	 * Negative cache entry.
+	 */
+	private static final class Entry {
+		
+		
+		/**
+		 * The JWK set in which the key was missed.
+		 */
+		private final JWKSet jwkSet;
+		
+		
+		/**
+		 * The entry expiration time, in milliseconds since the Unix
+		 * epoch.
+		 */
+		private final long expirationTime;
+		
+		
+		private Entry(final JWKSet jwkSet, final long expirationTime) {
+			this.jwkSet = jwkSet;
+			this.expirationTime = expirationTime;
+		}
+		
+		
+		private boolean isValid(final JWKSet jwkSet, final long currentTime) {
+			return this.jwkSet == jwkSet && currentTime < expirationTime;
+		}
+	}
+	
+	
+	/**
+	 * The entries.
+	 */
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	
+	
+	/**
+	 * The time-to-live of the entries, in milliseconds.
+	 */
+	private final long timeToLive;
+	
+	
+	/**
+	 * The maximum number of entries.
+	 */
+	private final int maxSize;
+	
+	
+	/**
+	 * Creates a new negative JWK match cache.
+	 *
+	 * @param timeToLive The time-to-live of the entries, in
+	 *                   milliseconds. Must be positive.
+	 * @param maxSize    The maximum number of entries. Must be positive.
+	 */
+	NegativeJWKMatchCache(final long timeToLive, final int maxSize) {
+		if (timeToLive <= 0) {
+			throw new IllegalArgumentException("The negative cache time-to-live must be positive");
+		}
+		this.timeToLive = timeToLive;
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("The negative cache max size must be positive");
+		}
+		this.maxSize = maxSize;
+	}
+	
+	
+	/**
+	 * Returns the time-to-live of the entries.
+	 *
+	 * @return The time-to-live, in milliseconds.
+	 */
+	long getTimeToLive() {
+		return timeToLive;
+	}
+	
+	
+	/**
+	 * Returns the maximum number of entries.
+	 *
+	 * @return The maximum number of entries.
+	 */
+	int getMaxSize() {
+		return maxSize;
+	}
+	
+	
+	/**
+	 * Returns the current number of entries.
+	 *
+	 * @return The number of entries.
+	 */
+	int size() {
+		return entries.size();
+	}
+	
+	
+	/**
+	 * Returns {@code true} if all key IDs, else all X.509 certificate
+	 * SHA-256 thumbprints, of the specified matcher were recently missed
+	 * in the specified JWK set.
+	 *
+	 * @param matcher     The JWK matcher. Must not be {@code null}.
+	 * @param jwkSet      The current JWK set. Must not be {@code null}.
+	 * @param currentTime The current time, in milliseconds since the Unix
+	 *                    epoch.
+	 *
+	 * @return {@code true} if a known miss, else {@code false}.
+	 */
+	boolean isKnownMiss(final JWKMatcher matcher, final JWKSet jwkSet, final long currentTime) {
+		
+		List<String> keys = toCacheKeys(matcher);
+		
+		if (keys == null) {
+			return false;
+		}
+		
+		for (String key: keys) {
+			Entry entry = entries.get(key);
+			if (entry == null || ! entry.isValid(jwkSet, currentTime)) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	
+	/**
+	 * Records a miss of the specified matcher in a refreshed JWK set. The
+	 * miss is recorded only if none of the matcher key IDs, else X.509
+	 * certificate SHA-256 thumbprints, is present in the JWK set, i.e.
+	 * the miss isn't caused by the other matcher criteria.
+	 *
+	 * @param matcher     The JWK matcher. Must not be {@code null}.
+	 * @param jwkSet      The refreshed JWK set. Must not be {@code null}.
+	 * @param currentTime The current time, in milliseconds since the Unix
+	 *                    epoch.
+	 */
+	void recordMiss(final JWKMatcher matcher, final JWKSet jwkSet, final long currentTime) {
+		
+		List<String> keys = toCacheKeys(matcher);
+		
+		if (keys == null) {
+			return;
+		}
+		
+		for (JWK jwk: jwkSet.getKeys()) {
+			if (jwk.getKeyID() != null && keys.contains(toKeyIDCacheKey(jwk.getKeyID()))) {
+				return;
+			}
+			if (jwk.getX509CertSHA256Thumbprint() != null && keys.contains(toThumbprintCacheKey(jwk.getX509CertSHA256Thumbprint()))) {
+				return;
+			}
+		}
+		
+		if (entries.size() + keys.size() > maxSize) {
+			purge(jwkSet, currentTime);
+		}
+		
+		if (entries.size() + keys.size() > maxSize) {
+			// Still full, start over
+			entries.clear();
+		}
+		
+		Entry entry = new Entry(jwkSet, currentTime + timeToLive);
+		
+		for (String key: keys) {
+			entries.put(key, entry);
+		}
+	}
+	
+	
+	/**
+	 * Removes the entries which are no longer valid.
+	 *
+	 * @param jwkSet      The current JWK set.
+	 * @param currentTime The current time, in milliseconds since the Unix
+	 *                    epoch.
+	 */
+	private void purge(final JWKSet jwkSet, final long currentTime) {
+		
+		for (Map.Entry<String, Entry> en: entries.entrySet()) {
+			if (! en.getValue().isValid(jwkSet, currentTime)) {
+				entries.remove(en.getKey());
+			}
+		}
+	}
+	
+	
+	/**
+	 * Returns the cache keys for the specified matcher.
+	 *
+	 * @param matcher The JWK matcher.
+	 *
+	 * @return The cache keys for the key IDs of the matcher, else for its
+	 *         X.509 certificate SHA-256 thumbprints, {@code null} if
+	 *         neither is specified.
+	 */
+	private static List<String> toCacheKeys(final JWKMatcher matcher) {
+		
+		Set<String> keyIDs = matcher.getKeyIDs();
+		
+		if (keyIDs != null && ! keyIDs.isEmpty() && ! keyIDs.contains(null)) {
+			List<String> keys = new LinkedList<>();
+			for (String keyID: keyIDs) {
+				keys.add(toKeyIDCacheKey(keyID));
+			}
+			return keys;
+		}
+		
+		Set<Base64URL> thumbprints = matcher.getX509CertSHA256Thumbprints();
+		
+		if (thumbprints != null && ! thumbprints.isEmpty() && ! thumbprints.contains(null)) {
+			List<String> keys = new LinkedList<>();
+			for (Base64URL thumbprint: thumbprints) {
+				keys.add(toThumbprintCacheKey(thumbprint));
+			}
+			return keys;
+		}
+		
+		return null;
+	}
+	
+	
+	private static String toKeyIDCacheKey(final String keyID) {
+		return "kid:" + keyID;
+	}
+	
+	
+	private static String toThumbprintCacheKey(final Base64URL thumbprint) {
+		return "x5t#S256:" + thumbprint;
+	}
+}
@@ -34,9 +34,10 @@ import com.nimbusds.jose.util.events.EventListener;
 
 /**
  * Caching {@linkplain JWKSetSource} that refreshes the JWK set prior to its
- * expiration. The updates run on a separate, dedicated thread. Updates can be
- * repeatedly scheduled, or (lazily) triggered by incoming requests for the JWK
- * set.
+ * expiration. The updates run on a separate, dedicated thread, or with a
+ * {@linkplain JWKSetRefreshScheduler refresh scheduler} shared between many
+ * sources. Updates can be repeatedly scheduled, or (lazily) triggered by
+ * incoming requests for the JWK set.
  *
  * <p>This class is intended for uninterrupted operation under high-load, to
  * avoid a potentially large number of threads blocking when the cache expires
@@ -44,7 +45,7 @@ import com.nimbusds.jose.util.events.EventListener;
  *
  * @author Thomas Rørvik Skjølberg
  * @author Vladimir Dzhuvinov
- * @version 2022-11-22
+ * @version 2026-10-15
  */
 @ThreadSafe
 public class RefreshAheadCachingJWKSetSource<C extends SecurityContext> extends CachingJWKSetSource<C> {
@@ -154,6 +155,8 @@ public class RefreshAheadCachingJWKSetSource<C extends SecurityContext> extends
 	private final ExecutorService executorService;
 	private final boolean shutdownExecutorOnClose;
 	private final ScheduledExecutorService scheduledExecutorService;
+	private final boolean scheduled;
+	private final JWKSetRefreshScheduler refreshScheduler;
 	
 	// cache expiration time (in milliseconds) used as fingerprint
 	private volatile long cacheExpiration;
@@ -223,13 +226,209 @@ public class RefreshAheadCachingJWKSetSource<C extends SecurityContext> extends
 					       final boolean shutdownExecutorOnClose,
 					       final EventListener<CachingJWKSetSource<C>, C> eventListener) {
 		
-		super(source, timeToLive, cacheRefreshTimeout, eventListener);
+		this(source, timeToLive, cacheRefreshTimeout, refreshAheadTime,
+			scheduled, executorService, shutdownExecutorOnClose,
+			false, eventListener);
+	}
+	
+
+	/**
+	 * Creates a new refresh-ahead caching JWK set source with the
+	 * specified executor service to run the updates in the background.
+	 *
+	 * @param source	          The JWK set source to decorate. Must
+	 *                                not be {@code null}.
+	 * @param timeToLive              The time to live of the cached JWK
+	 *                                set, in milliseconds.
+	 * @param cacheRefreshTimeout     The cache refresh timeout, in
+	 *                                milliseconds.
+	 * @param refreshAheadTime        The refresh ahead time, in
+	 *                                milliseconds.
+	 * @param scheduled               {@code true} to refresh in a
+	 *                                scheduled manner, regardless of
+	 *                                requests.
+	 * @param executorService         The executor service to run the
+	 *                                updates in the background.
+	 * @param shutdownExecutorOnClose If {@code true} the executor service
+	 *                                will be shut down upon closing the
+	 *                                source.
+	 * @param singleFlightRefresh     {@code true} to refresh the JWK set
+	 *                                in single-flight mode, serving the
+	 *                                expired JWK set while the refresh is
+	 *                                in progress, {@code false} to
+	 *                                coordinate the refreshes with a
+	 *                                lock.
+	 * @param eventListener           The event listener, {@code null} if
+	 *                                not specified.
+	 */
+	public RefreshAheadCachingJWKSetSource(final JWKSetSource<C> source,
+					       final long timeToLive,
+					       final long cacheRefreshTimeout,
+					       final long refreshAheadTime,
+					       final boolean scheduled,
+					       final ExecutorService executorService,
+					       final boolean shutdownExecutorOnClose,
+					       final boolean singleFlightRefresh,
+					       final EventListener<CachingJWKSetSource<C>, C> eventListener) {
+		
+		this(source, timeToLive, cacheRefreshTimeout, refreshAheadTime,
+			scheduled, executorService, shutdownExecutorOnClose,
+			singleFlightRefresh, -1L, -1L, eventListener);
+	}
+	
+
+	/**
+	 * Creates a new refresh-ahead caching JWK set source with the
+	 * specified executor service to run the updates in the background.
+	 *
+	 * @param source	            The JWK set source to decorate.
+	 *                                  Must not be {@code null}.
+	 * @param timeToLive                The time to live of the cached JWK
+	 *                                  set, in milliseconds, if not
+	 *                                  specified by the HTTP caching
+	 *                                  headers.
+	 * @param cacheRefreshTimeout       The cache refresh timeout, in
+	 *                                  milliseconds.
+	 * @param refreshAheadTime          The refresh ahead time, in
+	 *                                  milliseconds.
+	 * @param scheduled                 {@code true} to refresh in a
+	 *                                  scheduled manner, regardless of
+	 *                                  requests.
+	 * @param executorService           The executor service to run the
+	 *                                  updates in the background.
+	 * @param shutdownExecutorOnClose   If {@code true} the executor
+	 *                                  service will be shut down upon
+	 *                                  closing the source.
+	 * @param singleFlightRefresh       {@code true} to refresh the JWK
+	 *                                  set in single-flight mode, serving
+	 *                                  the expired JWK set while the
+	 *                                  refresh is in progress,
+	 *                                  {@code false} to coordinate the
+	 *                                  refreshes with a lock.
+	 * @param cacheControlMinTimeToLive The minimum time to live derived
+	 *                                  from the HTTP {@code Cache-Control}
+	 *                                  and {@code Expires} headers, in
+	 *                                  milliseconds, -1 if the headers
+	 *                                  are not honoured.
+	 * @param cacheControlMaxTimeToLive The maximum time to live derived
+	 *                                  from the HTTP {@code Cache-Control}
+	 *                                  and {@code Expires} headers, in
+	 *                                  milliseconds, -1 if the headers
+	 *                                  are not honoured.
+	 * @param eventListener             The event listener, {@code null}
+	 *                                  if not specified.
+	 */
+	public RefreshAheadCachingJWKSetSource(final JWKSetSource<C> source,
+					       final long timeToLive,
+					       final long cacheRefreshTimeout,
+					       final long refreshAheadTime,
+					       final boolean scheduled,
+					       final ExecutorService executorService,
+					       final boolean shutdownExecutorOnClose,
+					       final boolean singleFlightRefresh,
+					       final long cacheControlMinTimeToLive,
+					       final long cacheControlMaxTimeToLive,
+					       final EventListener<CachingJWKSetSource<C>, C> eventListener) {
+		
+		this(source, timeToLive, cacheRefreshTimeout, refreshAheadTime,
+			scheduled, executorService, shutdownExecutorOnClose, null,
+			singleFlightRefresh, cacheControlMinTimeToLive,
+			cacheControlMaxTimeToLive, eventListener);
+	}
+	
+
+	/**
+	 * Creates a new refresh-ahead caching JWK set source with the
+	 * specified shared refresh scheduler to run the updates in the
+	 * background.
+	 *
+	 * @param source	            The JWK set source to decorate.
+	 *                                  Must not be {@code null}.
+	 * @param timeToLive                The time to live of the cached JWK
+	 *                                  set, in milliseconds, if not
+	 *                                  specified by the HTTP caching
+	 *                                  headers.
+	 * @param cacheRefreshTimeout       The cache refresh timeout, in
+	 *                                  milliseconds.
+	 * @param refreshAheadTime          The refresh ahead time, in
+	 *                                  milliseconds.
+	 * @param scheduled                 {@code true} to refresh in a
+	 *                                  scheduled manner, regardless of
+	 *                                  requests.
+	 * @param refreshScheduler          The shared refresh scheduler. Must
+	 *                                  not be {@code null}. Is not closed
+	 *                                  upon closing the source.
+	 * @param singleFlightRefresh       {@code true} to refresh the JWK
+	 *                                  set in single-flight mode, serving
+	 *                                  the expired JWK set while the
+	 *                                  refresh is in progress,
+	 *                                  {@code false} to coordinate the
+	 *                                  refreshes with a lock.
+	 * @param cacheControlMinTimeToLive The minimum time to live derived
+	 *                                  from the HTTP {@code Cache-Control}
+	 *                                  and {@code Expires} headers, in
+	 *                                  milliseconds, -1 if the headers
+	 *                                  are not honoured.
+	 * @param cacheControlMaxTimeToLive The maximum time to live derived
+	 *                                  from the HTTP {@code Cache-Control}
+	 *                                  and {@code Expires} headers, in
+	 *                                  milliseconds, -1 if the headers
+	 *                                  are not honoured.
+	 * @param eventListener             The event listener, {@code null}
+	 *                                  if not specified.
+	 */
+	public RefreshAheadCachingJWKSetSource(final JWKSetSource<C> source,
+					       final long timeToLive,
+					       final long cacheRefreshTimeout,
+					       final long refreshAheadTime,
+					       final boolean scheduled,
+					       final JWKSetRefreshScheduler refreshScheduler,
+					       final boolean singleFlightRefresh,
+					       final long cacheControlMinTimeToLive,
+					       final long cacheControlMaxTimeToLive,
+					       final EventListener<CachingJWKSetSource<C>, C> eventListener) {
+		
+		this(source, timeToLive, cacheRefreshTimeout, refreshAheadTime,
+			scheduled, getExecutorService(refreshScheduler), false,
+			refreshScheduler, singleFlightRefresh,
+			cacheControlMinTimeToLive, cacheControlMaxTimeToLive,
+			eventListener);
+	}
+	
+	
+	private static ExecutorService getExecutorService(final JWKSetRefreshScheduler refreshScheduler) {
+		Objects.requireNonNull(refreshScheduler, "The refresh scheduler must not be null");
+		return refreshScheduler.getExecutorService();
+	}
+	
+	
+	private RefreshAheadCachingJWKSetSource(final JWKSetSource<C> source,
+						final long timeToLive,
+						final long cacheRefreshTimeout,
+						final long refreshAheadTime,
+						final boolean scheduled,
+						final ExecutorService executorService,
+						final boolean shutdownExecutorOnClose,
+						final JWKSetRefreshScheduler refreshScheduler,
+						final boolean singleFlightRefresh,
+						final long cacheControlMinTimeToLive,
+						final long cacheControlMaxTimeToLive,
+						final EventListener<CachingJWKSetSource<C>, C> eventListener) {
+		
+		super(source, timeToLive, cacheRefreshTimeout, singleFlightRefresh,
+			cacheControlMinTimeToLive, cacheControlMaxTimeToLive, eventListener);
 
 		if (refreshAheadTime + cacheRefreshTimeout > timeToLive) {
 			throw new IllegalArgumentException("The sum of the refresh-ahead time (" + refreshAheadTime +"ms) " +
 				"and the cache refresh timeout (" + cacheRefreshTimeout +"ms) " +
 				"must not exceed the time-to-lived time (" + timeToLive + "ms)");
 		}
+		
+		if (isCacheControl() && refreshAheadTime + cacheRefreshTimeout > cacheControlMinTimeToLive) {
+			throw new IllegalArgumentException("The sum of the refresh-ahead time (" + refreshAheadTime +"ms) " +
+				"and the cache refresh timeout (" + cacheRefreshTimeout +"ms) " +
+				"must not exceed the Cache-Control min time-to-live (" + cacheControlMinTimeToLive + "ms)");
+		}
 
 		this.refreshAheadTime = refreshAheadTime;
 		
@@ -238,7 +437,10 @@ public class RefreshAheadCachingJWKSetSource<C extends SecurityContext> extends
 		
 		this.shutdownExecutorOnClose = shutdownExecutorOnClose;
 
-		if (scheduled) {
+		this.scheduled = scheduled;
+		this.refreshScheduler = refreshScheduler;
+
+		if (scheduled && refreshScheduler == null) {
 			scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
 		} else {
 			scheduledExecutorService = null;
@@ -261,7 +463,7 @@ public class RefreshAheadCachingJWKSetSource<C extends SecurityContext> extends
 		}		
 		
 		if (cache.isExpired(currentTime)) {
-			return loadJWKSetBlocking(JWKSetCacheRefreshEvaluator.referenceComparison(jwkSet), currentTime, context);
+			return refreshExpiredJWKSet(jwkSet, currentTime, context);
 		}
 		
 		refreshAheadOfExpiration(cache, false, currentTime, context);
@@ -275,7 +477,7 @@ public class RefreshAheadCachingJWKSetSource<C extends SecurityContext> extends
 		// Never run by two threads at the same time!
 		CachedObject<JWKSet> cache = super.loadJWKSetNotThreadSafe(refreshEvaluator, currentTime, context);
 
-		if (scheduledExecutorService != null) {
+		if (scheduled) {
 			scheduleRefreshAheadOfExpiration(cache, currentTime, context);
 		}
 
@@ -312,7 +514,11 @@ public class RefreshAheadCachingJWKSetSource<C extends SecurityContext> extends
 					}
 				}
 			};
-			this.scheduledRefreshFuture = scheduledExecutorService.schedule(command, delay, TimeUnit.MILLISECONDS);
+			if (refreshScheduler != null) {
+				this.scheduledRefreshFuture = refreshScheduler.schedule(command, delay);
+			} else {
+				this.scheduledRefreshFuture = scheduledExecutorService.schedule(command, delay, TimeUnit.MILLISECONDS);
+			}
 			
 			if (eventListener != null) {
 				eventListener.notify(new RefreshScheduledEvent<C>(this, context));
@@ -412,6 +618,17 @@ public class RefreshAheadCachingJWKSetSource<C extends SecurityContext> extends
 	public ExecutorService getExecutorService() {
 		return executorService;
 	}
+	
+	
+	/**
+	 * Returns the shared refresh scheduler.
+	 *
+	 * @return The refresh scheduler, {@code null} if the updates run on
+	 *         a dedicated executor service.
+	 */
+	public JWKSetRefreshScheduler getRefreshScheduler() {
+		return refreshScheduler;
+	}
 
 	
 	ReentrantLock getLazyLock() {
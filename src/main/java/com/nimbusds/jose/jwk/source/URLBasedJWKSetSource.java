@@ -20,6 +20,7 @@ package com.nimbusds.jose.jwk.source;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.Date;
 import java.util.Objects;
 
 import net.jcip.annotations.ThreadSafe;
@@ -35,15 +36,58 @@ import com.nimbusds.jose.util.ResourceRetriever;
  * JWK set source that loads the keys from a {@link URL}, without health status
  * reporting.
  *
+ * <p>If the retrieved content is unchanged since the last retrieval, for
+ * instance because a conditional HTTP GET returned 304 (Not Modified), the
+ * previously parsed keys are returned in a new JWK set instance, skipping the
+ * JSON parsing.
+ *
+ * <p>The last retrieved JWK set is recorded with its expiration time, as
+ * derived from the HTTP {@code Cache-Control} and {@code Expires} response
+ * headers, for use by a {@link CachingJWKSetSource} configured to honour
+ * them.
+ *
  * @author Thomas Rørvik Skjølberg
  * @author Vladimir Dzhuvinov
- * @version 2022-11-22
+ * @version 2026-10-15
  */
 @ThreadSafe
 public class URLBasedJWKSetSource<C extends SecurityContext> implements JWKSetSource<C> {
 	
 	private final URL url;
 	private final ResourceRetriever resourceRetriever;
+	
+	
+	/**
+	 * The last retrieved content and the JWK set parsed from it,
+	 * {@code null} if none.
+	 */
+	private volatile ParsedJWKSet lastParsed;
+	
+	
+	/**
+	 * The last retrieved JWK set with its expiration time, {@code null}
+	 * if none.
+	 */
+	private volatile JWKSetWithTimestamp lastRetrieved;
+	
+	
+	/**
+	 * JWK set with the content it was parsed from.
+	 */
+	private static final class ParsedJWKSet {
+		
+		
+		private final String content;
+		
+		
+		private final JWKSet jwkSet;
+		
+		
+		private ParsedJWKSet(final String content, final JWKSet jwkSet) {
+			this.content = content;
+			this.jwkSet = jwkSet;
+		}
+	}
 
 	
 	/**
@@ -71,18 +115,63 @@ public class URLBasedJWKSetSource<C extends SecurityContext> implements JWKSetSo
 			throw new JWKSetRetrievalException("Couldn't retrieve JWK set from URL: " + e.getMessage(), e);
 		}
 		
+		Date now = new Date();
+		
+		JWKSet jwkSet = parseJWKSet(resource.getContent());
+		
+		lastRetrieved = new JWKSetWithTimestamp(jwkSet, now, CacheControlHeaders.parseExpirationTime(resource, now));
+		
+		return jwkSet;
+	}
+	
+	
+	/**
+	 * Parses the specified JWK set content, unless unchanged since the
+	 * last retrieval.
+	 *
+	 * @param content The JWK set content.
+	 *
+	 * @return The JWK set, a new instance on each call.
+	 *
+	 * @throws JWKSetParseException If parsing failed.
+	 */
+	private JWKSet parseJWKSet(final String content)
+		throws JWKSetParseException {
+		
+		ParsedJWKSet last = lastParsed;
+		
+		if (last != null && content != null && content.equals(last.content)) {
+			// Unchanged content, return a new instance to let the
+			// cache refresh evaluators detect the completed retrieval
+			return new JWKSet(last.jwkSet.getKeys(), last.jwkSet.getAdditionalMembers());
+		}
+		
+		JWKSet jwkSet;
 		try {
 			// Note on error handling: We want to avoid any generic HTML document
 			// (i.e. default HTTP error pages) and other invalid responses being accepted
 			// as an empty list of JWKs. This is handled by the underlying parser;
 			// it checks that the transferred document is in fact a JSON document,
 			// and that the "keys" field is present.
-			return JWKSet.parse(resource.getContent());
+			jwkSet = JWKSet.parse(content);
 			
 		} catch (Exception e) {
 			// Guard against unexpected exceptions
 			throw new JWKSetParseException("Unable to parse JWK set", e);
 		}
+		
+		lastParsed = new ParsedJWKSet(content, jwkSet);
+		return jwkSet;
+	}
+	
+	
+	/**
+	 * Returns the last retrieved JWK set with its expiration time.
+	 *
+	 * @return The last retrieved JWK set, {@code null} if none.
+	 */
+	JWKSetWithTimestamp getLastRetrievedJWKSet() {
+		return lastRetrieved;
 	}
 	
 	
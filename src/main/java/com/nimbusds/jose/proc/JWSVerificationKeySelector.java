@@ -19,12 +19,9 @@ package com.nimbusds.jose.proc;
 
 
 import java.security.Key;
-import java.security.PublicKey;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
-import javax.crypto.SecretKey;
 
 import net.jcip.annotations.ThreadSafe;
 
@@ -34,7 +31,6 @@ import com.nimbusds.jose.KeySourceException;
 import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKMatcher;
 import com.nimbusds.jose.jwk.JWKSelector;
-import com.nimbusds.jose.jwk.KeyConverter;
 import com.nimbusds.jose.jwk.source.JWKSource;
 
 
@@ -42,9 +38,14 @@ import com.nimbusds.jose.jwk.source.JWKSource;
  * Key selector for verifying JWS objects, where the key candidates are
  * retrieved from a {@link JWKSource JSON Web Key (JWK) source}.
  *
+ * <p>The Java keys converted from the selected JWKs are cached by JWK
+ * instance, so that repeated selections from the same JWK set don't repeat
+ * the conversion. A refreshed JWK set yields new JWK instances and hence new
+ * conversions.
+ *
  * @author Vladimir Dzhuvinov
  * @author Marco Vermeulen
- * @version 2020-06-02
+ * @version 2026-10-15
  */
 @ThreadSafe
 public class JWSVerificationKeySelector<C extends SecurityContext> extends AbstractJWKSelectorWithSource<C> implements JWSKeySelector<C> {
@@ -60,6 +61,11 @@ public class JWSVerificationKeySelector<C extends SecurityContext> extends Abstr
 	 */
 	private final boolean singleJwsAlgConstructorWasCalled;
 
+	/**
+	 * The JWK to Java key conversion cache.
+	 */
+	private final KeyConversionCache keyConversionCache = new KeyConversionCache(KeyConversionCache.DEFAULT_MAX_SIZE);
+
 	/**
 	 * Creates a new JWS verification key selector.
 	 *
@@ -156,14 +162,24 @@ public class JWSVerificationKeySelector<C extends SecurityContext> extends Abstr
 
 		List<JWK> jwkMatches = getJWKSource().get(new JWKSelector(jwkMatcher), context);
 
-		List<Key> sanitizedKeyList = new LinkedList<>();
+		return toJWSKeys(jwkMatches);
+	}
 
-		for (Key key: KeyConverter.toJavaKeys(jwkMatches)) {
-			if (key instanceof PublicKey || key instanceof SecretKey) {
-				sanitizedKeyList.add(key);
-			} // skip asymmetric private keys
-		}
 
-		return sanitizedKeyList;
+	/**
+	 * Converts the specified JWKs, already selected for a JWS header with
+	 * an allowed algorithm, for example by an
+	 * {@link com.nimbusds.jose.jwk.source.AsyncJWKSource}, to key
+	 * candidates for verifying the JWS object. Asymmetric private keys
+	 * are skipped.
+	 *
+	 * @param jwkMatches The selected JWKs. Must not be {@code null}.
+	 *
+	 * @return The key candidates in trial order, empty list if none.
+	 */
+	public List<Key> toJWSKeys(final List<JWK> jwkMatches) {
+
+		// Asymmetric private keys are skipped
+		return keyConversionCache.getVerificationKeys(jwkMatches);
 	}
 }
@@ -0,0 +1,180 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.proc;
+
+
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.*;
+import javax.crypto.SecretKey;
+
+import net.jcip.annotations.ThreadSafe;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyConverter;
+
+
+/**
+ * Cache of JSON Web Keys (JWK) converted to Java public and secret keys for
+ * JWS verification. Asymmetric private keys are omitted.
+ *
+ * <p>Entries are keyed by JWK instance identity. Each retrieval of a new
+ * JWK set yields new JWK instances, so the entries for a superseded JWK set
+ * are never hit again; they are dropped when the cache reaches its maximum
+ * size. Lookups don't lock or allocate, updates replace the entire map.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@ThreadSafe
+final class KeyConversionCache {
+	
+	
+	/**
+	 * The default maximum number of cached JWKs.
+	 */
+	static final int DEFAULT_MAX_SIZE = 100;
+	
+	
+	/**
+	 * The maximum number of cached JWKs.
+	 */
+	private final int maxSize;
+	
+	
+	/**
+	 * The cached verification keys, as an immutable identity map
+	 * snapshot.
+	 */
+	private volatile Map<JWK, List<Key>> entries = Collections.emptyMap();
+	
+	
+	/**
+	 * Creates a new key conversion cache.
+	 *
+	 * @param maxSize The maximum number of cached JWKs. Must be
+	 *                positive.
+	 */
+	KeyConversionCache(final int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("The max cache size must be positive");
+		}
+		this.maxSize = maxSize;
+	}
+	
+	
+	/**
+	 * Returns the number of cached JWKs.
+	 *
+	 * @return The number of cached JWKs.
+	 */
+	int size() {
+		return entries.size();
+	}
+	
+	
+	/**
+	 * Returns the Java verification keys for the specified JWKs, converting
+	 * and caching the JWKs not seen before.
+	 *
+	 * @param jwks The JWKs. May be {@code null}.
+	 *
+	 * @return A new modifiable list of the verification keys, empty list
+	 *         if none.
+	 */
+	List<Key> getVerificationKeys(final List<JWK> jwks) {
+		
+		if (jwks == null || jwks.isEmpty()) {
+			return new ArrayList<>(0);
+		}
+		
+		if (jwks.size() == 1) {
+			return new ArrayList<>(getVerificationKeys(jwks.get(0)));
+		}
+		
+		List<Key> keys = new ArrayList<>(jwks.size());
+		for (JWK jwk: jwks) {
+			keys.addAll(getVerificationKeys(jwk));
+		}
+		return keys;
+	}
+	
+	
+	/**
+	 * Returns the Java verification keys for the specified JWK, converting
+	 * and caching it if not seen before.
+	 *
+	 * @param jwk The JWK. Must not be {@code null}.
+	 *
+	 * @return The unmodifiable verification keys, empty list if the JWK
+	 *         couldn't be converted.
+	 */
+	private List<Key> getVerificationKeys(final JWK jwk) {
+		
+		List<Key> keys = entries.get(jwk);
+		
+		if (keys != null) {
+			return keys;
+		}
+		
+		keys = convert(jwk);
+		
+		synchronized (this) {
+			Map<JWK, List<Key>> updated;
+			if (entries.size() < maxSize) {
+				updated = new IdentityHashMap<>(entries);
+			} else {
+				// Full, most entries are likely from a superseded JWK set
+				updated = new IdentityHashMap<>();
+			}
+			updated.put(jwk, keys);
+			entries = updated;
+		}
+		
+		return keys;
+	}
+	
+	
+	/**
+	 * Converts the specified JWK to Java verification keys.
+	 *
+	 * @param jwk The JWK. Must not be {@code null}.
+	 *
+	 * @return The unmodifiable verification keys, empty list if none.
+	 */
+	private static List<Key> convert(final JWK jwk) {
+		
+		List<Key> keys = new ArrayList<>(1);
+		
+		for (Key key: KeyConverter.toJavaKeys(Collections.singletonList(jwk))) {
+			if (key instanceof PublicKey || key instanceof SecretKey) {
+				keys.add(key);
+			} // skip asymmetric private keys
+		}
+		
+		if (keys.isEmpty()) {
+			return Collections.emptyList();
+		}
+		
+		if (keys.size() == 1) {
+			return Collections.singletonList(keys.get(0));
+		}
+		
+		return Collections.unmodifiableList(keys);
+	}
+}
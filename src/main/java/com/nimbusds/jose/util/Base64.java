@@ -19,6 +19,8 @@ package com.nimbusds.jose.util;
 
 import java.io.Serializable;
 import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 
 import net.jcip.annotations.Immutable;
 
@@ -26,7 +28,7 @@ import net.jcip.annotations.Immutable;
  * Base64-encoded object.
  *
  * @author Vladimir Dzhuvinov
- * @version 2019-10-04
+ * @version 2026-10-15
  */
 @Immutable
 public class Base64 implements Serializable {
@@ -189,4 +191,133 @@ public class Base64 implements Serializable {
 
 		return encode(text.getBytes(StandardCharset.UTF_8));
 	}
+
+	/**
+	 * Computes the Base64-encoded character length for the specified
+	 * byte length, including padding.
+	 *
+	 * @param length The byte length. Must not be negative.
+	 *
+	 * @return The encoded character length.
+	 */
+	public static int computeEncodedLength(final int length) {
+
+		return Base64Codec.computeEncodedLength(length, false);
+	}
+
+	/**
+	 * Base64-encodes the specified byte array slice into a destination
+	 * array, as ASCII bytes. No intermediate objects are allocated.
+	 *
+	 * @param src       The bytes to encode. Must not be {@code null}.
+	 * @param offset    The offset of the slice.
+	 * @param length    The length of the slice.
+	 * @param dst       The destination array. Must not be {@code null}
+	 *                  and must have space for the
+	 *                  {@link #computeEncodedLength encoded length}.
+	 * @param dstOffset The offset in the destination array.
+	 *
+	 * @return The number of ASCII bytes written.
+	 */
+	public static int encode(final byte[] src, final int offset, final int length, final byte[] dst, final int dstOffset) {
+
+		return Base64Codec.encode(src, offset, length, dst, dstOffset, false);
+	}
+
+	/**
+	 * Base64-encodes the specified byte array slice into a byte buffer,
+	 * as ASCII bytes. The buffer position is advanced by the number of
+	 * bytes written.
+	 *
+	 * @param src    The bytes to encode. Must not be {@code null}.
+	 * @param offset The offset of the slice.
+	 * @param length The length of the slice.
+	 * @param dst    The destination buffer. Must not be {@code null}.
+	 *
+	 * @return The number of ASCII bytes written.
+	 *
+	 * @throws BufferOverflowException If the remaining buffer space is
+	 *                                 insufficient.
+	 */
+	public static int encode(final byte[] src, final int offset, final int length, final ByteBuffer dst) {
+
+		return Base64Codec.encode(src, offset, length, dst, false);
+	}
+
+	/**
+	 * Computes the decoded byte length for the specified Base64 or
+	 * Base64URL-encoded slice. The length is exact unless the slice
+	 * contains line separators or other illegal characters.
+	 *
+	 * @param src    The encoded characters. Must not be {@code null}.
+	 * @param offset The offset of the slice.
+	 * @param length The length of the slice.
+	 *
+	 * @return The decoded byte length.
+	 */
+	public static int computeDecodedLength(final CharSequence src, final int offset, final int length) {
+
+		return Base64Codec.computeDecodedLength(src, offset, length);
+	}
+
+	/**
+	 * Decodes the specified Base64 or Base64URL-encoded slice into a
+	 * destination array. Any illegal characters are ignored. No
+	 * intermediate objects are allocated.
+	 *
+	 * @param src       The encoded characters. Must not be {@code null}.
+	 * @param offset    The offset of the slice.
+	 * @param length    The length of the slice.
+	 * @param dst       The destination array. Must not be {@code null}
+	 *                  and must have space for the
+	 *                  {@link #computeDecodedLength decoded length}.
+	 * @param dstOffset The offset in the destination array.
+	 *
+	 * @return The number of bytes written.
+	 */
+	public static int decode(final CharSequence src, final int offset, final int length, final byte[] dst, final int dstOffset) {
+
+		return Base64Codec.decode(src, offset, length, dst, dstOffset);
+	}
+
+	/**
+	 * Decodes the specified Base64 or Base64URL-encoded slice of ASCII
+	 * bytes into a destination array. Any illegal characters are
+	 * ignored. No intermediate objects are allocated.
+	 *
+	 * @param src       The encoded ASCII bytes. Must not be {@code null}.
+	 * @param offset    The offset of the slice.
+	 * @param length    The length of the slice.
+	 * @param dst       The destination array. Must not be {@code null}
+	 *                  and must have space for the decoded length.
+	 * @param dstOffset The offset in the destination array.
+	 *
+	 * @return The number of bytes written.
+	 */
+	public static int decode(final byte[] src, final int offset, final int length, final byte[] dst, final int dstOffset) {
+
+		return Base64Codec.decode(src, offset, length, dst, dstOffset);
+	}
+
+	/**
+	 * Decodes the specified Base64 or Base64URL-encoded slice into a byte
+	 * buffer. Any illegal characters are ignored. The buffer position is
+	 * advanced by the number of bytes written.
+	 *
+	 * @param src    The encoded characters. Must not be {@code null}.
+	 * @param offset The offset of the slice.
+	 * @param length The length of the slice.
+	 * @param dst    The destination buffer. Must not be {@code null}.
+	 *
+	 * @return The number of bytes written.
+	 *
+	 * @throws BufferOverflowException If the remaining buffer space is
+	 *                                 less than the
+	 *                                 {@link #computeDecodedLength
+	 *                                 decoded length}.
+	 */
+	public static int decode(final CharSequence src, final int offset, final int length, final ByteBuffer dst) {
+
+		return Base64Codec.decode(src, offset, length, dst);
+	}
 }
@@ -18,13 +18,16 @@
 package com.nimbusds.jose.util;
 
 
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 
 /**
  * @author Tim McLean
  * @author others
- * @version 2018-07-23
+ * @version 2026-10-15
  */
 final class Base64Codec {
 
@@ -254,6 +257,59 @@ final class Base64Codec {
 	}
 
 
+	/**
+	 * Computes the decoded byte length for the specified base 64 or base
+	 * 64 URL-safe encoded slice. Trailing padding characters are
+	 * discounted. The length is exact if the slice contains no line
+	 * separators or other illegal characters, an upper bound otherwise.
+	 *
+	 * @param src    The base 64 encoded characters. Must not be
+	 *               {@code null}.
+	 * @param offset The offset of the slice.
+	 * @param length The length of the slice.
+	 *
+	 * @return The decoded byte length.
+	 */
+	static int computeDecodedLength(final CharSequence src, final int offset, final int length) {
+
+		checkSlice(src.length(), offset, length);
+
+		int end = offset + length;
+		while (end > offset && src.charAt(end - 1) == '=') {
+			end--;
+		}
+
+		return checkedCast((long)(end - offset) * 6 >> 3);
+	}
+
+
+	/**
+	 * Computes the decoded byte length for the specified base 64 or base
+	 * 64 URL-safe encoded slice of ASCII bytes. Trailing padding
+	 * characters are discounted. The length is exact if the slice
+	 * contains no line separators or other illegal characters, an upper
+	 * bound otherwise.
+	 *
+	 * @param src    The base 64 encoded ASCII bytes. Must not be
+	 *               {@code null}.
+	 * @param offset The offset of the slice.
+	 * @param length The length of the slice.
+	 *
+	 * @return The decoded byte length.
+	 */
+	static int computeDecodedLength(final byte[] src, final int offset, final int length) {
+
+		checkSlice(src.length, offset, length);
+
+		int end = offset + length;
+		while (end > offset && src[end - 1] == '=') {
+			end--;
+		}
+
+		return checkedCast((long)(end - offset) * 6 >> 3);
+	}
+
+
 	/**
 	 * Encodes a byte array into a base 64 encoded string.
 	 *
@@ -273,58 +329,145 @@ final class Base64Codec {
 			return "";
 		}
 
-		final int eLen = (sLen / 3) * 3;                      // Length of even 24-bits.
-		final int dLen = computeEncodedLength(sLen, urlSafe); // Returned byte count
-		final byte[] out = new byte[dLen];
+		final byte[] out = new byte[computeEncodedLength(sLen, urlSafe)];
+		encode(byteArray, 0, sLen, out, 0, null, urlSafe);
+		return new String(out, StandardCharset.UTF_8);
+	}
+
+
+	/**
+	 * Encodes a byte array slice into the specified destination array as
+	 * base 64 encoded ASCII bytes.
+	 *
+	 * @param src       The bytes to encode. Must not be {@code null}.
+	 * @param offset    The offset of the slice.
+	 * @param length    The length of the slice.
+	 * @param dst       The destination array. Must not be {@code null}
+	 *                  and must have space for the
+	 *                  {@link #computeEncodedLength encoded length}.
+	 * @param dstOffset The offset in the destination array.
+	 * @param urlSafe   {@code true} for URL-safe encoding.
+	 *
+	 * @return The number of ASCII bytes written.
+	 */
+	static int encode(final byte[] src,
+			  final int offset,
+			  final int length,
+			  final byte[] dst,
+			  final int dstOffset,
+			  final boolean urlSafe) {
+
+		checkSlice(src.length, offset, length);
+		final int dLen = computeEncodedLength(length, urlSafe);
+		checkDestination(dst.length, dstOffset, dLen);
+		encode(src, offset, length, dst, dstOffset, null, urlSafe);
+		return dLen;
+	}
+
+
+	/**
+	 * Encodes a byte array slice into the specified byte buffer as base
+	 * 64 encoded ASCII bytes. The buffer position is advanced by the
+	 * number of bytes written.
+	 *
+	 * @param src     The bytes to encode. Must not be {@code null}.
+	 * @param offset  The offset of the slice.
+	 * @param length  The length of the slice.
+	 * @param dst     The destination buffer. Must not be {@code null}.
+	 * @param urlSafe {@code true} for URL-safe encoding.
+	 *
+	 * @return The number of ASCII bytes written.
+	 *
+	 * @throws BufferOverflowException If the remaining buffer space is
+	 *                                 insufficient, nothing is written
+	 *                                 then.
+	 */
+	static int encode(final byte[] src,
+			  final int offset,
+			  final int length,
+			  final ByteBuffer dst,
+			  final boolean urlSafe) {
+
+		checkSlice(src.length, offset, length);
+		final int dLen = computeEncodedLength(length, urlSafe);
+
+		if (dst.remaining() < dLen) {
+			throw new BufferOverflowException();
+		}
+
+		if (dst.hasArray()) {
+			encode(src, offset, length, dst.array(), dst.arrayOffset() + dst.position(), null, urlSafe);
+			((Buffer) dst).position(dst.position() + dLen);
+		} else {
+			encode(src, offset, length, null, 0, dst, urlSafe);
+		}
+
+		return dLen;
+	}
+
+
+	/**
+	 * Encodes a byte array slice into either a destination array or a
+	 * byte buffer. The bounds must be checked by the caller.
+	 */
+	private static void encode(final byte[] src,
+				   final int offset,
+				   final int length,
+				   final byte[] dst,
+				   final int dstOffset,
+				   final ByteBuffer dstBuffer,
+				   final boolean urlSafe) {
+
+		if (length == 0) {
+			return;
+		}
+
+		final int end = offset + length;
+		final int eEnd = offset + (length / 3) * 3; // End of even 24-bits.
+		int d = dstOffset;
 
 		// Encode even 24-bits
-		for (int s = 0, d = 0; s < eLen; ) {
+		for (int s = offset; s < eEnd; ) {
 
 			// Copy next three bytes into lower 24 bits of int, paying attention to sign
-			final int i = (byteArray[s++] & 0xff) << 16 | (byteArray[s++] & 0xff) << 8 | (byteArray[s++] & 0xff);
+			final int i = (src[s++] & 0xff) << 16 | (src[s++] & 0xff) << 8 | (src[s++] & 0xff);
 
 			// Encode the int into four chars
 			if (urlSafe) {
-				out[d++] = encodeDigitBase64URL((i >>> 18) & 0x3f);
-				out[d++] = encodeDigitBase64URL((i >>> 12) & 0x3f);
-				out[d++] = encodeDigitBase64URL((i >>> 6) & 0x3f);
-				out[d++] = encodeDigitBase64URL(i & 0x3f);
+				d = put(dst, d, dstBuffer, encodeDigitBase64URL((i >>> 18) & 0x3f));
+				d = put(dst, d, dstBuffer, encodeDigitBase64URL((i >>> 12) & 0x3f));
+				d = put(dst, d, dstBuffer, encodeDigitBase64URL((i >>> 6) & 0x3f));
+				d = put(dst, d, dstBuffer, encodeDigitBase64URL(i & 0x3f));
 			} else {
-				out[d++] = encodeDigitBase64((i >>> 18) & 0x3f);
-				out[d++] = encodeDigitBase64((i >>> 12) & 0x3f);
-				out[d++] = encodeDigitBase64((i >>> 6) & 0x3f);
-				out[d++] = encodeDigitBase64(i & 0x3f);
+				d = put(dst, d, dstBuffer, encodeDigitBase64((i >>> 18) & 0x3f));
+				d = put(dst, d, dstBuffer, encodeDigitBase64((i >>> 12) & 0x3f));
+				d = put(dst, d, dstBuffer, encodeDigitBase64((i >>> 6) & 0x3f));
+				d = put(dst, d, dstBuffer, encodeDigitBase64(i & 0x3f));
 			}
 		}
 
 		// Pad and encode last bits if source isn't even 24 bits
 		// according to URL-safe switch
-		final int left = sLen - eLen; // 0 - 2.
+		final int left = end - eEnd; // 0 - 2.
 		if (left > 0) {
 			// Prepare the int
-			final int i = ((byteArray[eLen] & 0xff) << 10) | (left == 2 ? ((byteArray[sLen - 1] & 0xff) << 2) : 0);
+			final int i = ((src[eEnd] & 0xff) << 10) | (left == 2 ? ((src[end - 1] & 0xff) << 2) : 0);
 
 			// Set last four chars
 			if (urlSafe) {
-
+				d = put(dst, d, dstBuffer, encodeDigitBase64URL(i >> 12));
+				d = put(dst, d, dstBuffer, encodeDigitBase64URL((i >>> 6) & 0x3f));
 				if (left == 2) {
-					out[dLen - 3] = encodeDigitBase64URL(i >> 12);
-					out[dLen - 2] = encodeDigitBase64URL((i >>> 6) & 0x3f);
-					out[dLen - 1] = encodeDigitBase64URL(i & 0x3f);
-				} else {
-					out[dLen - 2] = encodeDigitBase64URL(i >> 12);
-					out[dLen - 1] = encodeDigitBase64URL((i >>> 6) & 0x3f);
+					put(dst, d, dstBuffer, encodeDigitBase64URL(i & 0x3f));
 				}
 			} else {
 				// Original Mig code with padding
-				out[dLen - 4] = encodeDigitBase64(i >> 12);
-				out[dLen - 3] = encodeDigitBase64((i >>> 6) & 0x3f);
-				out[dLen - 2] = left == 2 ? encodeDigitBase64(i & 0x3f) : (byte) '=';
-				out[dLen - 1] = (byte) '=';
+				d = put(dst, d, dstBuffer, encodeDigitBase64(i >> 12));
+				d = put(dst, d, dstBuffer, encodeDigitBase64((i >>> 6) & 0x3f));
+				d = put(dst, d, dstBuffer, left == 2 ? encodeDigitBase64(i & 0x3f) : (byte) '=');
+				put(dst, d, dstBuffer, (byte) '=');
 			}
 		}
-
-		return new String(out, StandardCharset.UTF_8);
 	}
 
 
@@ -345,26 +488,138 @@ final class Base64Codec {
 			return new byte[0];
 		}
 
-		final byte[] srcBytes = b64String.getBytes(StandardCharset.UTF_8);
-		final int sLen = srcBytes.length;
+		// Exact unless there are separators or illegal chars
+		final byte[] dstBytes = new byte[computeDecodedLength(b64String, 0, b64String.length())];
+
+		final int d = decode(b64String, null, 0, b64String.length(), dstBytes, 0, null);
 
-		// Calculate output length assuming zero bytes are padding or separators
-		final int maxOutputLen = checkedCast((long)sLen * 6 >> 3);
+		// Copy to array of proper size only if some chars were ignored
+		return d == dstBytes.length ? dstBytes : Arrays.copyOf(dstBytes, d);
+	}
 
-		// Allocate output array (may be too large)
-		final byte[] dstBytes = new byte[maxOutputLen];
 
-		// Process all input bytes
-		int d = 0;
-		for (int s = 0; s < srcBytes.length; ) {
+	/**
+	 * Decodes a base 64 or base 64 URL-safe encoded slice into the
+	 * specified destination array. May contain line separators. Any
+	 * illegal characters are ignored.
+	 *
+	 * @param src       The base 64 encoded characters. Must not be
+	 *                  {@code null}.
+	 * @param offset    The offset of the slice.
+	 * @param length    The length of the slice.
+	 * @param dst       The destination array. Must not be {@code null}
+	 *                  and must have space for the
+	 *                  {@link #computeDecodedLength(CharSequence, int, int)
+	 *                  decoded length}.
+	 * @param dstOffset The offset in the destination array.
+	 *
+	 * @return The number of bytes written.
+	 */
+	static int decode(final CharSequence src,
+			  final int offset,
+			  final int length,
+			  final byte[] dst,
+			  final int dstOffset) {
+
+		checkDestination(dst.length, dstOffset, computeDecodedLength(src, offset, length));
+		return decode(src, null, offset, length, dst, dstOffset, null);
+	}
+
+
+	/**
+	 * Decodes a base 64 or base 64 URL-safe encoded slice of ASCII bytes
+	 * into the specified destination array. May contain line separators.
+	 * Any illegal characters are ignored.
+	 *
+	 * @param src       The base 64 encoded ASCII bytes. Must not be
+	 *                  {@code null}.
+	 * @param offset    The offset of the slice.
+	 * @param length    The length of the slice.
+	 * @param dst       The destination array. Must not be {@code null}
+	 *                  and must have space for the
+	 *                  {@link #computeDecodedLength(byte[], int, int)
+	 *                  decoded length}.
+	 * @param dstOffset The offset in the destination array.
+	 *
+	 * @return The number of bytes written.
+	 */
+	static int decode(final byte[] src,
+			  final int offset,
+			  final int length,
+			  final byte[] dst,
+			  final int dstOffset) {
+
+		checkDestination(dst.length, dstOffset, computeDecodedLength(src, offset, length));
+		return decode(null, src, offset, length, dst, dstOffset, null);
+	}
+
+
+	/**
+	 * Decodes a base 64 or base 64 URL-safe encoded slice into the
+	 * specified byte buffer. May contain line separators. Any illegal
+	 * characters are ignored. The buffer position is advanced by the
+	 * number of bytes written.
+	 *
+	 * @param src    The base 64 encoded characters. Must not be
+	 *               {@code null}.
+	 * @param offset The offset of the slice.
+	 * @param length The length of the slice.
+	 * @param dst    The destination buffer. Must not be {@code null}.
+	 *
+	 * @return The number of bytes written.
+	 *
+	 * @throws BufferOverflowException If the remaining buffer space is
+	 *                                 less than the decoded length,
+	 *                                 nothing is written then.
+	 */
+	static int decode(final CharSequence src,
+			  final int offset,
+			  final int length,
+			  final ByteBuffer dst) {
+
+		if (dst.remaining() < computeDecodedLength(src, offset, length)) {
+			throw new BufferOverflowException();
+		}
+
+		if (dst.hasArray()) {
+			final int d = decode(src, null, offset, length, dst.array(), dst.arrayOffset() + dst.position(), null);
+			((Buffer) dst).position(dst.position() + d);
+			return d;
+		}
+
+		return decode(src, null, offset, length, null, 0, dst);
+	}
+
+
+	/**
+	 * Decodes a slice of either characters or ASCII bytes into either a
+	 * destination array or a byte buffer. The bounds must be checked by
+	 * the caller.
+	 *
+	 * @return The number of bytes written.
+	 */
+	private static int decode(final CharSequence srcChars,
+				  final byte[] srcBytes,
+				  final int offset,
+				  final int length,
+				  final byte[] dst,
+				  final int dstOffset,
+				  final ByteBuffer dstBuffer) {
+
+		final int end = offset + length;
+		int d = dstOffset;
+
+		// Process all input chars
+		for (int s = offset; s < end; ) {
 			// Assemble three bytes into an int from four base 64
 			// characters
 			int i = 0;
 
 			int j = 0;
-			while (j < 4 && s < sLen) {
+			while (j < 4 && s < end) {
 				// j only increased if a valid char was found
-				final int c = decodeDigit(srcBytes[s++]);
+				final byte ascii = srcChars != null ? toASCII(srcChars.charAt(s++)) : srcBytes[s++];
+				final int c = decodeDigit(ascii);
 				if (c >= 0) {
 					i |= c << (18 - j * 6);
 					j++;
@@ -375,22 +630,69 @@ final class Base64Codec {
 
 			// Add output bytes
 			if (j >= 2) {
-				dstBytes[d++] = (byte) (i >> 16);
+				d = put(dst, d, dstBuffer, (byte) (i >> 16));
 				if (j >= 3) {
-					dstBytes[d++] = (byte) (i >> 8);
+					d = put(dst, d, dstBuffer, (byte) (i >> 8));
 					if (j >= 4) {
-						dstBytes[d++] = (byte) i;
+						d = put(dst, d, dstBuffer, (byte) i);
 					}
 				}
 			}
 		}
 
-		// d is now the number of output bytes written
+		// d - dstOffset is now the number of output bytes written
+		return d - dstOffset;
+	}
+
+
+	/**
+	 * Converts a character to an ASCII byte without leaking information
+	 * about it. Non-ASCII characters are mapped to an illegal digit,
+	 * matching the UTF-8 encoding of the original string decoder.
+	 *
+	 * @param c The character.
+	 *
+	 * @return The ASCII byte, negative if the character is not ASCII.
+	 */
+	private static byte toASCII(final char c) {
+
+		return (byte) tpSelect(tpLT(c, 128), c, -1);
+	}
+
+
+	/**
+	 * Writes a byte to either a destination array or a byte buffer.
+	 *
+	 * @return The next destination array position.
+	 */
+	private static int put(final byte[] dst, final int d, final ByteBuffer dstBuffer, final byte b) {
+
+		if (dstBuffer != null) {
+			dstBuffer.put(b);
+		} else {
+			dst[d] = b;
+		}
+		return d + 1;
+	}
+
+
+	private static void checkSlice(final int arrayLength, final int offset, final int length) {
+		if (offset < 0 || length < 0 || offset > arrayLength - length) {
+			throw new IndexOutOfBoundsException("Invalid slice: offset " + offset + ", length " + length + ", array length " + arrayLength);
+		}
+	}
+
 
-		// Copy dstBytes to new array of proper size
-		return Arrays.copyOf(dstBytes, d);
+	private static void checkDestination(final int arrayLength, final int dstOffset, final int requiredLength) {
+		if (dstOffset < 0 || dstOffset > arrayLength) {
+			throw new IndexOutOfBoundsException("Invalid destination offset: " + dstOffset);
+		}
+		if (arrayLength - dstOffset < requiredLength) {
+			throw new IllegalArgumentException("The destination array must have space for " + requiredLength + " bytes");
+		}
 	}
 
+
 	private static int checkedCast(long value) {
 		int result = (int) value;
 		if (result != value) {
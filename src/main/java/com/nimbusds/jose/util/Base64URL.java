@@ -19,6 +19,8 @@ package com.nimbusds.jose.util;
 
 
 import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 
 import net.jcip.annotations.Immutable;
 
@@ -33,7 +35,7 @@ import net.jcip.annotations.Immutable;
  * </ul>
  *
  * @author Vladimir Dzhuvinov
- * @version 2019-10-04
+ * @version 2026-10-15
  */
 @Immutable
 public class Base64URL extends Base64 {
@@ -125,4 +127,59 @@ public class Base64URL extends Base64 {
 
 		return encode(text.getBytes(StandardCharset.UTF_8));
 	}
+
+
+	/**
+	 * Computes the Base64URL-encoded character length for the specified
+	 * byte length, without padding.
+	 *
+	 * @param length The byte length. Must not be negative.
+	 *
+	 * @return The encoded character length.
+	 */
+	public static int computeEncodedLength(final int length) {
+
+		return Base64Codec.computeEncodedLength(length, true);
+	}
+
+
+	/**
+	 * Base64URL-encodes the specified byte array slice into a destination
+	 * array, as ASCII bytes. No intermediate objects are allocated.
+	 *
+	 * @param src       The bytes to encode. Must not be {@code null}.
+	 * @param offset    The offset of the slice.
+	 * @param length    The length of the slice.
+	 * @param dst       The destination array. Must not be {@code null}
+	 *                  and must have space for the
+	 *                  {@link #computeEncodedLength encoded length}.
+	 * @param dstOffset The offset in the destination array.
+	 *
+	 * @return The number of ASCII bytes written.
+	 */
+	public static int encode(final byte[] src, final int offset, final int length, final byte[] dst, final int dstOffset) {
+
+		return Base64Codec.encode(src, offset, length, dst, dstOffset, true);
+	}
+
+
+	/**
+	 * Base64URL-encodes the specified byte array slice into a byte
+	 * buffer, as ASCII bytes. The buffer position is advanced by the
+	 * number of bytes written.
+	 *
+	 * @param src    The bytes to encode. Must not be {@code null}.
+	 * @param offset The offset of the slice.
+	 * @param length The length of the slice.
+	 * @param dst    The destination buffer. Must not be {@code null}.
+	 *
+	 * @return The number of ASCII bytes written.
+	 *
+	 * @throws BufferOverflowException If the remaining buffer space is
+	 *                                 insufficient.
+	 */
+	public static int encode(final byte[] src, final int offset, final int length, final ByteBuffer dst) {
+
+		return Base64Codec.encode(src, offset, length, dst, true);
+	}
 }
@@ -41,7 +41,7 @@ import net.jcip.annotations.ThreadSafe;
  * @author Vladimir Dzhuvinov
  * @author Artun Subasi
  * @author Imre Paladji
- * @version 2022-04-07
+ * @version 2026-10-15
  */
 @ThreadSafe
 public class DefaultResourceRetriever extends AbstractRestrictedResourceRetriever implements RestrictedResourceRetriever {
@@ -277,9 +277,11 @@ public class DefaultResourceRetriever extends AbstractRestrictedResourceRetrieve
 				}
 			}
 			
-			String contentType = con instanceof HttpURLConnection ? con.getContentType() : null;
+			if (con instanceof HttpURLConnection) {
+				return new Resource(content, con.getContentType(), con.getHeaderFields());
+			}
 			
-			return new Resource(content, contentType);
+			return new Resource(content, null);
 
 		} catch (Exception e) {
 			
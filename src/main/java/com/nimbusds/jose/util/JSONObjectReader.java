@@ -0,0 +1,928 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.util;
+
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.text.ParseException;
+import java.util.*;
+
+
+/**
+ * Streaming reader of JSON objects, operating directly on the UTF-8 encoded
+ * bytes. Lets parsers of JOSE headers and JWT claims sets pull the member
+ * values of interest straight into their typed representations, without an
+ * intermediate generic JSON object. Known member names are returned as the
+ * supplied string instances, without allocation.
+ *
+ * <p>The top-level members are iterated with {@link #hasNextMember} and
+ * {@link #nextName}, followed by a typed read or a skip of the value. The
+ * reader can be rewound with {@link #beginObject} for another pass.
+ *
+ * <p>Only strict JSON is accepted. Lenient JSON, duplicate member names and
+ * excessive nesting are rejected with a {@link ParseException}; callers are
+ * expected to fall back to the generic {@link JSONObjectUtils#parse JSON
+ * parser} in that case, which also produces the reported error messages.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+public class JSONObjectReader {
+	
+	
+	/**
+	 * The maximum nesting depth of the member values.
+	 */
+	private static final int MAX_DEPTH = 32;
+	
+	
+	/**
+	 * The UTF-8 encoded JSON object.
+	 */
+	private final byte[] json;
+	
+	
+	/**
+	 * The current read position.
+	 */
+	private int pos;
+	
+	
+	/**
+	 * {@code true} if no top-level member was read yet.
+	 */
+	private boolean firstMember;
+	
+	
+	/**
+	 * The read top-level member names, for the duplicate check.
+	 */
+	private Set<String> names;
+	
+	
+	/**
+	 * The known member names, returned as the same string instances.
+	 */
+	private final String[] knownNames;
+	
+	
+	/**
+	 * Creates a new JSON object reader.
+	 *
+	 * @param json       The UTF-8 encoded JSON object. Must not be
+	 *                   {@code null}.
+	 * @param knownNames The known member names, returned by
+	 *                   {@link #nextName} as the same string instances.
+	 *                   Must contain ASCII names only. Must not be
+	 *                   {@code null}.
+	 */
+	public JSONObjectReader(final byte[] json, final String[] knownNames) {
+		this.json = json;
+		this.knownNames = knownNames;
+	}
+	
+	
+	/**
+	 * Reads the opening brace of the top-level JSON object, rewinding
+	 * the reader to the start of the input first.
+	 *
+	 * @throws ParseException If the input doesn't start with a JSON
+	 *                        object.
+	 */
+	public void beginObject()
+		throws ParseException {
+		
+		pos = 0;
+		names = null;
+		skipWhiteSpace();
+		expect('{');
+		firstMember = true;
+	}
+	
+	
+	/**
+	 * Returns {@code true} if the top-level JSON object has another
+	 * member. Consumes the closing brace if not.
+	 *
+	 * @return {@code true} if a member follows, {@code false} if the end
+	 *         of the JSON object was reached.
+	 *
+	 * @throws ParseException On a syntax error.
+	 */
+	public boolean hasNextMember()
+		throws ParseException {
+		
+		skipWhiteSpace();
+		
+		if (peek() == '}') {
+			pos++;
+			return false;
+		}
+		
+		if (! firstMember) {
+			expect(',');
+			skipWhiteSpace();
+		}
+		
+		firstMember = false;
+		return true;
+	}
+	
+	
+	/**
+	 * Reads the name of the next top-level member, including the
+	 * following colon.
+	 *
+	 * @return The member name, the same string instance for a known
+	 *         name.
+	 *
+	 * @throws ParseException On a syntax error or a duplicate member
+	 *                        name.
+	 */
+	public String nextName()
+		throws ParseException {
+		
+		String name = knownName();
+		
+		if (name == null) {
+			name = readString();
+		}
+		
+		if (names == null) {
+			names = new HashSet<>();
+		}
+		
+		if (! names.add(name)) {
+			throw new ParseException("Duplicate JSON object member: " + name, pos);
+		}
+		
+		skipWhiteSpace();
+		expect(':');
+		return name;
+	}
+	
+	
+	/**
+	 * Ensures the end of the input was reached after the top-level JSON
+	 * object.
+	 *
+	 * @throws ParseException If the input has trailing content.
+	 */
+	public void endObject()
+		throws ParseException {
+		
+		skipWhiteSpace();
+		
+		if (pos != json.length) {
+			throw new ParseException("Unexpected trailing content", pos);
+		}
+	}
+	
+	
+	/**
+	 * Reads a string member value.
+	 *
+	 * @param name The member name, for the error message.
+	 *
+	 * @return The string, {@code null} for a JSON null.
+	 *
+	 * @throws ParseException If the value isn't a string or null.
+	 */
+	public String nextString(final String name)
+		throws ParseException {
+		
+		skipWhiteSpace();
+		
+		if (peek() == 'n') {
+			readLiteral("null");
+			return null;
+		}
+		
+		if (peek() != '"') {
+			throw unexpectedType(name);
+		}
+		
+		return readString();
+	}
+	
+	
+	/**
+	 * Reads a URI member value.
+	 *
+	 * @param name The member name, for the error message.
+	 *
+	 * @return The URI, {@code null} for a JSON null.
+	 *
+	 * @throws ParseException If the value isn't a valid URI string or
+	 *                        null.
+	 */
+	public URI nextURI(final String name)
+		throws ParseException {
+		
+		String value = nextString(name);
+		
+		if (value == null) {
+			return null;
+		}
+		
+		try {
+			return new URI(value);
+		} catch (URISyntaxException e) {
+			throw new ParseException(e.getMessage(), 0);
+		}
+	}
+	
+	
+	/**
+	 * Reads a boolean member value.
+	 *
+	 * @param name The member name, for the error message.
+	 *
+	 * @return The boolean.
+	 *
+	 * @throws ParseException If the value isn't a boolean.
+	 */
+	public boolean nextBoolean(final String name)
+		throws ParseException {
+		
+		skipWhiteSpace();
+		
+		if (peek() == 't') {
+			readLiteral("true");
+			return true;
+		} else if (peek() == 'f') {
+			readLiteral("false");
+			return false;
+		}
+		
+		throw unexpectedType(name);
+	}
+	
+	
+	/**
+	 * Reads a number member value as {@code int}.
+	 *
+	 * @param name The member name, for the error message.
+	 *
+	 * @return The number as {@code int}.
+	 *
+	 * @throws ParseException If the value isn't a number.
+	 */
+	public int nextInt(final String name)
+		throws ParseException {
+		
+		skipWhiteSpace();
+		
+		int c = peek();
+		
+		if (c != '-' && (c < '0' || c > '9')) {
+			throw unexpectedType(name);
+		}
+		
+		return readNumber().intValue();
+	}
+	
+	
+	/**
+	 * Reads a number member value as {@code long}.
+	 *
+	 * @param name The member name, for the error message.
+	 *
+	 * @return The number as {@code long}.
+	 *
+	 * @throws ParseException If the value isn't a number.
+	 */
+	public long nextLong(final String name)
+		throws ParseException {
+		
+		skipWhiteSpace();
+		
+		int c = peek();
+		
+		if (c != '-' && (c < '0' || c > '9')) {
+			throw unexpectedType(name);
+		}
+		
+		return readNumber().longValue();
+	}
+	
+	
+	/**
+	 * Reads a string array member value.
+	 *
+	 * @param name The member name, for the error message.
+	 *
+	 * @return The string list, {@code null} for a JSON null.
+	 *
+	 * @throws ParseException If the value isn't an array of strings or
+	 *                        null.
+	 */
+	public List<String> nextStringList(final String name)
+		throws ParseException {
+		
+		skipWhiteSpace();
+		
+		if (peek() == 'n') {
+			readLiteral("null");
+			return null;
+		}
+		
+		List<String> list = new ArrayList<>();
+		
+		expect('[');
+		skipWhiteSpace();
+		
+		if (peek() == ']') {
+			pos++;
+			return list;
+		}
+		
+		while (true) {
+			list.add(nextString(name));
+			skipWhiteSpace();
+			if (peek() == ']') {
+				pos++;
+				return list;
+			}
+			expect(',');
+		}
+	}
+	
+	
+	/**
+	 * Reads a JSON object member value.
+	 *
+	 * @param name The member name, for the error message.
+	 *
+	 * @return The JSON object, {@code null} for a JSON null.
+	 *
+	 * @throws ParseException If the value isn't a JSON object or null.
+	 */
+	public Map<String, Object> nextJSONObject(final String name)
+		throws ParseException {
+		
+		skipWhiteSpace();
+		
+		if (peek() == 'n') {
+			readLiteral("null");
+			return null;
+		}
+		
+		if (peek() != '{') {
+			throw unexpectedType(name);
+		}
+		
+		return readObject(1);
+	}
+	
+	
+	/**
+	 * Reads a JSON array member value.
+	 *
+	 * @param name The member name, for the error message.
+	 *
+	 * @return The JSON array, {@code null} for a JSON null.
+	 *
+	 * @throws ParseException If the value isn't a JSON array or null.
+	 */
+	public List<Object> nextJSONArray(final String name)
+		throws ParseException {
+		
+		skipWhiteSpace();
+		
+		if (peek() == 'n') {
+			readLiteral("null");
+			return null;
+		}
+		
+		if (peek() != '[') {
+			throw unexpectedType(name);
+		}
+		
+		return readArray(1);
+	}
+	
+	
+	/**
+	 * Reads a member value of any type. JSON objects are returned as
+	 * {@code Map<String,Object>}, arrays as {@code List<Object>}, integer
+	 * numbers as {@code Long} and fraction numbers as {@code Double}.
+	 *
+	 * @return The value, {@code null} for a JSON null.
+	 *
+	 * @throws ParseException On a syntax error.
+	 */
+	public Object nextValue()
+		throws ParseException {
+		
+		return readValue(0);
+	}
+	
+	
+	/**
+	 * Skips a member value of any type. The value is validated as
+	 * strictly as by {@link #nextValue}, without materialising it, so
+	 * that a later pass reading the value cannot fail.
+	 *
+	 * @throws ParseException On a syntax error.
+	 */
+	public void skipValue()
+		throws ParseException {
+		
+		skipValue(0);
+	}
+	
+	
+	private static ParseException unexpectedType(final String name) {
+		
+		return new ParseException("Unexpected type of JSON object member with key " + name, 0);
+	}
+	
+	
+	private int peek() {
+		
+		return pos < json.length ? json[pos] & 0xff : -1;
+	}
+	
+	
+	private void expect(final char c)
+		throws ParseException {
+		
+		if (peek() != c) {
+			throw new ParseException("Expected '" + c + "'", pos);
+		}
+		pos++;
+	}
+	
+	
+	private void skipWhiteSpace() {
+		
+		while (pos < json.length) {
+			byte b = json[pos];
+			if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+				return;
+			}
+			pos++;
+		}
+	}
+	
+	
+	private void readLiteral(final String literal)
+		throws ParseException {
+		
+		for (int i=0; i < literal.length(); i++) {
+			expect(literal.charAt(i));
+		}
+	}
+	
+	
+	/**
+	 * Matches a string without escapes against the known member names.
+	 * Advances past the string on a match.
+	 *
+	 * @return The known name, {@code null} if not matched.
+	 */
+	private String knownName()
+		throws ParseException {
+		
+		expect('"');
+		
+		int end = pos;
+		while (end < json.length && json[end] != '"' && json[end] != '\\') {
+			end++;
+		}
+		
+		if (end < json.length && json[end] == '"') {
+			
+			int len = end - pos;
+			
+			for (String candidate: knownNames) {
+				
+				if (candidate.length() == len && regionMatches(candidate)) {
+					pos = end + 1;
+					return candidate;
+				}
+			}
+		}
+		
+		pos--; // rewind to the opening quote
+		return null;
+	}
+	
+	
+	private boolean regionMatches(final String candidate) {
+		
+		for (int i=0; i < candidate.length(); i++) {
+			if (json[pos + i] != (byte) candidate.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	
+	private String readString()
+		throws ParseException {
+		
+		expect('"');
+		
+		int start = pos;
+		StringBuilder sb = null;
+		
+		while (true) {
+			
+			if (pos >= json.length) {
+				throw new ParseException("Unterminated string", pos);
+			}
+			
+			byte b = json[pos];
+			
+			if (b == '"') {
+				String s = new String(json, start, pos - start, StandardCharset.UTF_8);
+				pos++;
+				if (sb == null) {
+					return s;
+				}
+				return sb.append(s).toString();
+			}
+			
+			if (b >= 0 && b < 0x20) {
+				throw new ParseException("Unescaped control character in string", pos);
+			}
+			
+			if (b != '\\') {
+				pos++;
+				continue;
+			}
+			
+			if (sb == null) {
+				sb = new StringBuilder();
+			}
+			sb.append(new String(json, start, pos - start, StandardCharset.UTF_8));
+			
+			pos++; // backslash
+			
+			int c = peek();
+			pos++;
+			
+			switch (c) {
+				case '"': sb.append('"'); break;
+				case '\\': sb.append('\\'); break;
+				case '/': sb.append('/'); break;
+				case 'b': sb.append('\b'); break;
+				case 'f': sb.append('\f'); break;
+				case 'n': sb.append('\n'); break;
+				case 'r': sb.append('\r'); break;
+				case 't': sb.append('\t'); break;
+				case 'u':
+					if (pos + 4 > json.length) {
+						throw new ParseException("Invalid unicode escape", pos);
+					}
+					int codeUnit = 0;
+					for (int i=0; i < 4; i++) {
+						int digit = Character.digit(json[pos++], 16);
+						if (digit < 0) {
+							throw new ParseException("Invalid unicode escape", pos);
+						}
+						codeUnit = (codeUnit << 4) | digit;
+					}
+					sb.append((char) codeUnit);
+					break;
+				default:
+					throw new ParseException("Invalid escape", pos);
+			}
+			
+			start = pos;
+		}
+	}
+	
+	
+	private Number readNumber()
+		throws ParseException {
+		
+		final int start = pos;
+		
+		if (peek() == '-') {
+			pos++;
+		}
+		
+		boolean integer = true;
+		long value = 0;
+		boolean overflow = false;
+		
+		if (peek() == '0') {
+			pos++;
+		} else if (peek() >= '1' && peek() <= '9') {
+			while (peek() >= '0' && peek() <= '9') {
+				int digit = peek() - '0';
+				if (value > (Long.MAX_VALUE - digit) / 10) {
+					overflow = true;
+				}
+				value = value * 10 + digit;
+				pos++;
+			}
+		} else {
+			throw new ParseException("Invalid number", pos);
+		}
+		
+		if (peek() == '.') {
+			integer = false;
+			pos++;
+			skipDigits();
+		}
+		
+		if (peek() == 'e' || peek() == 'E') {
+			integer = false;
+			pos++;
+			if (peek() == '+' || peek() == '-') {
+				pos++;
+			}
+			skipDigits();
+		}
+		
+		if (integer && ! overflow) {
+			return json[start] == '-' ? -value : value;
+		}
+		
+		String text = new String(json, start, pos - start, StandardCharset.UTF_8);
+		
+		if (integer) {
+			try {
+				// Long.MIN_VALUE
+				return Long.parseLong(text);
+			} catch (NumberFormatException e) {
+				// Fall through to double
+			}
+		}
+		
+		return Double.parseDouble(text);
+	}
+	
+	
+	private void skipDigits()
+		throws ParseException {
+		
+		if (peek() < '0' || peek() > '9') {
+			throw new ParseException("Invalid number", pos);
+		}
+		while (peek() >= '0' && peek() <= '9') {
+			pos++;
+		}
+	}
+	
+	
+	private Object readValue(final int depth)
+		throws ParseException {
+		
+		skipWhiteSpace();
+		
+		switch (peek()) {
+			case '{':
+				return readObject(depth + 1);
+			case '[':
+				return readArray(depth + 1);
+			case '"':
+				return readString();
+			case 't':
+				readLiteral("true");
+				return Boolean.TRUE;
+			case 'f':
+				readLiteral("false");
+				return Boolean.FALSE;
+			case 'n':
+				readLiteral("null");
+				return null;
+			default:
+				return readNumber();
+		}
+	}
+	
+	
+	private Map<String, Object> readObject(final int depth)
+		throws ParseException {
+		
+		if (depth > MAX_DEPTH) {
+			throw new ParseException("Excessive JSON object nesting", pos);
+		}
+		
+		Map<String, Object> object = new LinkedHashMap<>();
+		
+		expect('{');
+		skipWhiteSpace();
+		
+		if (peek() == '}') {
+			pos++;
+			return object;
+		}
+		
+		while (true) {
+			skipWhiteSpace();
+			String name = readString();
+			skipWhiteSpace();
+			expect(':');
+			if (object.containsKey(name)) {
+				throw new ParseException("Duplicate JSON object member: " + name, pos);
+			}
+			object.put(name, readValue(depth));
+			skipWhiteSpace();
+			if (peek() == '}') {
+				pos++;
+				return object;
+			}
+			expect(',');
+		}
+	}
+	
+	
+	private List<Object> readArray(final int depth)
+		throws ParseException {
+		
+		if (depth > MAX_DEPTH) {
+			throw new ParseException("Excessive JSON array nesting", pos);
+		}
+		
+		List<Object> array = new ArrayList<>();
+		
+		expect('[');
+		skipWhiteSpace();
+		
+		if (peek() == ']') {
+			pos++;
+			return array;
+		}
+		
+		while (true) {
+			array.add(readValue(depth));
+			skipWhiteSpace();
+			if (peek() == ']') {
+				pos++;
+				return array;
+			}
+			expect(',');
+		}
+	}
+	
+	
+	private void skipValue(final int depth)
+		throws ParseException {
+		
+		if (depth > MAX_DEPTH) {
+			throw new ParseException("Excessive JSON nesting", pos);
+		}
+		
+		skipWhiteSpace();
+		
+		switch (peek()) {
+			case '{':
+				pos++;
+				skipWhiteSpace();
+				if (peek() == '}') {
+					pos++;
+					return;
+				}
+				Set<String> memberNames = new HashSet<>();
+				while (true) {
+					skipWhiteSpace();
+					String name = readString();
+					if (! memberNames.add(name)) {
+						throw new ParseException("Duplicate JSON object member: " + name, pos);
+					}
+					skipWhiteSpace();
+					expect(':');
+					skipValue(depth + 1);
+					skipWhiteSpace();
+					if (peek() == '}') {
+						pos++;
+						return;
+					}
+					expect(',');
+				}
+			case '[':
+				pos++;
+				skipWhiteSpace();
+				if (peek() == ']') {
+					pos++;
+					return;
+				}
+				while (true) {
+					skipValue(depth + 1);
+					skipWhiteSpace();
+					if (peek() == ']') {
+						pos++;
+						return;
+					}
+					expect(',');
+				}
+			case '"':
+				skipString();
+				return;
+			case 't':
+				readLiteral("true");
+				return;
+			case 'f':
+				readLiteral("false");
+				return;
+			case 'n':
+				readLiteral("null");
+				return;
+			default:
+				skipNumber();
+		}
+	}
+	
+	
+	private void skipString()
+		throws ParseException {
+		
+		expect('"');
+		
+		while (true) {
+			
+			if (pos >= json.length) {
+				throw new ParseException("Unterminated string", pos);
+			}
+			
+			byte b = json[pos++];
+			
+			if (b == '"') {
+				return;
+			}
+			
+			if (b >= 0 && b < 0x20) {
+				throw new ParseException("Unescaped control character in string", pos);
+			}
+			
+			if (b != '\\') {
+				continue;
+			}
+			
+			int c = peek();
+			pos++;
+			
+			switch (c) {
+				case '"': case '\\': case '/': case 'b': case 'f': case 'n': case 'r': case 't':
+					break;
+				case 'u':
+					if (pos + 4 > json.length) {
+						throw new ParseException("Invalid unicode escape", pos);
+					}
+					for (int i=0; i < 4; i++) {
+						if (Character.digit(json[pos++], 16) < 0) {
+							throw new ParseException("Invalid unicode escape", pos);
+						}
+					}
+					break;
+				default:
+					throw new ParseException("Invalid escape", pos);
+			}
+		}
+	}
+	
+	
+	private void skipNumber()
+		throws ParseException {
+		
+		if (peek() == '-') {
+			pos++;
+		}
+		
+		if (peek() == '0') {
+			pos++;
+		} else if (peek() >= '1' && peek() <= '9') {
+			while (peek() >= '0' && peek() <= '9') {
+				pos++;
+			}
+		} else {
+			throw new ParseException("Invalid number", pos);
+		}
+		
+		if (peek() == '.') {
+			pos++;
+			skipDigits();
+		}
+		
+		if (peek() == 'e' || peek() == 'E') {
+			pos++;
+			if (peek() == '+' || peek() == '-') {
+				pos++;
+			}
+			skipDigits();
+		}
+	}
+}
@@ -37,7 +37,7 @@ import java.util.Map;
  * JSON object helper methods.
  *
  * @author Vladimir Dzhuvinov
- * @version 2022-08-19
+ * @version 2026-10-15
  */
 public class JSONObjectUtils {
 	
@@ -50,6 +50,12 @@ public class JSONObjectUtils {
 		.setObjectToNumberStrategy(ToNumberPolicy.LONG_OR_DOUBLE)
 		.disableHtmlEscaping()
 		.create();
+	
+	
+	/**
+	 * The type of the parsed JSON objects.
+	 */
+	private static final Type MAP_TYPE = TypeToken.getParameterized(Map.class, String.class, Object.class).getType();
 
 
 	/**
@@ -121,10 +127,8 @@ public class JSONObjectUtils {
 			throw new ParseException("The parsed string is longer than the max accepted size of " + sizeLimit + " characters", 0);
 		}
 
-		Type mapType = TypeToken.getParameterized(Map.class, String.class, Object.class).getType();
-		
 		try {
-			return GSON.fromJson(s, mapType);
+			return GSON.fromJson(s, MAP_TYPE);
 		} catch (Exception e) {
 			throw new ParseException("Invalid JSON: " + e.getMessage(), 0);
 		} catch (StackOverflowError e) {
@@ -18,11 +18,13 @@
 package com.nimbusds.jose.util;
 
 
+import java.util.*;
+
 import net.jcip.annotations.Immutable;
 
 
 /**
- * Resource with optional associated content type.
+ * Resource with optional associated content type and response headers.
  */
 @Immutable
 public class Resource {
@@ -40,6 +42,12 @@ public class Resource {
 	private final String contentType;
 
 
+	/**
+	 * The response headers, with case-insensitive names.
+	 */
+	private final Map<String, List<String>> headers;
+
+
 	/**
 	 * Creates a new resource with optional associated content type.
 	 *
@@ -50,12 +58,54 @@ public class Resource {
 	 */
 	public Resource(final String content, final String contentType) {
 
+		this(content, contentType, null);
+	}
+
+
+	/**
+	 * Creates a new resource with optional associated content type and
+	 * response headers.
+	 *
+	 * @param content     The resource content, empty string if none. Must
+	 *                    not be {@code null}.
+	 * @param contentType The resource content type, {@code null} if not
+	 *                    specified.
+	 * @param headers     The response headers, {@code null} if not
+	 *                    specified. Entries with a {@code null} name
+	 *                    (such as the HTTP status line) are ignored.
+	 */
+	public Resource(final String content,
+			final String contentType,
+			final Map<String, List<String>> headers) {
+
 		if (content == null) {
 			throw new IllegalArgumentException("The resource content must not be null");
 		}
 
 		this.content = content;
 		this.contentType = contentType;
+
+		if (headers == null || headers.isEmpty()) {
+			this.headers = Collections.emptyMap();
+			return;
+		}
+
+		Map<String, List<String>> map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		for (Map.Entry<String, List<String>> entry: headers.entrySet()) {
+			if (entry.getKey() == null || entry.getValue() == null) {
+				continue;
+			}
+			List<String> values = map.get(entry.getKey());
+			if (values == null) {
+				values = new ArrayList<>();
+				map.put(entry.getKey(), values);
+			}
+			values.addAll(entry.getValue());
+		}
+		for (Map.Entry<String, List<String>> entry: map.entrySet()) {
+			entry.setValue(Collections.unmodifiableList(entry.getValue()));
+		}
+		this.headers = Collections.unmodifiableMap(map);
 	}
 
 
@@ -79,4 +129,31 @@ public class Resource {
 
 		return contentType;
 	}
+
+
+	/**
+	 * Gets the response headers of this resource. The header names are
+	 * case-insensitive.
+	 *
+	 * @return The response headers, empty map if none.
+	 */
+	public Map<String, List<String>> getHeaders() {
+
+		return headers;
+	}
+
+
+	/**
+	 * Gets the first value of the specified response header.
+	 *
+	 * @param name The header name, case-insensitive. Must not be
+	 *             {@code null}.
+	 *
+	 * @return The first header value, {@code null} if not present.
+	 */
+	public String getHeader(final String name) {
+
+		List<String> values = headers.get(name);
+		return values != null && ! values.isEmpty() ? values.get(0) : null;
+	}
 }
@@ -19,7 +19,6 @@ package com.nimbusds.jwt;
 
 
 import java.text.ParseException;
-import java.util.Map;
 
 import net.jcip.annotations.ThreadSafe;
 
@@ -34,7 +33,7 @@ import com.nimbusds.jose.util.Base64URL;
  * Encrypted JSON Web Token (JWT). This class is thread-safe.
  *
  * @author Vladimir Dzhuvinov
- * @version 2021-02-22
+ * @version 2026-10-15
  */
 @ThreadSafe
 public class EncryptedJWT extends JWEObject implements JWT {
@@ -106,13 +105,7 @@ public class EncryptedJWT extends JWEObject implements JWT {
 			return null;
 		}
 
-		Map<String, Object> json = payload.toJSONObject();
-
-		if (json == null) {
-			throw new ParseException("Payload of JWE object is not a valid JSON object", 0);
-		}
-
-		claimsSet = JWTClaimsSet.parse(json);
+		claimsSet = JWTClaimsSet.parse(payload, "Payload of JWE object is not a valid JSON object");
 		return claimsSet;
 	}
 
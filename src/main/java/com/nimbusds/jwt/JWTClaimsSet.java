@@ -18,6 +18,8 @@
 package com.nimbusds.jwt;
 
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -28,6 +30,7 @@ import net.jcip.annotations.Immutable;
 
 import com.nimbusds.jose.Payload;
 import com.nimbusds.jose.util.JSONArrayUtils;
+import com.nimbusds.jose.util.JSONObjectReader;
 import com.nimbusds.jose.util.JSONObjectUtils;
 import com.nimbusds.jwt.util.DateUtils;
 
@@ -73,7 +76,7 @@ import com.nimbusds.jwt.util.DateUtils;
  *
  * @author Vladimir Dzhuvinov
  * @author Justin Richer
- * @version 2023-10-16
+ * @version 2026-10-15
  */
 @Immutable
 public final class JWTClaimsSet implements Serializable {
@@ -106,6 +109,27 @@ public final class JWTClaimsSet implements Serializable {
 	}
 
 
+	/**
+	 * The registered claim names, for the streaming parse.
+	 */
+	private static final String[] REGISTERED_CLAIM_NAME_ARRAY = {
+		JWTClaimNames.ISSUER,
+		JWTClaimNames.SUBJECT,
+		JWTClaimNames.AUDIENCE,
+		JWTClaimNames.EXPIRATION_TIME,
+		JWTClaimNames.NOT_BEFORE,
+		JWTClaimNames.ISSUED_AT,
+		JWTClaimNames.JWT_ID
+	};
+
+
+	/**
+	 * The value of the time claim accessors returning milliseconds since
+	 * the Unix epoch when the claim is not specified.
+	 */
+	public static final long TIME_NOT_SPECIFIED = Long.MIN_VALUE;
+
+
 	/**
 	 * Builder for constructing JSON Web Token (JWT) claims sets.
 	 *
@@ -146,7 +170,7 @@ public final class JWTClaimsSet implements Serializable {
 		 */
 		public Builder(final JWTClaimsSet jwtClaimsSet) {
 
-			claims.putAll(jwtClaimsSet.claims);
+			claims.putAll(jwtClaimsSet.getClaimsMap());
 		}
 
 
@@ -318,9 +342,18 @@ public final class JWTClaimsSet implements Serializable {
 
 
 	/**
-	 * The claims map.
+	 * The claims map. For a claims set streamed from a payload holds the
+	 * registered claims only, until the custom claims are decoded.
+	 */
+	private volatile Map<String,Object> claims;
+
+
+	/**
+	 * The UTF-8 encoded JSON object of a claims set streamed from a
+	 * payload, kept until its custom claims are decoded, {@code null} if
+	 * none or decoded.
 	 */
-	private final Map<String,Object> claims = new LinkedHashMap<>();
+	private transient volatile byte[] undecodedJSON;
 
 
 	/**
@@ -330,7 +363,83 @@ public final class JWTClaimsSet implements Serializable {
 	 */
 	private JWTClaimsSet(final Map<String,Object> claims) {
 		
-		this.claims.putAll(claims);
+		this.claims = new LinkedHashMap<>(claims);
+	}
+
+
+	/**
+	 * Creates a new JWT claims set with custom claims to be decoded on
+	 * first access.
+	 *
+	 * @param registeredClaims The registered claims, in their JSON object
+	 *                         order. Must not be {@code null}.
+	 * @param undecodedJSON    The UTF-8 encoded JSON object, validated,
+	 *                         with the custom claims to decode,
+	 *                         {@code null} if none.
+	 */
+	private JWTClaimsSet(final Map<String,Object> registeredClaims,
+			     final byte[] undecodedJSON) {
+		
+		this.claims = registeredClaims;
+		this.undecodedJSON = undecodedJSON;
+	}
+
+
+	/**
+	 * Returns the complete claims map, decoding the custom claims of a
+	 * streamed claims set if not done yet.
+	 *
+	 * @return The claims map.
+	 */
+	private Map<String,Object> getClaimsMap() {
+		
+		if (undecodedJSON != null) {
+			decodeCustomClaims();
+		}
+		return claims;
+	}
+
+
+	/**
+	 * Decodes the custom claims of a streamed claims set, preserving the
+	 * claim order of the JSON object.
+	 */
+	private synchronized void decodeCustomClaims() {
+		
+		byte[] json = undecodedJSON;
+		
+		if (json == null) {
+			return; // decoded by another thread
+		}
+		
+		Map<String,Object> decoded = new LinkedHashMap<>();
+		
+		JSONObjectReader reader = new JSONObjectReader(json, REGISTERED_CLAIM_NAME_ARRAY);
+		
+		try {
+			reader.beginObject();
+			
+			while (reader.hasNextMember()) {
+				
+				String name = reader.nextName();
+				
+				if (REGISTERED_CLAIM_NAMES.contains(name)) {
+					decoded.put(name, claims.get(name));
+					reader.skipValue();
+				} else {
+					decoded.put(name, reader.nextValue());
+				}
+			}
+			
+			reader.endObject();
+			
+		} catch (ParseException e) {
+			// Validated when streamed
+			throw new IllegalStateException("Unexpected JWT claims set parse exception: " + e.getMessage(), e);
+		}
+		
+		claims = decoded;
+		undecodedJSON = null;
 	}
 
 
@@ -389,13 +498,19 @@ public final class JWTClaimsSet implements Serializable {
 			return Collections.singletonList((String)audValue);
 		}
 		
-		List<String> aud;
-		try {
-			aud = getStringListClaim(JWTClaimNames.AUDIENCE);
-		} catch (ParseException e) {
+		if (! (audValue instanceof List)) {
 			return Collections.emptyList();
 		}
-		return aud != null ? aud : Collections.<String>emptyList();
+		
+		for (Object item: (List<?>) audValue) {
+			if (item != null && ! (item instanceof String)) {
+				return Collections.emptyList();
+			}
+		}
+		
+		@SuppressWarnings("unchecked")
+		List<String> aud = (List<String>) audValue;
+		return Collections.unmodifiableList(aud);
 	}
 
 
@@ -444,6 +559,67 @@ public final class JWTClaimsSet implements Serializable {
 	}
 
 
+	/**
+	 * Gets the expiration time ({@code exp}) claim as milliseconds since
+	 * the Unix epoch, without creating a {@link Date}.
+	 *
+	 * @return The expiration time, {@link #TIME_NOT_SPECIFIED} if not
+	 *         specified.
+	 */
+	public long getExpirationTimeMillis() {
+
+		return getTimeMillis(JWTClaimNames.EXPIRATION_TIME);
+	}
+
+
+	/**
+	 * Gets the not-before ({@code nbf}) claim as milliseconds since the
+	 * Unix epoch, without creating a {@link Date}.
+	 *
+	 * @return The not-before time, {@link #TIME_NOT_SPECIFIED} if not
+	 *         specified.
+	 */
+	public long getNotBeforeTimeMillis() {
+
+		return getTimeMillis(JWTClaimNames.NOT_BEFORE);
+	}
+
+
+	/**
+	 * Gets the issued-at ({@code iat}) claim as milliseconds since the
+	 * Unix epoch, without creating a {@link Date}.
+	 *
+	 * @return The issued-at time, {@link #TIME_NOT_SPECIFIED} if not
+	 *         specified.
+	 */
+	public long getIssueTimeMillis() {
+
+		return getTimeMillis(JWTClaimNames.ISSUED_AT);
+	}
+
+
+	/**
+	 * Gets the specified date claim as milliseconds since the Unix epoch.
+	 *
+	 * @param name The name of the claim. Must not be {@code null}.
+	 *
+	 * @return The time, {@link #TIME_NOT_SPECIFIED} if not specified or
+	 *         not a date.
+	 */
+	private long getTimeMillis(final String name) {
+
+		Object value = getClaim(name);
+
+		if (value instanceof Date) {
+			return ((Date) value).getTime();
+		} else if (value instanceof Number) {
+			return ((Number) value).longValue() * 1000L;
+		} else {
+			return TIME_NOT_SPECIFIED;
+		}
+	}
+
+
 	/**
 	 * Gets the JWT ID ({@code jti}) claim.
 	 *
@@ -468,6 +644,9 @@ public final class JWTClaimsSet implements Serializable {
 	 */
 	public Object getClaim(final String name) {
 
+		if (undecodedJSON != null && ! REGISTERED_CLAIM_NAMES.contains(name)) {
+			decodeCustomClaims();
+		}
 		return claims.get(name);
 	}
 
@@ -811,7 +990,7 @@ public final class JWTClaimsSet implements Serializable {
 	 */
 	public Map<String,Object> getClaims() {
 
-		return Collections.unmodifiableMap(claims);
+		return Collections.unmodifiableMap(getClaimsMap());
 	}
 	
 	
@@ -853,7 +1032,7 @@ public final class JWTClaimsSet implements Serializable {
 		
 		Map<String, Object> o = JSONObjectUtils.newJSONObject();
 		
-		for (Map.Entry<String,Object> claim: claims.entrySet()) {
+		for (Map.Entry<String,Object> claim: getClaimsMap().entrySet()) {
 			
 			if (claim.getValue() instanceof Date) {
 				
@@ -1008,6 +1187,133 @@ public final class JWTClaimsSet implements Serializable {
 	}
 
 
+	/**
+	 * Parses a JSON Web Token (JWT) claims set from the specified JWT
+	 * payload. Unless the payload was created from a JSON object its
+	 * bytes are streamed: the registered claims are read directly and the
+	 * custom claims are decoded on first access. A payload which isn't
+	 * strict JSON is parsed with the generic JSON parser.
+	 *
+	 * @param payload              The payload. Must not be {@code null}.
+	 * @param notJSONObjectMessage The exception message if the payload
+	 *                             isn't a JSON object.
+	 *
+	 * @return The JWT claims set.
+	 *
+	 * @throws ParseException If the payload doesn't represent a valid JWT
+	 *                        claims set.
+	 */
+	static JWTClaimsSet parse(final Payload payload, final String notJSONObjectMessage)
+		throws ParseException {
+
+		if (payload.getOrigin() != Payload.Origin.JSON) {
+			try {
+				return parseStreaming(payload.toBytes());
+			} catch (ParseException e) {
+				// Lenient or invalid JSON, leave the parsing and
+				// error reporting to the generic JSON parser
+			}
+		}
+
+		Map<String, Object> json = payload.toJSONObject();
+
+		if (json == null) {
+			throw new ParseException(notJSONObjectMessage, 0);
+		}
+
+		return parse(json);
+	}
+
+
+	/**
+	 * Streams a JWT claims set from the specified UTF-8 encoded JSON
+	 * object. The registered claims are read into their typed values, the
+	 * custom claims are validated and skipped, to be decoded on first
+	 * access.
+	 *
+	 * @param json The UTF-8 encoded JSON object. Must not be
+	 *             {@code null}.
+	 *
+	 * @return The JWT claims set.
+	 *
+	 * @throws ParseException If the JSON object isn't strict JSON or
+	 *                        doesn't represent a valid JWT claims set.
+	 */
+	private static JWTClaimsSet parseStreaming(final byte[] json)
+		throws ParseException {
+
+		Map<String,Object> registeredClaims = new LinkedHashMap<>();
+		boolean customClaims = false;
+
+		JSONObjectReader reader = new JSONObjectReader(json, REGISTERED_CLAIM_NAME_ARRAY);
+		reader.beginObject();
+
+		while (reader.hasNextMember()) {
+
+			String name = reader.nextName();
+
+			switch (name) {
+				case JWTClaimNames.ISSUER:
+				case JWTClaimNames.SUBJECT:
+				case JWTClaimNames.JWT_ID:
+					registeredClaims.put(name, reader.nextString(name));
+					break;
+				case JWTClaimNames.AUDIENCE:
+					registeredClaims.put(name, parseAudience(reader.nextValue()));
+					break;
+				case JWTClaimNames.EXPIRATION_TIME:
+				case JWTClaimNames.NOT_BEFORE:
+				case JWTClaimNames.ISSUED_AT:
+					registeredClaims.put(name, new Date(reader.nextLong(name) * 1000));
+					break;
+				default:
+					reader.skipValue();
+					customClaims = true;
+					break;
+			}
+		}
+
+		reader.endObject();
+
+		return new JWTClaimsSet(registeredClaims, customClaims ? json : null);
+	}
+
+
+	/**
+	 * Parses an audience ({@code aud}) claim value, streamed as a generic
+	 * JSON value.
+	 *
+	 * @param audValue The audience value.
+	 *
+	 * @return The audience list, {@code null} if not specified.
+	 *
+	 * @throws ParseException If the value isn't a string, an array of
+	 *                        strings or null.
+	 */
+	private static List<String> parseAudience(final Object audValue)
+		throws ParseException {
+
+		if (audValue == null) {
+			return null;
+		} else if (audValue instanceof String) {
+			List<String> singleAud = new ArrayList<>(1);
+			singleAud.add((String) audValue);
+			return singleAud;
+		} else if (audValue instanceof List) {
+			List<String> audList = new ArrayList<>(((List<?>) audValue).size());
+			for (Object item: (List<?>) audValue) {
+				if (item != null && ! (item instanceof String)) {
+					throw new ParseException("Unexpected type of " + JWTClaimNames.AUDIENCE + " claim", 0);
+				}
+				audList.add((String) item);
+			}
+			return audList;
+		} else {
+			throw new ParseException("Unexpected type of " + JWTClaimNames.AUDIENCE + " claim", 0);
+		}
+	}
+
+
 	/**
 	 * Parses a JSON Web Token (JWT) claims set from the specified JSON
 	 * object string representation.
@@ -1031,12 +1337,21 @@ public final class JWTClaimsSet implements Serializable {
 		if (this == o) return true;
 		if (!(o instanceof JWTClaimsSet)) return false;
 		JWTClaimsSet that = (JWTClaimsSet) o;
-		return Objects.equals(claims, that.claims);
+		return Objects.equals(getClaimsMap(), that.getClaimsMap());
 	}
 
 	
 	@Override
 	public int hashCode() {
-		return Objects.hash(claims);
+		return Objects.hash(getClaimsMap());
+	}
+
+
+	private void writeObject(final ObjectOutputStream out)
+		throws IOException {
+
+		// Decode any custom claims before serialising the map
+		getClaimsMap();
+		out.defaultWriteObject();
 	}
 }
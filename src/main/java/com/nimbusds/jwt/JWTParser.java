@@ -23,8 +23,12 @@ import java.util.Map;
 
 import com.nimbusds.jose.Algorithm;
 import com.nimbusds.jose.Header;
+import com.nimbusds.jose.JOSEObject;
 import com.nimbusds.jose.JWEAlgorithm;
+import com.nimbusds.jose.JWEHeader;
 import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.PlainHeader;
 import com.nimbusds.jose.util.Base64URL;
 import com.nimbusds.jose.util.JSONObjectUtils;
 
@@ -34,7 +38,7 @@ import com.nimbusds.jose.util.JSONObjectUtils;
  *
  * @author Vladimir Dzhuvinov
  * @author Junya Hayashi
- * @version 2015-06-14
+ * @version 2026-10-15
  */
 public final class JWTParser {
 
@@ -54,17 +58,38 @@ public final class JWTParser {
 	public static JWT parse(final String s)
 		throws ParseException {
 
-		final int firstDotPos = s.indexOf(".");
+		final int firstDotPos = s.indexOf('.');
 		
 		if (firstDotPos == -1)
 			throw new ParseException("Invalid JWT serialization: Missing dot delimiter(s)", 0);
-			
-		Base64URL header = new Base64URL(s.substring(0, firstDotPos));
+		
+		// Split once, the parts and the parsed header are passed on
+		Base64URL[] parts = JOSEObject.split(s);
+		
+		Header header;
+		
+		try {
+			header = Header.parse(parts[0]);
+		} catch (ParseException e) {
+			// Leave the error reporting to the JSON object path
+			header = null;
+		}
+		
+		if (header instanceof JWSHeader) {
+			if (parts.length != 3) {
+				throw new ParseException("Unexpected number of Base64URL parts, must be three", 0);
+			}
+			return new SignedJWT((JWSHeader) header, parts[1], parts[2]);
+		} else if (header instanceof JWEHeader) {
+			return EncryptedJWT.parse(s);
+		} else if (header instanceof PlainHeader) {
+			return PlainJWT.parse(s);
+		}
 		
 		Map<String, Object> jsonObject;
 
 		try {
-			jsonObject = JSONObjectUtils.parse(header.decodeToString());
+			jsonObject = JSONObjectUtils.parse(parts[0].decodeToString(), Header.MAX_HEADER_STRING_LENGTH);
 
 		} catch (ParseException e) {
 
@@ -76,7 +101,7 @@ public final class JWTParser {
 		if (alg.equals(Algorithm.NONE)) {
 			return PlainJWT.parse(s);
 		} else if (alg instanceof JWSAlgorithm) {
-			return SignedJWT.parse(s);
+			return parseSignedJWT(parts, jsonObject);
 		} else if (alg instanceof JWEAlgorithm) {
 			return EncryptedJWT.parse(s);
 		} else {
@@ -85,6 +110,39 @@ public final class JWTParser {
 	}
 
 
+	/**
+	 * Creates a signed JWT from the specified split parts and header
+	 * JSON object, without decoding and parsing the header again.
+	 *
+	 * @param parts      The Base64URL-encoded parts. Must not be
+	 *                   {@code null}.
+	 * @param jsonObject The parsed header JSON object. Must not be
+	 *                   {@code null}.
+	 *
+	 * @return The signed JWT.
+	 *
+	 * @throws ParseException If the parts don't represent a valid signed
+	 *                        JWT.
+	 */
+	private static SignedJWT parseSignedJWT(final Base64URL[] parts, final Map<String, Object> jsonObject)
+		throws ParseException {
+
+		if (parts.length != 3) {
+			throw new ParseException("Unexpected number of Base64URL parts, must be three", 0);
+		}
+
+		JWSHeader header;
+
+		try {
+			header = JWSHeader.parse(jsonObject, parts[0]);
+		} catch (ParseException e) {
+			throw new ParseException("Invalid JWS header: " + e.getMessage(), 0);
+		}
+
+		return new SignedJWT(header, parts[1], parts[2]);
+	}
+
+
 	/**
 	 * Prevents instantiation.
 	 */
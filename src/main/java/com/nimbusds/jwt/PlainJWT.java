@@ -19,7 +19,6 @@ package com.nimbusds.jwt;
 
 
 import java.text.ParseException;
-import java.util.Map;
 
 import net.jcip.annotations.ThreadSafe;
 
@@ -34,7 +33,7 @@ import com.nimbusds.jose.util.Base64URL;
  * Unsecured (plain) JSON Web Token (JWT).
  *
  * @author Vladimir Dzhuvinov
- * @version 2021-02-22
+ * @version 2026-10-15
  */
 @ThreadSafe
 public class PlainJWT extends PlainObject implements JWT {
@@ -103,14 +102,7 @@ public class PlainJWT extends PlainObject implements JWT {
 			return claimsSet;
 		}
 
-		Map<String, Object> json = getPayload().toJSONObject();
-
-		if (json == null) {
-			
-			throw new ParseException("Payload of unsecured JOSE object is not a valid JSON object", 0);
-		}
-
-		claimsSet = JWTClaimsSet.parse(json);
+		claimsSet = JWTClaimsSet.parse(getPayload(), "Payload of unsecured JOSE object is not a valid JSON object");
 		return claimsSet;
 	}
 
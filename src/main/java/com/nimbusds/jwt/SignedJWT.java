@@ -19,7 +19,6 @@ package com.nimbusds.jwt;
 
 
 import java.text.ParseException;
-import java.util.Map;
 
 import net.jcip.annotations.ThreadSafe;
 
@@ -34,7 +33,7 @@ import com.nimbusds.jose.util.Base64URL;
  * Signed JSON Web Token (JWT).
  *
  * @author Vladimir Dzhuvinov
- * @version 2021-02-22
+ * @version 2026-10-15
  */
 @ThreadSafe
 public class SignedJWT extends JWSObject implements JWT {
@@ -84,6 +83,27 @@ public class SignedJWT extends JWSObject implements JWT {
 	}
 
 
+	/**
+	 * Creates a new signed JSON Web Token (JWT) with the specified parsed
+	 * header and serialised claims set and signature parts. The state will
+	 * be {@link com.nimbusds.jose.JWSObject.State#SIGNED signed}.
+	 *
+	 * @param parsedHeader The parsed JWS header. Must not be {@code null}
+	 *                     and must have its parsed Base64URL set.
+	 * @param secondPart   The second part, corresponding to the claims
+	 *                     set (payload). Must not be {@code null}.
+	 * @param thirdPart    The third part, corresponding to the signature.
+	 *                     Must not be {@code null}.
+	 *
+	 * @throws ParseException If parsing of the serialised parts failed.
+	 */
+	public SignedJWT(final JWSHeader parsedHeader, final Base64URL secondPart, final Base64URL thirdPart)
+		throws ParseException {
+
+		super(parsedHeader, new Payload(secondPart), thirdPart);
+	}
+
+
 	@Override
 	public JWTClaimsSet getJWTClaimsSet()
 		throws ParseException {
@@ -92,13 +112,7 @@ public class SignedJWT extends JWSObject implements JWT {
 			return claimsSet;
 		}
 
-		Map<String, Object> json = getPayload().toJSONObject();
-
-		if (json == null) {
-			throw new ParseException("Payload of JWS object is not a valid JSON object", 0);
-		}
-
-		claimsSet = JWTClaimsSet.parse(json);
+		claimsSet = JWTClaimsSet.parse(getPayload(), "Payload of JWS object is not a valid JSON object");
 		return claimsSet;
 	}
 	
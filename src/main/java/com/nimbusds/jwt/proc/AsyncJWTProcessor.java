@@ -0,0 +1,83 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jwt.proc;
+
+
+import java.nio.channels.CompletionHandler;
+import java.util.concurrent.Executor;
+
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+
+/**
+ * JSON Web Token (JWT) processor with non-blocking processing. Intended for
+ * callers on event loop threads, which must not block on a remote JWK set
+ * retrieval.
+ *
+ * <p>If the JWT can be processed without blocking, typically when the
+ * verification key is found in a valid cached JWK set, the completion
+ * handler is invoked on the calling thread before the method returns. Else
+ * the JWT is processed with the specified executor and the completion
+ * handler is invoked on the executor thread.
+ *
+ * <p>The completion handler receives the JWT claims set on success, else
+ * the exception which {@link JWTProcessor#process(String, SecurityContext)}
+ * would have thrown.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+public interface AsyncJWTProcessor<C extends SecurityContext> extends JWTProcessor<C> {
+	
+	
+	/**
+	 * Parses and processes the specified JWT (unsecured, signed or
+	 * encrypted), without blocking the calling thread.
+	 *
+	 * @param jwtString The JWT, compact-encoded to a URL-safe string. Must
+	 *                  not be {@code null}.
+	 * @param context   Optional context, {@code null} if not required.
+	 *                  Passed as attachment to the completion handler.
+	 * @param executor  The executor for blocking processing. Must not be
+	 *                  {@code null}.
+	 * @param handler   The completion handler. Must not be {@code null}.
+	 */
+	void processAsync(final String jwtString,
+			  final C context,
+			  final Executor executor,
+			  final CompletionHandler<JWTClaimsSet, ? super C> handler);
+	
+	
+	/**
+	 * Processes the specified JWT (unsecured, signed or encrypted),
+	 * without blocking the calling thread.
+	 *
+	 * @param jwt      The JWT. Must not be {@code null}.
+	 * @param context  Optional context, {@code null} if not required.
+	 *                 Passed as attachment to the completion handler.
+	 * @param executor The executor for blocking processing. Must not be
+	 *                 {@code null}.
+	 * @param handler  The completion handler. Must not be {@code null}.
+	 */
+	void processAsync(final JWT jwt,
+			  final C context,
+			  final Executor executor,
+			  final CompletionHandler<JWTClaimsSet, ? super C> handler);
+}
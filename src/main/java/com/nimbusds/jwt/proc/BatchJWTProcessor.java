@@ -0,0 +1,72 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jwt.proc;
+
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import com.nimbusds.jose.proc.SecurityContext;
+
+
+/**
+ * JSON Web Token (JWT) processor with batch processing. Intended for
+ * re-validating large numbers of stored JWTs, for example in audit and
+ * replay pipelines.
+ *
+ * <p>The JWTs are processed in parallel. A failure to process a JWT doesn't
+ * affect the processing of the others, each JWT gets its own
+ * {@link JWTProcessingResult result}.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+public interface BatchJWTProcessor<C extends SecurityContext> extends JWTProcessor<C> {
+	
+	
+	/**
+	 * Parses and processes the specified JWTs (unsecured, signed or
+	 * encrypted) with the default executor service.
+	 *
+	 * @param jwtStrings The JWTs, compact-encoded to URL-safe strings.
+	 *                   Must not be {@code null}.
+	 * @param context    Optional context, {@code null} if not required.
+	 *
+	 * @return The processing results, in the order of the JWTs.
+	 */
+	List<JWTProcessingResult> processAll(final List<String> jwtStrings, final C context);
+	
+	
+	/**
+	 * Parses and processes the specified JWTs (unsecured, signed or
+	 * encrypted) with the specified executor service. The calling thread
+	 * blocks until all JWTs are processed.
+	 *
+	 * @param jwtStrings      The JWTs, compact-encoded to URL-safe
+	 *                        strings. Must not be {@code null}.
+	 * @param context         Optional context, {@code null} if not
+	 *                        required.
+	 * @param executorService The executor service. Must not be
+	 *                        {@code null}.
+	 *
+	 * @return The processing results, in the order of the JWTs.
+	 */
+	List<JWTProcessingResult> processAll(final List<String> jwtStrings,
+					     final C context,
+					     final ExecutorService executorService);
+}
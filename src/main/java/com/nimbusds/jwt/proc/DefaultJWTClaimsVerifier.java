@@ -76,16 +76,20 @@ import com.nimbusds.jwt.util.DateUtils;
  * time provider for the "exp" (expiration time) and "nbf" (not-before time)
  * verification, or to disable "exp" and "nbf" verification entirely.
  *
+ * <p>The audience, issuer and time validity checks are also available as a
+ * {@link JWTClaimsSetPreVerifier pre-verification}, to reject JWTs before
+ * their signature is verified.
+ *
  * <p>This class may be extended to perform additional checks.
  *
  * <p>This class is thread-safe.
  *
  * @author Vladimir Dzhuvinov
  * @author Eugene Kuleshov
- * @version 2021-09-28
+ * @version 2026-10-15
  */
 @ThreadSafe
-public class DefaultJWTClaimsVerifier <C extends SecurityContext> implements JWTClaimsSetVerifier<C>, ClockSkewAware {
+public class DefaultJWTClaimsVerifier <C extends SecurityContext> implements JWTClaimsSetVerifier<C>, JWTClaimsSetPreVerifier<C>, ClockSkewAware {
 
 
 	/**
@@ -126,6 +130,13 @@ public class DefaultJWTClaimsVerifier <C extends SecurityContext> implements JWT
 	private final Set<String> prohibitedClaims;
 	
 	
+	/**
+	 * {@code true} if {@link #currentTime()} isn't overridden, the system
+	 * clock is then read directly, without creating a {@link Date}.
+	 */
+	private final boolean systemClock = ! overridesCurrentTime(getClass());
+	
+	
 	/**
 	 * Creates a new JWT claims verifier. No audience ("aud"), required and
 	 * prohibited claims are specified. The expiration ("exp") and
@@ -285,7 +296,69 @@ public class DefaultJWTClaimsVerifier <C extends SecurityContext> implements JWT
 	public void verify(final JWTClaimsSet claimsSet, final C context)
 		throws BadJWTException {
 		
-		// Check audience
+		verifyAudience(claimsSet);
+		
+		// Check if all required claims are present
+		if (! requiredClaims.isEmpty() && ! claimsSet.getClaims().keySet().containsAll(requiredClaims)) {
+			SortedSet<String> missingClaims = new TreeSet<>(requiredClaims);
+			missingClaims.removeAll(claimsSet.getClaims().keySet());
+			throw new BadJWTException("JWT missing required claims: " + missingClaims);
+		}
+		
+		// Check if prohibited claims are present
+		if (! prohibitedClaims.isEmpty()) {
+			SortedSet<String> presentProhibitedClaims = new TreeSet<>();
+			for (String prohibited: prohibitedClaims) {
+				if (claimsSet.getClaims().containsKey(prohibited)) {
+					presentProhibitedClaims.add(prohibited);
+				}
+			}
+			if (! presentProhibitedClaims.isEmpty()) {
+				throw new BadJWTException("JWT has prohibited claims: " + presentProhibitedClaims);
+			}
+		}
+		
+		// Check exact matches
+		for (String exactMatch: exactMatchClaims.getClaims().keySet()) {
+			verifyExactMatch(claimsSet, exactMatch);
+		}
+		
+		verifyTimeWindow(claimsSet);
+	}
+	
+	
+	/**
+	 * Checks the audience ("aud"), issuer ("iss") if set for an exact
+	 * match, expiration ("exp") and not-before ("nbf") time claims of a
+	 * signed JWT before its signature is verified. The checks are a
+	 * subset of {@link #verify}, they can only reject and report the same
+	 * exceptions.
+	 */
+	@Override
+	public void preVerify(final JWTClaimsSet claimsSet, final C context)
+		throws BadJWTException {
+		
+		verifyAudience(claimsSet);
+		
+		if (exactMatchClaims.getIssuer() != null && claimsSet.getIssuer() != null) {
+			// A missing issuer is left to the required claims check
+			verifyExactMatch(claimsSet, JWTClaimNames.ISSUER);
+		}
+		
+		verifyTimeWindow(claimsSet);
+	}
+	
+	
+	/**
+	 * Checks the audience ("aud") claim.
+	 *
+	 * @param claimsSet The JWT claims set. Not {@code null}.
+	 *
+	 * @throws BadJWTException If the audience is rejected or missing.
+	 */
+	private void verifyAudience(final JWTClaimsSet claimsSet)
+		throws BadJWTException {
+		
 		if (acceptedAudienceValues != null) {
 			List<String> audList = claimsSet.getAudience();
 			if (audList != null && ! audList.isEmpty()) {
@@ -303,54 +376,92 @@ public class DefaultJWTClaimsVerifier <C extends SecurityContext> implements JWT
 				throw new BadJWTException("JWT missing required audience");
 			}
 		}
+	}
+	
+	
+	/**
+	 * Checks the specified claim for an exact match.
+	 *
+	 * @param claimsSet The JWT claims set. Not {@code null}.
+	 * @param name      The claim name. Not {@code null}.
+	 *
+	 * @throws BadJWTException If the claim doesn't match.
+	 */
+	private void verifyExactMatch(final JWTClaimsSet claimsSet, final String name)
+		throws BadJWTException {
 		
-		// Check if all required claims are present
-		if (! claimsSet.getClaims().keySet().containsAll(requiredClaims)) {
-			SortedSet<String> missingClaims = new TreeSet<>(requiredClaims);
-			missingClaims.removeAll(claimsSet.getClaims().keySet());
-			throw new BadJWTException("JWT missing required claims: " + missingClaims);
+		Object actualClaim = claimsSet.getClaim(name);
+		Object expectedClaim = exactMatchClaims.getClaim(name);
+		if (! actualClaim.equals(expectedClaim)) {
+			throw new BadJWTException("JWT " + name + " claim has value " + actualClaim + ", must be " + expectedClaim);
 		}
+	}
+	
+	
+	/**
+	 * Checks the expiration ("exp") and not-before ("nbf") time claims
+	 * against the current time.
+	 *
+	 * @param claimsSet The JWT claims set. Not {@code null}.
+	 *
+	 * @throws BadJWTException If the JWT is expired or before its use
+	 *                         time.
+	 */
+	private void verifyTimeWindow(final JWTClaimsSet claimsSet)
+		throws BadJWTException {
 		
-		// Check if prohibited claims are present
-		SortedSet<String> presentProhibitedClaims = new TreeSet<>();
-		for (String prohibited: prohibitedClaims) {
-			if (claimsSet.getClaims().containsKey(prohibited)) {
-				presentProhibitedClaims.add(prohibited);
+		final long now;
+		
+		if (systemClock) {
+			now = System.currentTimeMillis();
+		} else {
+			Date currentTime = currentTime();
+			if (currentTime == null) {
+				return; // exp and nbf verification disabled
 			}
-		}
-		if (! presentProhibitedClaims.isEmpty()) {
-			throw new BadJWTException("JWT has prohibited claims: " + presentProhibitedClaims);
+			now = currentTime.getTime();
 		}
 		
-		// Check exact matches
-		for (String exactMatch: exactMatchClaims.getClaims().keySet()) {
-			Object actualClaim = claimsSet.getClaim(exactMatch);
-			Object expectedClaim = exactMatchClaims.getClaim(exactMatch);
-			if (! actualClaim.equals(expectedClaim)) {
-				throw new BadJWTException("JWT " + exactMatch + " claim has value " + actualClaim + ", must be " + expectedClaim);
+		final long exp = claimsSet.getExpirationTimeMillis();
+		if (exp != JWTClaimsSet.TIME_NOT_SPECIFIED) {
+			
+			if (! DateUtils.isAfter(exp, now, maxClockSkew)) {
+				throw new BadJWTException("Expired JWT");
 			}
 		}
 		
-		// Check time window
-		final Date now = currentTime();
-
-		if (now != null) {
-			final Date exp = claimsSet.getExpirationTime();
-			if (exp != null) {
-
-				if (! DateUtils.isAfter(exp, now, maxClockSkew)) {
-					throw new BadJWTException("Expired JWT");
-				}
+		final long nbf = claimsSet.getNotBeforeTimeMillis();
+		if (nbf != JWTClaimsSet.TIME_NOT_SPECIFIED) {
+			
+			if (! DateUtils.isBefore(nbf, now, maxClockSkew)) {
+				throw new BadJWTException("JWT before use time");
 			}
-
-			final Date nbf = claimsSet.getNotBeforeTime();
-			if (nbf != null) {
-
-				if (! DateUtils.isBefore(nbf, now, maxClockSkew)) {
-					throw new BadJWTException("JWT before use time");
-				}
+		}
+	}
+	
+	
+	/**
+	 * Returns {@code true} if the specified verifier class overrides
+	 * {@link #currentTime()}.
+	 *
+	 * @param verifierClass The verifier class.
+	 *
+	 * @return {@code true} if {@link #currentTime()} is overridden.
+	 */
+	private static boolean overridesCurrentTime(final Class<?> verifierClass) {
+		
+		for (Class<?> c = verifierClass; c != DefaultJWTClaimsVerifier.class; c = c.getSuperclass()) {
+			try {
+				c.getDeclaredMethod("currentTime");
+				return true;
+			} catch (NoSuchMethodException e) {
+				// Continue with the superclass
+			} catch (SecurityException e) {
+				return true;
 			}
 		}
+		
+		return false;
 	}
 
 	
@@ -21,13 +21,19 @@ package com.nimbusds.jwt.proc;
 import com.nimbusds.jose.*;
 import com.nimbusds.jose.crypto.factories.DefaultJWEDecrypterFactory;
 import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.AsyncJWKSource;
+import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.*;
 import com.nimbusds.jwt.*;
 
+import java.nio.channels.CompletionHandler;
 import java.security.Key;
 import java.text.ParseException;
-import java.util.List;
-import java.util.ListIterator;
+import java.util.*;
+import java.util.concurrent.*;
 
 
 /**
@@ -82,14 +88,32 @@ import java.util.ListIterator;
  * verifier may be extended to perform additional checks, such as issuer and
  * subject acceptance.
  *
+ * <p>The {@link #setClaimsSetPreVerification claims set pre-verification} can
+ * be enabled to reject signed JWTs which are expired, or have an unacceptable
+ * audience or issuer, before the JWS key selection and signature
+ * verification.
+ *
+ * <p>JWTs can also be {@link #processAsync(String, SecurityContext, Executor,
+ * CompletionHandler) processed without blocking} the calling thread. A signed
+ * JWT is then processed on the calling thread if its key selector is a
+ * {@link JWSVerificationKeySelector} with an {@link AsyncJWKSource} which has
+ * the matching keys available without blocking, all other JWTs are processed
+ * with the caller's executor. The keys are retrieved without blocking only
+ * when neither the key selector class nor the JWT processing and key
+ * selection methods of this class are overridden.
+ *
+ * <p>Many JWTs can be {@link #processAll(List, SecurityContext) processed in
+ * a batch}, in parallel, with the keys selected and the JWS verifiers created
+ * once for each group of signed JWTs with the same header.
+ *
  * <p>To process generic JOSE objects (with arbitrary payloads) use the
  * {@link com.nimbusds.jose.proc.DefaultJOSEProcessor} class.
  *
  * @author Vladimir Dzhuvinov
  * @author Misagh Moayyed
- * @version 2024-01-15
+ * @version 2026-10-15
  */
-public class DefaultJWTProcessor<C extends SecurityContext> implements ConfigurableJWTProcessor<C> {
+public class DefaultJWTProcessor<C extends SecurityContext> implements ConfigurableJWTProcessor<C>, AsyncJWTProcessor<C>, BatchJWTProcessor<C> {
 
 	
 	/**
@@ -141,6 +165,59 @@ public class DefaultJWTProcessor<C extends SecurityContext> implements Configura
 	private JWTClaimsSetVerifier<C> claimsVerifier = new DefaultJWTClaimsVerifier<>(null, null);
 	
 	
+	/**
+	 * Enables pre-verification of the JWT claims set before the JWS
+	 * signature verification.
+	 */
+	private boolean claimsSetPreVerification = false;
+	
+	
+	/**
+	 * {@code true} if a subclass overrides the processing of JWTs or
+	 * signed JWTs. The batch grouping of signed JWTs and the async key
+	 * retrieval are then skipped, so that the overriding methods apply
+	 * to every JWT.
+	 */
+	private final boolean signedJWTProcessingOverridden =
+		overrides(getClass(), "process", JWT.class, SecurityContext.class) ||
+		overrides(getClass(), "process", SignedJWT.class, SecurityContext.class);
+	
+	
+	/**
+	 * {@code true} if a subclass overrides the JWS key selection. The
+	 * async key retrieval is then skipped.
+	 */
+	private final boolean keySelectionOverridden =
+		overrides(getClass(), "selectKeys", JWSHeader.class, JWTClaimsSet.class, SecurityContext.class);
+	
+	
+	/**
+	 * Returns {@code true} if the specified class, or a superclass of it
+	 * below {@link DefaultJWTProcessor}, declares the specified method.
+	 *
+	 * @param clazz      The class.
+	 * @param name       The method name.
+	 * @param paramTypes The erased method parameter types.
+	 *
+	 * @return {@code true} if the method is overridden, or its
+	 *         declaration cannot be determined.
+	 */
+	private static boolean overrides(final Class<?> clazz, final String name, final Class<?>... paramTypes) {
+		
+		for (Class<?> c = clazz; c != DefaultJWTProcessor.class; c = c.getSuperclass()) {
+			try {
+				c.getDeclaredMethod(name, paramTypes);
+				return true;
+			} catch (NoSuchMethodException e) {
+				// Continue with the superclass
+			} catch (SecurityException e) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	
 	@Override
 	public JOSEObjectTypeVerifier<C> getJWSTypeVerifier() {
 		
@@ -251,6 +328,39 @@ public class DefaultJWTProcessor<C extends SecurityContext> implements Configura
 		
 		this.claimsVerifier = claimsVerifier;
 	}
+	
+	
+	/**
+	 * Returns {@code true} if the claims set of a signed JWT is
+	 * {@link JWTClaimsSetPreVerifier pre-verified} before the JWS key
+	 * selection and signature verification. Disabled by default.
+	 *
+	 * @return {@code true} if the claims set pre-verification is
+	 *         enabled.
+	 */
+	public boolean isClaimsSetPreVerification() {
+		
+		return claimsSetPreVerification;
+	}
+	
+	
+	/**
+	 * Enables or disables the {@link JWTClaimsSetPreVerifier
+	 * pre-verification} of the claims set of a signed JWT before the JWS
+	 * key selection and signature verification. Takes effect if the
+	 * {@link #getJWTClaimsSetVerifier() JWT claims set verifier} is also
+	 * a {@link JWTClaimsSetPreVerifier}, such as the
+	 * {@link DefaultJWTClaimsVerifier}. The pre-verification can only
+	 * reject a JWT, to avoid spending CPU on verifying the signatures of
+	 * expired JWTs, or JWTs intended for another audience.
+	 *
+	 * @param enable {@code true} to enable the claims set
+	 *               pre-verification, {@code false} to disable it.
+	 */
+	public void setClaimsSetPreVerification(final boolean enable) {
+		
+		this.claimsSetPreVerification = enable;
+	}
 
 
 	/**
@@ -295,6 +405,29 @@ public class DefaultJWTProcessor<C extends SecurityContext> implements Configura
 	}
 
 
+	/**
+	 * Pre-verifies the specified JWT claims set, before the JWS signature
+	 * verification. Has effect if {@link #isClaimsSetPreVerification()
+	 * enabled} and the JWT claims set verifier is a
+	 * {@link JWTClaimsSetPreVerifier}.
+	 *
+	 * @param claimsSet The JWT claims set (not verified). Must not be
+	 *                  {@code null}.
+	 * @param context   Optional context, {@code null} if not required.
+	 *
+	 * @throws BadJWTException If the JWT claims set is rejected.
+	 */
+	protected void preVerifyJWTClaimsSet(final JWTClaimsSet claimsSet, final C context)
+		throws BadJWTException {
+		
+		if (isClaimsSetPreVerification() && getJWTClaimsSetVerifier() instanceof JWTClaimsSetPreVerifier) {
+			@SuppressWarnings("unchecked")
+			JWTClaimsSetPreVerifier<C> preVerifier = (JWTClaimsSetPreVerifier<C>) getJWTClaimsSetVerifier();
+			preVerifier.preVerify(claimsSet, context);
+		}
+	}
+
+
 	/**
 	 * Selects key candidates for verifying a signed JWT.
 	 *
@@ -353,6 +486,348 @@ public class DefaultJWTProcessor<C extends SecurityContext> implements Configura
 	}
 
 
+	@Override
+	public void processAsync(final String jwtString,
+				 final C context,
+				 final Executor executor,
+				 final CompletionHandler<JWTClaimsSet, ? super C> handler) {
+		
+		JWT jwt;
+		try {
+			jwt = JWTParser.parse(jwtString);
+		} catch (ParseException | RuntimeException e) {
+			handler.failed(e, context);
+			return;
+		}
+		
+		processAsync(jwt, context, executor, handler);
+	}
+	
+	
+	@Override
+	public void processAsync(final JWT jwt,
+				 final C context,
+				 final Executor executor,
+				 final CompletionHandler<JWTClaimsSet, ? super C> handler) {
+		
+		if (jwt instanceof PlainJWT) {
+			// No keys to retrieve
+			completeProcessing(jwt, context, handler);
+			return;
+		}
+		
+		// The async key retrieval replicates the key selection of a
+		// plain JWS verification key selector, subclasses may select
+		// the keys differently
+		if (jwt instanceof SignedJWT &&
+		    getJWSKeySelector() != null &&
+		    getJWSKeySelector().getClass() == JWSVerificationKeySelector.class &&
+		    getJWTClaimsSetAwareJWSKeySelector() == null &&
+		    ! signedJWTProcessingOverridden &&
+		    ! keySelectionOverridden) {
+			
+			final JWSVerificationKeySelector<C> keySelector = (JWSVerificationKeySelector<C>) getJWSKeySelector();
+			JWKSource<C> jwkSource = keySelector.getJWKSource();
+			JWSHeader jwsHeader = ((SignedJWT) jwt).getHeader();
+			JWKMatcher jwkMatcher = keySelector.isAllowed(jwsHeader.getAlgorithm()) ? JWKMatcher.forJWSHeader(jwsHeader) : null;
+			
+			if (jwkSource instanceof AsyncJWKSource && jwkMatcher != null) {
+				
+				// Retrieve the keys without blocking, then process
+				// inline if they were available, else on the
+				// executor thread, with the retrieved keys, so that
+				// the JWK source isn't queried again
+				((AsyncJWKSource<C>) jwkSource).getAsync(
+					new JWKSelector(jwkMatcher),
+					context,
+					executor,
+					new CompletionHandler<List<JWK>, C>() {
+						
+						@Override
+						public void completed(final List<JWK> jwks, final C attachment) {
+							
+							JWTClaimsSet claimsSet;
+							try {
+								claimsSet = processSignedJWT((SignedJWT) jwt, keySelector.toJWSKeys(jwks), null, context);
+							} catch (BadJOSEException | JOSEException | RuntimeException e) {
+								handler.failed(e, context);
+								return;
+							}
+							
+							handler.completed(claimsSet, context);
+						}
+						
+						@Override
+						public void failed(final Throwable e, final C attachment) {
+							handler.failed(e, context);
+						}
+					});
+				return;
+			}
+		}
+		
+		try {
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					completeProcessing(jwt, context, handler);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			handler.failed(e, context);
+		}
+	}
+	
+	
+	/**
+	 * Processes the specified JWT on the calling thread and passes the
+	 * outcome to the completion handler.
+	 *
+	 * @param jwt     The JWT. Must not be {@code null}.
+	 * @param context Optional context, {@code null} if not required.
+	 * @param handler The completion handler. Must not be {@code null}.
+	 */
+	private void completeProcessing(final JWT jwt,
+					final C context,
+					final CompletionHandler<JWTClaimsSet, ? super C> handler) {
+		
+		JWTClaimsSet claimsSet;
+		try {
+			claimsSet = process(jwt, context);
+		} catch (BadJOSEException | JOSEException | RuntimeException e) {
+			handler.failed(e, context);
+			return;
+		}
+		
+		handler.completed(claimsSet, context);
+	}
+	
+	
+	/**
+	 * Lazily created default executor service for the batch processing.
+	 */
+	private static final class DefaultBatchExecutor {
+		
+		
+		/**
+		 * Fork / join pool with parallelism equal to the number of
+		 * available processors. Its worker threads are daemon threads.
+		 */
+		static final ForkJoinPool INSTANCE = new ForkJoinPool();
+	}
+	
+	
+	/**
+	 * The maximum number of JWTs processed by a single batch task.
+	 */
+	private static final int MAX_BATCH_CHUNK_SIZE = 256;
+	
+	
+	/**
+	 * The JWS verifiers for a group of signed JWTs with the same header,
+	 * created once, for the first JWT in the group which needs them.
+	 */
+	private final class JWSVerifierGroup {
+		
+		
+		private final JWSHeader header;
+		
+		private List<JWSVerifier> verifiers;
+		
+		private Exception exception;
+		
+		
+		private JWSVerifierGroup(final JWSHeader header) {
+			this.header = header;
+		}
+		
+		
+		/**
+		 * Returns the JWS verifiers for the key candidates, selecting
+		 * the keys on the first call.
+		 *
+		 * @param claimsSet The JWT claims set (not verified) of the
+		 *                  calling JWT. Must not be {@code null}.
+		 * @param context   Optional context, {@code null} if not
+		 *                  required.
+		 *
+		 * @return The JWS verifiers in trial order, with {@code null}
+		 *         for key candidates without a matching verifier.
+		 */
+		synchronized List<JWSVerifier> getJWSVerifiers(final JWTClaimsSet claimsSet, final C context)
+			throws BadJOSEException, JOSEException {
+			
+			if (verifiers == null && exception == null) {
+				try {
+					List<? extends Key> keyCandidates = requireKeyCandidates(selectKeys(header, claimsSet, context));
+					
+					List<JWSVerifier> list = new ArrayList<>(keyCandidates.size());
+					for (Key key: keyCandidates) {
+						list.add(getJWSVerifierFactory().createJWSVerifier(header, key));
+					}
+					verifiers = list;
+					
+				} catch (BadJOSEException | JOSEException | RuntimeException e) {
+					exception = e;
+				}
+			}
+			
+			if (exception instanceof BadJOSEException) {
+				throw (BadJOSEException) exception;
+			} else if (exception instanceof JOSEException) {
+				throw (JOSEException) exception;
+			} else if (exception != null) {
+				throw (RuntimeException) exception;
+			}
+			
+			return verifiers;
+		}
+	}
+	
+	
+	@Override
+	public List<JWTProcessingResult> processAll(final List<String> jwtStrings, final C context) {
+		
+		return processAll(jwtStrings, context, DefaultBatchExecutor.INSTANCE);
+	}
+	
+	
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The signed JWTs are grouped by JWS header, which for the JWTs of
+	 * an issuer typically amounts to a grouping by key ID ("kid") and
+	 * algorithm ("alg"). The keys are selected and the JWS verifiers
+	 * created once per group, unless the processor is configured with a
+	 * {@link JWTClaimsSetAwareJWSKeySelector}, where the key selection
+	 * may depend on the claims of each JWT, or a subclass overrides
+	 * {@link #process(JWT, SecurityContext)} or
+	 * {@link #process(SignedJWT, SecurityContext)}, in which case each
+	 * JWT is processed with the overriding method.
+	 */
+	@Override
+	public List<JWTProcessingResult> processAll(final List<String> jwtStrings,
+						    final C context,
+						    final ExecutorService executorService) {
+		
+		final JWTProcessingResult[] results = new JWTProcessingResult[jwtStrings.size()];
+		final JWT[] jwts = new JWT[jwtStrings.size()];
+		final Object[] groups = new Object[jwtStrings.size()];
+		
+		Map<String, JWSVerifierGroup> groupMap = new HashMap<>();
+		
+		int i = 0;
+		for (String jwtString: jwtStrings) {
+			try {
+				jwts[i] = JWTParser.parse(jwtString);
+			} catch (ParseException | RuntimeException e) {
+				results[i++] = new JWTProcessingResult(e);
+				continue;
+			}
+			
+			if (jwts[i] instanceof SignedJWT && getJWTClaimsSetAwareJWSKeySelector() == null && ! signedJWTProcessingOverridden) {
+				SignedJWT signedJWT = (SignedJWT) jwts[i];
+				String groupKey = signedJWT.getParsedParts()[0].toString();
+				JWSVerifierGroup group = groupMap.get(groupKey);
+				if (group == null) {
+					group = new JWSVerifierGroup(signedJWT.getHeader());
+					groupMap.put(groupKey, group);
+				}
+				groups[i] = group;
+			}
+			i++;
+		}
+		
+		int chunkSize = Math.max(1, Math.min(MAX_BATCH_CHUNK_SIZE, jwts.length / (4 * Runtime.getRuntime().availableProcessors())));
+		
+		List<Callable<Void>> tasks = new ArrayList<>();
+		
+		for (int start = 0; start < jwts.length; start += chunkSize) {
+			
+			final int from = start;
+			final int to = Math.min(start + chunkSize, jwts.length);
+			
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() {
+					for (int j = from; j < to; j++) {
+						if (results[j] != null) {
+							continue; // parse failure
+						}
+						try {
+							JWTClaimsSet claimsSet;
+							if (groups[j] != null) {
+								@SuppressWarnings("unchecked")
+								JWSVerifierGroup group = (JWSVerifierGroup) groups[j];
+								claimsSet = process((SignedJWT) jwts[j], group, context);
+							} else {
+								claimsSet = process(jwts[j], context);
+							}
+							results[j] = new JWTProcessingResult(claimsSet);
+						} catch (BadJOSEException | JOSEException | RuntimeException e) {
+							results[j] = new JWTProcessingResult(e);
+						}
+					}
+					return null;
+				}
+			});
+		}
+		
+		try {
+			for (Future<Void> future: executorService.invokeAll(tasks)) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					// Errors only, the exceptions are caught in the tasks
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			fillMissingResults(results, e);
+		} catch (RejectedExecutionException e) {
+			fillMissingResults(results, e);
+		}
+		
+		fillMissingResults(results, new JOSEException("JWT batch processing failed"));
+		
+		return Collections.unmodifiableList(Arrays.asList(results));
+	}
+	
+	
+	/**
+	 * Sets the missing results of a batch to failures with the specified
+	 * exception.
+	 *
+	 * @param results   The results.
+	 * @param exception The exception.
+	 */
+	private static void fillMissingResults(final JWTProcessingResult[] results, final Exception exception) {
+		
+		for (int i=0; i < results.length; i++) {
+			if (results[i] == null) {
+				results[i] = new JWTProcessingResult(exception);
+			}
+		}
+	}
+	
+	
+	/**
+	 * Processes the specified signed JWT in a batch, with the JWS
+	 * verifiers of its group.
+	 *
+	 * @param signedJWT The signed JWT. Must not be {@code null}.
+	 * @param group     The JWS verifier group. Must not be {@code null}.
+	 * @param context   Optional context, {@code null} if not required.
+	 *
+	 * @return The JWT claims set.
+	 */
+	private JWTClaimsSet process(final SignedJWT signedJWT, final JWSVerifierGroup group, final C context)
+		throws BadJOSEException, JOSEException {
+		
+		return processSignedJWT(signedJWT, null, group, context);
+	}
+
+
 	@Override
 	public JWTClaimsSet process(final PlainJWT plainJWT, final C context)
 		throws BadJOSEException, JOSEException {
@@ -371,6 +846,31 @@ public class DefaultJWTProcessor<C extends SecurityContext> implements Configura
 	public JWTClaimsSet process(final SignedJWT signedJWT, final C context)
 		throws BadJOSEException, JOSEException {
 		
+		return processSignedJWT(signedJWT, null, null, context);
+	}
+	
+	
+	/**
+	 * Processes the specified signed JWT. The JWS verifiers are taken
+	 * from the batch group if one is specified, else they are created
+	 * from the key candidates as the keys are tried out.
+	 *
+	 * @param signedJWT     The signed JWT. Must not be {@code null}.
+	 * @param keyCandidates The already selected key candidates,
+	 *                      {@code null} to select them with
+	 *                      {@link #selectKeys}.
+	 * @param group         The JWS verifier group of a batch,
+	 *                      {@code null} if none.
+	 * @param context       Optional context, {@code null} if not required.
+	 *
+	 * @return The JWT claims set.
+	 */
+	private JWTClaimsSet processSignedJWT(final SignedJWT signedJWT,
+					      final List<? extends Key> keyCandidates,
+					      final JWSVerifierGroup group,
+					      final C context)
+		throws BadJOSEException, JOSEException {
+		
 		if (jwsTypeVerifier == null) {
 			throw new BadJOSEException("Signed JWT rejected: No JWS header typ (type) verifier is configured");
 		}
@@ -387,18 +887,27 @@ public class DefaultJWTProcessor<C extends SecurityContext> implements Configura
 		}
 		
 		JWTClaimsSet claimsSet = extractJWTClaimsSet(signedJWT);
-
-		List<? extends Key> keyCandidates = selectKeys(signedJWT.getHeader(), claimsSet, context);
-
-		if (keyCandidates == null || keyCandidates.isEmpty()) {
-			throw new BadJOSEException("Signed JWT rejected: Another algorithm expected, or no matching key(s) found");
+		
+		preVerifyJWTClaimsSet(claimsSet, context);
+		
+		List<JWSVerifier> verifiers = null;
+		List<? extends Key> keys = null;
+		
+		if (group != null) {
+			verifiers = group.getJWSVerifiers(claimsSet, context);
+		} else if (keyCandidates != null) {
+			keys = requireKeyCandidates(keyCandidates);
+		} else {
+			keys = requireKeyCandidates(selectKeys(signedJWT.getHeader(), claimsSet, context));
 		}
+		
+		final int numCandidates = verifiers != null ? verifiers.size() : keys.size();
 
-		ListIterator<? extends Key> it = keyCandidates.listIterator();
-
-		while (it.hasNext()) {
+		for (int i=0; i < numCandidates; i++) {
 
-			JWSVerifier verifier = getJWSVerifierFactory().createJWSVerifier(signedJWT.getHeader(), it.next());
+			JWSVerifier verifier = verifiers != null ?
+				verifiers.get(i) :
+				getJWSVerifierFactory().createJWSVerifier(signedJWT.getHeader(), keys.get(i));
 
 			if (verifier == null) {
 				continue;
@@ -410,7 +919,7 @@ public class DefaultJWTProcessor<C extends SecurityContext> implements Configura
 				return verifyJWTClaimsSet(claimsSet, context);
 			}
 
-			if (! it.hasNext()) {
+			if (i == numCandidates - 1) {
 				// No more keys to try out
 				throw new BadJWSException("Signed JWT rejected: Invalid signature");
 			}
@@ -418,6 +927,27 @@ public class DefaultJWTProcessor<C extends SecurityContext> implements Configura
 
 		throw new BadJOSEException("JWS object rejected: No matching verifier(s) found");
 	}
+	
+	
+	/**
+	 * Ensures the specified key candidates for a signed JWT are not
+	 * empty.
+	 *
+	 * @param keyCandidates The key candidates, {@code null} if none.
+	 *
+	 * @return The key candidates.
+	 *
+	 * @throws BadJOSEException If there are no key candidates.
+	 */
+	private static List<? extends Key> requireKeyCandidates(final List<? extends Key> keyCandidates)
+		throws BadJOSEException {
+		
+		if (keyCandidates == null || keyCandidates.isEmpty()) {
+			throw new BadJOSEException("Signed JWT rejected: Another algorithm expected, or no matching key(s) found");
+		}
+		
+		return keyCandidates;
+	}
 
 
 	@Override
@@ -0,0 +1,155 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jwt.proc;
+
+
+import java.security.Key;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.jcip.annotations.ThreadSafe;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceRegistry;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+
+/**
+ * Multi-tenant key selector for verifying signed JWTs. Selects the keys from
+ * the JWK source of the tenant identified by the issuer ("iss") claim, in a
+ * {@link JWKSourceRegistry}. JWTs with a missing issuer or with an issuer not
+ * registered get no key candidates.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@ThreadSafe
+public class JWKSourceRegistryJWSKeySelector<C extends SecurityContext> implements JWTClaimsSetAwareJWSKeySelector<C> {
+	
+	
+	/**
+	 * The allowed JWS algorithms.
+	 */
+	private final Set<JWSAlgorithm> jwsAlgs;
+	
+	
+	/**
+	 * The JWK source registry.
+	 */
+	private final JWKSourceRegistry<C> registry;
+	
+	
+	/**
+	 * The key selectors of the active tenants, keyed by issuer. Each
+	 * selector retains its converted keys between the calls.
+	 */
+	private final ConcurrentHashMap<String, JWSVerificationKeySelector<C>> selectors = new ConcurrentHashMap<>();
+	
+	
+	/**
+	 * Creates a new multi-tenant key selector.
+	 *
+	 * @param jwsAlgs  The allowed JWS algorithms for the objects to be
+	 *                 verified. Must not be empty or {@code null}.
+	 * @param registry The JWK source registry. Must not be {@code null}.
+	 */
+	public JWKSourceRegistryJWSKeySelector(final Set<JWSAlgorithm> jwsAlgs, final JWKSourceRegistry<C> registry) {
+		if (jwsAlgs == null || jwsAlgs.isEmpty()) {
+			throw new IllegalArgumentException("The JWS algorithms must not be null or empty");
+		}
+		this.jwsAlgs = Collections.unmodifiableSet(jwsAlgs);
+		Objects.requireNonNull(registry, "The JWK source registry must not be null");
+		this.registry = registry;
+	}
+	
+	
+	/**
+	 * Returns the allowed JWS algorithms.
+	 *
+	 * @return The allowed JWS algorithms.
+	 */
+	public Set<JWSAlgorithm> getExpectedJWSAlgorithms() {
+		return jwsAlgs;
+	}
+	
+	
+	/**
+	 * Returns the JWK source registry.
+	 *
+	 * @return The JWK source registry.
+	 */
+	public JWKSourceRegistry<C> getJWKSourceRegistry() {
+		return registry;
+	}
+	
+	
+	@Override
+	public List<? extends Key> selectKeys(final JWSHeader header, final JWTClaimsSet claimsSet, final C context)
+		throws KeySourceException {
+		
+		String issuer = claimsSet.getIssuer();
+		
+		JWKSource<C> jwkSource = registry.getJWKSource(issuer);
+		
+		if (jwkSource == null) {
+			return Collections.emptyList();
+		}
+		
+		return getKeySelector(issuer, jwkSource).selectJWSKeys(header, context);
+	}
+	
+	
+	/**
+	 * Returns the key selector for the specified tenant, creating a new
+	 * one if the tenant's JWK source was replaced after an eviction.
+	 *
+	 * @param issuer    The issuer of the tenant. Must not be
+	 *                  {@code null}.
+	 * @param jwkSource The current JWK source of the tenant. Must not be
+	 *                  {@code null}.
+	 *
+	 * @return The key selector.
+	 */
+	private JWSVerificationKeySelector<C> getKeySelector(final String issuer, final JWKSource<C> jwkSource) {
+		
+		JWSVerificationKeySelector<C> selector = selectors.get(issuer);
+		
+		if (selector != null && selector.getJWKSource() == jwkSource) {
+			return selector;
+		}
+		
+		selector = new JWSVerificationKeySelector<>(jwsAlgs, jwkSource);
+		
+		if (selectors.size() >= registry.getMaxSize() && ! selectors.containsKey(issuer)) {
+			// Drop the selectors of evicted or unregistered tenants
+			selectors.clear();
+		}
+		
+		selectors.put(issuer, selector);
+		
+		return selector;
+	}
+}
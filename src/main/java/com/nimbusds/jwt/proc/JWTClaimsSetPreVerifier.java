@@ -0,0 +1,56 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jwt.proc;
+
+
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+
+/**
+ * JWT claims set pre-verifier. Performs cheap checks of the claims set of a
+ * signed JWT before its signature is verified, so that a
+ * {@link JWTProcessor JWT processor} can reject expired tokens or tokens
+ * intended for another audience without spending CPU on key selection and
+ * signature verification.
+ *
+ * <p>The claims set passed to the pre-verifier is not authenticated yet. A
+ * pre-verifier must therefore only reject, it must not accept a JWT or have
+ * side effects, such as recording a JWT ID for replay detection. The
+ * complete {@link JWTClaimsSetVerifier#verify claims verification} takes
+ * place after a successful signature verification.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+public interface JWTClaimsSetPreVerifier<C extends SecurityContext> {
+	
+	
+	/**
+	 * Performs cheap checks of the specified claims set of a signed JWT,
+	 * before its signature is verified.
+	 *
+	 * @param claimsSet The JWT claims set, not verified. Not
+	 *                  {@code null}.
+	 * @param context   Optional context, {@code null} if not required.
+	 *
+	 * @throws BadJWTException If the JWT claims set is rejected.
+	 */
+	void preVerify(final JWTClaimsSet claimsSet, final C context)
+		throws BadJWTException;
+}
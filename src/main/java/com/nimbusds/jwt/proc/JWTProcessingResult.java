@@ -0,0 +1,107 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jwt.proc;
+
+
+import java.util.Objects;
+
+import net.jcip.annotations.Immutable;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+
+
+/**
+ * The result of processing a JSON Web Token (JWT) in a batch: the JWT claims
+ * set on success, else the exception which
+ * {@link JWTProcessor#process(String, com.nimbusds.jose.proc.SecurityContext)}
+ * would have thrown.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@Immutable
+public final class JWTProcessingResult {
+	
+	
+	/**
+	 * The JWT claims set, {@code null} on failure.
+	 */
+	private final JWTClaimsSet claimsSet;
+	
+	
+	/**
+	 * The exception, {@code null} on success.
+	 */
+	private final Exception exception;
+	
+	
+	/**
+	 * Creates a new successful JWT processing result.
+	 *
+	 * @param claimsSet The JWT claims set. Must not be {@code null}.
+	 */
+	public JWTProcessingResult(final JWTClaimsSet claimsSet) {
+		this.claimsSet = Objects.requireNonNull(claimsSet);
+		exception = null;
+	}
+	
+	
+	/**
+	 * Creates a new failed JWT processing result.
+	 *
+	 * @param exception The exception, typically a
+	 *                  {@link java.text.ParseException},
+	 *                  {@link com.nimbusds.jose.proc.BadJOSEException} or
+	 *                  {@link com.nimbusds.jose.JOSEException}. Must not
+	 *                  be {@code null}.
+	 */
+	public JWTProcessingResult(final Exception exception) {
+		claimsSet = null;
+		this.exception = Objects.requireNonNull(exception);
+	}
+	
+	
+	/**
+	 * Checks if the JWT was successfully processed.
+	 *
+	 * @return {@code true} on success, {@code false} on failure.
+	 */
+	public boolean indicatesSuccess() {
+		return claimsSet != null;
+	}
+	
+	
+	/**
+	 * Returns the JWT claims set.
+	 *
+	 * @return The JWT claims set, {@code null} on failure.
+	 */
+	public JWTClaimsSet getJWTClaimsSet() {
+		return claimsSet;
+	}
+	
+	
+	/**
+	 * Returns the exception.
+	 *
+	 * @return The exception, {@code null} on success.
+	 */
+	public Exception getException() {
+		return exception;
+	}
+}
@@ -0,0 +1,557 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jwt.proc;
+
+
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.jcip.annotations.ThreadSafe;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jose.util.StandardCharset;
+import com.nimbusds.jwt.*;
+
+
+/**
+ * Cache of verified signed JSON Web Tokens (JWTs), placed in front of a
+ * {@link ConfigurableJWTProcessor}. Intended for bearer tokens which clients
+ * resend with each request: a repeated JWT is answered with its already
+ * verified claims set, without parsing the JWT and verifying its signature
+ * again.
+ *
+ * <p>The entries are keyed by the SHA-256 digest of the serialised JWT. On
+ * each cache hit:
+ *
+ * <ul>
+ *     <li>The {@link ConfigurableJWTProcessor#getJWTClaimsSetVerifier()
+ *     claims verifier} of the processor is run again, to check the
+ *     expiration and not-before times (with the permitted clock skew) and
+ *     any context-dependent claims.
+ *     <li>The {@link ConfigurableJWTProcessor#getJWSTypeVerifier() JWS type
+ *     verifier} of the processor, if any, is run again.
+ *     <li>The candidate keys are selected again with the
+ *     {@link ConfigurableJWTProcessor#getJWTClaimsSetAwareJWSKeySelector()
+ *     claims set aware key selector} or the
+ *     {@link ConfigurableJWTProcessor#getJWSKeySelector() JWS key selector}
+ *     of the processor. The entry is evicted if a key selected at the time
+ *     of verification is no longer selected, e.g. after a key rotation.
+ *     The keys are compared with {@link Key#equals}.
+ * </ul>
+ *
+ * <p>Entries expire at the JWT expiration time ("exp"), or after the
+ * maximum time-to-live, whichever is first. When the maximum size is
+ * reached the expired entries are purged, if the cache is still full it is
+ * cleared. Only successfully processed signed JWTs are cached, unsecured and
+ * encrypted JWTs are passed to the processor. Signed JWTs are not cached if
+ * the processor has no key selector to check the keys with.
+ *
+ * <p>The entries are not keyed by {@link SecurityContext context}, a JWT
+ * verified in one context is answered from the cache in another. The key
+ * selection, the type and the claims verification are repeated with the
+ * context of each call, any other context-dependent processing, such as in
+ * an overridden {@link DefaultJWTProcessor#selectKeys} method, is not.
+ *
+ * <p>Example:
+ *
+ * <pre>
+ * ConfigurableJWTProcessor&lt;SecurityContext&gt; jwtProcessor = new DefaultJWTProcessor&lt;&gt;();
+ * jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector&lt;&gt;(JWSAlgorithm.RS256, jwkSource));
+ *
+ * JWTProcessor&lt;SecurityContext&gt; cachingProcessor = new VerifiedJWTCache&lt;&gt;(jwtProcessor);
+ *
+ * JWTClaimsSet claimsSet = cachingProcessor.process(accessToken, null);
+ * </pre>
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+@ThreadSafe
+public class VerifiedJWTCache<C extends SecurityContext> implements JWTProcessor<C> {
+	
+	
+	/**
+	 * The default maximum number of cached JWTs.
+	 */
+	public static final int DEFAULT_MAX_SIZE = 10_000;
+	
+	
+	/**
+	 * The default maximum time-to-live of the cached JWTs, in
+	 * milliseconds (5 minutes).
+	 */
+	public static final long DEFAULT_MAX_TIME_TO_LIVE = 5 * 60_000L;
+	
+	
+	/**
+	 * Verified JWT cache entry.
+	 */
+	private static final class Entry {
+		
+		
+		/**
+		 * The verified JWT claims set.
+		 */
+		private final JWTClaimsSet claimsSet;
+		
+		
+		/**
+		 * The JWS header.
+		 */
+		private final JWSHeader header;
+		
+		
+		/**
+		 * The candidate keys selected at the time of verification.
+		 */
+		private final List<? extends Key> keys;
+		
+		
+		/**
+		 * The entry expiration time, in milliseconds since the Unix
+		 * epoch.
+		 */
+		private final long expirationTime;
+		
+		
+		private Entry(final JWTClaimsSet claimsSet,
+			      final JWSHeader header,
+			      final List<? extends Key> keys,
+			      final long expirationTime) {
+			this.claimsSet = claimsSet;
+			this.header = header;
+			this.keys = keys;
+			this.expirationTime = expirationTime;
+		}
+	}
+	
+	
+	/**
+	 * The JWT processor.
+	 */
+	private final ConfigurableJWTProcessor<C> processor;
+	
+	
+	/**
+	 * The maximum number of cached JWTs.
+	 */
+	private final int maxSize;
+	
+	
+	/**
+	 * The maximum time-to-live of the cached JWTs, in milliseconds.
+	 */
+	private final long maxTimeToLive;
+	
+	
+	/**
+	 * The entries, keyed by JWT digest.
+	 */
+	private final Map<Base64URL, Entry> entries = new ConcurrentHashMap<>();
+	
+	
+	/**
+	 * The cache hit count.
+	 */
+	private final AtomicLong hitCount = new AtomicLong();
+	
+	
+	/**
+	 * The cache miss count.
+	 */
+	private final AtomicLong missCount = new AtomicLong();
+	
+	
+	/**
+	 * Creates a new verified JWT cache with the
+	 * {@link #DEFAULT_MAX_SIZE default maximum size} and the
+	 * {@link #DEFAULT_MAX_TIME_TO_LIVE default maximum time-to-live}.
+	 *
+	 * @param processor The JWT processor. Must not be {@code null}.
+	 */
+	public VerifiedJWTCache(final ConfigurableJWTProcessor<C> processor) {
+		this(processor, DEFAULT_MAX_SIZE, DEFAULT_MAX_TIME_TO_LIVE);
+	}
+	
+	
+	/**
+	 * Creates a new verified JWT cache.
+	 *
+	 * @param processor     The JWT processor. Must not be {@code null}.
+	 * @param maxSize       The maximum number of cached JWTs. Must be
+	 *                      positive.
+	 * @param maxTimeToLive The maximum time-to-live of the cached JWTs,
+	 *                      in milliseconds. Must be positive.
+	 */
+	public VerifiedJWTCache(final ConfigurableJWTProcessor<C> processor,
+				final int maxSize,
+				final long maxTimeToLive) {
+		
+		this.processor = Objects.requireNonNull(processor);
+		
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("The max cache size must be positive");
+		}
+		this.maxSize = maxSize;
+		
+		if (maxTimeToLive <= 0) {
+			throw new IllegalArgumentException("The max time-to-live must be positive");
+		}
+		this.maxTimeToLive = maxTimeToLive;
+	}
+	
+	
+	/**
+	 * Returns the JWT processor.
+	 *
+	 * @return The JWT processor.
+	 */
+	public ConfigurableJWTProcessor<C> getJWTProcessor() {
+		return processor;
+	}
+	
+	
+	/**
+	 * Returns the maximum number of cached JWTs.
+	 *
+	 * @return The maximum number of cached JWTs.
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+	
+	
+	/**
+	 * Returns the maximum time-to-live of the cached JWTs.
+	 *
+	 * @return The maximum time-to-live, in milliseconds.
+	 */
+	public long getMaxTimeToLive() {
+		return maxTimeToLive;
+	}
+	
+	
+	/**
+	 * Returns the current number of cached JWTs.
+	 *
+	 * @return The number of cached JWTs.
+	 */
+	public int size() {
+		return entries.size();
+	}
+	
+	
+	/**
+	 * Returns the cache hit count.
+	 *
+	 * @return The number of JWTs answered from the cache.
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+	
+	
+	/**
+	 * Returns the cache miss count.
+	 *
+	 * @return The number of signed JWTs passed to the processor.
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+	
+	
+	/**
+	 * Removes all cached JWTs.
+	 */
+	public void clear() {
+		entries.clear();
+	}
+	
+	
+	@Override
+	public JWTClaimsSet process(final String jwtString, final C context)
+		throws ParseException, BadJOSEException, JOSEException {
+		
+		long now = System.currentTimeMillis();
+		
+		Base64URL key = computeDigest(jwtString);
+		
+		JWTClaimsSet claimsSet = getCachedJWTClaimsSet(key, now, context);
+		
+		if (claimsSet != null) {
+			return claimsSet;
+		}
+		
+		return processAndCache(key, JWTParser.parse(jwtString), now, context);
+	}
+	
+	
+	@Override
+	public JWTClaimsSet process(final JWT jwt, final C context)
+		throws BadJOSEException, JOSEException {
+		
+		if (jwt instanceof SignedJWT) {
+			return process((SignedJWT) jwt, context);
+		}
+		
+		return processor.process(jwt, context);
+	}
+	
+	
+	@Override
+	public JWTClaimsSet process(final PlainJWT plainJWT, final C context)
+		throws BadJOSEException, JOSEException {
+		
+		return processor.process(plainJWT, context);
+	}
+	
+	
+	@Override
+	public JWTClaimsSet process(final SignedJWT signedJWT, final C context)
+		throws BadJOSEException, JOSEException {
+		
+		if (signedJWT.getParsedString() == null) {
+			// Not parsed, the cache is keyed by the original string
+			return processor.process(signedJWT, context);
+		}
+		
+		long now = System.currentTimeMillis();
+		
+		Base64URL key = computeDigest(signedJWT.getParsedString());
+		
+		JWTClaimsSet claimsSet = getCachedJWTClaimsSet(key, now, context);
+		
+		if (claimsSet != null) {
+			return claimsSet;
+		}
+		
+		return processAndCache(key, signedJWT, now, context);
+	}
+	
+	
+	@Override
+	public JWTClaimsSet process(final EncryptedJWT encryptedJWT, final C context)
+		throws BadJOSEException, JOSEException {
+		
+		return processor.process(encryptedJWT, context);
+	}
+	
+	
+	/**
+	 * Returns the cached claims set for the specified JWT digest, after
+	 * checking the entry is still valid and re-running the claims
+	 * verification.
+	 *
+	 * @param key     The JWT digest.
+	 * @param now     The current time, in milliseconds since the Unix
+	 *                epoch.
+	 * @param context Optional context, {@code null} if not required.
+	 *
+	 * @return The claims set, {@code null} if not cached.
+	 *
+	 * @throws BadJOSEException If the type or the claims set is rejected.
+	 */
+	private JWTClaimsSet getCachedJWTClaimsSet(final Base64URL key, final long now, final C context)
+		throws BadJOSEException {
+		
+		Entry entry = entries.get(key);
+		
+		if (entry == null) {
+			return null;
+		}
+		
+		if (now >= entry.expirationTime || ! isPublished(entry, context)) {
+			entries.remove(key, entry);
+			return null;
+		}
+		
+		hitCount.incrementAndGet();
+		
+		if (processor.getJWSTypeVerifier() != null) {
+			processor.getJWSTypeVerifier().verify(entry.header.getType(), context);
+		}
+		
+		if (processor.getJWTClaimsSetVerifier() != null) {
+			processor.getJWTClaimsSetVerifier().verify(entry.claimsSet, context);
+		}
+		
+		return entry.claimsSet;
+	}
+	
+	
+	/**
+	 * Processes the specified JWT and caches the claims set if the JWT is
+	 * signed.
+	 *
+	 * @param key     The JWT digest.
+	 * @param jwt     The JWT.
+	 * @param now     The current time, in milliseconds since the Unix
+	 *                epoch.
+	 * @param context Optional context, {@code null} if not required.
+	 *
+	 * @return The JWT claims set.
+	 */
+	private JWTClaimsSet processAndCache(final Base64URL key, final JWT jwt, final long now, final C context)
+		throws BadJOSEException, JOSEException {
+		
+		if (! (jwt instanceof SignedJWT)) {
+			return processor.process(jwt, context);
+		}
+		
+		missCount.incrementAndGet();
+		
+		JWTClaimsSet claimsSet = processor.process(jwt, context);
+		
+		long expirationTime = now + maxTimeToLive;
+		Date exp = claimsSet.getExpirationTime();
+		if (exp != null) {
+			expirationTime = Math.min(exp.getTime(), expirationTime);
+		}
+		
+		if (expirationTime <= now) {
+			return claimsSet;
+		}
+		
+		JWSHeader header = ((SignedJWT) jwt).getHeader();
+		
+		List<? extends Key> keys;
+		try {
+			keys = selectKeys(header, claimsSet, context);
+		} catch (KeySourceException e) {
+			return claimsSet;
+		}
+		
+		if (keys == null || keys.isEmpty()) {
+			// Key rotation can't be checked
+			return claimsSet;
+		}
+		
+		if (entries.size() >= maxSize) {
+			purge(now);
+		}
+		
+		if (entries.size() >= maxSize) {
+			// Still full, start over
+			entries.clear();
+		}
+		
+		entries.put(key, new Entry(claimsSet, header, keys, expirationTime));
+		
+		return claimsSet;
+	}
+	
+	
+	/**
+	 * Checks if the keys selected at the time of verification are still
+	 * selected by the processor.
+	 *
+	 * @param entry   The cache entry.
+	 * @param context Optional context, {@code null} if not required.
+	 *
+	 * @return {@code true} if selected, {@code false} if not.
+	 */
+	private boolean isPublished(final Entry entry, final C context) {
+		
+		List<? extends Key> keys;
+		try {
+			keys = selectKeys(entry.header, entry.claimsSet, context);
+		} catch (KeySourceException e) {
+			return false;
+		}
+		
+		return keys != null && keys.containsAll(entry.keys);
+	}
+	
+	
+	/**
+	 * Selects the candidate keys for the specified JWS header and claims
+	 * set with the key selector of the processor.
+	 *
+	 * @param header    The JWS header.
+	 * @param claimsSet The JWT claims set.
+	 * @param context   Optional context, {@code null} if not required.
+	 *
+	 * @return The candidate keys, {@code null} if the processor has no
+	 *         key selector.
+	 *
+	 * @throws KeySourceException If key sourcing failed.
+	 */
+	private List<? extends Key> selectKeys(final JWSHeader header, final JWTClaimsSet claimsSet, final C context)
+		throws KeySourceException {
+		
+		if (processor.getJWTClaimsSetAwareJWSKeySelector() != null) {
+			return processor.getJWTClaimsSetAwareJWSKeySelector().selectKeys(header, claimsSet, context);
+		}
+		
+		if (processor.getJWSKeySelector() != null) {
+			return processor.getJWSKeySelector().selectJWSKeys(header, context);
+		}
+		
+		return null;
+	}
+	
+	
+	/**
+	 * Removes the expired entries.
+	 *
+	 * @param now The current time, in milliseconds since the Unix epoch.
+	 */
+	private void purge(final long now) {
+		
+		for (Map.Entry<Base64URL, Entry> en: entries.entrySet()) {
+			if (now >= en.getValue().expirationTime) {
+				entries.remove(en.getKey(), en.getValue());
+			}
+		}
+	}
+	
+	
+	/**
+	 * Computes the SHA-256 digest of the specified serialised JWT.
+	 *
+	 * @param jwtString The serialised JWT.
+	 *
+	 * @return The digest.
+	 *
+	 * @throws JOSEException If SHA-256 isn't supported.
+	 */
+	private static Base64URL computeDigest(final String jwtString)
+		throws JOSEException {
+		
+		try {
+			MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+			return Base64URL.encode(sha256.digest(jwtString.getBytes(StandardCharset.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new JOSEException(e.getMessage(), e);
+		}
+	}
+}
@@ -96,7 +96,33 @@ public class DateUtils {
 				      final Date reference,
 				      final long maxClockSkewSeconds) {
 
-		return new Date(date.getTime() + maxClockSkewSeconds*1000L).after(reference);
+		return isAfter(date.getTime(), reference.getTime(), maxClockSkewSeconds);
+	}
+
+
+	/**
+	 * Check if the specified time is after the specified reference, given
+	 * the maximum accepted negative clock skew. Has the same formula as
+	 * {@link #isAfter(Date, Date, long)}, without creating {@link Date}
+	 * objects.
+	 *
+	 * @param time                The time to check, in milliseconds
+	 *                            since the Unix epoch.
+	 * @param reference           The reference time (e.g. the current
+	 *                            time), in milliseconds since the Unix
+	 *                            epoch.
+	 * @param maxClockSkewSeconds The maximum acceptable negative clock
+	 *                            skew of the time value to check, in
+	 *                            seconds.
+	 *
+	 * @return {@code true} if the time is before the reference, plus the
+	 *         maximum accepted clock skew, else {@code false}.
+	 */
+	public static boolean isAfter(final long time,
+				      final long reference,
+				      final long maxClockSkewSeconds) {
+
+		return time + maxClockSkewSeconds*1000L > reference;
 	}
 
 
@@ -131,7 +157,32 @@ public class DateUtils {
 				       final Date reference,
 				       final long maxClockSkewSeconds) {
 
-		return new Date(date.getTime() - maxClockSkewSeconds*1000L).before(reference);
+		return isBefore(date.getTime(), reference.getTime(), maxClockSkewSeconds);
+	}
+
+
+	/**
+	 * Checks if the specified time is before the specified reference,
+	 * given the maximum accepted positive clock skew. Has the same
+	 * formula as {@link #isBefore(Date, Date, long)}, without creating
+	 * {@link Date} objects.
+	 *
+	 * @param time                The time to check, in milliseconds
+	 *                            since the Unix epoch.
+	 * @param reference           The reference time (e.g. the current
+	 *                            time), in milliseconds since the Unix
+	 *                            epoch.
+	 * @param maxClockSkewSeconds The maximum acceptable clock skew of the
+	 *                            time value to check, in seconds.
+	 *
+	 * @return {@code true} if the time is before the reference, minus the
+	 *         maximum accepted clock skew, else {@code false}.
+	 */
+	public static boolean isBefore(final long time,
+				       final long reference,
+				       final long maxClockSkewSeconds) {
+
+		return time - maxClockSkewSeconds*1000L < reference;
 	}
 	
 	
@@ -0,0 +1,414 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.util;
+
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+
+/**
+ * Retriever of resources specified by HTTP(S) URL, based on the
+ * {@link HttpClient} of Java 11 and later. Requires Java 11+.
+ *
+ * <p>Compared to the {@link DefaultResourceRetriever}:
+ *
+ * <ul>
+ *     <li>Connections are kept alive and reused between retrievals, and
+ *         HTTP/2 is negotiated when supported by the server.
+ *     <li>Retrievals are conditional: the "ETag" and "Last-Modified"
+ *         response headers of a resource are sent back in the
+ *         "If-None-Match" and "If-Modified-Since" request headers of its
+ *         next retrieval. On a 304 (Not Modified) response the previously
+ *         retrieved content is returned, as the same {@link String}
+ *         instance, which lets the {@link
+ *         com.nimbusds.jose.jwk.source.URLBasedJWKSetSource} skip parsing
+ *         the JWK set.
+ * </ul>
+ *
+ * <p>The connect timeout applies to establishing the connection, the read
+ * timeout to receiving the entire response, headers and entity. The size
+ * limit applies to the response entity.
+ *
+ * <p>This class is thread-safe.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+public class HttpClientResourceRetriever extends AbstractRestrictedResourceRetriever implements RestrictedResourceRetriever {
+	
+	
+	/**
+	 * A retrieved resource with its validators.
+	 */
+	private static final class ValidatedResource {
+		
+		
+		private final Resource resource;
+		
+		
+		private final String eTag;
+		
+		
+		private final String lastModified;
+		
+		
+		private ValidatedResource(final Resource resource, final String eTag, final String lastModified) {
+			this.resource = resource;
+			this.eTag = eTag;
+			this.lastModified = lastModified;
+		}
+	}
+	
+	
+	/**
+	 * Response entity subscriber enforcing the size limit.
+	 */
+	private static final class BoundedBodySubscriber implements HttpResponse.BodySubscriber<byte[]> {
+		
+		
+		private final int sizeLimit;
+		
+		
+		private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		
+		
+		private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+		
+		
+		private Flow.Subscription subscription;
+		
+		
+		private BoundedBodySubscriber(final int sizeLimit) {
+			this.sizeLimit = sizeLimit;
+		}
+		
+		
+		@Override
+		public CompletionStage<byte[]> getBody() {
+			return result;
+		}
+		
+		
+		@Override
+		public void onSubscribe(final Flow.Subscription subscription) {
+			this.subscription = subscription;
+			subscription.request(Long.MAX_VALUE);
+		}
+		
+		
+		@Override
+		public void onNext(final List<ByteBuffer> items) {
+			
+			if (result.isDone()) {
+				return;
+			}
+			
+			for (ByteBuffer item: items) {
+				
+				int length = item.remaining();
+				
+				if (sizeLimit > 0 && out.size() + length > sizeLimit) {
+					subscription.cancel();
+					result.completeExceptionally(new IOException("Exceeded configured input limit of " + sizeLimit + " bytes"));
+					return;
+				}
+				
+				byte[] bytes = new byte[length];
+				item.get(bytes);
+				out.write(bytes, 0, length);
+			}
+		}
+		
+		
+		@Override
+		public void onError(final Throwable throwable) {
+			result.completeExceptionally(throwable);
+		}
+		
+		
+		@Override
+		public void onComplete() {
+			result.complete(out.toByteArray());
+		}
+	}
+	
+	
+	/**
+	 * The maximum number of retrieved resources stored with their
+	 * validators.
+	 */
+	static final int MAX_VALIDATED_RESOURCES = 1000;
+	
+	
+	/**
+	 * The HTTP client, {@code null} if not created yet.
+	 */
+	private volatile HttpClient httpClient;
+	
+	
+	/**
+	 * {@code true} if the HTTP client was supplied, else it's created
+	 * from the connect timeout.
+	 */
+	private final boolean suppliedHttpClient;
+	
+	
+	/**
+	 * The last retrieved resources with validators, by URL, up to
+	 * {@link #MAX_VALIDATED_RESOURCES}.
+	 */
+	private final Map<String, ValidatedResource> validatedResources = new ConcurrentHashMap<>();
+	
+	
+	/**
+	 * Creates a new HTTP client based resource retriever. The HTTP
+	 * timeouts and entity size limit are set to zero (infinite).
+	 */
+	public HttpClientResourceRetriever() {
+		
+		this(0, 0, 0);
+	}
+	
+	
+	/**
+	 * Creates a new HTTP client based resource retriever.
+	 *
+	 * @param connectTimeout The HTTP connect timeout, in milliseconds,
+	 *                       zero for infinite. Must not be negative.
+	 * @param readTimeout    The HTTP read timeout, in milliseconds, zero
+	 *                       for infinite. Must not be negative.
+	 * @param sizeLimit      The HTTP entity size limit, in bytes, zero for
+	 *                       infinite. Must not be negative.
+	 */
+	public HttpClientResourceRetriever(final int connectTimeout, final int readTimeout, final int sizeLimit) {
+		
+		super(connectTimeout, readTimeout, sizeLimit);
+		suppliedHttpClient = false;
+	}
+	
+	
+	/**
+	 * Creates a new HTTP client based resource retriever with the
+	 * specified HTTP client. The connect timeout, proxy, TLS and redirect
+	 * settings are those of the HTTP client.
+	 *
+	 * @param httpClient  The HTTP client. Must not be {@code null}.
+	 * @param readTimeout The HTTP read timeout, in milliseconds, zero for
+	 *                    infinite. Must not be negative.
+	 * @param sizeLimit   The HTTP entity size limit, in bytes, zero for
+	 *                    infinite. Must not be negative.
+	 */
+	public HttpClientResourceRetriever(final HttpClient httpClient, final int readTimeout, final int sizeLimit) {
+		
+		super(0, readTimeout, sizeLimit);
+		if (httpClient == null) {
+			throw new IllegalArgumentException("The HTTP client must not be null");
+		}
+		this.httpClient = httpClient;
+		suppliedHttpClient = true;
+	}
+	
+	
+	/**
+	 * Returns the HTTP client.
+	 *
+	 * @return The HTTP client.
+	 */
+	public HttpClient getHttpClient() {
+		
+		HttpClient client = httpClient;
+		
+		if (client == null) {
+			synchronized (this) {
+				client = httpClient;
+				if (client == null) {
+					HttpClient.Builder builder = HttpClient.newBuilder()
+						.version(HttpClient.Version.HTTP_2)
+						.followRedirects(HttpClient.Redirect.NORMAL);
+					if (getConnectTimeout() > 0) {
+						builder.connectTimeout(Duration.ofMillis(getConnectTimeout()));
+					}
+					client = builder.build();
+					httpClient = client;
+				}
+			}
+		}
+		
+		return client;
+	}
+	
+	
+	/**
+	 * {@inheritDoc} Has no effect if the HTTP client was supplied.
+	 */
+	@Override
+	public void setConnectTimeout(final int connectTimeoutMs) {
+		
+		super.setConnectTimeout(connectTimeoutMs);
+		
+		if (! suppliedHttpClient) {
+			synchronized (this) {
+				// Recreated on next use
+				httpClient = null;
+			}
+		}
+	}
+	
+	
+	@Override
+	public Resource retrieveResource(final URL url)
+		throws IOException {
+		
+		final URI uri;
+		try {
+			uri = url.toURI();
+		} catch (URISyntaxException e) {
+			throw new IOException("Couldn't open URL connection: " + e.getMessage(), e);
+		}
+		
+		HttpRequest.Builder requestBuilder;
+		try {
+			requestBuilder = HttpRequest.newBuilder(uri).GET();
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Couldn't open URL connection: " + e.getMessage(), e);
+		}
+		
+		if (getReadTimeout() > 0) {
+			requestBuilder.timeout(Duration.ofMillis(getReadTimeout()));
+		}
+		
+		if (getHeaders() != null) {
+			for (Map.Entry<String, List<String>> entry: getHeaders().entrySet()) {
+				for (String value: entry.getValue()) {
+					requestBuilder.header(entry.getKey(), value);
+				}
+			}
+		}
+		
+		final String key = uri.toString();
+		
+		ValidatedResource cached = validatedResources.get(key);
+		
+		if (cached != null) {
+			if (cached.eTag != null) {
+				requestBuilder.header("If-None-Match", cached.eTag);
+			}
+			if (cached.lastModified != null) {
+				requestBuilder.header("If-Modified-Since", cached.lastModified);
+			}
+		}
+		
+		final int sizeLimit = getSizeLimit();
+		
+		CompletableFuture<HttpResponse<byte[]>> future = getHttpClient().sendAsync(
+			requestBuilder.build(),
+			new HttpResponse.BodyHandler<byte[]>() {
+				@Override
+				public HttpResponse.BodySubscriber<byte[]> apply(final HttpResponse.ResponseInfo responseInfo) {
+					return new BoundedBodySubscriber(sizeLimit);
+				}
+			});
+		
+		// The read timeout applies to the entity too
+		HttpResponse<byte[]> response;
+		try {
+			response = getReadTimeout() > 0 ? future.get(getReadTimeout(), TimeUnit.MILLISECONDS) : future.get();
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			throw new HttpTimeoutException("Read timed out");
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while retrieving URL: " + e.getMessage(), e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException("Couldn't retrieve URL: " + e.getCause().getMessage(), e.getCause());
+		}
+		
+		final int statusCode = response.statusCode();
+		
+		if (statusCode == 304 && cached != null) {
+			// Keep the content, update the stored headers
+			Map<String, List<String>> headers = new HashMap<>(cached.resource.getHeaders());
+			headers.putAll(response.headers().map());
+			Resource resource = new Resource(cached.resource.getContent(), cached.resource.getContentType(), headers);
+			putValidatedResource(key, new ValidatedResource(resource, cached.eTag, cached.lastModified));
+			return resource;
+		}
+		
+		final String content = new String(response.body(), StandardCharset.UTF_8);
+		
+		// Ensure 2xx status code
+		if (statusCode > 299 || statusCode < 200) {
+			throw new IOException("HTTP " + statusCode);
+		}
+		
+		Resource resource = new Resource(content, response.headers().firstValue("Content-Type").orElse(null), response.headers().map());
+		
+		String eTag = response.headers().firstValue("ETag").orElse(null);
+		String lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+		
+		if (eTag != null || lastModified != null) {
+			putValidatedResource(key, new ValidatedResource(resource, eTag, lastModified));
+		} else {
+			validatedResources.remove(key);
+		}
+		
+		return resource;
+	}
+	
+	
+	/**
+	 * Stores the specified resource with its validators, clearing the
+	 * stored resources if the maximum number is reached.
+	 *
+	 * @param key               The URL. Must not be {@code null}.
+	 * @param validatedResource The resource with its validators. Must not
+	 *                          be {@code null}.
+	 */
+	private void putValidatedResource(final String key, final ValidatedResource validatedResource) {
+		
+		if (validatedResources.size() >= MAX_VALIDATED_RESOURCES && ! validatedResources.containsKey(key)) {
+			validatedResources.clear();
+		}
+		
+		validatedResources.put(key, validatedResource);
+	}
+}
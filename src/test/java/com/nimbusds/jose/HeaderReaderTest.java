@@ -0,0 +1,80 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose;
+
+
+import java.text.ParseException;
+
+import junit.framework.TestCase;
+
+import com.nimbusds.jose.util.StandardCharset;
+
+
+/**
+ * Tests the streaming header reader.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+public class HeaderReaderTest extends TestCase {
+
+
+	private static HeaderReader reader(final String json) {
+		return new HeaderReader(json.getBytes(StandardCharset.UTF_8));
+	}
+
+
+	public void testRegisteredNames()
+		throws ParseException {
+
+		HeaderReader reader = reader("{\"alg\":\"RS256\",\"kid\":\"1\",\"custom\":\"x\"}");
+		reader.beginObject();
+
+		assertTrue(reader.hasNextMember());
+		assertSame(HeaderParameterNames.ALGORITHM, reader.nextName());
+		assertEquals("RS256", reader.nextString(HeaderParameterNames.ALGORITHM));
+
+		assertTrue(reader.hasNextMember());
+		assertSame(HeaderParameterNames.KEY_ID, reader.nextName());
+		assertEquals("1", reader.nextString(HeaderParameterNames.KEY_ID));
+
+		assertTrue(reader.hasNextMember());
+		assertEquals("custom", reader.nextName());
+		assertEquals("x", reader.nextValue());
+
+		assertFalse(reader.hasNextMember());
+		reader.endObject();
+	}
+
+
+	public void testScanAlgorithms()
+		throws ParseException {
+
+		HeaderReader reader = reader("{\"typ\":\"JWT\",\"x\":{\"alg\":\"none\"},\"enc\":\"A128GCM\",\"alg\":\"dir\"}");
+		reader.scanAlgorithms();
+		assertEquals("dir", reader.getAlgorithmName());
+		assertEquals("A128GCM", reader.getEncryptionMethodName());
+		assertTrue(reader.isEncryptionMethodPresent());
+
+		reader = reader("{\"alg\":\"HS256\"}");
+		reader.scanAlgorithms();
+		assertEquals("HS256", reader.getAlgorithmName());
+		assertNull(reader.getEncryptionMethodName());
+		assertFalse(reader.isEncryptionMethodPresent());
+	}
+}
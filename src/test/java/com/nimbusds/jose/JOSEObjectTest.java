@@ -172,6 +172,39 @@ public class JOSEObjectTest extends TestCase {
 	}
 
 
+	public void testSplitExceptionMessages() {
+
+		String[] illegal = {"abc", "abc.def", "a.b.c.d", "a.b.c.d.e.f"};
+		String[] messages = {
+			"Invalid serialized unsecured/JWS/JWE object: Missing part delimiters",
+			"Invalid serialized unsecured/JWS/JWE object: Missing second delimiter",
+			"Invalid serialized JWE object: Missing fourth delimiter",
+			"Invalid serialized unsecured/JWS/JWE object: Too many part delimiters"
+		};
+
+		for (int i=0; i < illegal.length; i++) {
+			try {
+				JOSEObject.split(illegal[i]);
+				fail();
+			} catch (ParseException e) {
+				assertEquals(messages[i], e.getMessage());
+			}
+		}
+	}
+
+
+	public void testSplitTrimsWhiteSpace()
+		throws ParseException {
+
+		Base64URL[] parts = JOSEObject.split(" abc.def.ghi\n");
+
+		assertEquals(3, parts.length);
+		assertEquals("abc", parts[0].toString());
+		assertEquals("def", parts[1].toString());
+		assertEquals("ghi", parts[2].toString());
+	}
+
+
 	public void testMIMETypes() {
 
 		assertEquals("application/jose; charset=UTF-8", JOSEObject.MIME_TYPE_COMPACT);
@@ -24,9 +24,11 @@ import java.util.*;
 
 import junit.framework.TestCase;
 
+import com.nimbusds.jose.jwk.Curve;
 import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.KeyUse;
 import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
 import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
 import com.nimbusds.jose.util.Base64;
 import com.nimbusds.jose.util.Base64URL;
@@ -528,4 +530,51 @@ public class JWEHeaderTest extends TestCase {
 			assertEquals("Non-public key in jwk header parameter", e.getMessage());
 		}
 	}
+
+
+	public void testStreamingParseMatchesJSONObjectParse()
+		throws Exception {
+
+		JWEHeader in = new JWEHeader.Builder(JWEAlgorithm.ECDH_ES_A128KW, EncryptionMethod.A128GCM)
+			.type(new JOSEObjectType("JWT"))
+			.compressionAlgorithm(CompressionAlgorithm.DEF)
+			.jwkURL(new URI("https://example.com/jku.json"))
+			.x509CertThumbprint(new Base64URL("abc"))
+			.x509CertChain(Arrays.asList(new Base64("asd"), new Base64("fgh")))
+			.keyID("1234")
+			.ephemeralPublicKey(new ECKeyGenerator(Curve.P_256).generate().toPublicJWK())
+			.agreementPartyUInfo(new Base64URL("abc"))
+			.agreementPartyVInfo(new Base64URL("xyz"))
+			.pbes2Salt(new Base64URL("omg"))
+			.pbes2Count(1000)
+			.iv(new Base64URL("101010"))
+			.authTag(new Base64URL("202020"))
+			.senderKeyID("5678")
+			.customParam("xCustom", "+++")
+			.customParam("xList", Arrays.asList(1L, true, null))
+			.build();
+
+		Base64URL base64URL = in.toBase64URL();
+
+		JWEHeader streamed = JWEHeader.parse(base64URL);
+		JWEHeader mapped = JWEHeader.parse(base64URL.decodeToString(), base64URL);
+
+		assertEquals(mapped.toJSONObject(), streamed.toJSONObject());
+		assertEquals(in.toJSONObject(), streamed.toJSONObject());
+		assertEquals(base64URL, streamed.getParsedBase64URL());
+
+		assertEquals(streamed.toJSONObject(), ((JWEHeader) Header.parse(base64URL)).toJSONObject());
+	}
+
+
+	public void testStreamingParseFallsBackForLenientJSON()
+		throws ParseException {
+
+		Base64URL base64URL = Base64URL.encode("{'alg':'dir','enc':'A128GCM'}");
+
+		JWEHeader header = JWEHeader.parse(base64URL);
+		assertEquals(JWEAlgorithm.DIR, header.getAlgorithm());
+		assertEquals(EncryptionMethod.A128GCM, header.getEncryptionMethod());
+		assertEquals(base64URL, header.getParsedBase64URL());
+	}
 }
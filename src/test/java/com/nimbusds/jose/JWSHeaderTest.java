@@ -664,5 +664,79 @@ public class JWSHeaderTest extends TestCase {
 		
 		assertNull(header.getKeyID());
 	}
-}
 
+
+	public void testStreamingParseMatchesJSONObjectParse()
+		throws Exception {
+
+		RSAKey rsaJWK = new RSAKeyGenerator(2048).keyID("1").generate().toPublicJWK();
+
+		JWSHeader in = new JWSHeader.Builder(JWSAlgorithm.RS256)
+			.type(JOSEObjectType.JWT)
+			.contentType("application/json")
+			.criticalParams(new HashSet<>(Arrays.asList("b64", "exp")))
+			.jwkURL(new URI("https://example.com/jku.json"))
+			.jwk(rsaJWK)
+			.x509CertURL(new URI("https://example/cert.b64"))
+			.x509CertThumbprint(new Base64URL("789iop"))
+			.x509CertSHA256Thumbprint(new Base64URL("789asd"))
+			.x509CertChain(Arrays.asList(new Base64("asd"), new Base64("fgh")))
+			.keyID("1234")
+			.base64URLEncodePayload(false)
+			.customParam("exp", 123L)
+			.customParam("nested", Collections.singletonMap("a", Arrays.asList(1L, 2.5d, "x")))
+			.build();
+
+		Base64URL base64URL = in.toBase64URL();
+
+		JWSHeader streamed = JWSHeader.parse(base64URL);
+		JWSHeader mapped = JWSHeader.parse(base64URL.decodeToString(), base64URL);
+
+		assertEquals(mapped.toJSONObject(), streamed.toJSONObject());
+		assertEquals(in.toJSONObject(), streamed.toJSONObject());
+		assertEquals(base64URL, streamed.getParsedBase64URL());
+
+		assertEquals(streamed.toJSONObject(), ((JWSHeader) Header.parse(base64URL)).toJSONObject());
+	}
+
+
+	public void testStreamingParseFallsBackForLenientJSON()
+		throws ParseException {
+
+		// Single quotes, accepted by the generic JSON parser
+		Base64URL base64URL = Base64URL.encode("{'alg':'HS256','kid':'1'}");
+
+		JWSHeader header = JWSHeader.parse(base64URL);
+		assertEquals(JWSAlgorithm.HS256, header.getAlgorithm());
+		assertEquals("1", header.getKeyID());
+		assertEquals(base64URL, header.getParsedBase64URL());
+
+		header = (JWSHeader) Header.parse(base64URL);
+		assertEquals(JWSAlgorithm.HS256, header.getAlgorithm());
+	}
+
+
+	public void testStreamingParseErrorMessages() {
+
+		try {
+			JWSHeader.parse(Base64URL.encode("{\"alg\":\"HS256\",\"kid\":1}"));
+			fail();
+		} catch (ParseException e) {
+			assertEquals("Unexpected type of JSON object member with key kid", e.getMessage());
+		}
+
+		try {
+			JWSHeader.parse(Base64URL.encode("{\"alg\":\"none\"}"));
+			fail();
+		} catch (ParseException e) {
+			assertEquals("Not a JWS header", e.getMessage());
+		}
+
+		try {
+			JWSHeader.parse(Base64URL.encode("{\"kid\":\"1\"}"));
+			fail();
+		} catch (ParseException e) {
+			assertEquals("Missing \"alg\" in header JSON object", e.getMessage());
+		}
+	}
+}
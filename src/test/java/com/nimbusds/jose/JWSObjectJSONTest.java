@@ -22,6 +22,7 @@ import com.nimbusds.jose.crypto.*;
 import com.nimbusds.jose.jwk.*;
 import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
 import com.nimbusds.jose.jwk.gen.OctetKeyPairGenerator;
+import com.nimbusds.jose.jwk.gen.OctetSequenceKeyGenerator;
 import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
 import com.nimbusds.jose.util.Base64URL;
 import com.nimbusds.jose.util.JSONObjectUtils;
@@ -260,6 +261,55 @@ public class JWSObjectJSONTest extends TestCase {
 	}
 	
 	
+	public void testGeneral_sharedSigningInputBuffer()
+		throws Exception {
+		
+		final OctetSequenceKey hmacJWK = new OctetSequenceKeyGenerator(256).generate();
+		
+		JWSObjectJSON jwsObject = new JWSObjectJSON(PAYLOAD);
+		
+		// Protected headers of different length
+		jwsObject.sign(new JWSHeader(JWSAlgorithm.HS256), new MACSigner(hmacJWK));
+		jwsObject.sign(new JWSHeader.Builder(JWSAlgorithm.ES256).keyID(EC_JWK.getKeyID()).build(), new ECDSASigner(EC_JWK));
+		jwsObject.sign(new JWSHeader.Builder(JWSAlgorithm.EdDSA).keyID(OKP_JWK.getKeyID()).contentType("text/plain").build(), new Ed25519Signer(OKP_JWK));
+		
+		jwsObject = JWSObjectJSON.parse(jwsObject.serializeGeneral());
+		
+		JWSObjectJSON.Signature sig1 = jwsObject.getSignatures().get(0);
+		JWSObjectJSON.Signature sig2 = jwsObject.getSignatures().get(1);
+		JWSObjectJSON.Signature sig3 = jwsObject.getSignatures().get(2);
+		
+		// Longest header first, then shorter
+		assertTrue(sig3.verify(new Ed25519Verifier(OKP_JWK.toPublicJWK())));
+		assertTrue(sig1.verify(new MACVerifier(hmacJWK)));
+		assertTrue(sig2.verify(new ECDSAVerifier(EC_JWK.toPublicJWK())));
+		
+		// Verifier without slice support
+		final MACVerifier macVerifier = new MACVerifier(hmacJWK);
+		JWSVerifier plainVerifier = new JWSVerifier() {
+			@Override
+			public boolean verify(JWSHeader header, byte[] signingInput, Base64URL signature) throws JOSEException {
+				return macVerifier.verify(header, signingInput, signature);
+			}
+			@Override
+			public java.util.Set<JWSAlgorithm> supportedJWSAlgorithms() {
+				return macVerifier.supportedJWSAlgorithms();
+			}
+			@Override
+			public com.nimbusds.jose.jca.JCAContext getJCAContext() {
+				return macVerifier.getJCAContext();
+			}
+		};
+		assertTrue(sig1.verify(plainVerifier));
+		
+		// Wrong keys
+		assertFalse(sig1.verify(new MACVerifier(new OctetSequenceKeyGenerator(256).generate())));
+		assertFalse(sig2.verify(new ECDSAVerifier(new ECKeyGenerator(Curve.P_256).generate().toPublicJWK())));
+		
+		assertTrue(sig3.verify(new Ed25519Verifier(OKP_JWK.toPublicJWK())));
+	}
+	
+	
 	public void testGeneral_twoSignatures_unprotectedHeader()
 		throws Exception {
 		
@@ -60,6 +60,55 @@ public class JWSObjectTest extends TestCase {
 	}
 
 
+	public void testParsedHeaderConstructor()
+		throws Exception {
+
+		Base64URL firstPart = new JWSHeader(JWSAlgorithm.RS256).toBase64URL();
+		JWSHeader parsedHeader = JWSHeader.parse(firstPart);
+
+		JWSObject jws = new JWSObject(parsedHeader, new Payload(new Base64URL("abc")), new Base64URL("def"));
+
+		assertSame(parsedHeader, jws.getHeader());
+		assertEquals(firstPart + ".abc.def", jws.serialize());
+		assertEquals(firstPart + ".abc.def", jws.getParsedString());
+		assertEquals(JWSObject.State.SIGNED, jws.getState());
+
+		try {
+			new JWSObject(new JWSHeader(JWSAlgorithm.RS256), new Payload("abc"), new Base64URL("def"));
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The parsed JWS header must have its parsed Base64URL set", e.getMessage());
+		}
+
+		try {
+			new JWSObject(parsedHeader, new Payload("abc"), new Base64URL(""));
+			fail();
+		} catch (ParseException e) {
+			assertEquals("The signature must not be empty", e.getMessage());
+		}
+	}
+
+
+	public void testSigningInputCached()
+		throws Exception {
+
+		JWSHeader header = new JWSHeader(JWSAlgorithm.HS256);
+		JWSObject jws = new JWSObject(header, new Payload("Hello world!"));
+
+		byte[] signingInput = jws.getSigningInput();
+		assertEquals(header.toBase64URL() + "." + new Payload("Hello world!").toBase64URL(), new String(signingInput, "UTF-8"));
+
+		// Defensive copy
+		signingInput[0] = 0;
+		assertNotSame(signingInput, jws.getSigningInput());
+		assertEquals(header.toBase64URL().toString().charAt(0), (char) jws.getSigningInput()[0]);
+
+		OctetSequenceKey jwk = new OctetSequenceKeyGenerator(256).generate();
+		jws.sign(new MACSigner(jwk));
+		assertTrue(jws.verify(new MACVerifier(jwk)));
+	}
+
+
 	public void testSignAndSerialize()
 		throws Exception {
 
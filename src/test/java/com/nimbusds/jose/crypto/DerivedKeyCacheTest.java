@@ -0,0 +1,107 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.crypto;
+
+
+import java.util.Arrays;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import junit.framework.TestCase;
+
+
+public class DerivedKeyCacheTest extends TestCase {
+	
+	
+	private static byte[] salt(final int i) {
+		byte[] salt = new byte[16];
+		Arrays.fill(salt, (byte) i);
+		return salt;
+	}
+	
+	
+	public void testPutAndGet() {
+		
+		DerivedKeyCache cache = new DerivedKeyCache(10);
+		assertEquals(10, cache.getMaxSize());
+		assertEquals(0, cache.size());
+		
+		assertNull(cache.get(salt(1), 1000));
+		
+		SecretKey key = new SecretKeySpec(salt(9), "AES");
+		cache.put(salt(1), 1000, key);
+		assertEquals(1, cache.size());
+		
+		SecretKey cached = cache.get(salt(1), 1000);
+		assertEquals("AES", cached.getAlgorithm());
+		assertTrue(Arrays.equals(key.getEncoded(), cached.getEncoded()));
+		assertNotSame(cached, cache.get(salt(1), 1000));
+		
+		// The iteration count is part of the key
+		assertNull(cache.get(salt(1), 1001));
+		assertNull(cache.get(salt(2), 1000));
+	}
+	
+	
+	public void testClearedWhenFull() {
+		
+		DerivedKeyCache cache = new DerivedKeyCache(2);
+		
+		cache.put(salt(1), 1000, new SecretKeySpec(salt(11), "AES"));
+		cache.put(salt(2), 1000, new SecretKeySpec(salt(12), "AES"));
+		assertEquals(2, cache.size());
+		
+		// Replacing an existing entry doesn't clear
+		cache.put(salt(2), 1000, new SecretKeySpec(salt(12), "AES"));
+		assertEquals(2, cache.size());
+		
+		cache.put(salt(3), 1000, new SecretKeySpec(salt(13), "AES"));
+		assertEquals(1, cache.size());
+		assertNull(cache.get(salt(1), 1000));
+		assertNotNull(cache.get(salt(3), 1000));
+		
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+	
+	
+	public void testCachedKeyUnaffectedByCallerChanges() {
+		
+		DerivedKeyCache cache = new DerivedKeyCache(1);
+		
+		byte[] salt = salt(1);
+		cache.put(salt, 1000, new SecretKeySpec(salt(9), "AES"));
+		salt[0] = 0;
+		
+		assertNotNull(cache.get(salt(1), 1000));
+		
+		cache.get(salt(1), 1000).getEncoded()[0] = 0;
+		assertTrue(Arrays.equals(salt(9), cache.get(salt(1), 1000).getEncoded()));
+	}
+	
+	
+	public void testMaxSizeMustBePositive() {
+		
+		try {
+			new DerivedKeyCache(0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The max derived key cache size must be positive", e.getMessage());
+		}
+	}
+}
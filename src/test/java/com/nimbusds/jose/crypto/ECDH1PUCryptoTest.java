@@ -43,7 +43,7 @@ import java.util.HashSet;
  * Tests ECDH-1PU encryption and decryption.
  *
  * @author Alexander Martynov
- * @version 2022-01-24
+ * @version 2026-10-15
  */
 public class ECDH1PUCryptoTest extends TestCase {
 
@@ -217,6 +217,36 @@ public class ECDH1PUCryptoTest extends TestCase {
         }
     }
 
+    public void testCycle_ephemeralKeyPool() throws Exception {
+        Payload payload = new Payload("Hello world!");
+
+        ECKey aliceKey = generateECJWK(Curve.P_521);
+        ECKey bobKey = generateECJWK(Curve.P_521);
+
+        EphemeralKeyPool<KeyPair> pool = EphemeralKeyPool.forEC(Curve.P_521, 2, null);
+
+        try {
+            ECDH1PUEncrypter encrypter = new ECDH1PUEncrypter(aliceKey.toECPrivateKey(), bobKey.toECPublicKey(), null, pool);
+            assertSame(pool, encrypter.getEphemeralKeyPool());
+
+            for (int i = 0; i < 3; i++) {
+                JWEObject jweObject = new JWEObject(
+                        new JWEHeader(JWEAlgorithm.ECDH_1PU_A256KW, EncryptionMethod.A256CBC_HS512),
+                        payload);
+                jweObject.encrypt(encrypter);
+
+                ECKey epk = (ECKey) jweObject.getHeader().getEphemeralPublicKey();
+                assertEquals(Curve.P_521, epk.getCurve());
+
+                jweObject = JWEObject.parse(jweObject.serialize());
+                jweObject.decrypt(new ECDH1PUDecrypter(bobKey.toECPrivateKey(), aliceKey.toECPublicKey()));
+                assertEquals(payload.toString(), jweObject.getPayload().toString());
+            }
+        } finally {
+            pool.close();
+        }
+    }
+
     public void testCycle_isForbidden() throws Exception {
         Payload payload = new Payload("Hello world!");
 
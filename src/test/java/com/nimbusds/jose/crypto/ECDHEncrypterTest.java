@@ -28,6 +28,11 @@ import javax.crypto.spec.SecretKeySpec;
 
 import junit.framework.TestCase;
 
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+
 /**
  * Tests ECDH Encrypter with provided CEK.
  *
@@ -58,4 +63,53 @@ public class ECDHEncrypterTest extends TestCase {
 		}
 	}
 
+
+	public void testEphemeralKeyPool() throws Exception {
+
+		ECKey ecJWK = new ECKeyGenerator(Curve.P_384).generate();
+
+		EphemeralKeyPool<KeyPair> pool = EphemeralKeyPool.forEC(Curve.P_384, 2, null);
+
+		try {
+			ECDHEncrypter encrypter = new ECDHEncrypter(ecJWK.toECPublicKey(), null, pool);
+			assertSame(pool, encrypter.getEphemeralKeyPool());
+
+			ECKey lastEPK = null;
+
+			for (int i = 0; i < 3; i++) {
+				JWEObject jweObject = new JWEObject(
+					new JWEHeader(JWEAlgorithm.ECDH_ES, EncryptionMethod.A256GCM),
+					new Payload("Hello world!"));
+				jweObject.encrypt(encrypter);
+
+				ECKey epk = (ECKey) jweObject.getHeader().getEphemeralPublicKey();
+				assertEquals(Curve.P_384, epk.getCurve());
+				assertFalse(epk.equals(lastEPK));
+				lastEPK = epk;
+
+				jweObject = JWEObject.parse(jweObject.serialize());
+				jweObject.decrypt(new ECDHDecrypter(ecJWK));
+				assertEquals("Hello world!", jweObject.getPayload().toString());
+			}
+		} finally {
+			pool.close();
+		}
+	}
+
+
+	public void testEphemeralKeyPool_curveMismatch() throws Exception {
+
+		ECKey ecJWK = new ECKeyGenerator(Curve.P_256).generate();
+
+		EphemeralKeyPool<KeyPair> pool = EphemeralKeyPool.forEC(Curve.P_384, 1, null);
+
+		try {
+			new ECDHEncrypter(ecJWK.toECPublicKey(), null, pool);
+			fail();
+		} catch (JOSEException e) {
+			assertEquals("The ephemeral key pool curve must match the public EC key curve P-256", e.getMessage());
+		} finally {
+			pool.close();
+		}
+	}
 }
@@ -489,4 +489,30 @@ public class ECDSARoundTripTest extends TestCase {
 		
 		assertEquals("alice", jwt.getJWTClaimsSet().getSubject());
 	}
+
+
+	public void testES256WithEnginePooling()
+		throws Exception {
+
+		KeyPair keyPair = createECKeyPair(EC256SPEC);
+
+		ECDSASigner signer = new ECDSASigner((ECPrivateKey) keyPair.getPrivate());
+		signer.getJCAContext().setEnginePoolingEnabled(true);
+
+		ECDSAVerifier verifier = new ECDSAVerifier((ECPublicKey) keyPair.getPublic());
+		verifier.getJCAContext().setEnginePoolingEnabled(true);
+
+		ECDSAVerifier otherVerifier = new ECDSAVerifier((ECPublicKey) createECKeyPair(EC256SPEC).getPublic());
+		otherVerifier.getJCAContext().setEnginePoolingEnabled(true);
+
+		for (int i=0; i < 3; i++) {
+
+			JWSObject jwsObject = createInitialJWSObject(JWSAlgorithm.ES256);
+			jwsObject.sign(signer);
+
+			jwsObject = JWSObject.parse(jwsObject.serialize());
+			assertFalse(jwsObject.verify(otherVerifier));
+			assertTrue(jwsObject.verify(verifier));
+		}
+	}
 }
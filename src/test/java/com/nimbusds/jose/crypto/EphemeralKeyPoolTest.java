@@ -0,0 +1,169 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.crypto;
+
+
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.util.HashSet;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+
+
+public class EphemeralKeyPoolTest extends TestCase {
+	
+	
+	private static void awaitFillLevel(final EphemeralKeyPool<?> pool, final int fillLevel)
+		throws InterruptedException {
+		
+		for (int i = 0; i < 500 && pool.getFillLevel() < fillLevel; i++) {
+			Thread.sleep(10);
+		}
+		assertEquals(fillLevel, pool.getFillLevel());
+	}
+	
+	
+	public void testEC()
+		throws Exception {
+		
+		EphemeralKeyPool<KeyPair> pool = EphemeralKeyPool.forEC(Curve.P_256, 5, null);
+		
+		try {
+			assertEquals(Curve.P_256, pool.getCurve());
+			assertEquals(5, pool.getCapacity());
+			assertFalse(pool.isClosed());
+			
+			awaitFillLevel(pool, 5);
+			
+			Set<KeyPair> keyPairs = new HashSet<>();
+			Set<ECPublicKey> publicKeys = new HashSet<>();
+			for (int i = 0; i < 20; i++) {
+				KeyPair keyPair = pool.take();
+				assertEquals(Curve.P_256, Curve.forECParameterSpec(((ECPublicKey) keyPair.getPublic()).getParams()));
+				assertTrue(keyPairs.add(keyPair));
+				assertTrue(publicKeys.add((ECPublicKey) keyPair.getPublic()));
+			}
+			
+			// Refilled in the background
+			awaitFillLevel(pool, 5);
+		} finally {
+			pool.close();
+		}
+		
+		assertTrue(pool.isClosed());
+		assertEquals(0, pool.getFillLevel());
+		
+		// Generated on the calling thread once closed
+		assertNotNull(pool.take());
+		assertEquals(0, pool.getFillLevel());
+	}
+	
+	
+	public void testX25519()
+		throws Exception {
+		
+		EphemeralKeyPool<OctetKeyPair> pool = EphemeralKeyPool.forX25519(3);
+		
+		try {
+			assertEquals(Curve.X25519, pool.getCurve());
+			assertEquals(3, pool.getCapacity());
+			
+			awaitFillLevel(pool, 3);
+			
+			Set<String> privateKeys = new HashSet<>();
+			for (int i = 0; i < 10; i++) {
+				OctetKeyPair keyPair = pool.take();
+				assertEquals(Curve.X25519, keyPair.getCurve());
+				assertTrue(keyPair.isPrivate());
+				assertTrue(privateKeys.add(keyPair.getD().toString()));
+			}
+		} finally {
+			pool.close();
+		}
+	}
+	
+	
+	public void testConcurrentTakeHandsOutEachKeyOnce()
+		throws Exception {
+		
+		final EphemeralKeyPool<OctetKeyPair> pool = EphemeralKeyPool.forX25519(50);
+		
+		try {
+			awaitFillLevel(pool, 50);
+			
+			final Set<String> privateKeys = new HashSet<>();
+			final int numThreads = 4;
+			final int takesPerThread = 25;
+			
+			Thread[] threads = new Thread[numThreads];
+			for (int i = 0; i < numThreads; i++) {
+				threads[i] = new Thread(new Runnable() {
+					@Override
+					public void run() {
+						for (int j = 0; j < takesPerThread; j++) {
+							try {
+								String d = pool.take().getD().toString();
+								synchronized (privateKeys) {
+									privateKeys.add(d);
+								}
+							} catch (JOSEException e) {
+								throw new RuntimeException(e);
+							}
+						}
+					}
+				});
+				threads[i].start();
+			}
+			for (Thread thread: threads) {
+				thread.join();
+			}
+			
+			assertEquals(numThreads * takesPerThread, privateKeys.size());
+		} finally {
+			pool.close();
+		}
+	}
+	
+	
+	public void testUnsupportedECCurve() {
+		
+		try {
+			EphemeralKeyPool.forEC(Curve.SECP256K1, 1, null);
+			fail();
+		} catch (JOSEException e) {
+			assertEquals("Unsupported ephemeral EC key curve: secp256k1", e.getMessage());
+		}
+	}
+	
+	
+	public void testCapacityMustBePositive()
+		throws JOSEException {
+		
+		try {
+			EphemeralKeyPool.forX25519(0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The ephemeral key pool capacity must be positive", e.getMessage());
+		}
+	}
+}
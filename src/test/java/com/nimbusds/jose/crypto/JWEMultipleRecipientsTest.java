@@ -32,6 +32,8 @@ import javax.crypto.SecretKey;
 import java.net.URI;
 import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Logger;
 
 /**
@@ -39,7 +41,7 @@ import java.util.logging.Logger;
  *
  * @author Egor Puzanov
  * @author Vladimir Dzhuvinov
- * @version 2023-09-13
+ * @version 2026-10-15
  */
 public class JWEMultipleRecipientsTest extends TestCase {
 
@@ -214,6 +216,104 @@ public class JWEMultipleRecipientsTest extends TestCase {
 	}
 
 
+	public void testMultipleRecipients_parallel()
+		throws Exception {
+
+		final String plainText = "Hello world!";
+		final EncryptionMethod enc = EncryptionMethod.A256GCM;
+		final JWKSet keys = generateJWKSet(enc);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			for (int run = 0; run < 10; run++) {
+				JWEObjectJSON jwe = new JWEObjectJSON(new JWEHeader(enc), new Payload(plainText));
+				MultiEncrypter encrypter = new MultiEncrypter(keys, executor);
+				assertEquals(executor, encrypter.getExecutor());
+
+				jwe.encrypt(encrypter);
+				String json = jwe.serializeGeneral();
+
+				// The recipients are in the order of the keys
+				Map<String, Object>[] recipients = JSONObjectUtils.getJSONObjectArray(JSONObjectUtils.parse(json), "recipients");
+				assertEquals(keys.size(), recipients.length);
+				for (int i = 0; i < keys.size(); i++) {
+					assertEquals(keys.getKeys().get(i).getKeyID(), ((Map<String, String>) recipients[i].get("header")).get("kid"));
+				}
+
+				for (JWK key : keys.getKeys()) {
+					jwe = JWEObjectJSON.parse(json);
+					jwe.decrypt(new MultiDecrypter(key));
+					assertEquals(plainText, jwe.getPayload().toString());
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertNull(new MultiEncrypter(keys).getExecutor());
+	}
+
+
+	public void testTwoRecipients_identicalJWEAlg_noKeyID_trialDecryption()
+		throws Exception {
+
+		final String plainText = "Hello world!";
+		RSAKeyGenerator keyGenerator = new RSAKeyGenerator(2048);
+		final JWKSet keys = new JWKSet(Arrays.asList(
+			(JWK)keyGenerator.algorithm(JWEAlgorithm.RSA_OAEP_256).generate(),
+			(JWK)keyGenerator.algorithm(JWEAlgorithm.RSA_OAEP_256).generate(),
+			(JWK)keyGenerator.algorithm(JWEAlgorithm.RSA1_5).generate())
+		);
+
+		JWEObjectJSON jwe = new JWEObjectJSON(new JWEHeader(EncryptionMethod.A128CBC_HS256), new Payload(plainText));
+		jwe.encrypt(new MultiEncrypter(keys));
+		String json = jwe.serializeGeneral();
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			for (JWK key : keys.getKeys()) {
+				jwe = JWEObjectJSON.parse(json);
+				MultiDecrypter decrypter = new MultiDecrypter(key, null, executor);
+				assertEquals(executor, decrypter.getExecutor());
+				jwe.decrypt(decrypter);
+				assertEquals(plainText, jwe.getPayload().toString());
+			}
+
+			// Not a recipient
+			jwe = JWEObjectJSON.parse(json);
+			try {
+				jwe.decrypt(new MultiDecrypter(keyGenerator.algorithm(JWEAlgorithm.RSA_OAEP_256).generate(), null, executor));
+				fail();
+			} catch (JOSEException e) {
+				assertEquals("No recipient found", e.getMessage());
+				assertNotNull(e.getCause());
+			}
+
+			// Too many recipients without a key ID
+			jwe = JWEObjectJSON.parse(json);
+			MultiDecrypter decrypter = new MultiDecrypter(keys.getKeys().get(0), null, executor, 2);
+			assertEquals(2, decrypter.getMaxTrialDecryptions());
+			try {
+				jwe.decrypt(decrypter);
+				fail();
+			} catch (JOSEException e) {
+				assertEquals("Too many recipients without a key ID for trial decryption, the maximum is 2", e.getMessage());
+			}
+
+			assertEquals(MultiDecrypter.DEFAULT_MAX_TRIAL_DECRYPTIONS, new MultiDecrypter(keys.getKeys().get(0), null, executor).getMaxTrialDecryptions());
+
+			try {
+				new MultiDecrypter(keys.getKeys().get(0), null, executor, 0);
+				fail();
+			} catch (IllegalArgumentException e) {
+				assertEquals("The maximum number of trial decryptions must be positive", e.getMessage());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+
 	public void testTwoRecipients_identicalJWEAlg_noJWKAlg()
 		throws JOSEException {
 
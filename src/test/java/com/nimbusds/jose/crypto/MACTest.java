@@ -645,4 +645,80 @@ public class MACTest extends TestCase {
 		JWSObject jwsObject = new JWSObject(new JWSHeader(JWSAlgorithm.HS384), new Payload("Hello world!"));
 		jwsObject.sign(signer);
 	}
+
+
+	public void testSignAndVerifyWithEnginePooling()
+		throws Exception {
+
+		byte[] secret = new byte[64];
+		new SecureRandom().nextBytes(secret);
+
+		MACSigner signer = new MACSigner(secret);
+		signer.getJCAContext().setEnginePoolingEnabled(true);
+
+		MACVerifier verifier = new MACVerifier(secret);
+		verifier.getJCAContext().setEnginePoolingEnabled(true);
+
+		for (JWSAlgorithm alg: Arrays.asList(JWSAlgorithm.HS256, JWSAlgorithm.HS512, JWSAlgorithm.HS256)) {
+
+			for (int i=0; i < 3; i++) {
+
+				JWSObject jwsObject = new JWSObject(new JWSHeader(alg), new Payload("Hello world #" + i));
+				jwsObject.sign(signer);
+
+				// Must match the non-pooled computation
+				MACSigner plainSigner = new MACSigner(secret);
+				assertEquals(plainSigner.sign(jwsObject.getHeader(), jwsObject.getSigningInput()), jwsObject.getSignature());
+
+				jwsObject = JWSObject.parse(jwsObject.serialize());
+				assertTrue(jwsObject.verify(verifier));
+			}
+		}
+
+		// Other secret, same pooled engine names
+		byte[] otherSecret = new byte[64];
+		new SecureRandom().nextBytes(otherSecret);
+		MACVerifier otherVerifier = new MACVerifier(otherSecret);
+		otherVerifier.getJCAContext().setEnginePoolingEnabled(true);
+
+		JWSObject jwsObject = new JWSObject(new JWSHeader(JWSAlgorithm.HS256), new Payload("Hello world!"));
+		jwsObject.sign(signer);
+		assertFalse(JWSObject.parse(jwsObject.serialize()).verify(otherVerifier));
+		assertTrue(JWSObject.parse(jwsObject.serialize()).verify(verifier));
+	}
+
+
+	public void testEnginePoolingWithVerifierPerJWS()
+		throws Exception {
+
+		byte[] secret = new byte[32];
+		new SecureRandom().nextBytes(secret);
+		byte[] otherSecret = new byte[32];
+		new SecureRandom().nextBytes(otherSecret);
+
+		JWSObject jwsObject = new JWSObject(new JWSHeader(JWSAlgorithm.HS256), new Payload("Hello world!"));
+		jwsObject.sign(new MACSigner(secret));
+		String jws = jwsObject.serialize();
+
+		JWSObject otherJWSObject = new JWSObject(new JWSHeader(JWSAlgorithm.HS256), new Payload("Hello world!"));
+		otherJWSObject.sign(new MACSigner(otherSecret));
+		String otherJWS = otherJWSObject.serialize();
+
+		for (int i=0; i < 3; i++) {
+
+			// New verifiers share the pooled engine of the thread
+			MACVerifier verifier = new MACVerifier(secret);
+			verifier.getJCAContext().setEnginePoolingEnabled(true);
+			assertTrue(JWSObject.parse(jws).verify(verifier));
+			assertFalse(JWSObject.parse(otherJWS).verify(verifier));
+
+			MACVerifier otherVerifier = new MACVerifier(new SecretKeySpec(otherSecret, "HmacSHA256"));
+			otherVerifier.getJCAContext().setEnginePoolingEnabled(true);
+			assertTrue(JWSObject.parse(otherJWS).verify(otherVerifier));
+			assertFalse(JWSObject.parse(jws).verify(otherVerifier));
+
+			// Same verifier, pooled engine initialised with another secret in between
+			assertTrue(JWSObject.parse(jws).verify(verifier));
+		}
+	}
 }
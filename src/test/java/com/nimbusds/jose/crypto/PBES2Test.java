@@ -328,4 +328,73 @@ public class PBES2Test extends TestCase {
 			assertEquals("The JWE p2c header exceeds the maximum allowed 1000000 count", e.getMessage());
 		}
 	}
+	
+	
+	public void testDerivedKeyCache()
+		throws Exception {
+		
+		final String password = "secret";
+		final String plaintext = "Hello world!";
+		
+		JWEObject jweObject = new JWEObject(new JWEHeader.Builder(JWEAlgorithm.PBES2_HS512_A256KW, EncryptionMethod.A256GCM).build(), new Payload(plaintext));
+		jweObject.encrypt(new PasswordBasedEncrypter(password, 16, 8192));
+		String jwe = jweObject.serialize();
+		
+		PasswordBasedDecrypter decrypter = new PasswordBasedDecrypter(password.getBytes(StandardCharset.UTF_8), 10);
+		assertEquals(10, decrypter.getDerivedKeyCache().getMaxSize());
+		assertEquals(0, decrypter.getDerivedKeyCache().size());
+		
+		for (int i = 0; i < 3; i++) {
+			jweObject = JWEObject.parse(jwe);
+			jweObject.decrypt(decrypter);
+			assertEquals(plaintext, jweObject.getPayload().toString());
+			assertEquals(1, decrypter.getDerivedKeyCache().size());
+		}
+		
+		// Another salt
+		jweObject = new JWEObject(new JWEHeader.Builder(JWEAlgorithm.PBES2_HS512_A256KW, EncryptionMethod.A256GCM).build(), new Payload(plaintext));
+		jweObject.encrypt(new PasswordBasedEncrypter(password, 16, 8192));
+		jweObject = JWEObject.parse(jweObject.serialize());
+		jweObject.decrypt(decrypter);
+		assertEquals(plaintext, jweObject.getPayload().toString());
+		assertEquals(2, decrypter.getDerivedKeyCache().size());
+		
+		assertNull(new PasswordBasedDecrypter(password).getDerivedKeyCache());
+	}
+	
+	
+	public void testDerivedKeyCache_stringPasswordConstructor()
+		throws Exception {
+		
+		JWEObject jweObject = new JWEObject(new JWEHeader.Builder(JWEAlgorithm.PBES2_HS256_A128KW, EncryptionMethod.A128GCM).build(), new Payload("Hello world!"));
+		jweObject.encrypt(new PasswordBasedEncrypter("secret", 16, 8192));
+		
+		PasswordBasedDecrypter decrypter = new PasswordBasedDecrypter("secret", 5);
+		assertEquals("secret", decrypter.getPasswordString());
+		assertEquals(5, decrypter.getDerivedKeyCache().getMaxSize());
+		
+		jweObject = JWEObject.parse(jweObject.serialize());
+		jweObject.decrypt(decrypter);
+		assertEquals("Hello world!", jweObject.getPayload().toString());
+		assertEquals(1, decrypter.getDerivedKeyCache().size());
+	}
+	
+	
+	public void testDerivedKeyCache_notCachedOnWrongPassword()
+		throws Exception {
+		
+		JWEObject jweObject = new JWEObject(new JWEHeader.Builder(JWEAlgorithm.PBES2_HS256_A128KW, EncryptionMethod.A128GCM).build(), new Payload("Hello world!"));
+		jweObject.encrypt(new PasswordBasedEncrypter("secret", 16, 8192));
+		
+		PasswordBasedDecrypter decrypter = new PasswordBasedDecrypter("other-secret".getBytes(StandardCharset.UTF_8), 10);
+		
+		try {
+			JWEObject.parse(jweObject.serialize()).decrypt(decrypter);
+			fail();
+		} catch (JOSEException e) {
+			// ok
+		}
+		
+		assertEquals(0, decrypter.getDerivedKeyCache().size());
+	}
 }
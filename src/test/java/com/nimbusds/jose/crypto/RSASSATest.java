@@ -449,6 +449,29 @@ public class RSASSATest {
 	}
 	
 	
+	@Test
+	public void testSignAndVerifyCycleWithEnginePooling()
+		throws Exception {
+
+		KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
+		kpg.initialize(2048);
+
+		KeyPair kp = kpg.genKeyPair();
+
+		RSASSASigner signer = new RSASSASigner((RSAPrivateKey)kp.getPrivate());
+		signer.getJCAContext().setEnginePoolingEnabled(true);
+
+		RSASSAVerifier verifier = new RSASSAVerifier((RSAPublicKey)kp.getPublic());
+		verifier.getJCAContext().setEnginePoolingEnabled(true);
+
+		for (int i=0; i < 2; i++) {
+			testSignAndVerifyCycle(JWSAlgorithm.RS256, signer, verifier);
+			testSignAndVerifyCycle(JWSAlgorithm.PS256, signer, verifier);
+			testSignAndVerifyCycle(JWSAlgorithm.RS512, signer, verifier);
+		}
+	}
+	
+	
 	// To run the test without class loading clashes disable the optional
 	// plain BC provider in pom.xml
 //	@Test
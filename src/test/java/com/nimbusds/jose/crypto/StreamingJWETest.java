@@ -0,0 +1,500 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.crypto;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import javax.crypto.SecretKey;
+
+import junit.framework.TestCase;
+
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.crypto.impl.ContentCryptoProvider;
+import com.nimbusds.jose.util.StandardCharset;
+
+
+/**
+ * Tests the streaming JWE encryption and decryption.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+public class StreamingJWETest extends TestCase {
+	
+	
+	private static final EncryptionMethod[] ENCRYPTION_METHODS = {
+		EncryptionMethod.A128CBC_HS256,
+		EncryptionMethod.A192CBC_HS384,
+		EncryptionMethod.A256CBC_HS512,
+		EncryptionMethod.A128GCM,
+		EncryptionMethod.A192GCM,
+		EncryptionMethod.A256GCM
+	};
+	
+	
+	private static byte[] createContent(final int length) {
+		
+		// Compressible, spans several chunks
+		byte[] content = new byte[length];
+		Random random = new Random(42);
+		for (int i=0; i < length; i++) {
+			content[i] = (byte) ('a' + random.nextInt(8));
+		}
+		return content;
+	}
+	
+	
+	private static String encryptCompact(final StreamingJWEEncrypter encrypter, final JWEHeader header, final byte[] content)
+		throws Exception {
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		encrypter.encrypt(header, new ByteArrayInputStream(content), Channels.newChannel(out));
+		return out.toString("US-ASCII");
+	}
+	
+	
+	private static byte[] decryptCompact(final StreamingJWEDecrypter decrypter, final String jwe)
+		throws Exception {
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		decrypter.decrypt(new ByteArrayInputStream(jwe.getBytes(StandardCharset.UTF_8)), Channels.newChannel(out));
+		return out.toByteArray();
+	}
+	
+	
+	public void testDirectCompactRoundTrip()
+		throws Exception {
+		
+		for (EncryptionMethod enc: ENCRYPTION_METHODS) {
+			
+			for (CompressionAlgorithm zip: Arrays.asList(null, CompressionAlgorithm.DEF)) {
+				
+				for (int length: new int[]{0, 1, 2, 3, 100, 3 * StreamingJWEEncrypter.CHUNK_SIZE + 7}) {
+					
+					SecretKey key = ContentCryptoProvider.generateCEK(enc, new SecureRandom());
+					
+					byte[] content = createContent(length);
+					
+					JWEHeader header = new JWEHeader.Builder(JWEAlgorithm.DIR, enc)
+						.compressionAlgorithm(zip)
+						.build();
+					
+					String jwe = encryptCompact(new StreamingJWEEncrypter(key), header, content);
+					
+					// Regular decryption
+					JWEObject jweObject = JWEObject.parse(jwe);
+					assertEquals(enc, jweObject.getHeader().getEncryptionMethod());
+					assertEquals(zip, jweObject.getHeader().getCompressionAlgorithm());
+					assertNull(jweObject.getEncryptedKey());
+					jweObject.decrypt(new DirectDecrypter(key));
+					assertTrue(Arrays.equals(content, jweObject.getPayload().toBytes()));
+					
+					// Streaming decryption
+					assertTrue(Arrays.equals(content, decryptCompact(new StreamingJWEDecrypter(key), jwe)));
+				}
+			}
+		}
+	}
+	
+	
+	public void testStreamingDecryptionOfRegularJWE()
+		throws Exception {
+		
+		for (EncryptionMethod enc: ENCRYPTION_METHODS) {
+			
+			SecretKey key = ContentCryptoProvider.generateCEK(enc, new SecureRandom());
+			
+			byte[] content = createContent(2 * StreamingJWEEncrypter.CHUNK_SIZE + 1);
+			
+			JWEObject jweObject = new JWEObject(
+				new JWEHeader.Builder(JWEAlgorithm.DIR, enc)
+					.compressionAlgorithm(CompressionAlgorithm.DEF)
+					.build(),
+				new Payload(content));
+			jweObject.encrypt(new DirectEncrypter(key));
+			
+			assertTrue(Arrays.equals(content, decryptCompact(new StreamingJWEDecrypter(key), jweObject.serialize())));
+		}
+	}
+	
+	
+	public void testRSAKeyEncrypter_flattenedJSON()
+		throws Exception {
+		
+		KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
+		keyGen.initialize(2048);
+		KeyPair keyPair = keyGen.generateKeyPair();
+		
+		StreamingJWEEncrypter encrypter = new StreamingJWEEncrypter(rsaKeyEncrypters((RSAPublicKey) keyPair.getPublic()));
+		
+		byte[] content = createContent(StreamingJWEEncrypter.CHUNK_SIZE + 100);
+		
+		JWEHeader header = new JWEHeader.Builder(JWEAlgorithm.RSA_OAEP_256, EncryptionMethod.A256GCM)
+			.compressionAlgorithm(CompressionAlgorithm.DEF)
+			.keyID("1")
+			.build();
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		JWEHeader outHeader = encrypter.encryptToFlattenedJSON(header, new ByteArrayInputStream(content), Channels.newChannel(out));
+		assertEquals(CompressionAlgorithm.DEF, outHeader.getCompressionAlgorithm());
+		assertEquals("1", outHeader.getKeyID());
+		
+		JWEObjectJSON jweObject = JWEObjectJSON.parse(out.toString("US-ASCII"));
+		assertEquals(outHeader.toBase64URL(), jweObject.getHeader().toBase64URL());
+		jweObject.decrypt(new RSADecrypter((RSAPrivateKey) keyPair.getPrivate()));
+		assertTrue(Arrays.equals(content, jweObject.getPayload().toBytes()));
+		
+		// Compact
+		String jwe = encryptCompact(encrypter, header, content);
+		JWEObject compact = JWEObject.parse(jwe);
+		assertNotNull(compact.getEncryptedKey());
+		compact.decrypt(new RSADecrypter((RSAPrivateKey) keyPair.getPrivate()));
+		assertTrue(Arrays.equals(content, compact.getPayload().toBytes()));
+	}
+	
+	
+	public void testRejectKeyEncrypterWithOtherCEK()
+		throws Exception {
+		
+		KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
+		keyGen.initialize(2048);
+		KeyPair keyPair = keyGen.generateKeyPair();
+		
+		final RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+		
+		StreamingJWEEncrypter encrypter = new StreamingJWEEncrypter(new StreamingJWEEncrypter.KeyEncrypterFactory() {
+			@Override
+			public JWEEncrypter createKeyEncrypter(SecretKey cek) throws JOSEException {
+				// Ignores the CEK
+				return new RSAEncrypter(publicKey);
+			}
+		});
+		
+		try {
+			encryptCompact(encrypter, new JWEHeader(JWEAlgorithm.RSA_OAEP_256, EncryptionMethod.A128CBC_HS256), new byte[10]);
+			fail();
+		} catch (JOSEException e) {
+			assertEquals("The key encrypter must use the same content encryption key (CEK)", e.getMessage());
+		}
+	}
+	
+	
+	public void testRejectUnsupported()
+		throws Exception {
+		
+		SecretKey key = ContentCryptoProvider.generateCEK(EncryptionMethod.A256GCM, new SecureRandom());
+		StreamingJWEEncrypter encrypter = new StreamingJWEEncrypter(key);
+		
+		try {
+			encryptCompact(encrypter, new JWEHeader(JWEAlgorithm.ECDH_1PU, EncryptionMethod.A256GCM), new byte[10]);
+			fail();
+		} catch (JOSEException e) {
+			assertEquals("Streaming JWE encryption doesn't support the ECDH-1PU algorithm", e.getMessage());
+		}
+		
+		try {
+			encryptCompact(encrypter, new JWEHeader(JWEAlgorithm.DIR, EncryptionMethod.XC20P), new byte[10]);
+			fail();
+		} catch (JOSEException e) {
+			assertEquals("Streaming JWE encryption doesn't support the XC20P encryption method", e.getMessage());
+		}
+	}
+	
+	
+	public void testDecryptRejectInvalidAuthTag()
+		throws Exception {
+		
+		for (EncryptionMethod enc: ENCRYPTION_METHODS) {
+			
+			SecretKey key = ContentCryptoProvider.generateCEK(enc, new SecureRandom());
+			
+			String jwe = encryptCompact(
+				new StreamingJWEEncrypter(key),
+				new JWEHeader(JWEAlgorithm.DIR, enc),
+				createContent(100));
+			
+			String[] parts = jwe.split("\\.");
+			char c = parts[4].charAt(0);
+			parts[4] = (c == 'A' ? 'B' : 'A') + parts[4].substring(1);
+			String tampered = parts[0] + "." + parts[1] + "." + parts[2] + "." + parts[3] + "." + parts[4];
+			
+			try {
+				decryptCompact(new StreamingJWEDecrypter(key), tampered);
+				fail();
+			} catch (JOSEException e) {
+				assertNotNull(e.getMessage());
+			}
+		}
+	}
+	
+	
+	private static StreamingJWEEncrypter.KeyEncrypterFactory rsaKeyEncrypters(final RSAPublicKey publicKey) {
+		
+		return new StreamingJWEEncrypter.KeyEncrypterFactory() {
+			@Override
+			public JWEEncrypter createKeyEncrypter(SecretKey cek) {
+				return new RSAEncrypter(publicKey, cek);
+			}
+		};
+	}
+	
+	
+	private static StreamingJWEEncrypter.KeyEncrypterFactory aesKeyEncrypters(final SecretKey kek) {
+		
+		return new StreamingJWEEncrypter.KeyEncrypterFactory() {
+			@Override
+			public JWEEncrypter createKeyEncrypter(SecretKey cek) throws JOSEException {
+				return new AESEncrypter(kek, cek);
+			}
+		};
+	}
+	
+	
+	public void testNewCEKForEachJWE()
+		throws Exception {
+		
+		final SecretKey kek = ContentCryptoProvider.generateCEK(EncryptionMethod.A256GCM, new SecureRandom());
+		
+		final List<SecretKey> ceks = new ArrayList<>();
+		
+		StreamingJWEEncrypter encrypter = new StreamingJWEEncrypter(new StreamingJWEEncrypter.KeyEncrypterFactory() {
+			@Override
+			public JWEEncrypter createKeyEncrypter(SecretKey cek) throws JOSEException {
+				ceks.add(cek);
+				return new AESEncrypter(kek, cek);
+			}
+		});
+		assertNotNull(encrypter.getKeyEncrypterFactory());
+		
+		JWEHeader header = new JWEHeader(JWEAlgorithm.A256KW, EncryptionMethod.A256GCM);
+		byte[] content = createContent(100);
+		
+		// AES key wrapping is deterministic, a new CEK gives a new
+		// encrypted key
+		JWEObject first = JWEObject.parse(encryptCompact(encrypter, header, content));
+		JWEObject second = JWEObject.parse(encryptCompact(encrypter, header, content));
+		assertFalse(first.getEncryptedKey().equals(second.getEncryptedKey()));
+		
+		assertEquals(2, ceks.size());
+		assertFalse(Arrays.equals(ceks.get(0).getEncoded(), ceks.get(1).getEncoded()));
+		assertEquals(256, ceks.get(0).getEncoded().length * 8);
+		
+		first.decrypt(new AESDecrypter(kek));
+		assertTrue(Arrays.equals(content, first.getPayload().toBytes()));
+	}
+	
+	
+	public void testRejectDirectWithoutSharedKey()
+		throws Exception {
+		
+		KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
+		keyGen.initialize(2048);
+		
+		StreamingJWEEncrypter encrypter = new StreamingJWEEncrypter(rsaKeyEncrypters((RSAPublicKey) keyGen.generateKeyPair().getPublic()));
+		assertNull(new StreamingJWEEncrypter(ContentCryptoProvider.generateCEK(EncryptionMethod.A128GCM, new SecureRandom())).getKeyEncrypterFactory());
+		
+		try {
+			encryptCompact(encrypter, new JWEHeader(JWEAlgorithm.DIR, EncryptionMethod.A128GCM), new byte[10]);
+			fail();
+		} catch (JOSEException e) {
+			assertEquals("Streaming JWE direct encryption requires a shared key", e.getMessage());
+		}
+	}
+	
+	
+	public void testAESKeyWrapping()
+		throws Exception {
+		
+		for (JWEAlgorithm alg: Arrays.asList(JWEAlgorithm.A128KW, JWEAlgorithm.A256KW, JWEAlgorithm.A128GCMKW, JWEAlgorithm.A256GCMKW)) {
+			
+			SecretKey kek = ContentCryptoProvider.generateCEK(
+				JWEAlgorithm.A128KW.equals(alg) || JWEAlgorithm.A128GCMKW.equals(alg) ? EncryptionMethod.A128GCM : EncryptionMethod.A256GCM,
+				new SecureRandom());
+			byte[] content = createContent(2 * StreamingJWEEncrypter.CHUNK_SIZE + 5);
+			
+			String jwe = encryptCompact(
+				new StreamingJWEEncrypter(aesKeyEncrypters(kek)),
+				new JWEHeader.Builder(alg, EncryptionMethod.A128CBC_HS256)
+					.compressionAlgorithm(CompressionAlgorithm.DEF)
+					.build(),
+				content);
+			
+			assertTrue(Arrays.equals(content, decryptCompact(new StreamingJWEDecrypter(kek), jwe)));
+			
+			// Regular encryption
+			JWEObject jweObject = new JWEObject(new JWEHeader(alg, EncryptionMethod.A256GCM), new Payload(content));
+			jweObject.encrypt(new AESEncrypter(kek));
+			assertTrue(Arrays.equals(content, decryptCompact(new StreamingJWEDecrypter(kek), jweObject.serialize())));
+		}
+	}
+	
+	
+	public void testRSAOAEP()
+		throws Exception {
+		
+		KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
+		keyGen.initialize(2048);
+		KeyPair keyPair = keyGen.generateKeyPair();
+		
+		StreamingJWEDecrypter decrypter = new StreamingJWEDecrypter(keyPair.getPrivate());
+		assertNull(decrypter.getKey());
+		assertEquals(keyPair.getPrivate(), decrypter.getPrivateKey());
+		assertEquals(StreamingJWEDecrypter.SUPPORTED_PRIVATE_KEY_ALGORITHMS, decrypter.supportedJWEAlgorithms());
+		
+		for (JWEAlgorithm alg: StreamingJWEDecrypter.SUPPORTED_PRIVATE_KEY_ALGORITHMS) {
+			
+			byte[] content = createContent(StreamingJWEEncrypter.CHUNK_SIZE + 1);
+			
+			String jwe = encryptCompact(
+				new StreamingJWEEncrypter(rsaKeyEncrypters((RSAPublicKey) keyPair.getPublic())),
+				new JWEHeader(alg, EncryptionMethod.A256GCM),
+				content);
+			
+			assertTrue(Arrays.equals(content, decryptCompact(decrypter, jwe)));
+		}
+		
+		// RSA1_5 not supported
+		JWEObject jweObject = new JWEObject(new JWEHeader(JWEAlgorithm.RSA1_5, EncryptionMethod.A128GCM), new Payload("Hello, world!"));
+		jweObject.encrypt(new RSAEncrypter((RSAPublicKey) keyPair.getPublic()));
+		
+		try {
+			decryptCompact(decrypter, jweObject.serialize());
+			fail();
+		} catch (JOSEException e) {
+			assertTrue(e.getMessage().startsWith("Unsupported JWE algorithm RSA1_5"));
+		}
+	}
+	
+	
+	public void testDecryptRejectAlgorithmForOtherKeyType()
+		throws Exception {
+		
+		SecretKey key = ContentCryptoProvider.generateCEK(EncryptionMethod.A128GCM, new SecureRandom());
+		
+		KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
+		keyGen.initialize(2048);
+		KeyPair keyPair = keyGen.generateKeyPair();
+		
+		JWEObject jweObject = new JWEObject(new JWEHeader(JWEAlgorithm.RSA_OAEP_256, EncryptionMethod.A128GCM), new Payload("Hello, world!"));
+		jweObject.encrypt(new RSAEncrypter((RSAPublicKey) keyPair.getPublic()));
+		
+		try {
+			decryptCompact(new StreamingJWEDecrypter(key), jweObject.serialize());
+			fail();
+		} catch (JOSEException e) {
+			assertTrue(e.getMessage().startsWith("Unsupported JWE algorithm RSA-OAEP-256"));
+		}
+	}
+	
+	
+	public void testDecryptRejectDecompressedLengthExceeded()
+		throws Exception {
+		
+		SecretKey key = ContentCryptoProvider.generateCEK(EncryptionMethod.A128CBC_HS256, new SecureRandom());
+		
+		// Highly compressible
+		byte[] content = new byte[100_000];
+		
+		String jwe = encryptCompact(
+			new StreamingJWEEncrypter(key),
+			new JWEHeader.Builder(JWEAlgorithm.DIR, EncryptionMethod.A128CBC_HS256)
+				.compressionAlgorithm(CompressionAlgorithm.DEF)
+				.build(),
+			content);
+		
+		assertEquals(StreamingJWEDecrypter.DEFAULT_MAX_DECOMPRESSED_LENGTH, new StreamingJWEDecrypter(key).getMaxDecompressedLength());
+		
+		StreamingJWEDecrypter decrypter = new StreamingJWEDecrypter(key, null, 100_000);
+		assertEquals(100_000, decrypter.getMaxDecompressedLength());
+		assertTrue(Arrays.equals(content, decryptCompact(decrypter, jwe)));
+		
+		try {
+			decryptCompact(new StreamingJWEDecrypter(key, null, 99_999), jwe);
+			fail();
+		} catch (JOSEException e) {
+			assertEquals("Couldn't decompress plain text: The decompressed content exceeds the maximum allowed length of 99999 bytes", e.getMessage());
+		}
+		
+		try {
+			new StreamingJWEDecrypter(key, null, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The maximum decompressed length must be positive", e.getMessage());
+		}
+	}
+	
+	
+	public void testCriticalHeaderParams()
+		throws Exception {
+		
+		SecretKey key = ContentCryptoProvider.generateCEK(EncryptionMethod.A128GCM, new SecureRandom());
+		
+		StreamingJWEDecrypter decrypter = new StreamingJWEDecrypter(key, Collections.singleton("exp"));
+		
+		assertEquals(Collections.singleton("exp"), decrypter.getDeferredCriticalHeaderParams());
+		assertFalse(decrypter.getProcessedCriticalHeaderParams().contains("exp"));
+		
+		JWEHeader header = new JWEHeader.Builder(JWEAlgorithm.DIR, EncryptionMethod.A128GCM)
+			.criticalParams(Collections.singleton("exp"))
+			.customParam("exp", 123L)
+			.build();
+		
+		String jwe = encryptCompact(new StreamingJWEEncrypter(key), header, createContent(10));
+		
+		assertTrue(Arrays.equals(createContent(10), decryptCompact(decrypter, jwe)));
+		
+		// Not deferred
+		try {
+			decryptCompact(new StreamingJWEDecrypter(key), jwe);
+			fail();
+		} catch (JOSEException e) {
+			assertNotNull(e.getMessage());
+		}
+	}
+	
+	
+	public void testDecryptRejectTruncated()
+		throws Exception {
+		
+		SecretKey key = ContentCryptoProvider.generateCEK(EncryptionMethod.A128GCM, new SecureRandom());
+		
+		String jwe = encryptCompact(
+			new StreamingJWEEncrypter(key),
+			new JWEHeader(JWEAlgorithm.DIR, EncryptionMethod.A128GCM),
+			createContent(100));
+		
+		try {
+			decryptCompact(new StreamingJWEDecrypter(key), jwe.substring(0, jwe.lastIndexOf('.')));
+			fail();
+		} catch (java.text.ParseException e) {
+			assertEquals("Unexpected number of Base64URL parts, must be five", e.getMessage());
+		}
+	}
+}
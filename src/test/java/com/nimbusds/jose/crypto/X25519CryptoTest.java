@@ -33,7 +33,7 @@ import junit.framework.TestCase;
  * Tests X25519 ECDH encryption and decryption.
  *
  * @author Tim McLean
- * @version 2018-07-16
+ * @version 2026-10-15
  */
 public class X25519CryptoTest extends TestCase {
 
@@ -83,6 +83,37 @@ public class X25519CryptoTest extends TestCase {
 	}
 
 
+	public void testCycle_ECDH_ES_X25519_ephemeralKeyPool()
+		throws Exception {
+
+		OctetKeyPair okp = generateOKP();
+
+		EphemeralKeyPool<OctetKeyPair> pool = EphemeralKeyPool.forX25519(2);
+
+		try {
+			X25519Encrypter encrypter = new X25519Encrypter(okp.toPublicJWK(), null, pool);
+			assertSame(pool, encrypter.getEphemeralKeyPool());
+
+			for (int i = 0; i < 3; i++) {
+				JWEObject jweObject = new JWEObject(
+					new JWEHeader(JWEAlgorithm.ECDH_ES, EncryptionMethod.A128GCM),
+					new Payload("Hello world!"));
+				jweObject.encrypt(encrypter);
+
+				OctetKeyPair epk = (OctetKeyPair) jweObject.getHeader().getEphemeralPublicKey();
+				assertEquals(Curve.X25519, epk.getCurve());
+				assertNull(epk.getD());
+
+				jweObject = JWEObject.parse(jweObject.serialize());
+				jweObject.decrypt(new X25519Decrypter(okp));
+				assertEquals("Hello world!", jweObject.getPayload().toString());
+			}
+		} finally {
+			pool.close();
+		}
+	}
+
+
 	public void testCycle_ECDH_ES_Curve_P256_A128KW()
 		throws Exception {
 
@@ -0,0 +1,182 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.crypto.factories;
+
+
+import java.security.Key;
+import java.security.interfaces.ECPublicKey;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jose.jca.JCAContext;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.OctetSequenceKeyGenerator;
+import com.nimbusds.jose.proc.JWSVerifierFactory;
+
+
+public class CachingJWSVerifierFactoryTest extends TestCase {
+	
+	
+	public void testDefaultConstructor() {
+		
+		CachingJWSVerifierFactory factory = new CachingJWSVerifierFactory();
+		
+		assertTrue(factory.getJWSVerifierFactory() instanceof DefaultJWSVerifierFactory);
+		assertEquals(CachingJWSVerifierFactory.DEFAULT_MAX_SIZE, factory.getMaxSize());
+		assertEquals(DefaultJWSVerifierFactory.SUPPORTED_ALGORITHMS, factory.supportedJWSAlgorithms());
+		assertSame(factory.getJWSVerifierFactory().getJCAContext(), factory.getJCAContext());
+		assertEquals(0, factory.size());
+	}
+	
+	
+	public void testRejectNullFactory() {
+		
+		try {
+			new CachingJWSVerifierFactory(null, 10);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The JWS verifier factory must not be null", e.getMessage());
+		}
+	}
+	
+	
+	public void testRejectNonPositiveMaxSize() {
+		
+		try {
+			new CachingJWSVerifierFactory(new DefaultJWSVerifierFactory(), 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The max cache size must be positive", e.getMessage());
+		}
+	}
+	
+	
+	public void testCacheECDSAVerifier()
+		throws Exception {
+		
+		ECKey ecJWK = new ECKeyGenerator(Curve.P_256).generate();
+		ECPublicKey publicKey = ecJWK.toECPublicKey();
+		
+		CachingJWSVerifierFactory factory = new CachingJWSVerifierFactory();
+		
+		JWSHeader header = new JWSHeader(JWSAlgorithm.ES256);
+		
+		JWSVerifier verifier = factory.createJWSVerifier(header, publicKey);
+		assertTrue(verifier instanceof ECDSAVerifier);
+		assertEquals(1, factory.size());
+		
+		assertSame(verifier, factory.createJWSVerifier(header, publicKey));
+		assertEquals(1, factory.size());
+		
+		JWSObject jwsObject = new JWSObject(header, new Payload("Hello, world!"));
+		jwsObject.sign(new ECDSASigner(ecJWK));
+		assertTrue(jwsObject.verify(verifier));
+		
+		// Equal key, different instance
+		JWSVerifier otherVerifier = factory.createJWSVerifier(header, ecJWK.toECPublicKey());
+		assertNotSame(verifier, otherVerifier);
+		assertEquals(2, factory.size());
+		
+		factory.clear();
+		assertEquals(0, factory.size());
+	}
+	
+	
+	public void testCacheKeyedByAlgorithm()
+		throws Exception {
+		
+		Key secretKey = new OctetSequenceKeyGenerator(512).generate().toSecretKey();
+		
+		CachingJWSVerifierFactory factory = new CachingJWSVerifierFactory();
+		
+		JWSVerifier hs256Verifier = factory.createJWSVerifier(new JWSHeader(JWSAlgorithm.HS256), secretKey);
+		assertTrue(hs256Verifier instanceof MACVerifier);
+		
+		JWSVerifier hs512Verifier = factory.createJWSVerifier(new JWSHeader(JWSAlgorithm.HS512), secretKey);
+		assertTrue(hs512Verifier instanceof MACVerifier);
+		
+		assertNotSame(hs256Verifier, hs512Verifier);
+		assertEquals(2, factory.size());
+	}
+	
+	
+	public void testKeyTypeExceptionNotCached()
+		throws Exception {
+		
+		Key secretKey = new OctetSequenceKeyGenerator(256).generate().toSecretKey();
+		
+		CachingJWSVerifierFactory factory = new CachingJWSVerifierFactory();
+		
+		try {
+			factory.createJWSVerifier(new JWSHeader(JWSAlgorithm.RS256), secretKey);
+			fail();
+		} catch (KeyTypeException e) {
+			assertEquals(0, factory.size());
+		}
+	}
+	
+	
+	public void testClearedWhenFull()
+		throws Exception {
+		
+		CachingJWSVerifierFactory factory = new CachingJWSVerifierFactory(new DefaultJWSVerifierFactory(), 2);
+		
+		JWSHeader header = new JWSHeader(JWSAlgorithm.HS256);
+		
+		factory.createJWSVerifier(header, new OctetSequenceKeyGenerator(256).generate().toSecretKey());
+		factory.createJWSVerifier(header, new OctetSequenceKeyGenerator(256).generate().toSecretKey());
+		assertEquals(2, factory.size());
+		
+		factory.createJWSVerifier(header, new OctetSequenceKeyGenerator(256).generate().toSecretKey());
+		assertEquals(1, factory.size());
+	}
+	
+	
+	public void testNullVerifierNotCached()
+		throws Exception {
+		
+		JWSVerifierFactory nullFactory = new JWSVerifierFactory() {
+			@Override
+			public JWSVerifier createJWSVerifier(JWSHeader header, Key key) {
+				return null;
+			}
+			
+			@Override
+			public Set<JWSAlgorithm> supportedJWSAlgorithms() {
+				return DefaultJWSVerifierFactory.SUPPORTED_ALGORITHMS;
+			}
+			
+			@Override
+			public JCAContext getJCAContext() {
+				return new JCAContext();
+			}
+		};
+		
+		CachingJWSVerifierFactory factory = new CachingJWSVerifierFactory(nullFactory, 10);
+		
+		assertNull(factory.createJWSVerifier(new JWSHeader(JWSAlgorithm.HS256), new OctetSequenceKeyGenerator(256).generate().toSecretKey()));
+		assertEquals(0, factory.size());
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.crypto.impl;
+
+
+import java.security.Provider;
+import java.security.Signature;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+
+public class JCAEnginePoolTest extends TestCase {
+
+
+	public void testGetPutClear()
+		throws Exception {
+
+		JCAEnginePool<Signature> pool = new JCAEnginePool<>();
+
+		assertNull(pool.get("RS256", null));
+		assertEquals(0, pool.size());
+
+		Signature signature = Signature.getInstance("SHA256withRSA");
+		pool.put("RS256", null, signature);
+
+		assertSame(signature, pool.get("RS256", null));
+		assertNull(pool.get("RS384", null));
+		assertEquals(1, pool.size());
+
+		pool.clear();
+		assertNull(pool.get("RS256", null));
+		assertEquals(0, pool.size());
+	}
+
+
+	public void testKeyedByProviderIdentity()
+		throws Exception {
+
+		JCAEnginePool<Signature> pool = new JCAEnginePool<>();
+
+		Provider p1 = new Provider("test", 1.0, "test") {};
+		Provider p2 = new Provider("test", 1.0, "test") {};
+
+		Signature s1 = Signature.getInstance("SHA256withRSA");
+		Signature s2 = Signature.getInstance("SHA256withRSA");
+
+		pool.put("RS256", p1, s1);
+		pool.put("RS256", p2, s2);
+
+		assertSame(s1, pool.get("RS256", p1));
+		assertSame(s2, pool.get("RS256", p2));
+		assertNull(pool.get("RS256", null));
+		assertEquals(2, pool.size());
+	}
+
+
+	public void testPerThread()
+		throws Exception {
+
+		final JCAEnginePool<Signature> pool = new JCAEnginePool<>();
+		pool.put("RS256", null, Signature.getInstance("SHA256withRSA"));
+
+		final AtomicReference<Signature> otherThreadResult = new AtomicReference<>(Signature.getInstance("SHA256withRSA"));
+
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				otherThreadResult.set(pool.get("RS256", null));
+			}
+		});
+		thread.start();
+		thread.join();
+
+		assertNull(otherThreadResult.get());
+		assertNotNull(pool.get("RS256", null));
+	}
+}
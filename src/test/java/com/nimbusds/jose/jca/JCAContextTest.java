@@ -64,5 +64,9 @@ public class JCAContextTest extends TestCase {
 		SecureRandom sr = new SecureRandom();
 		context.setSecureRandom(sr);
 		assertEquals(sr, context.getSecureRandom());
+
+		assertFalse(context.isEnginePoolingEnabled());
+		context.setEnginePoolingEnabled(true);
+		assertTrue(context.isEnginePoolingEnabled());
 	}
 }
@@ -34,7 +34,7 @@ import junit.framework.TestCase;
  * Tests the JWK selector.
  *
  * @author Vladimir Dzhuvinov
- * @version 2017-04-13
+ * @version 2026-10-15
  */
 public class JWKSelectorTest extends TestCase {
 	
@@ -350,4 +350,61 @@ public class JWKSelectorTest extends TestCase {
 
 		assertEquals(1, matches.size());
 	}
+
+
+	public void testSelectByKeyID_indexed() {
+
+		List<JWK> keyList = new ArrayList<>();
+		keyList.add(new RSAKey.Builder(new Base64URL(JWKParameterNames.RSA_MODULUS), new Base64URL(JWKParameterNames.RSA_EXPONENT)).keyID("1").keyUse(KeyUse.SIGNATURE).algorithm(JWSAlgorithm.RS256).build());
+		keyList.add(new ECKey.Builder(Curve.P_256, EC_P256_X, EC_P256_Y).keyID("2").keyUse(KeyUse.SIGNATURE).build());
+		keyList.add(new ECKey.Builder(Curve.P_256, EC_P256_X, EC_P256_Y).keyID("3").keyUse(KeyUse.ENCRYPTION).build());
+		keyList.add(new RSAKey.Builder(new Base64URL(JWKParameterNames.RSA_MODULUS), new Base64URL(JWKParameterNames.RSA_EXPONENT)).keyID("3").keyUse(KeyUse.SIGNATURE).build());
+		keyList.add(new RSAKey.Builder(new Base64URL(JWKParameterNames.RSA_MODULUS), new Base64URL(JWKParameterNames.RSA_EXPONENT)).build());
+
+		// Pad to the indexed size
+		while (keyList.size() < JWKSelector.MIN_INDEXED_JWK_SET_SIZE) {
+			keyList.add(new OctetSequenceKey.Builder(new byte[32]).keyID("oct-" + keyList.size()).build());
+		}
+
+		JWKSet jwkSet = new JWKSet(keyList);
+
+		// Single match, new modifiable list on each selection
+		JWKSelector selector = new JWKSelector(new JWKMatcher.Builder()
+			.keyID("1")
+			.keyType(KeyType.RSA)
+			.keyUse(KeyUse.SIGNATURE)
+			.algorithm(JWSAlgorithm.RS256)
+			.build());
+		List<JWK> matches = selector.select(jwkSet);
+		assertEquals(1, matches.size());
+		assertSame(keyList.get(0), matches.get(0));
+		assertNotSame(matches, selector.select(jwkSet));
+		assertEquals(matches, selector.select(jwkSet));
+		matches.remove(0);
+		assertEquals(1, selector.select(jwkSet).size());
+
+		// Other criteria still apply
+		assertTrue(new JWKSelector(new JWKMatcher.Builder().keyID("1").algorithm(JWSAlgorithm.RS512).build()).select(jwkSet).isEmpty());
+		assertTrue(new JWKSelector(new JWKMatcher.Builder().keyID("1").keyType(KeyType.EC).build()).select(jwkSet).isEmpty());
+		assertTrue(new JWKSelector(new JWKMatcher.Builder().keyID("4").build()).select(jwkSet).isEmpty());
+
+		// Duplicate key IDs, ordered by position
+		matches = new JWKSelector(new JWKMatcher.Builder().keyID("3").build()).select(jwkSet);
+		assertEquals(Arrays.asList(keyList.get(2), keyList.get(3)), matches);
+
+		matches = new JWKSelector(new JWKMatcher.Builder().keyID("3").keyUse(KeyUse.SIGNATURE).build()).select(jwkSet);
+		assertEquals(Collections.singletonList(keyList.get(3)), matches);
+
+		// By key type
+		matches = new JWKSelector(new JWKMatcher.Builder().keyType(KeyType.RSA).keyUse(KeyUse.SIGNATURE).build()).select(jwkSet);
+		assertEquals(Arrays.asList(keyList.get(0), keyList.get(3)), matches);
+
+		// Multiple key IDs, not indexed
+		matches = new JWKSelector(new JWKMatcher.Builder().keyIDs("3", "1").build()).select(jwkSet);
+		assertEquals(Arrays.asList(keyList.get(0), keyList.get(2), keyList.get(3)), matches);
+
+		// Keys without ID
+		matches = new JWKSelector(new JWKMatcher.Builder().keyIDs(Collections.<String>singleton(null)).build()).select(jwkSet);
+		assertEquals(Collections.singletonList(keyList.get(4)), matches);
+	}
 }
@@ -65,7 +65,7 @@ import static org.junit.Assert.*;
  *
  * @author Vladimir Dzhuvinov
  * @author Vedran Pavic
- * @version 2024-02-06
+ * @version 2026-10-15
  */
 public class JWKSetTest {
 	
@@ -1285,4 +1285,28 @@ public class JWKSetTest {
 		assertEquals(jwkSet, JWKSet.parse(json));
 		assertEquals(jwkSet.hashCode(), JWKSet.parse(json).hashCode());
 	}
+	
+	
+	@Test
+	public void testGetKeyByKeyId_index()
+		throws JOSEException {
+		
+		OctetSequenceKey k1 = new OctetSequenceKeyGenerator(128).keyID("1").generate();
+		OctetSequenceKey k2a = new OctetSequenceKeyGenerator(128).keyID("2").generate();
+		OctetSequenceKey k2b = new OctetSequenceKeyGenerator(128).keyID("2").generate();
+		OctetSequenceKey noID = new OctetSequenceKeyGenerator(128).generate();
+		
+		List<JWK> keys = new ArrayList<>(Arrays.asList((JWK) k1, k2a, k2b, noID));
+		JWKSet jwkSet = new JWKSet(keys);
+		
+		assertSame(k1, jwkSet.getKeyByKeyId("1"));
+		assertSame(k2a, jwkSet.getKeyByKeyId("2"));
+		assertNull(jwkSet.getKeyByKeyId("3"));
+		assertNull(jwkSet.getKeyByKeyId(null));
+		
+		// The key list is copied on construction
+		keys.remove(0);
+		assertEquals(4, jwkSet.size());
+		assertSame(k1, jwkSet.getKeyByKeyId("1"));
+	}
 }
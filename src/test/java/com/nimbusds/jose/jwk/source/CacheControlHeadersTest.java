@@ -0,0 +1,127 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.jwk.source;
+
+
+import java.text.SimpleDateFormat;
+import java.util.*;
+
+import junit.framework.TestCase;
+
+import com.nimbusds.jose.util.Resource;
+
+
+public class CacheControlHeadersTest extends TestCase {
+	
+	
+	private static final Date NOW = new Date(1_700_000_000_000L);
+	
+	
+	private static Resource resource(final String ... nameValuePairs) {
+		Map<String, List<String>> headers = new HashMap<>();
+		for (int i=0; i < nameValuePairs.length; i+=2) {
+			headers.put(nameValuePairs[i], Collections.singletonList(nameValuePairs[i+1]));
+		}
+		return new Resource("{}", "application/json", headers);
+	}
+	
+	
+	private static String httpDate(final Date date) {
+		SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+		format.setTimeZone(TimeZone.getTimeZone("GMT"));
+		return format.format(date);
+	}
+	
+	
+	public void testNone() {
+		
+		assertNull(CacheControlHeaders.parseExpirationTime(resource(), NOW));
+		assertNull(CacheControlHeaders.parseExpirationTime(resource("Cache-Control", "public"), NOW));
+	}
+	
+	
+	public void testMaxAge() {
+		
+		assertEquals(new Date(NOW.getTime() + 3600_000L), CacheControlHeaders.parseExpirationTime(resource("Cache-Control", "public, max-age=3600"), NOW));
+		assertEquals(new Date(NOW.getTime() + 3600_000L), CacheControlHeaders.parseExpirationTime(resource("cache-control", "Max-Age=\"3600\""), NOW));
+	}
+	
+	
+	public void testMaxAge_minusAge() {
+		
+		assertEquals(new Date(NOW.getTime() + 3000_000L), CacheControlHeaders.parseExpirationTime(resource("Cache-Control", "max-age=3600", "Age", "600"), NOW));
+		assertEquals(NOW, CacheControlHeaders.parseExpirationTime(resource("Cache-Control", "max-age=3600", "Age", "7200"), NOW));
+	}
+	
+	
+	public void testMaxAge_invalid() {
+		
+		assertEquals(NOW, CacheControlHeaders.parseExpirationTime(resource("Cache-Control", "max-age=abc"), NOW));
+		assertEquals(NOW, CacheControlHeaders.parseExpirationTime(resource("Cache-Control", "max-age=-1"), NOW));
+	}
+	
+	
+	public void testMaxAge_capped() {
+		
+		assertEquals(new Date(NOW.getTime() + 2147483648L * 1000L), CacheControlHeaders.parseExpirationTime(resource("Cache-Control", "max-age=99999999999999"), NOW));
+	}
+	
+	
+	public void testNoStoreAndNoCache() {
+		
+		assertEquals(NOW, CacheControlHeaders.parseExpirationTime(resource("Cache-Control", "no-store"), NOW));
+		assertEquals(NOW, CacheControlHeaders.parseExpirationTime(resource("Cache-Control", "max-age=3600, no-cache"), NOW));
+	}
+	
+	
+	public void testMaxAgeOverridesExpires() {
+		
+		Resource resource = resource(
+			"Cache-Control", "max-age=60",
+			"Expires", httpDate(new Date(NOW.getTime() + 3600_000L)));
+		
+		assertEquals(new Date(NOW.getTime() + 60_000L), CacheControlHeaders.parseExpirationTime(resource, NOW));
+	}
+	
+	
+	public void testExpires_relativeToDate() {
+		
+		// Server clock 1 day behind
+		Date serverDate = new Date(NOW.getTime() - 24 * 3600_000L);
+		
+		Resource resource = resource(
+			"Date", httpDate(serverDate),
+			"Expires", httpDate(new Date(serverDate.getTime() + 600_000L)));
+		
+		assertEquals(new Date(NOW.getTime() + 600_000L), CacheControlHeaders.parseExpirationTime(resource, NOW));
+	}
+	
+	
+	public void testExpires_absolute() {
+		
+		Date expires = new Date(NOW.getTime() + 600_000L);
+		
+		assertEquals(expires, CacheControlHeaders.parseExpirationTime(resource("Expires", httpDate(expires)), NOW));
+	}
+	
+	
+	public void testExpires_invalid() {
+		
+		assertEquals(NOW, CacheControlHeaders.parseExpirationTime(resource("Expires", "0"), NOW));
+	}
+}
@@ -22,6 +22,13 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.*;
@@ -534,4 +541,212 @@ public class CachingJWKSetSourceTest extends AbstractWrappedJWKSetSourceTest {
 		assertTrue(events.get(2) instanceof CachingJWKSetSource.RefreshCompletedEvent);
 		assertEquals(3, events.size());
 	}
+
+	
+	/**
+	 * JWK set source which blocks until released.
+	 */
+	private static class BlockingJWKSetSource implements JWKSetSource<SecurityContext> {
+		
+		private final JWKSet jwkSet;
+		private final CountDownLatch entered = new CountDownLatch(1);
+		private final CountDownLatch release = new CountDownLatch(1);
+		private final AtomicInteger counter = new AtomicInteger();
+		
+		BlockingJWKSetSource(final JWKSet jwkSet) {
+			this.jwkSet = jwkSet;
+		}
+		
+		@Override
+		public JWKSet getJWKSet(JWKSetCacheRefreshEvaluator refreshEvaluator, long currentTime, SecurityContext context) throws JWKSetUnavailableException {
+			counter.incrementAndGet();
+			entered.countDown();
+			try {
+				release.await(1, TimeUnit.MINUTES);
+			} catch (InterruptedException e) {
+				throw new JWKSetUnavailableException("Interrupted", e);
+			}
+			if (jwkSet == null) {
+				throw new JWKSetUnavailableException("TEST!");
+			}
+			return jwkSet;
+		}
+		
+		@Override
+		public void close() {
+		}
+	}
+	
+	
+	private static Future<JWKSet> getJWKSetAsync(final ExecutorService executor,
+						     final JWKSetSource<SecurityContext> source,
+						     final JWKSetCacheRefreshEvaluator refreshEvaluator,
+						     final long currentTime) {
+		return executor.submit(new Callable<JWKSet>() {
+			@Override
+			public JWKSet call() throws Exception {
+				return source.getJWKSet(refreshEvaluator, currentTime, null);
+			}
+		});
+	}
+	
+	
+	@Test
+	public void singleFlight_delegateWhenNotCached_withListener() throws Exception {
+		source = new CachingJWKSetSource<>(wrappedJWKSetSource, TIME_TO_LIVE, REFRESH_TIMEOUT, true, eventListener);
+		assertTrue(source.isSingleFlightRefresh());
+		assertFalse(new CachingJWKSetSource<>(wrappedJWKSetSource, TIME_TO_LIVE, REFRESH_TIMEOUT, null).isSingleFlightRefresh());
+		
+		when(wrappedJWKSetSource.getJWKSet(anyJWKSetCacheEvaluator(), anyLong(), anySecurityContext())).thenReturn(jwkSet).thenThrow(new RuntimeException("TEST!", null));
+		assertEquals(jwkSet, source.getJWKSet(JWKSetCacheRefreshEvaluator.noRefresh(), System.currentTimeMillis(), context));
+		assertEquals(jwkSet, source.getJWKSet(JWKSetCacheRefreshEvaluator.noRefresh(), System.currentTimeMillis(), context));
+		verify(wrappedJWKSetSource, only()).getJWKSet(anyJWKSetCacheEvaluator(), anyLong(), anySecurityContext());
+		
+		assertTrue(events.get(0) instanceof CachingJWKSetSource.RefreshInitiatedEvent);
+		assertTrue(events.get(1) instanceof CachingJWKSetSource.RefreshCompletedEvent);
+		assertEquals(2, events.size());
+		assertEquals(0, ((CachingJWKSetSource.RefreshInitiatedEvent<SecurityContext>) events.get(0)).getThreadQueueLength());
+	}
+	
+	
+	@Test
+	public void singleFlight_retrievalExceptionPropagated() throws Exception {
+		source = new CachingJWKSetSource<>(wrappedJWKSetSource, TIME_TO_LIVE, REFRESH_TIMEOUT, true, null);
+		
+		when(wrappedJWKSetSource.getJWKSet(anyJWKSetCacheEvaluator(), anyLong(), anySecurityContext())).thenThrow(new JWKSetUnavailableException("TEST!")).thenReturn(jwkSet);
+		
+		try {
+			source.getJWKSet(JWKSetCacheRefreshEvaluator.noRefresh(), System.currentTimeMillis(), context);
+			fail();
+		} catch (JWKSetUnavailableException e) {
+			assertEquals("TEST!", e.getMessage());
+		}
+		
+		// Next call retries
+		assertEquals(jwkSet, source.getJWKSet(JWKSetCacheRefreshEvaluator.noRefresh(), System.currentTimeMillis(), context));
+	}
+	
+	
+	@Test
+	public void singleFlight_waitingThreadsJoinRefresh() throws Exception {
+		
+		BlockingJWKSetSource blockingSource = new BlockingJWKSetSource(jwkSet);
+		final List<Event<CachingJWKSetSource<SecurityContext>,SecurityContext>> events = Collections.synchronizedList(new LinkedList<Event<CachingJWKSetSource<SecurityContext>,SecurityContext>>());
+		source = new CachingJWKSetSource<>(blockingSource, TIME_TO_LIVE, 60_000L, true, new EventListener<CachingJWKSetSource<SecurityContext>, SecurityContext>() {
+			@Override
+			public void notify(Event<CachingJWKSetSource<SecurityContext>, SecurityContext> event) {
+				events.add(event);
+			}
+		});
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			long now = System.currentTimeMillis();
+			
+			Future<JWKSet> first = getJWKSetAsync(executor, source, JWKSetCacheRefreshEvaluator.noRefresh(), now);
+			assertTrue(blockingSource.entered.await(1, TimeUnit.MINUTES));
+			
+			List<Future<JWKSet>> waiting = new LinkedList<>();
+			for (int i=0; i < 3; i++) {
+				waiting.add(getJWKSetAsync(executor, source, JWKSetCacheRefreshEvaluator.noRefresh(), now));
+			}
+			
+			while (events.size() < 4) {
+				Thread.sleep(10L);
+			}
+			
+			blockingSource.release.countDown();
+			
+			assertEquals(jwkSet, first.get(1, TimeUnit.MINUTES));
+			for (Future<JWKSet> f: waiting) {
+				assertEquals(jwkSet, f.get(1, TimeUnit.MINUTES));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		
+		assertEquals(1, blockingSource.counter.get());
+		
+		int maxQueueLength = 0;
+		int waitingEvents = 0;
+		for (Event<CachingJWKSetSource<SecurityContext>,SecurityContext> event: events) {
+			if (event instanceof CachingJWKSetSource.WaitingForRefreshEvent) {
+				waitingEvents++;
+				maxQueueLength = Math.max(maxQueueLength, ((CachingJWKSetSource.WaitingForRefreshEvent<SecurityContext>) event).getThreadQueueLength());
+			}
+		}
+		assertEquals(3, waitingEvents);
+		assertEquals(3, maxQueueLength);
+		assertTrue(events.get(0) instanceof CachingJWKSetSource.RefreshInitiatedEvent);
+		assertTrue(events.get(events.size() - 1) instanceof CachingJWKSetSource.RefreshCompletedEvent);
+	}
+	
+	
+	@Test
+	public void singleFlight_serveExpiredWhileRefreshing() throws Exception {
+		
+		JWKSet second = new JWKSet(Arrays.asList(jwk, jwk));
+		BlockingJWKSetSource blockingSource = new BlockingJWKSetSource(second);
+		source = new CachingJWKSetSource<>(blockingSource, TIME_TO_LIVE, REFRESH_TIMEOUT, true, null);
+		
+		long now = System.currentTimeMillis();
+		source.cacheJWKSet(jwkSet, now);
+		
+		long later = CachedObject.computeExpirationTime(now + 1, source.getTimeToLive());
+		
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<JWKSet> refreshing = getJWKSetAsync(executor, source, JWKSetCacheRefreshEvaluator.noRefresh(), later);
+			assertTrue(blockingSource.entered.await(1, TimeUnit.MINUTES));
+			
+			// Expired JWK set served while refresh in flight, without blocking
+			for (int i=0; i < 10; i++) {
+				assertEquals(jwkSet, source.getJWKSet(JWKSetCacheRefreshEvaluator.noRefresh(), later, context));
+			}
+			
+			blockingSource.release.countDown();
+			
+			assertEquals(second, refreshing.get(1, TimeUnit.MINUTES));
+		} finally {
+			executor.shutdownNow();
+		}
+		
+		assertEquals(second, source.getJWKSet(JWKSetCacheRefreshEvaluator.noRefresh(), later, context));
+		assertEquals(1, blockingSource.counter.get());
+	}
+	
+	
+	@Test
+	public void singleFlight_timeoutWhileWaiting_withListener() throws Exception {
+		
+		BlockingJWKSetSource blockingSource = new BlockingJWKSetSource(jwkSet);
+		source = new CachingJWKSetSource<>(blockingSource, TIME_TO_LIVE, 100L, true, eventListener);
+		
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<JWKSet> first = getJWKSetAsync(executor, source, JWKSetCacheRefreshEvaluator.noRefresh(), System.currentTimeMillis());
+			assertTrue(blockingSource.entered.await(1, TimeUnit.MINUTES));
+			
+			try {
+				source.getJWKSet(JWKSetCacheRefreshEvaluator.noRefresh(), System.currentTimeMillis(), context);
+				fail();
+			} catch (JWKSetUnavailableException e) {
+				assertEquals("Timeout while waiting for cache refresh (100ms exceeded)", e.getMessage());
+			}
+			
+			blockingSource.release.countDown();
+			assertEquals(jwkSet, first.get(1, TimeUnit.MINUTES));
+		} finally {
+			executor.shutdownNow();
+		}
+		
+		synchronized (events) {
+			List<Class<?>> eventClasses = new LinkedList<>();
+			for (Event<?, ?> event: events) {
+				eventClasses.add(event.getClass());
+			}
+			assertTrue(eventClasses.contains(CachingJWKSetSource.WaitingForRefreshEvent.class));
+			assertTrue(eventClasses.contains(CachingJWKSetSource.RefreshTimedOutEvent.class));
+		}
+	}
 }
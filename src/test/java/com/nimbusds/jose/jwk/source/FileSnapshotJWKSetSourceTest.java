@@ -0,0 +1,333 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.jwk.source;
+
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.events.Event;
+import com.nimbusds.jose.util.events.EventListener;
+
+
+public class FileSnapshotJWKSetSourceTest {
+	
+	
+	private static final long MAX_AGE = 3600_000L;
+	
+	
+	private static class GatedJWKSetSource implements JWKSetSource<SecurityContext> {
+		
+		private final AtomicReference<JWKSet> jwkSet = new AtomicReference<>();
+		
+		private final AtomicInteger calls = new AtomicInteger();
+		
+		private volatile CountDownLatch gate = new CountDownLatch(0);
+		
+		@Override
+		public JWKSet getJWKSet(final JWKSetCacheRefreshEvaluator refreshEvaluator, final long currentTime, final SecurityContext context)
+			throws KeySourceException {
+			
+			calls.incrementAndGet();
+			try {
+				gate.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				throw new JWKSetUnavailableException("Interrupted", e);
+			}
+			JWKSet result = jwkSet.get();
+			if (result == null) {
+				throw new JWKSetUnavailableException("Unavailable");
+			}
+			return result;
+		}
+		
+		@Override
+		public void close() {
+		}
+	}
+	
+	
+	@Rule
+	public TemporaryFolder tmpFolder = new TemporaryFolder();
+	
+	private File file;
+	
+	private RSAKey key1;
+	
+	private RSAKey key2;
+	
+	private final GatedJWKSetSource wrapped = new GatedJWKSetSource();
+	
+	private final List<Event<FileSnapshotJWKSetSource<SecurityContext>, SecurityContext>> events = new LinkedList<>();
+	
+	private final EventListener<FileSnapshotJWKSetSource<SecurityContext>, SecurityContext> eventListener =
+		new EventListener<FileSnapshotJWKSetSource<SecurityContext>, SecurityContext>() {
+			@Override
+			public synchronized void notify(final Event<FileSnapshotJWKSetSource<SecurityContext>, SecurityContext> event) {
+				events.add(event);
+			}
+		};
+	
+	private FileSnapshotJWKSetSource<SecurityContext> source;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		file = new File(tmpFolder.getRoot(), "jwks-snapshot.json");
+		key1 = new RSAKeyGenerator(2048).keyID("1").generate();
+		key2 = new RSAKeyGenerator(2048).keyID("2").generate();
+	}
+	
+	
+	@After
+	public void tearDown() throws IOException {
+		if (source != null) {
+			source.close();
+		}
+	}
+	
+	
+	private static void awaitFileWithKey(final File file, final String kid)
+		throws Exception {
+		
+		for (int i=0; i < 100; i++) {
+			if (file.exists()) {
+				String content = new String(Files.readAllBytes(file.toPath()), "UTF-8");
+				if (content.contains("\"kid\":\"" + kid + "\"")) {
+					return;
+				}
+			}
+			Thread.sleep(50);
+		}
+		fail("Snapshot with key " + kid + " not written");
+	}
+	
+	
+	private void writeSnapshot(final JWKSet jwkSet, final long timestamp)
+		throws IOException {
+		
+		FileSnapshotJWKSetSource<SecurityContext> writer = new FileSnapshotJWKSetSource<>(wrapped, file, MAX_AGE, null);
+		writer.saveSnapshot(new JWKSetWithTimestamp(jwkSet, new Date(timestamp)));
+		writer.close();
+	}
+	
+	
+	@Test
+	public void noSnapshot_delegateAndWrite()
+		throws Exception {
+		
+		wrapped.jwkSet.set(new JWKSet(key1));
+		
+		source = new FileSnapshotJWKSetSource<>(wrapped, file, MAX_AGE, eventListener);
+		assertEquals(file, source.getFile());
+		assertEquals(MAX_AGE, source.getMaxAge());
+		assertNull(source.getSnapshot());
+		assertEquals(0, wrapped.calls.get());
+		
+		JWKSet jwkSet = source.getJWKSet(JWKSetCacheRefreshEvaluator.noRefresh(), System.currentTimeMillis(), null);
+		assertEquals("1", jwkSet.getKeys().get(0).getKeyID());
+		assertEquals(1, wrapped.calls.get());
+		
+		awaitFileWithKey(file, "1");
+		
+		// Public keys only
+		String content = new String(Files.readAllBytes(file.toPath()), "UTF-8");
+		assertFalse(content.contains("\"d\""));
+		
+		// No temporary files left
+		assertEquals(1, tmpFolder.getRoot().list().length);
+	}
+	
+	
+	@Test
+	public void serveSnapshotWhileInitialRefreshInBackground()
+		throws Exception {
+		
+		writeSnapshot(new JWKSet(key1.toPublicJWK()), System.currentTimeMillis() - 60_000L);
+		
+		wrapped.jwkSet.set(new JWKSet(key2));
+		wrapped.gate = new CountDownLatch(1);
+		
+		source = new FileSnapshotJWKSetSource<>(wrapped, file, MAX_AGE, eventListener);
+		assertNotNull(source.getSnapshot());
+		assertTrue(events.get(0) instanceof FileSnapshotJWKSetSource.SnapshotLoadedEvent);
+		
+		// Served without blocking
+		JWKSet jwkSet = source.getJWKSet(JWKSetCacheRefreshEvaluator.noRefresh(), System.currentTimeMillis(), null);
+		assertEquals("1", jwkSet.getKeys().get(0).getKeyID());
+		assertSame(jwkSet, source.getSnapshot().getJWKSet());
+		
+		// Complete initial refresh
+		wrapped.gate.countDown();
+		awaitFileWithKey(file, "2");
+		assertNull(source.getSnapshot());
+		
+		jwkSet = source.getJWKSet(JWKSetCacheRefreshEvaluator.noRefresh(), System.currentTimeMillis(), null);
+		assertEquals("2", jwkSet.getKeys().get(0).getKeyID());
+		assertEquals(2, wrapped.calls.get());
+	}
+	
+	
+	@Test
+	public void snapshotRefreshRequired_delegate()
+		throws Exception {
+		
+		writeSnapshot(new JWKSet(key1.toPublicJWK()), System.currentTimeMillis());
+		
+		wrapped.jwkSet.set(new JWKSet(key2));
+		wrapped.gate = new CountDownLatch(1);
+		
+		source = new FileSnapshotJWKSetSource<>(wrapped, file, MAX_AGE, null);
+		JWKSet snapshot = source.getSnapshot().getJWKSet();
+		wrapped.gate.countDown();
+		
+		JWKSet jwkSet = source.getJWKSet(JWKSetCacheRefreshEvaluator.referenceComparison(snapshot), System.currentTimeMillis(), null);
+		assertEquals("2", jwkSet.getKeys().get(0).getKeyID());
+		assertNull(source.getSnapshot());
+	}
+	
+	
+	@Test
+	public void initialRefreshFailed_keepServingSnapshot()
+		throws Exception {
+		
+		writeSnapshot(new JWKSet(key1.toPublicJWK()), System.currentTimeMillis());
+		
+		source = new FileSnapshotJWKSetSource<>(wrapped, file, MAX_AGE, eventListener);
+		
+		for (int i=0; i < 100 && events.size() < 2; i++) {
+			Thread.sleep(50);
+		}
+		assertTrue(events.get(1) instanceof FileSnapshotJWKSetSource.InitialRefreshFailedEvent);
+		
+		JWKSet jwkSet = source.getJWKSet(JWKSetCacheRefreshEvaluator.noRefresh(), System.currentTimeMillis(), null);
+		assertEquals("1", jwkSet.getKeys().get(0).getKeyID());
+		assertNotNull(source.getSnapshot());
+	}
+	
+	
+	@Test
+	public void snapshotExpiresWhileInitialRefreshFails()
+		throws Exception {
+		
+		long snapshotTime = System.currentTimeMillis() - MAX_AGE + 60_000L;
+		
+		writeSnapshot(new JWKSet(key1.toPublicJWK()), snapshotTime);
+		
+		source = new FileSnapshotJWKSetSource<>(wrapped, file, MAX_AGE, eventListener);
+		
+		for (int i=0; i < 100 && events.size() < 2; i++) {
+			Thread.sleep(50);
+		}
+		assertTrue(events.get(1) instanceof FileSnapshotJWKSetSource.InitialRefreshFailedEvent);
+		
+		// Within the max age
+		JWKSet jwkSet = source.getJWKSet(JWKSetCacheRefreshEvaluator.noRefresh(), snapshotTime + MAX_AGE, null);
+		assertEquals("1", jwkSet.getKeys().get(0).getKeyID());
+		assertNotNull(source.getSnapshot());
+		
+		// Past the max age, the wrapped source is down
+		try {
+			source.getJWKSet(JWKSetCacheRefreshEvaluator.noRefresh(), snapshotTime + MAX_AGE + 1L, null);
+			fail();
+		} catch (KeySourceException e) {
+			// ok
+		}
+		assertNull(source.getSnapshot());
+		
+		// The wrapped source is back
+		wrapped.jwkSet.set(new JWKSet(key2));
+		jwkSet = source.getJWKSet(JWKSetCacheRefreshEvaluator.noRefresh(), snapshotTime + MAX_AGE + 2L, null);
+		assertEquals("2", jwkSet.getKeys().get(0).getKeyID());
+	}
+	
+	
+	@Test
+	public void expiredSnapshot_ignored()
+		throws Exception {
+		
+		writeSnapshot(new JWKSet(key1.toPublicJWK()), System.currentTimeMillis() - MAX_AGE - 1000L);
+		
+		source = new FileSnapshotJWKSetSource<>(wrapped, file, MAX_AGE, eventListener);
+		assertNull(source.getSnapshot());
+		assertTrue(events.isEmpty());
+		assertEquals(0, wrapped.calls.get());
+	}
+	
+	
+	@Test
+	public void maxAgeUnlimited_noOverflow()
+		throws Exception {
+		
+		writeSnapshot(new JWKSet(key1.toPublicJWK()), System.currentTimeMillis() - 60_000L);
+		
+		wrapped.gate = new CountDownLatch(1);
+		
+		source = new FileSnapshotJWKSetSource<>(wrapped, file, Long.MAX_VALUE, null);
+		assertEquals(Long.MAX_VALUE, source.getMaxAge());
+		assertEquals("1", source.getSnapshot().getJWKSet().getKeys().get(0).getKeyID());
+		
+		wrapped.gate.countDown();
+	}
+	
+	
+	@Test
+	public void invalidSnapshot_ignored()
+		throws Exception {
+		
+		Files.write(file.toPath(), "invalid".getBytes("UTF-8"));
+		
+		source = new FileSnapshotJWKSetSource<>(wrapped, file, MAX_AGE, eventListener);
+		assertNull(source.getSnapshot());
+		assertEquals(1, events.size());
+		assertTrue(events.get(0) instanceof FileSnapshotJWKSetSource.SnapshotFailedEvent);
+	}
+	
+	
+	@Test
+	public void invalidMaxAge() {
+		
+		try {
+			new FileSnapshotJWKSetSource<>(wrapped, file, 0L, null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The snapshot max age must be positive", e.getMessage());
+		}
+	}
+}
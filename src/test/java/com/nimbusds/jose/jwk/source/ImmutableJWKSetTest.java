@@ -18,12 +18,16 @@
 package com.nimbusds.jose.jwk.source;
 
 
+import java.nio.channels.CompletionHandler;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
 import junit.framework.TestCase;
 
 import com.nimbusds.jose.jwk.*;
 import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.proc.SecurityContext;
 
 
 public class ImmutableJWKSetTest extends TestCase {
@@ -49,4 +53,42 @@ public class ImmutableJWKSetTest extends TestCase {
 		assertEquals(rsaJWK.getPrivateExponent(), m1.getPrivateExponent());
 		assertEquals(1, matches.size());
 	}
+
+	
+	
+	public void testGetAsync()
+		throws Exception {
+		
+		RSAKey rsaJWK = new RSAKeyGenerator(2048)
+			.keyID("1")
+			.generate();
+		
+		ImmutableJWKSet<SecurityContext> immutableJWKSet = new ImmutableJWKSet<>(new JWKSet(rsaJWK));
+		
+		final AtomicReference<List<JWK>> result = new AtomicReference<>();
+		
+		immutableJWKSet.getAsync(
+			new JWKSelector(new JWKMatcher.Builder().keyID("1").build()),
+			null,
+			new Executor() {
+				@Override
+				public void execute(Runnable command) {
+					fail();
+				}
+			},
+			new CompletionHandler<List<JWK>, SecurityContext>() {
+				@Override
+				public void completed(List<JWK> jwks, SecurityContext context) {
+					result.set(jwks);
+				}
+				
+				@Override
+				public void failed(Throwable e, SecurityContext context) {
+					fail();
+				}
+			});
+		
+		assertEquals(1, result.get().size());
+		assertEquals("1", result.get().get(0).getKeyID());
+	}
 }
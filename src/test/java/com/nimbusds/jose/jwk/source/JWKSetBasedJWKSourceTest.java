@@ -24,6 +24,7 @@ import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKMatcher;
 import com.nimbusds.jose.jwk.JWKSelector;
 import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyType;
 import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
 import com.nimbusds.jose.proc.SecurityContext;
@@ -43,6 +44,7 @@ import org.junit.Test;
 import java.io.FileNotFoundException;
 import java.net.SocketTimeoutException;
 import java.net.URL;
+import java.nio.channels.CompletionHandler;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -50,6 +52,7 @@ import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -60,7 +63,9 @@ import static net.jadler.Jadler.initJadler;
 import static net.jadler.Jadler.onRequest;
 import static net.jadler.Jadler.port;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -596,4 +601,247 @@ public class JWKSetBasedJWKSourceTest {
 		
 		assertEquals("Retriever must be called exactly twice", 2, invocationCounter.intValue());
 	}
+	
+	@Test
+	public void testNegativeCache()
+		throws Exception {
+		
+		CountingJWKSetSource<SecurityContext> counting = new CountingJWKSetSource<>(new JWKSet(Arrays.asList(RSA_JWK_1, (JWK)RSA_JWK_2)));
+		
+		JWKSetBasedJWKSource<SecurityContext> jwkSource = new JWKSetBasedJWKSource<>(counting, 60_000L, 10);
+		assertEquals(60_000L, jwkSource.getNegativeCacheTimeToLive());
+		assertEquals(10, jwkSource.getNegativeCacheMaxSize());
+		
+		JWKSelector unknownKid = new JWKSelector(new JWKMatcher.Builder().keyID("3").build());
+		
+		// Miss, refresh attempted
+		assertTrue(jwkSource.get(unknownKid, null).isEmpty());
+		assertEquals(2, counting.getCount());
+		
+		// Known miss, no refresh
+		for (int i=0; i < 10; i++) {
+			assertTrue(jwkSource.get(unknownKid, null).isEmpty());
+		}
+		assertEquals(2 + 10, counting.getCount());
+		
+		// Hits unaffected
+		assertEquals(1, jwkSource.get(new JWKSelector(new JWKMatcher.Builder().keyID("1").build()), null).size());
+		assertEquals(2 + 10 + 1, counting.getCount());
+		
+		// Known kid, but other criteria don't match, not cached
+		JWKSelector knownKidOtherType = new JWKSelector(new JWKMatcher.Builder().keyID("1").keyType(KeyType.EC).build());
+		assertTrue(jwkSource.get(knownKidOtherType, null).isEmpty());
+		assertTrue(jwkSource.get(knownKidOtherType, null).isEmpty());
+		assertEquals(2 + 10 + 1 + 4, counting.getCount());
+		
+		// No kid, not cached
+		JWKSelector noKid = new JWKSelector(new JWKMatcher.Builder().keyType(KeyType.EC).build());
+		assertTrue(jwkSource.get(noKid, null).isEmpty());
+		assertEquals(2 + 10 + 1 + 4 + 2, counting.getCount());
+	}
+	
+	
+	@Test
+	public void testNegativeCache_invalidatedByNewJWKSet()
+		throws Exception {
+		
+		final JWKSet oldJWKSet = new JWKSet(Arrays.asList(RSA_JWK_1, (JWK)RSA_JWK_2));
+		final JWKSet newJWKSet = new JWKSet(Arrays.asList(RSA_JWK_1, RSA_JWK_2, (JWK)RSA_JWK_3));
+		final AtomicInteger refreshes = new AtomicInteger();
+		
+		JWKSetSource<SecurityContext> source = new JWKSetSource<SecurityContext>() {
+			@Override
+			public JWKSet getJWKSet(JWKSetCacheRefreshEvaluator refreshEvaluator, long currentTime, SecurityContext context) {
+				if (refreshEvaluator.requiresRefresh(oldJWKSet)) {
+					refreshes.incrementAndGet();
+				}
+				return refreshes.get() > 1 ? newJWKSet : oldJWKSet;
+			}
+			
+			@Override
+			public void close() {
+			}
+		};
+		
+		JWKSetBasedJWKSource<SecurityContext> jwkSource = new JWKSetBasedJWKSource<>(source, 60_000L, 10);
+		
+		JWKSelector kid3 = new JWKSelector(new JWKMatcher.Builder().keyID("3").build());
+		
+		assertTrue(jwkSource.get(kid3, null).isEmpty());
+		assertEquals(1, refreshes.get());
+		
+		assertTrue(jwkSource.get(kid3, null).isEmpty());
+		assertEquals(1, refreshes.get());
+		
+		// Key rotated in by another thread's refresh
+		refreshes.incrementAndGet();
+		
+		assertEquals(1, jwkSource.get(kid3, null).size());
+	}
+	
+	
+	@Test
+	public void testNegativeCache_expiration()
+		throws Exception {
+		
+		CountingJWKSetSource<SecurityContext> counting = new CountingJWKSetSource<>(new JWKSet(Arrays.asList(RSA_JWK_1, (JWK)RSA_JWK_2)));
+		
+		JWKSetBasedJWKSource<SecurityContext> jwkSource = new JWKSetBasedJWKSource<>(counting, 100L, 10);
+		
+		JWKSelector unknownKid = new JWKSelector(new JWKMatcher.Builder().keyID("3").build());
+		
+		assertTrue(jwkSource.get(unknownKid, null).isEmpty());
+		assertTrue(jwkSource.get(unknownKid, null).isEmpty());
+		assertEquals(3, counting.getCount());
+		
+		Thread.sleep(150L);
+		
+		assertTrue(jwkSource.get(unknownKid, null).isEmpty());
+		assertEquals(5, counting.getCount());
+	}
+	
+	
+	@Test
+	public void testNegativeCache_bounded() {
+		
+		NegativeJWKMatchCache cache = new NegativeJWKMatchCache(60_000L, 3);
+		JWKSet jwkSet = new JWKSet(RSA_JWK_1);
+		long now = System.currentTimeMillis();
+		
+		for (int i=0; i < 10; i++) {
+			cache.recordMiss(new JWKMatcher.Builder().keyID("x" + i).build(), jwkSet, now);
+			assertTrue(cache.size() <= 3);
+		}
+		
+		assertTrue(cache.isKnownMiss(new JWKMatcher.Builder().keyID("x9").build(), jwkSet, now));
+		assertFalse(cache.isKnownMiss(new JWKMatcher.Builder().keyID("x9").build(), new JWKSet(RSA_JWK_1), now));
+		assertFalse(cache.isKnownMiss(new JWKMatcher.Builder().keyID("x9").build(), jwkSet, now + 60_000L));
+		
+		// Present kid never recorded
+		cache.recordMiss(new JWKMatcher.Builder().keyID("1").build(), jwkSet, now);
+		assertFalse(cache.isKnownMiss(new JWKMatcher.Builder().keyID("1").build(), jwkSet, now));
+		
+		try {
+			new NegativeJWKMatchCache(0L, 1);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The negative cache time-to-live must be positive", e.getMessage());
+		}
+		
+		try {
+			new NegativeJWKMatchCache(1L, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The negative cache max size must be positive", e.getMessage());
+		}
+	}
+	
+	
+	private static class JWKListHandler implements CompletionHandler<List<JWK>, SecurityContext> {
+		
+		final CountDownLatch done = new CountDownLatch(1);
+		volatile List<JWK> jwks;
+		volatile Throwable exception;
+		volatile Thread thread;
+		
+		@Override
+		public void completed(List<JWK> jwks, SecurityContext context) {
+			this.jwks = jwks;
+			thread = Thread.currentThread();
+			done.countDown();
+		}
+		
+		@Override
+		public void failed(Throwable e, SecurityContext context) {
+			exception = e;
+			thread = Thread.currentThread();
+			done.countDown();
+		}
+	}
+	
+	
+	@Test
+	public void testGetAsync()
+		throws Exception {
+		
+		CountingJWKSetSource<SecurityContext> counting = new CountingJWKSetSource<>(new JWKSet(Arrays.asList(RSA_JWK_1, (JWK)RSA_JWK_2)));
+		
+		JWKSetBasedJWKSource<SecurityContext> jwkSource = new JWKSetBasedJWKSource<>(
+			new CachingJWKSetSource<>(counting, 60_000L, 10_000L, null), 60_000L, 10);
+		
+		final AtomicInteger dispatches = new AtomicInteger();
+		final ExecutorService executorService = Executors.newSingleThreadExecutor();
+		Executor executor = new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				dispatches.incrementAndGet();
+				executorService.execute(command);
+			}
+		};
+		
+		try {
+			JWKSelector kid1 = new JWKSelector(new JWKMatcher.Builder().keyID("1").build());
+			
+			// Cold cache, retrieved with executor
+			JWKListHandler handler = new JWKListHandler();
+			jwkSource.getAsync(kid1, null, executor, handler);
+			assertTrue(handler.done.await(1, TimeUnit.MINUTES));
+			assertEquals(1, dispatches.get());
+			assertEquals(Collections.singletonList((JWK) RSA_JWK_1), handler.jwks);
+			assertTrue(Thread.currentThread() != handler.thread);
+			
+			// Warm cache, inline
+			handler = new JWKListHandler();
+			jwkSource.getAsync(kid1, null, executor, handler);
+			assertEquals(0, handler.done.getCount());
+			assertEquals(1, dispatches.get());
+			assertEquals(Collections.singletonList((JWK) RSA_JWK_1), handler.jwks);
+			assertEquals(Thread.currentThread(), handler.thread);
+			
+			// Unknown key, refresh with executor
+			JWKSelector kid3 = new JWKSelector(new JWKMatcher.Builder().keyID("3").build());
+			handler = new JWKListHandler();
+			jwkSource.getAsync(kid3, null, executor, handler);
+			assertTrue(handler.done.await(1, TimeUnit.MINUTES));
+			assertEquals(2, dispatches.get());
+			assertTrue(handler.jwks.isEmpty());
+			
+			// Known miss, inline
+			handler = new JWKListHandler();
+			jwkSource.getAsync(kid3, null, executor, handler);
+			assertEquals(0, handler.done.getCount());
+			assertEquals(2, dispatches.get());
+			assertTrue(handler.jwks.isEmpty());
+		} finally {
+			executorService.shutdown();
+		}
+	}
+	
+	
+	@Test
+	public void testGetAsync_exception()
+		throws Exception {
+		
+		JWKSetBasedJWKSource<SecurityContext> jwkSource = new JWKSetBasedJWKSource<>(new JWKSetSource<SecurityContext>() {
+			@Override
+			public JWKSet getJWKSet(JWKSetCacheRefreshEvaluator refreshEvaluator, long currentTime, SecurityContext context) throws KeySourceException {
+				throw new JWKSetUnavailableException("TEST!");
+			}
+			
+			@Override
+			public void close() {
+			}
+		});
+		
+		JWKListHandler handler = new JWKListHandler();
+		jwkSource.getAsync(new JWKSelector(new JWKMatcher.Builder().keyID("1").build()), null, new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				command.run();
+			}
+		}, handler);
+		assertTrue(handler.exception instanceof JWKSetUnavailableException);
+		assertEquals("TEST!", handler.exception.getMessage());
+		assertNull(handler.jwks);
+	}
 }
@@ -0,0 +1,178 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.jwk.source;
+
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+
+public class JWKSetRefreshSchedulerTest extends TestCase {
+	
+	
+	public void testDefaults() {
+		
+		JWKSetRefreshScheduler scheduler = new JWKSetRefreshScheduler();
+		assertFalse(scheduler.isVirtualThreads());
+		assertEquals(JWKSetRefreshScheduler.DEFAULT_MAX_JITTER, scheduler.getMaxJitter());
+		assertNotNull(scheduler.getExecutorService());
+		assertEquals(0, scheduler.getScheduledCount());
+		scheduler.close();
+		assertTrue(scheduler.getExecutorService().isShutdown());
+	}
+	
+	
+	public void testRejectNonPositiveThreads() {
+		
+		try {
+			new JWKSetRefreshScheduler(0, false, 0L);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The number of threads must be positive", e.getMessage());
+		}
+	}
+	
+	
+	public void testRejectNegativeMaxJitter() {
+		
+		try {
+			new JWKSetRefreshScheduler(1, false, -1L);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The max jitter must not be negative", e.getMessage());
+		}
+	}
+	
+	
+	public void testVirtualThreads()
+		throws Exception {
+		
+		JWKSetRefreshScheduler scheduler = new JWKSetRefreshScheduler(1, true, 0L);
+		
+		boolean supported;
+		try {
+			Thread.class.getMethod("isVirtual");
+			supported = true;
+		} catch (NoSuchMethodException e) {
+			supported = false;
+		}
+		assertEquals(supported, scheduler.isVirtualThreads());
+		
+		final CountDownLatch latch = new CountDownLatch(1);
+		scheduler.schedule(new Runnable() {
+			@Override
+			public void run() {
+				latch.countDown();
+			}
+		}, 0L);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		
+		scheduler.close();
+	}
+	
+	
+	public void testRunOnExecutor()
+		throws Exception {
+		
+		JWKSetRefreshScheduler scheduler = new JWKSetRefreshScheduler(1, false, 0L);
+		
+		final AtomicReference<String> threadName = new AtomicReference<>();
+		final CountDownLatch latch = new CountDownLatch(1);
+		
+		scheduler.schedule(new Runnable() {
+			@Override
+			public void run() {
+				threadName.set(Thread.currentThread().getName());
+				latch.countDown();
+			}
+		}, 10L);
+		
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertEquals("jwk-set-refresh-1", threadName.get());
+		
+		scheduler.close();
+	}
+	
+	
+	public void testJitterOnlyShortensDelay() {
+		
+		long maxJitter = 1000L;
+		long delay = 60_000L;
+		
+		JWKSetRefreshScheduler scheduler = new JWKSetRefreshScheduler(1, false, maxJitter);
+		
+		for (int i=0; i < 100; i++) {
+			ScheduledFuture<?> future = scheduler.schedule(new Runnable() {
+				@Override
+				public void run() {
+				}
+			}, delay);
+			long scheduledDelay = future.getDelay(TimeUnit.MILLISECONDS);
+			assertTrue(scheduledDelay <= delay);
+			assertTrue(scheduledDelay >= delay - maxJitter - 100L);
+		}
+		
+		assertEquals(100, scheduler.getScheduledCount());
+		
+		scheduler.close();
+	}
+	
+	
+	public void testJitterNotExceedingDelay() {
+		
+		JWKSetRefreshScheduler scheduler = new JWKSetRefreshScheduler(1, false, 60_000L);
+		
+		for (int i=0; i < 100; i++) {
+			ScheduledFuture<?> future = scheduler.schedule(new Runnable() {
+				@Override
+				public void run() {
+				}
+			}, 1000L);
+			assertTrue(future.getDelay(TimeUnit.MILLISECONDS) >= -100L);
+			future.cancel(false);
+		}
+		
+		// Removed on cancel
+		assertEquals(0, scheduler.getScheduledCount());
+		
+		scheduler.close();
+	}
+	
+	
+	public void testCancel() {
+		
+		JWKSetRefreshScheduler scheduler = new JWKSetRefreshScheduler(1, false, 0L);
+		
+		ScheduledFuture<?> future = scheduler.schedule(new Runnable() {
+			@Override
+			public void run() {
+				fail();
+			}
+		}, 60_000L);
+		
+		assertEquals(1, scheduler.getScheduledCount());
+		future.cancel(false);
+		assertEquals(0, scheduler.getScheduledCount());
+		
+		scheduler.close();
+	}
+}
@@ -22,6 +22,8 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
@@ -47,6 +49,8 @@ public class JWKSourceBuilderTest extends AbstractWrappedJWKSetSourceTest {
 		assertEquals(15_000L, JWKSourceBuilder.DEFAULT_CACHE_REFRESH_TIMEOUT);
 		assertEquals(30_000L, JWKSourceBuilder.DEFAULT_REFRESH_AHEAD_TIME);
 		assertEquals(30_000L, JWKSourceBuilder.DEFAULT_RATE_LIMIT_MIN_INTERVAL);
+		assertEquals(30_000L, JWKSourceBuilder.DEFAULT_NEGATIVE_CACHE_TIME_TO_LIVE);
+		assertEquals(1000, JWKSourceBuilder.DEFAULT_NEGATIVE_CACHE_MAX_SIZE);
 	}
 	
 	
@@ -412,4 +416,126 @@ public class JWKSourceBuilderTest extends AbstractWrappedJWKSetSourceTest {
 
 		assertTrue(jwkSetSources.get(jwkSetSources.size() - 1) instanceof URLBasedJWKSetSource);
 	}
+
+	@Test
+	public void negativeCache() {
+		JWKSetBasedJWKSource<SecurityContext> source = (JWKSetBasedJWKSource<SecurityContext>) builder().build();
+		assertEquals(-1L, source.getNegativeCacheTimeToLive());
+		assertEquals(-1, source.getNegativeCacheMaxSize());
+		
+		source = (JWKSetBasedJWKSource<SecurityContext>) builder().negativeCache(true).build();
+		assertEquals(JWKSourceBuilder.DEFAULT_NEGATIVE_CACHE_TIME_TO_LIVE, source.getNegativeCacheTimeToLive());
+		assertEquals(JWKSourceBuilder.DEFAULT_NEGATIVE_CACHE_MAX_SIZE, source.getNegativeCacheMaxSize());
+		
+		source = (JWKSetBasedJWKSource<SecurityContext>) builder().negativeCache(10_000L, 50).build();
+		assertEquals(10_000L, source.getNegativeCacheTimeToLive());
+		assertEquals(50, source.getNegativeCacheMaxSize());
+		
+		source = (JWKSetBasedJWKSource<SecurityContext>) builder().negativeCache(10_000L, 50).negativeCache(false).build();
+		assertEquals(-1L, source.getNegativeCacheTimeToLive());
+	}
+
+	@Test
+	public void singleFlightRefresh() {
+		JWKSource<SecurityContext> source = builder().build();
+		assertFalse(((CachingJWKSetSource<SecurityContext>) jwksSources(source).get(0)).isSingleFlightRefresh());
+		
+		source = builder().singleFlightRefresh(true).build();
+		List<JWKSetSource<SecurityContext>> jwkSetSources = jwksSources(source);
+		assertTrue(jwkSetSources.get(0) instanceof RefreshAheadCachingJWKSetSource);
+		assertTrue(((CachingJWKSetSource<SecurityContext>) jwkSetSources.get(0)).isSingleFlightRefresh());
+		
+		source = builder().refreshAheadCache(false).singleFlightRefresh(true).build();
+		jwkSetSources = jwksSources(source);
+		assertEquals(CachingJWKSetSource.class, jwkSetSources.get(0).getClass());
+		assertTrue(((CachingJWKSetSource<SecurityContext>) jwkSetSources.get(0)).isSingleFlightRefresh());
+	}
+
+	@Test
+	public void cacheControl() {
+		JWKSource<SecurityContext> source = builder().build();
+		CachingJWKSetSource<SecurityContext> cache = (CachingJWKSetSource<SecurityContext>) jwksSources(source).get(0);
+		assertFalse(cache.isCacheControl());
+		assertEquals(-1L, cache.getCacheControlMinTimeToLive());
+		assertEquals(-1L, cache.getCacheControlMaxTimeToLive());
+		
+		source = builder().cacheControl(true).build();
+		cache = (CachingJWKSetSource<SecurityContext>) jwksSources(source).get(0);
+		assertTrue(cache instanceof RefreshAheadCachingJWKSetSource);
+		assertTrue(cache.isCacheControl());
+		assertFalse(cache.isSingleFlightRefresh());
+		assertEquals(JWKSourceBuilder.DEFAULT_CACHE_CONTROL_MIN_TIME_TO_LIVE, cache.getCacheControlMinTimeToLive());
+		assertEquals(JWKSourceBuilder.DEFAULT_CACHE_CONTROL_MAX_TIME_TO_LIVE, cache.getCacheControlMaxTimeToLive());
+		
+		source = builder().refreshAheadCache(false).cacheControl(120_000L, 3_600_000L).build();
+		cache = (CachingJWKSetSource<SecurityContext>) jwksSources(source).get(0);
+		assertEquals(CachingJWKSetSource.class, cache.getClass());
+		assertEquals(120_000L, cache.getCacheControlMinTimeToLive());
+		assertEquals(3_600_000L, cache.getCacheControlMaxTimeToLive());
+		
+		source = builder().cacheControl(120_000L, 3_600_000L).cacheControl(false).build();
+		cache = (CachingJWKSetSource<SecurityContext>) jwksSources(source).get(0);
+		assertFalse(cache.isCacheControl());
+	}
+
+	@Test
+	public void cacheControl_minTimeToLiveNotExceedingRateLimit() {
+		try {
+			builder().cacheControl(JWKSourceBuilder.DEFAULT_RATE_LIMIT_MIN_INTERVAL, 3_600_000L).build();
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("The rate limiting min time interval between requests must be less than the Cache-Control min time-to-live", e.getMessage());
+		}
+	}
+
+	@Test
+	public void snapshot() throws Exception {
+		File file = File.createTempFile("jwks-snapshot", ".json");
+		assertTrue(file.delete());
+		
+		JWKSource<SecurityContext> source = builder().snapshot(file).build();
+		List<JWKSetSource<SecurityContext>> jwkSetSources = jwksSources(source);
+		FileSnapshotJWKSetSource<SecurityContext> snapshotSource = (FileSnapshotJWKSetSource<SecurityContext>) jwkSetSources.get(0);
+		assertEquals(file, snapshotSource.getFile());
+		assertEquals(JWKSourceBuilder.DEFAULT_SNAPSHOT_MAX_AGE, snapshotSource.getMaxAge());
+		assertTrue(jwkSetSources.get(1) instanceof CachingJWKSetSource);
+		((JWKSetBasedJWKSource<SecurityContext>) source).close();
+		
+		source = builder().snapshot(file, 3600_000L, null).build();
+		snapshotSource = (FileSnapshotJWKSetSource<SecurityContext>) jwksSources(source).get(0);
+		assertEquals(3600_000L, snapshotSource.getMaxAge());
+		((JWKSetBasedJWKSource<SecurityContext>) source).close();
+	}
+
+	@Test
+	public void refreshAheadExecutor() throws Exception {
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		
+		JWKSource<SecurityContext> source = builder().refreshAheadExecutor(executorService).build();
+		RefreshAheadCachingJWKSetSource<SecurityContext> cache = (RefreshAheadCachingJWKSetSource<SecurityContext>) jwksSources(source).get(0);
+		assertSame(executorService, cache.getExecutorService());
+		
+		// Shared executor not shut down
+		cache.close();
+		assertFalse(executorService.isShutdown());
+		executorService.shutdown();
+	}
+
+	@Test
+	public void refreshScheduler() throws Exception {
+		JWKSetRefreshScheduler refreshScheduler = new JWKSetRefreshScheduler();
+		
+		JWKSource<SecurityContext> source = builder()
+			.refreshAheadCache(true)
+			.refreshScheduler(refreshScheduler)
+			.build();
+		RefreshAheadCachingJWKSetSource<SecurityContext> cache = (RefreshAheadCachingJWKSetSource<SecurityContext>) jwksSources(source).get(0);
+		assertSame(refreshScheduler, cache.getRefreshScheduler());
+		assertSame(refreshScheduler.getExecutorService(), cache.getExecutorService());
+		
+		// Shared scheduler not closed
+		cache.close();
+		assertFalse(refreshScheduler.getExecutorService().isShutdown());
+		refreshScheduler.close();
+	}
 }
@@ -0,0 +1,396 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.jwk.source;
+
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.Resource;
+import com.nimbusds.jose.util.ResourceRetriever;
+
+
+public class JWKSourceRegistryTest extends TestCase {
+	
+	
+	private static final class MapResourceRetriever implements ResourceRetriever {
+		
+		private final Map<String, String> content = new ConcurrentHashMap<>();
+		
+		private final AtomicInteger calls = new AtomicInteger();
+		
+		@Override
+		public Resource retrieveResource(final URL url)
+			throws IOException {
+			calls.incrementAndGet();
+			String jwkSet = content.get(url.toString());
+			if (jwkSet == null) {
+				throw new IOException("HTTP 404");
+			}
+			return new Resource(jwkSet, "application/json");
+		}
+	}
+	
+	
+	private MapResourceRetriever retriever;
+	
+	private RSAKey key1;
+	
+	private RSAKey key2;
+	
+	
+	@Override
+	public void setUp() throws Exception {
+		
+		key1 = new RSAKeyGenerator(2048).keyID("1").generate();
+		key2 = new RSAKeyGenerator(2048).keyID("2").generate();
+		
+		retriever = new MapResourceRetriever();
+		retriever.content.put("https://one.example.com/jwks.json", new JWKSet(key1.toPublicJWK()).toString());
+		retriever.content.put("https://two.example.com/jwks.json", new JWKSet(key2.toPublicJWK()).toString());
+	}
+	
+	
+	private static JWKSelector selector(final String kid) {
+		return new JWKSelector(new JWKMatcher.Builder().keyID(kid).build());
+	}
+	
+	
+	public void testDefaults() {
+		
+		JWKSourceRegistry<SecurityContext> registry = new JWKSourceRegistry.Builder<>().build();
+		assertEquals(JWKSourceRegistry.DEFAULT_MAX_SIZE, registry.getMaxSize());
+		assertEquals(JWKSourceRegistry.DEFAULT_MAX_IDLE_TIME, registry.getMaxIdleTime());
+		assertNotNull(registry.getRefreshScheduler());
+		assertSame(registry.getRefreshScheduler().getExecutorService(), registry.getExecutorService());
+		assertTrue(registry.getRegisteredIssuers().isEmpty());
+		assertEquals(0, registry.size());
+		registry.close();
+		assertTrue(registry.getExecutorService().isShutdown());
+	}
+	
+	
+	public void testGetJWKSource()
+		throws Exception {
+		
+		JWKSourceRegistry<SecurityContext> registry = new JWKSourceRegistry.Builder<>()
+			.resourceRetriever(retriever)
+			.build();
+		
+		registry.register("https://one.example.com", new URL("https://one.example.com/jwks.json"));
+		registry.register("https://two.example.com", new URL("https://two.example.com/jwks.json"));
+		assertEquals(2, registry.getRegisteredIssuers().size());
+		
+		assertNull(registry.getJWKSource("https://unknown.example.com"));
+		assertNull(registry.getJWKSource(null));
+		assertEquals(0, registry.size());
+		
+		JWKSource<SecurityContext> one = registry.getJWKSource("https://one.example.com");
+		assertSame(one, registry.getJWKSource("https://one.example.com"));
+		assertEquals(1, registry.size());
+		
+		assertEquals("1", one.get(selector("1"), null).get(0).getKeyID());
+		assertEquals("1", one.get(selector("1"), null).get(0).getKeyID());
+		assertTrue(registry.getJWKSource("https://two.example.com").get(selector("1"), null).isEmpty());
+		
+		JWKSourceRegistry.TenantStats stats = registry.getStats("https://one.example.com");
+		assertEquals("https://one.example.com", stats.getIssuer());
+		assertEquals(new URL("https://one.example.com/jwks.json"), stats.getJWKSetURL());
+		assertEquals(2, stats.getRequestCount());
+		assertEquals(1, stats.getRetrievalCount());
+		assertEquals(0, stats.getRetrievalFailureCount());
+		assertTrue(stats.getLastAccessTime() >= stats.getCreationTime());
+		
+		assertEquals(2, registry.getStats().size());
+		assertNull(registry.getStats("https://unknown.example.com"));
+		
+		registry.close();
+		assertEquals(0, registry.size());
+		assertEquals(0, registry.getEvictionCount());
+	}
+	
+	
+	public void testRetrievalFailureStats()
+		throws Exception {
+		
+		JWKSourceRegistry<SecurityContext> registry = new JWKSourceRegistry.Builder<>()
+			.resourceRetriever(retriever)
+			.build();
+		
+		registry.register("https://three.example.com", new URL("https://three.example.com/jwks.json"));
+		
+		try {
+			registry.getJWKSource("https://three.example.com").get(selector("1"), null);
+			fail();
+		} catch (JWKSetRetrievalException e) {
+			assertEquals("Couldn't retrieve JWK set from URL: HTTP 404", e.getMessage());
+		}
+		
+		JWKSourceRegistry.TenantStats stats = registry.getStats("https://three.example.com");
+		assertEquals(1, stats.getRetrievalFailureCount());
+		registry.close();
+	}
+	
+	
+	public void testSharedExecutor()
+		throws Exception {
+		
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		
+		JWKSourceRegistry<SecurityContext> registry = new JWKSourceRegistry.Builder<>()
+			.resourceRetriever(retriever)
+			.executorService(executorService)
+			.build();
+		
+		registry.register("https://one.example.com", new URL("https://one.example.com/jwks.json"));
+		registry.register("https://two.example.com", new URL("https://two.example.com/jwks.json"));
+		
+		for (String issuer: registry.getRegisteredIssuers()) {
+			registry.getJWKSource(issuer);
+		}
+		
+		assertSame(executorService, registry.getExecutorService());
+		assertNull(registry.getRefreshScheduler());
+		
+		registry.close();
+		assertFalse(executorService.isShutdown());
+		executorService.shutdown();
+	}
+	
+	
+	public void testSharedRefreshScheduler()
+		throws Exception {
+		
+		JWKSetRefreshScheduler refreshScheduler = new JWKSetRefreshScheduler();
+		
+		JWKSourceRegistry<SecurityContext> registry = new JWKSourceRegistry.Builder<>()
+			.resourceRetriever(retriever)
+			.refreshScheduler(refreshScheduler)
+			.build();
+		
+		assertSame(refreshScheduler, registry.getRefreshScheduler());
+		
+		registry.register("https://one.example.com", new URL("https://one.example.com/jwks.json"));
+		registry.register("https://two.example.com", new URL("https://two.example.com/jwks.json"));
+		
+		assertEquals(1, registry.getJWKSource("https://one.example.com").get(selector("1"), null).size());
+		assertEquals(1, registry.getJWKSource("https://two.example.com").get(selector("2"), null).size());
+		
+		// One refresh-ahead update timed per tenant, plus the idle
+		// sweep
+		assertEquals(3, refreshScheduler.getScheduledCount());
+		
+		registry.close();
+		assertEquals(0, refreshScheduler.getScheduledCount());
+		assertFalse(refreshScheduler.getExecutorService().isShutdown());
+		refreshScheduler.close();
+	}
+	
+	
+	public void testNoRefreshAhead()
+		throws Exception {
+		
+		JWKSourceRegistry<SecurityContext> registry = new JWKSourceRegistry.Builder<>()
+			.resourceRetriever(retriever)
+			.refreshAheadCache(false)
+			.build();
+		
+		assertNull(registry.getExecutorService());
+		assertNull(registry.getRefreshScheduler());
+		
+		registry.register("https://one.example.com", new URL("https://one.example.com/jwks.json"));
+		assertEquals(1, registry.getJWKSource("https://one.example.com").get(selector("1"), null).size());
+		registry.close();
+	}
+	
+	
+	public void testEvictLeastRecentlyUsed()
+		throws Exception {
+		
+		JWKSourceRegistry<SecurityContext> registry = new JWKSourceRegistry.Builder<>()
+			.resourceRetriever(retriever)
+			.maxSize(1)
+			.build();
+		
+		registry.register("https://one.example.com", new URL("https://one.example.com/jwks.json"));
+		registry.register("https://two.example.com", new URL("https://two.example.com/jwks.json"));
+		
+		JWKSource<SecurityContext> one = registry.getJWKSource("https://one.example.com");
+		one.get(selector("1"), null);
+		Thread.sleep(5);
+		
+		registry.getJWKSource("https://two.example.com");
+		
+		assertEquals(1, registry.size());
+		assertEquals(1, registry.getEvictionCount());
+		assertNull(registry.getStats("https://one.example.com"));
+		
+		// Recreated on demand
+		assertNotSame(one, registry.getJWKSource("https://one.example.com"));
+		assertEquals(2, registry.getEvictionCount());
+		registry.close();
+	}
+	
+	
+	public void testEvictIdle_scheduledSweep()
+		throws Exception {
+		
+		JWKSourceRegistry<SecurityContext> registry = new JWKSourceRegistry.Builder<>()
+			.resourceRetriever(retriever)
+			.maxIdleTime(200L)
+			.build();
+		
+		registry.register("https://one.example.com", new URL("https://one.example.com/jwks.json"));
+		assertEquals(1, registry.getJWKSource("https://one.example.com").get(selector("1"), null).size());
+		assertEquals(1, registry.size());
+		
+		// Refresh-ahead update and idle sweep
+		assertEquals(2, registry.getRefreshScheduler().getScheduledCount());
+		
+		// No further requests
+		for (int i=0; i < 100 && registry.size() > 0; i++) {
+			Thread.sleep(20);
+		}
+		
+		assertEquals(0, registry.size());
+		assertEquals(1, registry.getEvictionCount());
+		
+		// The refresh-ahead update of the evicted JWK source is
+		// cancelled, the idle sweep remains
+		assertEquals(1, registry.getRefreshScheduler().getScheduledCount());
+		
+		registry.close();
+		assertEquals(0, registry.getRefreshScheduler().getScheduledCount());
+	}
+	
+	
+	public void testEvictIdle_onRequest()
+		throws Exception {
+		
+		JWKSourceRegistry<SecurityContext> registry = new JWKSourceRegistry.Builder<>()
+			.resourceRetriever(retriever)
+			.refreshAheadCache(false)
+			.maxIdleTime(100L)
+			.build();
+		
+		registry.register("https://one.example.com", new URL("https://one.example.com/jwks.json"));
+		registry.register("https://two.example.com", new URL("https://two.example.com/jwks.json"));
+		
+		registry.getJWKSource("https://one.example.com").get(selector("1"), null);
+		registry.getJWKSource("https://two.example.com").get(selector("2"), null);
+		assertEquals(2, registry.size());
+		
+		Thread.sleep(150L);
+		
+		// The next request sweeps both idle JWK sources, two is
+		// recreated
+		JWKSource<SecurityContext> two = registry.getJWKSource("https://two.example.com");
+		assertEquals(1, registry.size());
+		assertEquals(2, registry.getEvictionCount());
+		assertNull(registry.getStats("https://one.example.com"));
+		assertNotNull(registry.getStats("https://two.example.com"));
+		assertSame(two, registry.getJWKSource("https://two.example.com"));
+		registry.close();
+	}
+	
+	
+	public void testEvictLeastRecentlyUsed_accessOrder()
+		throws Exception {
+		
+		JWKSourceRegistry<SecurityContext> registry = new JWKSourceRegistry.Builder<>()
+			.resourceRetriever(retriever)
+			.maxSize(2)
+			.build();
+		
+		registry.register("https://one.example.com", new URL("https://one.example.com/jwks.json"));
+		registry.register("https://two.example.com", new URL("https://two.example.com/jwks.json"));
+		registry.register("https://three.example.com", new URL("https://one.example.com/jwks.json"));
+		
+		JWKSource<SecurityContext> one = registry.getJWKSource("https://one.example.com");
+		JWKSource<SecurityContext> two = registry.getJWKSource("https://two.example.com");
+		
+		// Use one again past the access order resolution
+		Thread.sleep(JWKSourceRegistry.ACCESS_ORDER_RESOLUTION + 10L);
+		one.get(selector("1"), null);
+		
+		registry.getJWKSource("https://three.example.com");
+		
+		assertEquals(2, registry.size());
+		assertNotNull(registry.getStats("https://one.example.com"));
+		assertNull(registry.getStats("https://two.example.com"));
+		assertNotNull(registry.getStats("https://three.example.com"));
+		assertNotSame(two, registry.getJWKSource("https://two.example.com"));
+		registry.close();
+	}
+	
+	
+	public void testRegisterNewURL_evict()
+		throws Exception {
+		
+		JWKSourceRegistry<SecurityContext> registry = new JWKSourceRegistry.Builder<>()
+			.resourceRetriever(retriever)
+			.build();
+		
+		registry.register("https://one.example.com", new URL("https://one.example.com/jwks.json"));
+		registry.getJWKSource("https://one.example.com");
+		
+		// Same URL
+		registry.register("https://one.example.com", new URL("https://one.example.com/jwks.json"));
+		assertEquals(1, registry.size());
+		
+		registry.register("https://one.example.com", new URL("https://two.example.com/jwks.json"));
+		assertEquals(0, registry.size());
+		assertEquals("2", registry.getJWKSource("https://one.example.com").get(selector("2"), null).get(0).getKeyID());
+		
+		registry.unregister("https://one.example.com");
+		assertEquals(0, registry.size());
+		assertNull(registry.getJWKSource("https://one.example.com"));
+		registry.close();
+	}
+	
+	
+	public void testInvalidConfig() {
+		
+		try {
+			new JWKSourceRegistry.Builder<>().maxSize(0).build();
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("The max size must be positive", e.getMessage());
+		}
+		
+		try {
+			new JWKSourceRegistry.Builder<>().maxIdleTime(0L).build();
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("The max idle time must be positive", e.getMessage());
+		}
+	}
+}
@@ -753,4 +753,64 @@ public class RefreshAheadCachingJWKSetSourceTest extends AbstractWrappedJWKSetSo
 			verify(wrappedJWKSetSource, times(2)).getJWKSet(anyJWKSetCacheEvaluator(), anyLong(), anySecurityContext());
 		}
 	}
+
+	@Test
+	public void scheduleRefreshAhead_sharedScheduler() throws Exception {
+		long timeToLive = 1000;
+		long cacheRefreshTimeout = 150;
+		long refreshAheadTime = 300;
+		long maxJitter = 100;
+		
+		JWKSetRefreshScheduler refreshScheduler = new JWKSetRefreshScheduler(1, false, maxJitter);
+		
+		RefreshAheadCachingJWKSetSource<SecurityContext> source = new RefreshAheadCachingJWKSetSource<>(
+			wrappedJWKSetSource, timeToLive, cacheRefreshTimeout, refreshAheadTime, true,
+			refreshScheduler, false, -1L, -1L, null);
+		
+		assertSame(refreshScheduler, source.getRefreshScheduler());
+		assertSame(refreshScheduler.getExecutorService(), source.getExecutorService());
+		
+		try (JWKSetBasedJWKSource<SecurityContext> wrapper = new JWKSetBasedJWKSource<>(source)) {
+			JWK a = mock(JWK.class);
+			when(a.getKeyID()).thenReturn("a");
+			JWK b = mock(JWK.class);
+			when(b.getKeyID()).thenReturn("b");
+			
+			JWKSet first = new JWKSet(a);
+			JWKSet second = new JWKSet(b);
+			
+			when(wrappedJWKSetSource.getJWKSet(anyJWKSetCacheEvaluator(), anyLong(), anySecurityContext())).thenReturn(first).thenReturn(second);
+			
+			long time = System.currentTimeMillis();
+			
+			assertEquals(first.getKeys(), wrapper.get(aSelector, context));
+			verify(wrappedJWKSetSource, only()).getJWKSet(anyJWKSetCacheEvaluator(), anyLong(), anySecurityContext());
+			
+			ScheduledFuture<?> scheduledRefreshFuture = source.getScheduledRefreshFuture();
+			assertNotNull(scheduledRefreshFuture);
+			assertEquals(1, refreshScheduler.getScheduledCount());
+			
+			long left = scheduledRefreshFuture.getDelay(TimeUnit.MILLISECONDS);
+			
+			long skew = System.currentTimeMillis() - time;
+			
+			// The jitter only brings the refresh forward
+			assertTrue(left <= timeToLive - cacheRefreshTimeout - refreshAheadTime);
+			assertTrue(left >= timeToLive - cacheRefreshTimeout - refreshAheadTime - maxJitter - skew - 1);
+			
+			verify(wrappedJWKSetSource, timeout(2000).times(2)).getJWKSet(anyJWKSetCacheEvaluator(), anyLong(), anySecurityContext());
+			
+			for (int i=0; i < 100 && source.getCachedJWKSet().get() != second; i++) {
+				Thread.sleep(10);
+			}
+			
+			assertEquals(second.getKeys(), wrapper.get(bSelector, context));
+			verify(wrappedJWKSetSource, times(2)).getJWKSet(anyJWKSetCacheEvaluator(), anyLong(), anySecurityContext());
+		}
+		
+		// The shared scheduler is not closed with the source
+		assertEquals(0, refreshScheduler.getScheduledCount());
+		assertFalse(refreshScheduler.getExecutorService().isShutdown());
+		refreshScheduler.close();
+	}
 }
@@ -0,0 +1,179 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.jwk.source;
+
+
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.Resource;
+import com.nimbusds.jose.util.ResourceRetriever;
+
+
+public class URLBasedJWKSetSourceTest extends TestCase {
+	
+	
+	private static final class StubResourceRetriever implements ResourceRetriever {
+		
+		
+		private final AtomicReference<String> content = new AtomicReference<>();
+		
+		
+		private final AtomicReference<Map<String, List<String>>> headers = new AtomicReference<>();
+		
+		
+		@Override
+		public Resource retrieveResource(final URL url) {
+			return new Resource(content.get(), "application/json", headers.get());
+		}
+	}
+	
+	
+	public void testUnchangedContent_newInstanceWithoutParsing()
+		throws Exception {
+		
+		RSAKey rsaJWK = new RSAKeyGenerator(2048).keyID("1").generate();
+		
+		StubResourceRetriever retriever = new StubResourceRetriever();
+		retriever.content.set(new JWKSet(rsaJWK.toPublicJWK()).toString());
+		
+		URLBasedJWKSetSource<SecurityContext> source = new URLBasedJWKSetSource<>(new URL("https://c2id.com/jwks.json"), retriever);
+		
+		JWKSet first = source.getJWKSet(JWKSetCacheRefreshEvaluator.noRefresh(), System.currentTimeMillis(), null);
+		assertEquals(1, first.size());
+		
+		JWKSet second = source.getJWKSet(JWKSetCacheRefreshEvaluator.referenceComparison(first), System.currentTimeMillis(), null);
+		assertNotSame(first, second);
+		assertSame(first.getKeys().get(0), second.getKeys().get(0));
+		assertEquals(first.toJSONObject(), second.toJSONObject());
+		
+		// Changed content
+		RSAKey rsaJWK2 = new RSAKeyGenerator(2048).keyID("2").generate();
+		retriever.content.set(new JWKSet(rsaJWK2.toPublicJWK()).toString());
+		
+		JWKSet third = source.getJWKSet(JWKSetCacheRefreshEvaluator.referenceComparison(second), System.currentTimeMillis(), null);
+		assertEquals(1, third.size());
+		assertEquals("2", third.getKeys().get(0).getKeyID());
+	}
+	
+	
+	public void testInvalidContent_notCached()
+		throws Exception {
+		
+		StubResourceRetriever retriever = new StubResourceRetriever();
+		retriever.content.set("<html></html>");
+		
+		URLBasedJWKSetSource<SecurityContext> source = new URLBasedJWKSetSource<>(new URL("https://c2id.com/jwks.json"), retriever);
+		
+		for (int i=0; i < 2; i++) {
+			try {
+				source.getJWKSet(JWKSetCacheRefreshEvaluator.noRefresh(), System.currentTimeMillis(), null);
+				fail();
+			} catch (JWKSetParseException e) {
+				assertEquals("Unable to parse JWK set", e.getMessage());
+			}
+		}
+	}
+	
+	
+	private static long cachedTimeToLive(final StubResourceRetriever retriever,
+					     final String cacheControl,
+					     final boolean honourCacheControl)
+		throws Exception {
+		
+		if (cacheControl != null) {
+			retriever.headers.set(Collections.singletonMap("Cache-Control", Collections.singletonList(cacheControl)));
+		} else {
+			retriever.headers.set(null);
+		}
+		
+		URLBasedJWKSetSource<SecurityContext> urlSource = new URLBasedJWKSetSource<>(new URL("https://c2id.com/jwks.json"), retriever);
+		
+		// Unwrapped by the cache
+		JWKSetSource<SecurityContext> source = new RateLimitedJWKSetSource<>(urlSource, 1000L, null);
+		
+		CachingJWKSetSource<SecurityContext> cache;
+		if (honourCacheControl) {
+			cache = new CachingJWKSetSource<>(source, 300_000L, 15_000L, false, 60_000L, 86_400_000L, null);
+			assertTrue(cache.isCacheControl());
+		} else {
+			cache = new CachingJWKSetSource<>(source, 300_000L, 15_000L, null);
+			assertFalse(cache.isCacheControl());
+		}
+		
+		long now = System.currentTimeMillis();
+		cache.getJWKSet(JWKSetCacheRefreshEvaluator.noRefresh(), now, null);
+		
+		assertNotNull(urlSource.getLastRetrievedJWKSet());
+		
+		return cache.getCachedJWKSet().getExpirationTime() - now;
+	}
+	
+	
+	public void testCachingJWKSetSource_cacheControl()
+		throws Exception {
+		
+		RSAKey rsaJWK = new RSAKeyGenerator(2048).keyID("1").generate();
+		
+		StubResourceRetriever retriever = new StubResourceRetriever();
+		retriever.content.set(new JWKSet(rsaJWK.toPublicJWK()).toString());
+		
+		assertEquals(3_600_000L, cachedTimeToLive(retriever, "public, max-age=3600", true));
+		
+		// Clamped
+		assertEquals(60_000L, cachedTimeToLive(retriever, "max-age=10", true));
+		assertEquals(60_000L, cachedTimeToLive(retriever, "no-store", true));
+		assertEquals(86_400_000L, cachedTimeToLive(retriever, "max-age=864000", true));
+		
+		// No caching headers
+		assertEquals(300_000L, cachedTimeToLive(retriever, null, true));
+		
+		// Not honoured
+		assertEquals(300_000L, cachedTimeToLive(retriever, "max-age=3600", false));
+	}
+	
+	
+	public void testCachingJWKSetSource_cacheControl_invalidBounds()
+		throws Exception {
+		
+		URLBasedJWKSetSource<SecurityContext> urlSource = new URLBasedJWKSetSource<>(new URL("https://c2id.com/jwks.json"), new StubResourceRetriever());
+		
+		try {
+			new CachingJWKSetSource<>(urlSource, 300_000L, 15_000L, false, 0L, 86_400_000L, null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The Cache-Control min time-to-live must be positive", e.getMessage());
+		}
+		
+		try {
+			new CachingJWKSetSource<>(urlSource, 300_000L, 15_000L, false, 60_000L, 30_000L, null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The Cache-Control max time-to-live must not be less than the min time-to-live", e.getMessage());
+		}
+	}
+}
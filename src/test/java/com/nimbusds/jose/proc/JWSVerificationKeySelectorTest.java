@@ -37,6 +37,7 @@ import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.jwk.*;
 import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.util.Base64URL;
 import com.nimbusds.jose.util.X509CertUtils;
 import junit.framework.TestCase;
@@ -210,6 +211,47 @@ public class JWSVerificationKeySelectorTest extends TestCase {
 		assertTrue(candidates.isEmpty());
 	}
 
+	public void testConvertedKeysCachedUntilJWKSetChange()
+		throws Exception {
+
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+		keyPairGenerator.initialize(2048);
+
+		final RSAKey rsaJWK = new RSAKey.Builder((RSAPublicKey) keyPairGenerator.generateKeyPair().getPublic())
+			.keyID("1")
+			.build();
+
+		final JWKSet[] jwkSet = { new JWKSet(rsaJWK) };
+
+		JWSVerificationKeySelector<SecurityContext> keySelector = new JWSVerificationKeySelector<>(
+			JWSAlgorithm.RS256,
+			new JWKSource<SecurityContext>() {
+				@Override
+				public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+					return jwkSelector.select(jwkSet[0]);
+				}
+			});
+
+		JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.RS256).keyID("1").build();
+
+		List<Key> candidates = keySelector.selectJWSKeys(header, null);
+		assertEquals(rsaJWK.toRSAPublicKey(), candidates.get(0));
+		assertEquals(1, candidates.size());
+
+		assertSame(candidates.get(0), keySelector.selectJWSKeys(header, null).get(0));
+
+		// JWK set refresh, new JWK instances
+		jwkSet[0] = JWKSet.parse(jwkSet[0].toString());
+
+		List<Key> refreshedCandidates = keySelector.selectJWSKeys(header, null);
+		assertEquals(rsaJWK.toRSAPublicKey(), refreshedCandidates.get(0));
+		assertNotSame(candidates.get(0), refreshedCandidates.get(0));
+		assertEquals(1, refreshedCandidates.size());
+
+		assertSame(refreshedCandidates.get(0), keySelector.selectJWSKeys(header, null).get(0));
+	}
+
+
 	public void testForUnsupported()
 			throws Exception {
 
@@ -0,0 +1,167 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.proc;
+
+
+import java.security.Key;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.OctetSequenceKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+
+
+public class KeyConversionCacheTest extends TestCase {
+	
+	
+	public void testMaxSizeMustBePositive() {
+		
+		try {
+			new KeyConversionCache(0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The max cache size must be positive", e.getMessage());
+		}
+	}
+	
+	
+	public void testEmpty() {
+		
+		KeyConversionCache cache = new KeyConversionCache(10);
+		
+		assertTrue(cache.getVerificationKeys(null).isEmpty());
+		assertTrue(cache.getVerificationKeys(Collections.<JWK>emptyList()).isEmpty());
+		assertEquals(0, cache.size());
+	}
+	
+	
+	public void testSingleJWK_cached()
+		throws Exception {
+		
+		RSAKey rsaJWK = new RSAKeyGenerator(2048).generate().toPublicJWK();
+		
+		KeyConversionCache cache = new KeyConversionCache(10);
+		
+		List<Key> keys = cache.getVerificationKeys(Collections.<JWK>singletonList(rsaJWK));
+		assertEquals(1, keys.size());
+		assertEquals(rsaJWK.toRSAPublicKey(), keys.get(0));
+		assertEquals(1, cache.size());
+		
+		List<Key> cachedKeys = cache.getVerificationKeys(Collections.<JWK>singletonList(rsaJWK));
+		assertNotSame(keys, cachedKeys);
+		assertSame(keys.get(0), cachedKeys.get(0));
+		assertEquals(1, cache.size());
+	}
+	
+	
+	public void testReturnedListModifiable()
+		throws Exception {
+		
+		RSAKey rsaJWK = new RSAKeyGenerator(2048).generate().toPublicJWK();
+		
+		KeyConversionCache cache = new KeyConversionCache(10);
+		
+		List<Key> keys = cache.getVerificationKeys(Collections.<JWK>singletonList(rsaJWK));
+		keys.clear();
+		
+		assertEquals(1, cache.getVerificationKeys(Collections.<JWK>singletonList(rsaJWK)).size());
+		
+		List<Key> empty = cache.getVerificationKeys(null);
+		empty.add(rsaJWK.toRSAPublicKey());
+		assertTrue(cache.getVerificationKeys(null).isEmpty());
+	}
+	
+	
+	public void testPrivateKeysSkipped()
+		throws Exception {
+		
+		ECKey ecJWK = new ECKeyGenerator(Curve.P_256).generate();
+		
+		KeyConversionCache cache = new KeyConversionCache(10);
+		
+		List<Key> keys = cache.getVerificationKeys(Collections.<JWK>singletonList(ecJWK));
+		assertEquals(1, keys.size());
+		assertTrue(keys.get(0) instanceof ECPublicKey);
+		assertFalse(keys.get(0) instanceof ECPrivateKey);
+	}
+	
+	
+	public void testMultipleJWKs()
+		throws Exception {
+		
+		OctetSequenceKey octJWK = new OctetSequenceKeyGenerator(256).generate();
+		ECKey ecJWK = new ECKeyGenerator(Curve.P_256).generate().toPublicJWK();
+		
+		KeyConversionCache cache = new KeyConversionCache(10);
+		
+		List<Key> keys = cache.getVerificationKeys(Arrays.asList(octJWK, (JWK) ecJWK));
+		assertEquals(octJWK.toSecretKey(), keys.get(0));
+		assertEquals(ecJWK.toECPublicKey(), keys.get(1));
+		assertEquals(2, keys.size());
+		assertEquals(2, cache.size());
+		
+		// Same key instances
+		List<Key> cachedKeys = cache.getVerificationKeys(Arrays.asList(octJWK, (JWK) ecJWK));
+		assertSame(keys.get(0), cachedKeys.get(0));
+		assertSame(keys.get(1), cachedKeys.get(1));
+		assertEquals(2, cache.size());
+	}
+	
+	
+	public void testKeyedByIdentity()
+		throws Exception {
+		
+		RSAKey rsaJWK = new RSAKeyGenerator(2048).generate().toPublicJWK();
+		RSAKey rsaJWKCopy = RSAKey.parse(rsaJWK.toJSONObject());
+		assertEquals(rsaJWK, rsaJWKCopy);
+		
+		KeyConversionCache cache = new KeyConversionCache(10);
+		
+		List<Key> keys = cache.getVerificationKeys(Collections.<JWK>singletonList(rsaJWK));
+		List<Key> copyKeys = cache.getVerificationKeys(Collections.<JWK>singletonList(rsaJWKCopy));
+		assertNotSame(keys, copyKeys);
+		assertEquals(keys, copyKeys);
+		assertEquals(2, cache.size());
+	}
+	
+	
+	public void testResetWhenFull()
+		throws Exception {
+		
+		KeyConversionCache cache = new KeyConversionCache(2);
+		
+		for (int i=0; i < 2; i++) {
+			cache.getVerificationKeys(Collections.<JWK>singletonList(new OctetSequenceKeyGenerator(256).generate()));
+		}
+		assertEquals(2, cache.size());
+		
+		cache.getVerificationKeys(Collections.<JWK>singletonList(new OctetSequenceKeyGenerator(256).generate()));
+		assertEquals(1, cache.size());
+	}
+}
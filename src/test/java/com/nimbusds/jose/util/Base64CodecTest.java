@@ -18,6 +18,10 @@
 package com.nimbusds.jose.util;
 
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 import junit.framework.TestCase;
 import org.apache.commons.lang.StringUtils;
 
@@ -197,4 +201,180 @@ public class Base64CodecTest extends TestCase {
 		assertEquals("fooba", new String(Base64Codec.decode("Zm9vYmE\n"), StandardCharset.UTF_8));
 		assertEquals("foobar", new String(Base64Codec.decode("Zm9vYmFy\n"), StandardCharset.UTF_8));
 	}
+
+
+	public void testComputeDecodedLength() {
+
+		assertEquals(0, Base64Codec.computeDecodedLength("", 0, 0));
+		assertEquals(1, Base64Codec.computeDecodedLength("Zg", 0, 2));
+		assertEquals(1, Base64Codec.computeDecodedLength("Zg==", 0, 4));
+		assertEquals(2, Base64Codec.computeDecodedLength("Zm8", 0, 3));
+		assertEquals(2, Base64Codec.computeDecodedLength("Zm8=", 0, 4));
+		assertEquals(6, Base64Codec.computeDecodedLength("Zm9vYmFy", 0, 8));
+		assertEquals(3, Base64Codec.computeDecodedLength("Zm9vYmFy", 4, 4));
+
+		byte[] ascii = "Zm9vYg==".getBytes(StandardCharset.UTF_8);
+		assertEquals(4, Base64Codec.computeDecodedLength(ascii, 0, ascii.length));
+	}
+
+
+	public void testComputeDecodedLength_invalidSlice() {
+
+		try {
+			Base64Codec.computeDecodedLength("Zm9v", 2, 3);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			assertEquals("Invalid slice: offset 2, length 3, array length 4", e.getMessage());
+		}
+	}
+
+
+	public void testDecodeSlice() {
+
+		String s = "eyJhbGciOiJIUzI1NiJ9.Zm9vYmFy.Zm9vYg";
+
+		byte[] dst = new byte[10];
+		assertEquals(6, Base64Codec.decode(s, 21, 8, dst, 2));
+		assertEquals("foobar", new String(dst, 2, 6, StandardCharset.UTF_8));
+
+		assertEquals(4, Base64Codec.decode(s, 30, 6, dst, 0));
+		assertEquals("foob", new String(dst, 0, 4, StandardCharset.UTF_8));
+
+		byte[] ascii = s.getBytes(StandardCharset.UTF_8);
+		Arrays.fill(dst, (byte) 0);
+		assertEquals(6, Base64Codec.decode(ascii, 21, 8, dst, 0));
+		assertEquals("foobar", new String(dst, 0, 6, StandardCharset.UTF_8));
+	}
+
+
+	public void testDecodeSlice_matchesStringDecode() {
+
+		for (int len = 0; len < 100; len++) {
+
+			byte[] bytes = new byte[len];
+			for (int i = 0; i < len; i++) {
+				bytes[i] = (byte) (i * 31 + len);
+			}
+
+			for (boolean urlSafe: new boolean[]{true, false}) {
+
+				String encoded = Base64Codec.encodeToString(bytes, urlSafe);
+				assertEquals(len, Base64Codec.computeDecodedLength(encoded, 0, encoded.length()));
+
+				byte[] dst = new byte[len];
+				assertEquals(len, Base64Codec.decode(encoded, 0, encoded.length(), dst, 0));
+				assertTrue(Arrays.equals(bytes, dst));
+				assertTrue(Arrays.equals(bytes, Base64Codec.decode(encoded)));
+			}
+		}
+	}
+
+
+	public void testDecodeSlice_illegalChars() {
+
+		byte[] dst = new byte[10];
+		assertEquals(6, Base64Codec.decode("Zm9v\nYmFy", 0, 9, dst, 0));
+		assertEquals("foobar", new String(dst, 0, 6, StandardCharset.UTF_8));
+
+		// Non-ASCII chars must not alias to valid digits
+		assertEquals(3, Base64Codec.decode("Zm\u0141\u0100\u015A9v", 0, 7, dst, 0));
+		assertEquals("foo", new String(dst, 0, 3, StandardCharset.UTF_8));
+		assertTrue(Arrays.equals("foo".getBytes(StandardCharset.UTF_8), Base64Codec.decode("Zm\u0141\u0100\u015A9v")));
+	}
+
+
+	public void testDecodeSlice_destinationTooSmall() {
+
+		byte[] dst = new byte[5];
+		try {
+			Base64Codec.decode("Zm9vYmFy", 0, 8, dst, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The destination array must have space for 6 bytes", e.getMessage());
+		}
+		assertTrue(Arrays.equals(new byte[5], dst));
+	}
+
+
+	public void testDecodeToByteBuffer() {
+
+		for (ByteBuffer buffer: new ByteBuffer[]{ByteBuffer.allocate(8), ByteBuffer.allocateDirect(8)}) {
+
+			buffer.put((byte) 'x');
+			assertEquals(6, Base64Codec.decode("Zm9vYmFy", 0, 8, buffer));
+			assertEquals(7, buffer.position());
+
+			buffer.flip();
+			byte[] out = new byte[buffer.remaining()];
+			buffer.get(out);
+			assertEquals("xfoobar", new String(out, StandardCharset.UTF_8));
+		}
+	}
+
+
+	public void testDecodeToByteBuffer_overflow() {
+
+		ByteBuffer buffer = ByteBuffer.allocate(5);
+		try {
+			Base64Codec.decode("Zm9vYmFy", 0, 8, buffer);
+			fail();
+		} catch (BufferOverflowException e) {
+			assertEquals(0, buffer.position());
+		}
+	}
+
+
+	public void testEncodeSlice() {
+
+		byte[] src = "xfoobarx".getBytes(StandardCharset.UTF_8);
+
+		byte[] dst = new byte[12];
+		assertEquals(8, Base64Codec.encode(src, 1, 6, dst, 1, true));
+		assertEquals("Zm9vYmFy", new String(dst, 1, 8, StandardCharset.UTF_8));
+
+		assertEquals(6, Base64Codec.encode(src, 1, 4, dst, 0, true));
+		assertEquals("Zm9vYg", new String(dst, 0, 6, StandardCharset.UTF_8));
+
+		assertEquals(8, Base64Codec.encode(src, 1, 4, dst, 0, false));
+		assertEquals("Zm9vYg==", new String(dst, 0, 8, StandardCharset.UTF_8));
+
+		assertEquals(0, Base64Codec.encode(src, 0, 0, dst, 0, true));
+	}
+
+
+	public void testEncodeSlice_destinationTooSmall() {
+
+		try {
+			Base64Codec.encode(new byte[4], 0, 4, new byte[5], 0, true);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The destination array must have space for 6 bytes", e.getMessage());
+		}
+	}
+
+
+	public void testEncodeToByteBuffer() {
+
+		byte[] src = "foob".getBytes(StandardCharset.UTF_8);
+
+		for (ByteBuffer buffer: new ByteBuffer[]{ByteBuffer.allocate(8), ByteBuffer.allocateDirect(8)}) {
+
+			assertEquals(8, Base64Codec.encode(src, 0, 4, buffer, false));
+			assertFalse(buffer.hasRemaining());
+
+			buffer.flip();
+			byte[] out = new byte[8];
+			buffer.get(out);
+			assertEquals("Zm9vYg==", new String(out, StandardCharset.UTF_8));
+
+			buffer.clear();
+			try {
+				buffer.position(3);
+				Base64Codec.encode(src, 0, 4, buffer, true);
+				fail();
+			} catch (BufferOverflowException e) {
+				assertEquals(3, buffer.position());
+			}
+		}
+	}
 }
@@ -19,6 +19,8 @@ package com.nimbusds.jose.util;
 
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import junit.framework.TestCase;
 
@@ -27,7 +29,7 @@ import junit.framework.TestCase;
  * Tests the Base64URL class.
  *
  * @author Vladimir Dzhuvinov
- * @version 2022-01-24
+ * @version 2026-10-15
  */
 public class Base64URLTest extends TestCase {
 
@@ -132,5 +134,30 @@ public class Base64URLTest extends TestCase {
 		assertNotSame(new Base64URL("abc"), new Base64URL("def"));
 		assertNotSame(new Base64URL("abc").hashCode(), new Base64URL("def").hashCode());
 	}
+	
+	
+	public void testSliceEncodeAndDecode() {
+		
+		int encodedLength = Base64URL.computeEncodedLength(BYTES.length);
+		assertEquals(Base64URL.encode(BYTES).toString().length(), encodedLength);
+		
+		byte[] encoded = new byte[encodedLength];
+		assertEquals(encodedLength, Base64URL.encode(BYTES, 0, BYTES.length, encoded, 0));
+		String b64 = new String(encoded, StandardCharset.UTF_8);
+		assertEquals(Base64URL.encode(BYTES).toString(), b64);
+		
+		assertEquals(BYTES.length, Base64URL.computeDecodedLength(b64, 0, b64.length()));
+		
+		byte[] decoded = new byte[BYTES.length];
+		assertEquals(BYTES.length, Base64URL.decode(b64, 0, b64.length(), decoded, 0));
+		assertTrue(Arrays.equals(BYTES, decoded));
+		
+		decoded = new byte[BYTES.length];
+		assertEquals(BYTES.length, Base64URL.decode(encoded, 0, encoded.length, decoded, 0));
+		assertTrue(Arrays.equals(BYTES, decoded));
+		
+		ByteBuffer buffer = ByteBuffer.allocate(BYTES.length);
+		assertEquals(BYTES.length, Base64URL.decode(b64, 0, b64.length(), buffer));
+		assertTrue(Arrays.equals(BYTES, buffer.array()));
+	}
 }
-
@@ -0,0 +1,405 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.util;
+
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static net.jadler.Jadler.*;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests the Java 11+ HTTP client based resource retriever, loaded from the
+ * multi-release class output.
+ */
+public class HttpClientResourceRetrieverTest {
+	
+	
+	private static final String CLASS_NAME = "com.nimbusds.jose.util.HttpClientResourceRetriever";
+	
+	
+	private static Class<?> retrieverClass;
+	
+	
+	private static Class<?> loadRetrieverClass()
+		throws Exception {
+		
+		if (retrieverClass != null) {
+			return retrieverClass;
+		}
+		
+		try {
+			// Multi-release JAR
+			retrieverClass = Class.forName(CLASS_NAME);
+		} catch (ClassNotFoundException e) {
+			URL classesDir = AbstractRestrictedResourceRetriever.class.getProtectionDomain().getCodeSource().getLocation();
+			URLClassLoader loader = new URLClassLoader(
+				new URL[]{new URL(classesDir, "META-INF/versions/11/")},
+				HttpClientResourceRetrieverTest.class.getClassLoader());
+			retrieverClass = loader.loadClass(CLASS_NAME);
+		}
+		
+		return retrieverClass;
+	}
+	
+	
+	private static RestrictedResourceRetriever createRetriever(final int connectTimeout, final int readTimeout, final int sizeLimit)
+		throws Exception {
+		
+		return (RestrictedResourceRetriever) loadRetrieverClass()
+			.getConstructor(int.class, int.class, int.class)
+			.newInstance(connectTimeout, readTimeout, sizeLimit);
+	}
+	
+	
+	private static Map<?, ?> getValidatedResources(final RestrictedResourceRetriever retriever)
+		throws Exception {
+		
+		Field field = retriever.getClass().getDeclaredField("validatedResources");
+		field.setAccessible(true);
+		return (Map<?, ?>) field.get(retriever);
+	}
+	
+	
+	@Before
+	public void setUp() {
+		// Java 11+
+		assumeTrue(! System.getProperty("java.specification.version").startsWith("1.") &&
+			Integer.parseInt(System.getProperty("java.specification.version")) >= 11);
+		initJadler();
+	}
+	
+	
+	@After
+	public void tearDown() {
+		closeJadler();
+	}
+	
+	
+	@Test
+	public void testDefaultSettings()
+		throws Exception {
+		
+		RestrictedResourceRetriever retriever = (RestrictedResourceRetriever) loadRetrieverClass().getConstructor().newInstance();
+		assertEquals(0, retriever.getConnectTimeout());
+		assertEquals(0, retriever.getReadTimeout());
+		assertEquals(0, retriever.getSizeLimit());
+		
+		retriever = createRetriever(100, 200, 300);
+		assertEquals(100, retriever.getConnectTimeout());
+		assertEquals(200, retriever.getReadTimeout());
+		assertEquals(300, retriever.getSizeLimit());
+	}
+	
+	
+	@Test
+	public void testRetrieveOK()
+		throws Exception {
+		
+		onRequest()
+			.havingMethodEqualTo("GET")
+			.havingPathEqualTo("/c2id/jwks.json")
+			.respond()
+			.withStatus(200)
+			.withHeader("Content-Type", "application/json")
+			.withBody("{\"A\":\"B\"}");
+		
+		RestrictedResourceRetriever retriever = createRetriever(0, 0, 0);
+		Resource resource = retriever.retrieveResource(new URL("http://localhost:" + port() + "/c2id/jwks.json"));
+		assertEquals("application/json", resource.getContentType());
+		assertEquals("B", JSONObjectUtils.parse(resource.getContent()).get("A"));
+		
+		// No validators stored
+		assertTrue(getValidatedResources(retriever).isEmpty());
+	}
+	
+	
+	@Test
+	public void testRetrieveNon2xx()
+		throws Exception {
+		
+		onRequest()
+			.havingMethodEqualTo("GET")
+			.havingPathEqualTo("/c2id/jwks.json")
+			.respond()
+			.withStatus(404);
+		
+		try {
+			createRetriever(0, 0, 0).retrieveResource(new URL("http://localhost:" + port() + "/c2id/jwks.json"));
+			fail();
+		} catch (IOException e) {
+			assertEquals("HTTP 404", e.getMessage());
+		}
+	}
+	
+	
+	@Test
+	public void testConditionalGet_eTag()
+		throws Exception {
+		
+		onRequest()
+			.havingMethodEqualTo("GET")
+			.havingPathEqualTo("/c2id/jwks.json")
+			.respond()
+			.withStatus(200)
+			.withHeader("Content-Type", "application/json")
+			.withHeader("ETag", "\"v1\"")
+			.withBody("{\"A\":\"B\"}");
+		
+		onRequest()
+			.havingMethodEqualTo("GET")
+			.havingPathEqualTo("/c2id/jwks.json")
+			.havingHeaderEqualTo("If-None-Match", "\"v1\"")
+			.respond()
+			.withStatus(304)
+			.withHeader("ETag", "\"v1\"");
+		
+		RestrictedResourceRetriever retriever = createRetriever(0, 0, 0);
+		URL url = new URL("http://localhost:" + port() + "/c2id/jwks.json");
+		
+		Resource first = retriever.retrieveResource(url);
+		assertEquals("{\"A\":\"B\"}", first.getContent());
+		assertEquals(1, getValidatedResources(retriever).size());
+		
+		Resource second = retriever.retrieveResource(url);
+		assertSame(first.getContent(), second.getContent());
+		assertEquals("application/json", second.getContentType());
+		
+		verifyThatRequest()
+			.havingHeaderEqualTo("If-None-Match", "\"v1\"")
+			.receivedOnce();
+	}
+	
+	
+	@Test
+	public void testConditionalGet_lastModified()
+		throws Exception {
+		
+		String lastModified = "Wed, 14 Oct 2026 10:00:00 GMT";
+		
+		onRequest()
+			.havingMethodEqualTo("GET")
+			.havingPathEqualTo("/c2id/jwks.json")
+			.respond()
+			.withStatus(200)
+			.withHeader("Content-Type", "application/json")
+			.withHeader("Last-Modified", lastModified)
+			.withBody("{\"A\":\"B\"}");
+		
+		onRequest()
+			.havingMethodEqualTo("GET")
+			.havingPathEqualTo("/c2id/jwks.json")
+			.havingHeaderEqualTo("If-Modified-Since", lastModified)
+			.respond()
+			.withStatus(304);
+		
+		RestrictedResourceRetriever retriever = createRetriever(0, 0, 0);
+		URL url = new URL("http://localhost:" + port() + "/c2id/jwks.json");
+		
+		Resource first = retriever.retrieveResource(url);
+		Resource second = retriever.retrieveResource(url);
+		assertSame(first.getContent(), second.getContent());
+		
+		verifyThatRequest()
+			.havingHeaderEqualTo("If-Modified-Since", lastModified)
+			.receivedOnce();
+	}
+	
+	
+	@Test
+	public void testNotModifiedWithoutStoredResource()
+		throws Exception {
+		
+		onRequest()
+			.havingMethodEqualTo("GET")
+			.havingPathEqualTo("/c2id/jwks.json")
+			.respond()
+			.withStatus(304);
+		
+		try {
+			createRetriever(0, 0, 0).retrieveResource(new URL("http://localhost:" + port() + "/c2id/jwks.json"));
+			fail();
+		} catch (IOException e) {
+			assertEquals("HTTP 304", e.getMessage());
+		}
+	}
+	
+	
+	@Test
+	public void testValidatedResourcesBounded()
+		throws Exception {
+		
+		onRequest()
+			.havingMethodEqualTo("GET")
+			.respond()
+			.withStatus(200)
+			.withHeader("ETag", "\"v1\"")
+			.withBody("{}");
+		
+		RestrictedResourceRetriever retriever = createRetriever(0, 0, 0);
+		
+		Field maxField = retriever.getClass().getDeclaredField("MAX_VALIDATED_RESOURCES");
+		maxField.setAccessible(true);
+		int max = maxField.getInt(null);
+		
+		for (int i=0; i <= max; i++) {
+			retriever.retrieveResource(new URL("http://localhost:" + port() + "/jwks-" + i + ".json"));
+			assertTrue(getValidatedResources(retriever).size() <= max);
+		}
+		
+		assertEquals(1, getValidatedResources(retriever).size());
+	}
+	
+	
+	@Test
+	public void testSizeLimit()
+		throws Exception {
+		
+		StringBuilder sb = new StringBuilder();
+		for (int i=0; i < 100000; i++) {
+			sb.append('a');
+		}
+		
+		onRequest()
+			.havingMethodEqualTo("GET")
+			.havingPathEqualTo("/c2id/jwks.json")
+			.respond()
+			.withStatus(200)
+			.withHeader("Content-Type", "text/plain")
+			.withBody(sb.toString());
+		
+		RestrictedResourceRetriever retriever = createRetriever(0, 0, 50000);
+		
+		try {
+			retriever.retrieveResource(new URL("http://localhost:" + port() + "/c2id/jwks.json"));
+			fail();
+		} catch (IOException e) {
+			assertEquals("Exceeded configured input limit of 50000 bytes", e.getMessage());
+		}
+	}
+	
+	
+	@Test
+	public void testReadTimeout()
+		throws Exception {
+		
+		onRequest()
+			.havingMethodEqualTo("GET")
+			.havingPathEqualTo("/c2id/jwks.json")
+			.respond()
+			.withDelay(500L, TimeUnit.MILLISECONDS)
+			.withStatus(200)
+			.withBody("{}");
+		
+		RestrictedResourceRetriever retriever = createRetriever(0, 50, 0);
+		
+		try {
+			retriever.retrieveResource(new URL("http://localhost:" + port() + "/c2id/jwks.json"));
+			fail();
+		} catch (IOException e) {
+			assertTrue(e.getMessage().toLowerCase().contains("timed out"));
+		}
+	}
+	
+	
+	@Test
+	public void testReadTimeout_slowEntity()
+		throws Exception {
+		
+		final CountDownLatch stall = new CountDownLatch(1);
+		
+		HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/jwks.json", new HttpHandler() {
+			@Override
+			public void handle(final HttpExchange exchange)
+				throws IOException {
+				
+				// Headers and the start of the entity, then stall
+				exchange.sendResponseHeaders(200, 0);
+				OutputStream out = exchange.getResponseBody();
+				out.write("{\"keys\":[".getBytes(StandardCharset.UTF_8));
+				out.flush();
+				try {
+					stall.await(5L, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				exchange.close();
+			}
+		});
+		server.start();
+		
+		try {
+			RestrictedResourceRetriever retriever = createRetriever(0, 200, 0);
+			
+			long start = System.currentTimeMillis();
+			
+			try {
+				retriever.retrieveResource(new URL("http://localhost:" + server.getAddress().getPort() + "/jwks.json"));
+				fail();
+			} catch (IOException e) {
+				assertEquals("Read timed out", e.getMessage());
+			}
+			
+			assertTrue(System.currentTimeMillis() - start < 4000L);
+		} finally {
+			stall.countDown();
+			server.stop(0);
+		}
+	}
+	
+	
+	@Test
+	public void testHeaders()
+		throws Exception {
+		
+		onRequest()
+			.havingMethodEqualTo("GET")
+			.havingPathEqualTo("/c2id/jwks.json")
+			.respond()
+			.withStatus(200)
+			.withBody("{}");
+		
+		RestrictedResourceRetriever retriever = createRetriever(0, 0, 0);
+		retriever.setHeaders(Collections.singletonMap("User-Agent", Collections.singletonList("NewAgent")));
+		retriever.retrieveResource(new URL("http://localhost:" + port() + "/c2id/jwks.json"));
+		
+		verifyThatRequest()
+			.havingHeader("User-Agent", equalTo(Collections.singletonList("NewAgent")))
+			.receivedOnce();
+	}
+}
@@ -0,0 +1,269 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jose.util;
+
+
+import java.net.URI;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+
+/**
+ * Tests the streaming JSON object reader.
+ *
+ * @author Vladimir Dzhuvinov
+ * @version 2026-10-15
+ */
+public class JSONObjectReaderTest extends TestCase {
+
+
+	private static final String KNOWN_NAME = "known";
+
+
+	private static JSONObjectReader reader(final String json) {
+		return new JSONObjectReader(json.getBytes(StandardCharset.UTF_8), new String[]{"jku", "b64", "p2c", "exp", "crit", "kid", KNOWN_NAME});
+	}
+
+
+	public void testKnownNames()
+		throws ParseException {
+
+		JSONObjectReader reader = reader("{\"known\":1,\"unknown\":2}");
+		reader.beginObject();
+
+		assertTrue(reader.hasNextMember());
+		assertSame(KNOWN_NAME, reader.nextName());
+		reader.skipValue();
+
+		assertTrue(reader.hasNextMember());
+		assertEquals("unknown", reader.nextName());
+		reader.skipValue();
+
+		assertFalse(reader.hasNextMember());
+		reader.endObject();
+
+		// Rewind
+		reader.beginObject();
+		assertTrue(reader.hasNextMember());
+		assertSame(KNOWN_NAME, reader.nextName());
+		assertEquals(1L, reader.nextValue());
+	}
+
+
+	public void testTypedValues()
+		throws ParseException {
+
+		JSONObjectReader reader = reader(" { \"jku\" : \"https://c2id.com/jwks.json\" , \"b64\" : false , \"p2c\" : 1000 , \"exp\" : 1700000000123 , " +
+			"\"crit\" : [ \"b64\" , null ] , \"x\" : null } ");
+		reader.beginObject();
+
+		assertTrue(reader.hasNextMember());
+		assertEquals("jku", reader.nextName());
+		assertEquals(URI.create("https://c2id.com/jwks.json"), reader.nextURI("jku"));
+
+		assertTrue(reader.hasNextMember());
+		assertEquals("b64", reader.nextName());
+		assertFalse(reader.nextBoolean("b64"));
+
+		assertTrue(reader.hasNextMember());
+		assertEquals("p2c", reader.nextName());
+		assertEquals(1000, reader.nextInt("p2c"));
+
+		assertTrue(reader.hasNextMember());
+		assertEquals("exp", reader.nextName());
+		assertEquals(1700000000123L, reader.nextLong("exp"));
+
+		assertTrue(reader.hasNextMember());
+		assertEquals("crit", reader.nextName());
+		assertEquals(Arrays.asList("b64", null), reader.nextStringList("crit"));
+
+		assertTrue(reader.hasNextMember());
+		assertEquals("x", reader.nextName());
+		assertNull(reader.nextString("x"));
+
+		assertFalse(reader.hasNextMember());
+		reader.endObject();
+	}
+
+
+	public void testUnexpectedType() {
+
+		JSONObjectReader reader = reader("{\"kid\":1}");
+
+		try {
+			reader.beginObject();
+			reader.hasNextMember();
+			reader.nextString(reader.nextName());
+			fail();
+		} catch (ParseException e) {
+			assertEquals("Unexpected type of JSON object member with key kid", e.getMessage());
+		}
+	}
+
+
+	public void testStringEscapes()
+		throws ParseException {
+
+		JSONObjectReader reader = reader("{\"kid\":\"a\\\"b\\\\c\\/d\\n\\u00e9\\ud83d\\ude00\",\"k\\u0069d2\":\"\u00fc\"}");
+		reader.beginObject();
+		assertTrue(reader.hasNextMember());
+		assertEquals("kid", reader.nextName());
+		assertEquals("a\"b\\c/d\n\u00e9\ud83d\ude00", reader.nextString("kid"));
+		assertTrue(reader.hasNextMember());
+		assertEquals("kid2", reader.nextName());
+		assertEquals("\u00fc", reader.nextString("kid2"));
+		assertFalse(reader.hasNextMember());
+		reader.endObject();
+	}
+
+
+	@SuppressWarnings("unchecked")
+	public void testGenericValues()
+		throws ParseException {
+
+		JSONObjectReader reader = reader("{\"x\":{\"a\":[1,-2.5e1,true,null,\"s\",{}],\"b\":9007199254740993}}");
+		reader.beginObject();
+		assertTrue(reader.hasNextMember());
+		assertEquals("x", reader.nextName());
+
+		Map<String, Object> x = (Map<String, Object>) reader.nextValue();
+		List<Object> a = (List<Object>) x.get("a");
+		assertEquals(1L, a.get(0));
+		assertEquals(-25.0d, a.get(1));
+		assertEquals(true, a.get(2));
+		assertNull(a.get(3));
+		assertEquals("s", a.get(4));
+		assertTrue(((Map<?, ?>) a.get(5)).isEmpty());
+		assertEquals(9007199254740993L, x.get("b"));
+
+		assertFalse(reader.hasNextMember());
+		reader.endObject();
+	}
+
+
+	public void testRejectDuplicateNames() {
+
+		for (String json: Arrays.asList("{\"alg\":\"RS256\",\"alg\":\"HS256\"}", "{\"x\":{\"a\":1,\"a\":2}}")) {
+			JSONObjectReader reader = reader(json);
+			try {
+				reader.beginObject();
+				while (reader.hasNextMember()) {
+					reader.nextName();
+					reader.nextValue();
+				}
+				reader.endObject();
+				fail(json);
+			} catch (ParseException e) {
+				assertNotNull(e.getMessage());
+			}
+		}
+	}
+
+
+	public void testRejectNonStrictJSON() {
+
+		List<String> invalid = Arrays.asList(
+			"",
+			"[]",
+			"{",
+			"{'alg':'RS256'}",
+			"{alg:\"RS256\"}",
+			"{\"alg\":\"RS256\",}",
+			"{\"alg\":\"RS256\"} x",
+			"{\"alg\":\"RS256\"}{}",
+			"{\"p2c\":01}",
+			"{\"p2c\":1.}",
+			"{\"x\":tru}",
+			"{\"kid\":\"\\x\"}",
+			"{\"kid\":\"a\nb\"}"
+		);
+
+		for (String json: invalid) {
+			JSONObjectReader reader = reader(json);
+			try {
+				reader.beginObject();
+				while (reader.hasNextMember()) {
+					reader.nextName();
+					reader.nextValue();
+				}
+				reader.endObject();
+				fail(json);
+			} catch (ParseException e) {
+				assertNotNull(e.getMessage());
+			}
+		}
+	}
+
+
+	public void testRejectExcessiveNesting() {
+
+		StringBuilder sb = new StringBuilder("{\"x\":");
+		for (int i=0; i < 100; i++) {
+			sb.append('[');
+		}
+		for (int i=0; i < 100; i++) {
+			sb.append(']');
+		}
+		sb.append('}');
+
+		JSONObjectReader reader = reader(sb.toString());
+		try {
+			reader.beginObject();
+			reader.hasNextMember();
+			reader.nextName();
+			reader.skipValue();
+			fail();
+		} catch (ParseException e) {
+			assertNotNull(e.getMessage());
+		}
+	}
+
+
+	public void testSkipValueValidates() {
+
+		List<String> invalid = Arrays.asList(
+			"{\"x\":{\"a\":1,\"a\":2}}",
+			"{\"x\":[\"\\q\"]}",
+			"{\"x\":\"\\u00g0\"}",
+			"{\"x\":\"a\tb\"}",
+			"{\"x\":01}",
+			"{\"x\":-}",
+			"{\"x\":1.e5}",
+			"{\"x\":nul}"
+		);
+
+		for (String json: invalid) {
+			JSONObjectReader reader = reader(json);
+			try {
+				reader.beginObject();
+				while (reader.hasNextMember()) {
+					reader.nextName();
+					reader.skipValue();
+				}
+				reader.endObject();
+				fail(json);
+			} catch (ParseException e) {
+				assertNotNull(e.getMessage());
+			}
+		}
+	}
+}
@@ -18,6 +18,8 @@
 package com.nimbusds.jose.util;
 
 
+import java.util.*;
+
 import com.nimbusds.jose.util.Resource;
 import junit.framework.TestCase;
 
@@ -56,4 +58,35 @@ public class ResourceTest extends TestCase {
 			assertEquals("The resource content must not be null", e.getMessage());
 		}
 	}
+
+
+	public void testNoHeaders() {
+
+		Resource resource = new Resource("content", null);
+		assertTrue(resource.getHeaders().isEmpty());
+		assertNull(resource.getHeader("Cache-Control"));
+	}
+
+
+	public void testHeaders_caseInsensitive() {
+
+		Map<String, List<String>> headers = new HashMap<>();
+		headers.put(null, Collections.singletonList("HTTP/1.1 200 OK"));
+		headers.put("cache-control", Arrays.asList("public", "max-age=3600"));
+		headers.put("ETag", Collections.singletonList("\"v1\""));
+
+		Resource resource = new Resource("content", "application/json", headers);
+		assertEquals(2, resource.getHeaders().size());
+		assertEquals(Arrays.asList("public", "max-age=3600"), resource.getHeaders().get("Cache-Control"));
+		assertEquals("public", resource.getHeader("CACHE-CONTROL"));
+		assertEquals("\"v1\"", resource.getHeader("etag"));
+		assertNull(resource.getHeader("Expires"));
+
+		try {
+			resource.getHeaders().put("Expires", Collections.<String>emptyList());
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// ok
+		}
+	}
 }
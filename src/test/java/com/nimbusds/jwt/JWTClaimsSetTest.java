@@ -19,6 +19,7 @@ package com.nimbusds.jwt;
 
 
 import com.nimbusds.jose.HeaderParameterNames;
+import com.nimbusds.jose.Payload;
 import com.nimbusds.jose.util.Base64URL;
 import com.nimbusds.jose.util.JSONArrayUtils;
 import com.nimbusds.jose.util.JSONObjectUtils;
@@ -35,7 +36,7 @@ import java.util.*;
  *
  * @author Vladimir Dzhuvinov
  * @author Justin Richer
- * @version 2022-02-21
+ * @version 2026-10-15
  */
 public class JWTClaimsSetTest extends TestCase {
 
@@ -1208,4 +1209,91 @@ public class JWTClaimsSetTest extends TestCase {
                 assertTrue(JSONObjectUtils.getBoolean(jsonObjectClaim, "member-2"));
 		assertEquals(66L, JSONObjectUtils.getLong(jsonObjectClaim, "member-3"));
 	}
+
+
+	public void testParsePayload_streamed() throws ParseException {
+
+		String json = "{\"iss\":\"https://c2id.com\",\"custom\":{\"a\":[1,2.5,\"x\"]}," +
+			"\"sub\":\"alice\",\"aud\":\"client\",\"exp\":1700000000,\"nbf\":1600000000," +
+			"\"iat\":1600000000,\"jti\":\"123\",\"scope\":\"openid\"}";
+
+		JWTClaimsSet claimsSet = JWTClaimsSet.parse(new Payload(Base64URL.encode(json)), "Not JSON");
+
+		// Registered claims
+		assertEquals("https://c2id.com", claimsSet.getIssuer());
+		assertEquals("alice", claimsSet.getSubject());
+		assertEquals(Collections.singletonList("client"), claimsSet.getAudience());
+		assertEquals(new Date(1700000000_000L), claimsSet.getExpirationTime());
+		assertEquals(1700000000_000L, claimsSet.getExpirationTimeMillis());
+		assertEquals(1600000000_000L, claimsSet.getNotBeforeTimeMillis());
+		assertEquals(1600000000_000L, claimsSet.getIssueTimeMillis());
+		assertEquals("123", claimsSet.getJWTID());
+
+		// Custom claims, decoded on access
+		assertEquals("openid", claimsSet.getStringClaim("scope"));
+		assertEquals(Arrays.asList(1L, 2.5d, "x"), ((Map<?, ?>) claimsSet.getClaim("custom")).get("a"));
+
+		// Same as the JSON object parse, in the original order
+		assertEquals(JWTClaimsSet.parse(json), claimsSet);
+		assertEquals(JWTClaimsSet.parse(json).toString(), claimsSet.toString());
+		assertEquals(
+			Arrays.asList("iss", "custom", "sub", "aud", "exp", "nbf", "iat", "jti", "scope"),
+			new ArrayList<>(claimsSet.getClaims().keySet()));
+	}
+
+
+	public void testParsePayload_streamedCopyAndSerialize() throws Exception {
+
+		String json = "{\"sub\":\"alice\",\"x\":true}";
+
+		JWTClaimsSet claimsSet = JWTClaimsSet.parse(new Payload(json), "Not JSON");
+		assertEquals(JWTClaimsSet.parse(json), new JWTClaimsSet.Builder(claimsSet).build());
+
+		claimsSet = JWTClaimsSet.parse(new Payload(json), "Not JSON");
+		java.io.ByteArrayOutputStream bos = new java.io.ByteArrayOutputStream();
+		new java.io.ObjectOutputStream(bos).writeObject(claimsSet);
+		Object deserialized = new java.io.ObjectInputStream(new java.io.ByteArrayInputStream(bos.toByteArray())).readObject();
+		assertEquals(JWTClaimsSet.parse(json), deserialized);
+		assertEquals(Boolean.TRUE, ((JWTClaimsSet) deserialized).getBooleanClaim("x"));
+	}
+
+
+	public void testParsePayload_fallback() throws ParseException {
+
+		// Numeric subject, accepted for interop
+		JWTClaimsSet claimsSet = JWTClaimsSet.parse(new Payload("{\"sub\":123}"), "Not JSON");
+		assertEquals("123", claimsSet.getSubject());
+
+		// Lenient JSON
+		claimsSet = JWTClaimsSet.parse(new Payload("{'sub':'alice'}"), "Not JSON");
+		assertEquals("alice", claimsSet.getSubject());
+
+		// Invalid exp, the generic parser reports the error
+		try {
+			JWTClaimsSet.parse(new Payload("{\"exp\":\"tomorrow\"}"), "Not JSON");
+			fail();
+		} catch (ParseException e) {
+			assertEquals("Unexpected type of JSON object member with key exp", e.getMessage());
+		}
+
+		try {
+			JWTClaimsSet.parse(new Payload("not json"), "Not JSON");
+			fail();
+		} catch (ParseException e) {
+			assertEquals("Not JSON", e.getMessage());
+		}
+	}
+
+
+	public void testTimeMillis() {
+
+		JWTClaimsSet claimsSet = new JWTClaimsSet.Builder()
+			.expirationTime(new Date(1_000_500L))
+			.claim(JWTClaimNames.NOT_BEFORE, 1000L)
+			.build();
+
+		assertEquals(1_000_500L, claimsSet.getExpirationTimeMillis());
+		assertEquals(1_000_000L, claimsSet.getNotBeforeTimeMillis());
+		assertEquals(JWTClaimsSet.TIME_NOT_SPECIFIED, claimsSet.getIssueTimeMillis());
+	}
 }
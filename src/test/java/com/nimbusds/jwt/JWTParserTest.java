@@ -18,6 +18,7 @@
 package com.nimbusds.jwt;
 
 
+import java.text.ParseException;
 import java.util.Date;
 
 import junit.framework.TestCase;
@@ -26,6 +27,12 @@ import com.nimbusds.jose.Algorithm;
 import com.nimbusds.jose.EncryptionMethod;
 import com.nimbusds.jose.JWEAlgorithm;
 import com.nimbusds.jose.JWEObject;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jose.util.Base64URL;
 
 
 /**
@@ -96,4 +103,66 @@ public class JWTParserTest extends TestCase {
 		assertNull(encryptedJWT.getHeader().getType());
 		assertNull(encryptedJWT.getHeader().getContentType());
 	}
+
+
+	public void testParseSignedJWT()
+		throws Exception {
+
+		byte[] secret = new byte[32];
+		new java.security.SecureRandom().nextBytes(secret);
+
+		SignedJWT in = new SignedJWT(
+			new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("1").build(),
+			new JWTClaimsSet.Builder().subject("alice").build());
+		in.sign(new MACSigner(secret));
+
+		String s = in.serialize();
+
+		JWT jwt = JWTParser.parse(s);
+
+		assertTrue(jwt instanceof SignedJWT);
+
+		SignedJWT signedJWT = (SignedJWT)jwt;
+
+		assertEquals(JWSObject.State.SIGNED, signedJWT.getState());
+		assertEquals(JWSAlgorithm.HS256, signedJWT.getHeader().getAlgorithm());
+		assertEquals("1", signedJWT.getHeader().getKeyID());
+		assertEquals(s.substring(0, s.indexOf('.')), signedJWT.getHeader().getParsedBase64URL().toString());
+		assertEquals(s, signedJWT.getParsedString());
+		assertEquals("alice", signedJWT.getJWTClaimsSet().getSubject());
+
+		assertTrue(signedJWT.verify(new MACVerifier(secret)));
+	}
+
+
+	public void testParseExceptions() {
+
+		try {
+			JWTParser.parse("abc");
+			fail();
+		} catch (ParseException e) {
+			assertEquals("Invalid JWT serialization: Missing dot delimiter(s)", e.getMessage());
+		}
+
+		try {
+			JWTParser.parse("abc.def");
+			fail();
+		} catch (ParseException e) {
+			assertEquals("Invalid serialized unsecured/JWS/JWE object: Missing second delimiter", e.getMessage());
+		}
+
+		try {
+			JWTParser.parse(Base64URL.encode("{\"alg\":").toString() + ".def.ghi");
+			fail();
+		} catch (ParseException e) {
+			assertTrue(e.getMessage().startsWith("Invalid unsecured/JWS/JWE header: "));
+		}
+
+		try {
+			JWTParser.parse(new JWSHeader(JWSAlgorithm.HS256).toBase64URL() + ".b.c.d.e");
+			fail();
+		} catch (ParseException e) {
+			assertEquals("Unexpected number of Base64URL parts, must be three", e.getMessage());
+		}
+	}
 }
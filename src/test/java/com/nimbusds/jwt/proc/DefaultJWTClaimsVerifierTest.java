@@ -23,6 +23,7 @@ import java.util.*;
 import junit.framework.TestCase;
 
 import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.SecurityContext;
 import com.nimbusds.jwt.JWTClaimNames;
 import com.nimbusds.jwt.JWTClaimsSet;
 
@@ -600,4 +601,135 @@ public class DefaultJWTClaimsVerifierTest extends TestCase {
 			assertEquals("JWT before use time", e.getMessage());
 		}
 	}
+
+
+	private static class FixedTimeVerifier extends DefaultJWTClaimsVerifier<SecurityContext> {
+
+		@Override
+		protected Date currentTime() {
+			return new Date(60_000);
+		}
+	}
+
+
+	public void testCurrentDateOverrideInSuperclass() throws BadJWTException {
+
+		// Subclass of a subclass overriding currentTime
+		JWTClaimsSetVerifier<SecurityContext> verifier = new FixedTimeVerifier() {};
+
+		verifier.verify(
+			new JWTClaimsSet.Builder()
+				.expirationTime(new Date(60_000 + 2 * 60 * 1000))
+				.build(),
+			null);
+	}
+
+
+	public void testSubclassWithoutCurrentDateOverrideUsesSystemClock() {
+
+		JWTClaimsSetVerifier<SecurityContext> verifier = new DefaultJWTClaimsVerifier<SecurityContext>(null, null) {};
+
+		try {
+			verifier.verify(
+				new JWTClaimsSet.Builder()
+					.expirationTime(new Date(60_000 + 2 * 60 * 1000))
+					.build(),
+				null);
+			fail();
+		} catch (BadJWTException e) {
+			assertEquals("Expired JWT", e.getMessage());
+		}
+	}
+
+
+	public void testMillisecondPrecision() throws BadJWTException {
+
+		final Date t = new Date(1_000_500L);
+
+		JWTClaimsSetVerifier<SecurityContext> verifier = new DefaultJWTClaimsVerifier<SecurityContext>(null, null) {
+			@Override
+			protected Date currentTime() {
+				return t;
+			}
+		};
+		((DefaultJWTClaimsVerifier<?>) verifier).setMaxClockSkew(0);
+
+		verifier.verify(new JWTClaimsSet.Builder().expirationTime(new Date(1_000_501L)).build(), null);
+
+		try {
+			verifier.verify(new JWTClaimsSet.Builder().expirationTime(new Date(1_000_500L)).build(), null);
+			fail();
+		} catch (BadJWTException e) {
+			assertEquals("Expired JWT", e.getMessage());
+		}
+
+		verifier.verify(new JWTClaimsSet.Builder().notBeforeTime(new Date(1_000_499L)).build(), null);
+
+		try {
+			verifier.verify(new JWTClaimsSet.Builder().notBeforeTime(new Date(1_000_500L)).build(), null);
+			fail();
+		} catch (BadJWTException e) {
+			assertEquals("JWT before use time", e.getMessage());
+		}
+	}
+
+
+	public void testPreVerify() throws BadJWTException {
+
+		DefaultJWTClaimsVerifier<SecurityContext> verifier = new DefaultJWTClaimsVerifier<>(
+			"https://api.example.com",
+			new JWTClaimsSet.Builder().issuer("https://c2id.com").build(),
+			new HashSet<>(Arrays.asList("exp", "sub")));
+
+		Date tomorrow = new Date(new Date().getTime() + 24 * 60 * 60 * 1000);
+
+		// Missing required claims are left to the verification
+		verifier.preVerify(new JWTClaimsSet.Builder().audience("https://api.example.com").build(), null);
+
+		verifier.preVerify(new JWTClaimsSet.Builder()
+			.issuer("https://c2id.com")
+			.audience("https://api.example.com")
+			.expirationTime(tomorrow)
+			.build(), null);
+
+		try {
+			verifier.preVerify(new JWTClaimsSet.Builder()
+				.issuer("https://c2id.com")
+				.expirationTime(tomorrow)
+				.build(), null);
+			fail();
+		} catch (BadJWTException e) {
+			assertEquals("JWT missing required audience", e.getMessage());
+		}
+
+		try {
+			verifier.preVerify(new JWTClaimsSet.Builder()
+				.issuer("https://other.example.com")
+				.audience("https://api.example.com")
+				.build(), null);
+			fail();
+		} catch (BadJWTException e) {
+			assertEquals("JWT iss claim has value https://other.example.com, must be https://c2id.com", e.getMessage());
+		}
+
+		try {
+			verifier.preVerify(new JWTClaimsSet.Builder()
+				.audience("https://api.example.com")
+				.expirationTime(new Date(60_000))
+				.build(), null);
+			fail();
+		} catch (BadJWTException e) {
+			assertEquals("Expired JWT", e.getMessage());
+		}
+
+		try {
+			verifier.preVerify(new JWTClaimsSet.Builder()
+				.audience("https://api.example.com")
+				.notBeforeTime(tomorrow)
+				.build(), null);
+			fail();
+		} catch (BadJWTException e) {
+			assertEquals("JWT before use time", e.getMessage());
+		}
+	}
 }
@@ -26,6 +26,8 @@ import com.nimbusds.jose.crypto.RSAEncrypter;
 import com.nimbusds.jose.crypto.bc.BouncyCastleProviderSingleton;
 import com.nimbusds.jose.crypto.factories.DefaultJWEDecrypterFactory;
 import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.OctetSequenceKey;
 import com.nimbusds.jose.jwk.RSAKey;
@@ -33,6 +35,8 @@ import com.nimbusds.jose.jwk.gen.OctetSequenceKeyGenerator;
 import com.nimbusds.jose.jwk.source.*;
 import com.nimbusds.jose.proc.*;
 import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jose.util.Resource;
+import com.nimbusds.jose.util.ResourceRetriever;
 import com.nimbusds.jwt.*;
 import junit.framework.TestCase;
 
@@ -42,17 +46,25 @@ import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.net.URL;
+import java.nio.channels.CompletionHandler;
 import java.security.*;
 import java.security.interfaces.RSAPublicKey;
 import java.security.spec.KeySpec;
 import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
  * Tests the default JWT processor.
  *
- * @version 2023-07-22
+ * @version 2026-10-15
  */
 public class DefaultJWTProcessorTest extends TestCase {
 
@@ -71,6 +83,11 @@ public class DefaultJWTProcessorTest extends TestCase {
 		assertTrue(processor.getJWEDecrypterFactory() instanceof DefaultJWEDecrypterFactory);
 
 		assertTrue(processor.getJWTClaimsSetVerifier() instanceof DefaultJWTClaimsVerifier);
+
+		DefaultJWTProcessor<SecurityContext> defaultProcessor = (DefaultJWTProcessor<SecurityContext>) processor;
+		assertFalse(defaultProcessor.isClaimsSetPreVerification());
+		defaultProcessor.setClaimsSetPreVerification(true);
+		assertTrue(defaultProcessor.isClaimsSetPreVerification());
 	}
 
 
@@ -1373,4 +1390,572 @@ public class DefaultJWTProcessorTest extends TestCase {
 			assertEquals("Plain JWT rejected: No JWS header typ (type) verifier is configured", e.getMessage());
 		}
 	}
+
+
+	public void testClaimsSetPreVerification()
+		throws Exception {
+
+		final Date now = new Date();
+		final Date yesterday = new Date(now.getTime() - 24*60*60*1000);
+		final Date tomorrow = new Date(now.getTime() + 24*60*60*1000);
+
+		final SecretKey key = new SecretKeySpec(new OctetSequenceKeyGenerator(256).generate().toByteArray(), "HMAC");
+
+		final AtomicInteger keySelections = new AtomicInteger();
+
+		DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+		processor.setJWSKeySelector(new JWSKeySelector<SecurityContext>() {
+			@Override
+			public List<? extends Key> selectJWSKeys(JWSHeader header, SecurityContext context) {
+				keySelections.incrementAndGet();
+				return Collections.singletonList(key);
+			}
+		});
+		processor.setJWTClaimsSetVerifier(new DefaultJWTClaimsVerifier<>(
+			"https://api.example.com",
+			new JWTClaimsSet.Builder().issuer("https://c2id.com").build(),
+			null));
+
+		SignedJWT expired = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder()
+			.issuer("https://c2id.com")
+			.audience("https://api.example.com")
+			.expirationTime(yesterday)
+			.build());
+		expired.sign(new MACSigner(key));
+
+		SignedJWT otherAudience = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder()
+			.issuer("https://c2id.com")
+			.audience("https://other.example.com")
+			.expirationTime(tomorrow)
+			.build());
+		otherAudience.sign(new MACSigner(key));
+
+		SignedJWT otherIssuer = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder()
+			.issuer("https://evil.example.com")
+			.audience("https://api.example.com")
+			.expirationTime(tomorrow)
+			.build());
+		otherIssuer.sign(new MACSigner(key));
+
+		// Disabled, the keys are selected and the signature verified
+		try {
+			processor.process(expired.serialize(), null);
+			fail();
+		} catch (BadJWTException e) {
+			assertEquals("Expired JWT", e.getMessage());
+		}
+		assertEquals(1, keySelections.get());
+
+		// Enabled, rejected with the same messages before the key selection
+		processor.setClaimsSetPreVerification(true);
+
+		try {
+			processor.process(expired.serialize(), null);
+			fail();
+		} catch (BadJWTException e) {
+			assertEquals("Expired JWT", e.getMessage());
+		}
+
+		try {
+			processor.process(otherAudience.serialize(), null);
+			fail();
+		} catch (BadJWTException e) {
+			assertEquals("JWT audience rejected: [https://other.example.com]", e.getMessage());
+		}
+
+		try {
+			processor.process(otherIssuer.serialize(), null);
+			fail();
+		} catch (BadJWTException e) {
+			assertEquals("JWT iss claim has value https://evil.example.com, must be https://c2id.com", e.getMessage());
+		}
+
+		assertEquals(1, keySelections.get());
+
+		// Valid JWT, the signature is verified
+		SignedJWT valid = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder()
+			.issuer("https://c2id.com")
+			.audience("https://api.example.com")
+			.expirationTime(tomorrow)
+			.build());
+		valid.sign(new MACSigner(key));
+
+		assertEquals(valid.getJWTClaimsSet().toString(), processor.process(valid.serialize(), null).toString());
+		assertEquals(2, keySelections.get());
+
+		// Invalid signature not accepted by the pre-verification
+		SignedJWT forged = new SignedJWT(valid.getHeader().toBase64URL(), valid.getPayload().toBase64URL(), Base64URL.encode("forged"));
+		try {
+			processor.process(forged, null);
+			fail();
+		} catch (BadJWSException e) {
+			assertEquals("Signed JWT rejected: Invalid signature", e.getMessage());
+		}
+	}
+
+
+	private static class ResultHandler implements CompletionHandler<JWTClaimsSet, SecurityContext> {
+
+		final CountDownLatch done = new CountDownLatch(1);
+		volatile JWTClaimsSet claimsSet;
+		volatile Throwable exception;
+		volatile Thread thread;
+
+		@Override
+		public void completed(JWTClaimsSet claimsSet, SecurityContext context) {
+			this.claimsSet = claimsSet;
+			thread = Thread.currentThread();
+			done.countDown();
+		}
+
+		@Override
+		public void failed(Throwable e, SecurityContext context) {
+			exception = e;
+			thread = Thread.currentThread();
+			done.countDown();
+		}
+	}
+
+
+	private static final Executor NO_EXECUTOR = new Executor() {
+		@Override
+		public void execute(Runnable command) {
+			fail("Unexpected executor dispatch");
+		}
+	};
+
+
+	public void testProcessAsync_inline()
+		throws Exception {
+
+		OctetSequenceKey jwk = new OctetSequenceKeyGenerator(256).keyID("1").generate();
+
+		ConfigurableJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+		processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.HS256, new ImmutableJWKSet<>(new JWKSet(jwk))));
+
+		JWTClaimsSet claimsSet = new JWTClaimsSet.Builder().subject("alice").build();
+		SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("1").build(), claimsSet);
+		jwt.sign(new MACSigner(jwk));
+
+		ResultHandler handler = new ResultHandler();
+		((AsyncJWTProcessor<SecurityContext>) processor).processAsync(jwt.serialize(), null, NO_EXECUTOR, handler);
+		assertEquals(0, handler.done.getCount());
+		assertEquals(Thread.currentThread(), handler.thread);
+		assertEquals("alice", handler.claimsSet.getSubject());
+		assertNull(handler.exception);
+
+		// Bad signature
+		SignedJWT otherJWT = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("1").build(), claimsSet);
+		otherJWT.sign(new MACSigner(new OctetSequenceKeyGenerator(256).generate()));
+		handler = new ResultHandler();
+		((AsyncJWTProcessor<SecurityContext>) processor).processAsync(otherJWT, null, NO_EXECUTOR, handler);
+		assertEquals(Thread.currentThread(), handler.thread);
+		assertNull(handler.claimsSet);
+		assertTrue(handler.exception instanceof BadJWSException);
+		assertEquals("Signed JWT rejected: Invalid signature", handler.exception.getMessage());
+
+		// Parse exception
+		handler = new ResultHandler();
+		((AsyncJWTProcessor<SecurityContext>) processor).processAsync("invalid", null, NO_EXECUTOR, handler);
+		assertTrue(handler.exception instanceof ParseException);
+	}
+
+
+	public void testProcessAsync_retrievedKeysNotReselected()
+		throws Exception {
+
+		final OctetSequenceKey jwk = new OctetSequenceKeyGenerator(256).keyID("1").generate();
+
+		final AtomicInteger asyncRetrievals = new AtomicInteger();
+
+		ConfigurableJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+		processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.HS256, new AsyncJWKSource<SecurityContext>() {
+			@Override
+			public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+				// Would block the calling thread
+				throw new AssertionError("Unexpected blocking JWK retrieval");
+			}
+
+			@Override
+			public void getAsync(JWKSelector jwkSelector, SecurityContext context, Executor executor, CompletionHandler<List<JWK>, ? super SecurityContext> handler) {
+				asyncRetrievals.incrementAndGet();
+				handler.completed(jwkSelector.select(new JWKSet(jwk)), context);
+			}
+		}));
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("1").build(), new JWTClaimsSet.Builder().subject("alice").build());
+		jwt.sign(new MACSigner(jwk));
+
+		ResultHandler handler = new ResultHandler();
+		((AsyncJWTProcessor<SecurityContext>) processor).processAsync(jwt.serialize(), null, NO_EXECUTOR, handler);
+		assertEquals(Thread.currentThread(), handler.thread);
+		assertNull(handler.exception);
+		assertEquals("alice", handler.claimsSet.getSubject());
+		assertEquals(1, asyncRetrievals.get());
+
+		// No matching key
+		SignedJWT otherJWT = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("2").build(), new JWTClaimsSet.Builder().subject("alice").build());
+		otherJWT.sign(new MACSigner(jwk));
+		handler = new ResultHandler();
+		((AsyncJWTProcessor<SecurityContext>) processor).processAsync(otherJWT, null, NO_EXECUTOR, handler);
+		assertEquals("Signed JWT rejected: Another algorithm expected, or no matching key(s) found", handler.exception.getMessage());
+		assertEquals(2, asyncRetrievals.get());
+	}
+
+
+	private static final Executor DIRECT_EXECUTOR = new Executor() {
+		@Override
+		public void execute(Runnable command) {
+			command.run();
+		}
+	};
+
+
+	private static AsyncJWKSource<SecurityContext> asyncJWKSource(final JWK jwk) {
+
+		return new AsyncJWKSource<SecurityContext>() {
+			@Override
+			public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+				return jwkSelector.select(new JWKSet(jwk));
+			}
+
+			@Override
+			public void getAsync(JWKSelector jwkSelector, SecurityContext context, Executor executor, CompletionHandler<List<JWK>, ? super SecurityContext> handler) {
+				handler.completed(jwkSelector.select(new JWKSet(jwk)), context);
+			}
+		};
+	}
+
+
+	public void testProcessAsync_processorKeySelectionOverrideApplies()
+		throws Exception {
+
+		OctetSequenceKey jwk = new OctetSequenceKeyGenerator(256).keyID("1").generate();
+
+		DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<SecurityContext>() {
+			@Override
+			protected List<? extends Key> selectKeys(JWSHeader header, JWTClaimsSet claimsSet, SecurityContext context) {
+				// Reject all keys
+				return Collections.emptyList();
+			}
+		};
+		processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.HS256, asyncJWKSource(jwk)));
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("1").build(), new JWTClaimsSet.Builder().subject("alice").build());
+		jwt.sign(new MACSigner(jwk));
+
+		ResultHandler handler = new ResultHandler();
+		processor.processAsync(jwt, null, DIRECT_EXECUTOR, handler);
+		assertNull(handler.claimsSet);
+		assertEquals("Signed JWT rejected: Another algorithm expected, or no matching key(s) found", handler.exception.getMessage());
+	}
+
+
+	public void testProcessAsync_keySelectorOverrideApplies()
+		throws Exception {
+
+		OctetSequenceKey jwk = new OctetSequenceKeyGenerator(256).keyID("1").generate();
+
+		ConfigurableJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+		processor.setJWSKeySelector(new JWSVerificationKeySelector<SecurityContext>(JWSAlgorithm.HS256, asyncJWKSource(jwk)) {
+			@Override
+			public List<Key> selectJWSKeys(JWSHeader jwsHeader, SecurityContext context) {
+				// Reject all keys
+				return Collections.emptyList();
+			}
+		});
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("1").build(), new JWTClaimsSet.Builder().subject("alice").build());
+		jwt.sign(new MACSigner(jwk));
+
+		ResultHandler handler = new ResultHandler();
+		((AsyncJWTProcessor<SecurityContext>) processor).processAsync(jwt, null, DIRECT_EXECUTOR, handler);
+		assertNull(handler.claimsSet);
+		assertEquals("Signed JWT rejected: Another algorithm expected, or no matching key(s) found", handler.exception.getMessage());
+	}
+
+
+	public void testProcessAsync_customAlgorithm_failedThroughHandler()
+		throws Exception {
+
+		JWSAlgorithm customAlg = new JWSAlgorithm("CUSTOM");
+
+		OctetSequenceKey jwk = new OctetSequenceKeyGenerator(256).keyID("1").generate();
+
+		ConfigurableJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+		processor.setJWSKeySelector(new JWSVerificationKeySelector<>(customAlg, asyncJWKSource(jwk)));
+
+		SignedJWT jwt = SignedJWT.parse(
+			new JWSHeader.Builder(customAlg).keyID("1").build().toBase64URL() + "." +
+			new JWTClaimsSet.Builder().subject("alice").build().toPayload().toBase64URL() + "." +
+			Base64URL.encode("signature"));
+
+		ResultHandler handler = new ResultHandler();
+		((AsyncJWTProcessor<SecurityContext>) processor).processAsync(jwt, null, DIRECT_EXECUTOR, handler);
+		assertNull(handler.claimsSet);
+		assertEquals("Signed JWT rejected: Another algorithm expected, or no matching key(s) found", handler.exception.getMessage());
+	}
+
+
+	public void testProcessAsync_executor()
+		throws Exception {
+
+		final OctetSequenceKey jwk = new OctetSequenceKeyGenerator(256).keyID("1").generate();
+
+		final AtomicInteger retrievals = new AtomicInteger();
+
+		ConfigurableJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+		processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.HS256, new JWKSource<SecurityContext>() {
+			@Override
+			public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+				retrievals.incrementAndGet();
+				return jwkSelector.select(new JWKSet(jwk));
+			}
+		}));
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("1").build(), new JWTClaimsSet.Builder().subject("alice").build());
+		jwt.sign(new MACSigner(jwk));
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			ResultHandler handler = new ResultHandler();
+			((AsyncJWTProcessor<SecurityContext>) processor).processAsync(jwt.serialize(), null, executor, handler);
+			assertTrue(handler.done.await(1, TimeUnit.MINUTES));
+			assertNotSame(Thread.currentThread(), handler.thread);
+			assertEquals("alice", handler.claimsSet.getSubject());
+			assertEquals(1, retrievals.get());
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	
+	public void testProcessAll()
+		throws Exception {
+
+		final OctetSequenceKey jwk1 = new OctetSequenceKeyGenerator(256).keyID("1").generate();
+		final OctetSequenceKey jwk2 = new OctetSequenceKeyGenerator(256).keyID("2").generate();
+
+		final AtomicInteger retrievals = new AtomicInteger();
+
+		DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+		processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.HS256, new JWKSource<SecurityContext>() {
+			@Override
+			public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+				retrievals.incrementAndGet();
+				return jwkSelector.select(new JWKSet(Arrays.asList((JWK) jwk1, jwk2)));
+			}
+		}));
+
+		List<String> jwtStrings = new ArrayList<>();
+
+		for (int i=0; i < 1000; i++) {
+			OctetSequenceKey jwk = i % 2 == 0 ? jwk1 : jwk2;
+			SignedJWT jwt = new SignedJWT(
+				new JWSHeader.Builder(JWSAlgorithm.HS256).keyID(jwk.getKeyID()).build(),
+				new JWTClaimsSet.Builder().subject("user-" + i).build());
+			jwt.sign(new MACSigner(jwk));
+			jwtStrings.add(jwt.serialize());
+		}
+
+		// Bad signature
+		SignedJWT badJWT = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("1").build(), new JWTClaimsSet.Builder().subject("bad").build());
+		badJWT.sign(new MACSigner(new OctetSequenceKeyGenerator(256).generate()));
+		jwtStrings.add(badJWT.serialize());
+
+		// Unknown key
+		SignedJWT unknownKeyJWT = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("3").build(), new JWTClaimsSet.Builder().subject("unknown").build());
+		unknownKeyJWT.sign(new MACSigner(jwk1));
+		jwtStrings.add(unknownKeyJWT.serialize());
+
+		// Expired
+		SignedJWT expiredJWT = new SignedJWT(
+			new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("1").build(),
+			new JWTClaimsSet.Builder().subject("expired").expirationTime(new Date(new Date().getTime() - 3600_000L)).build());
+		expiredJWT.sign(new MACSigner(jwk1));
+		jwtStrings.add(expiredJWT.serialize());
+
+		// Parse exception
+		jwtStrings.add("invalid");
+
+		List<JWTProcessingResult> results = processor.processAll(jwtStrings, null);
+		assertEquals(jwtStrings.size(), results.size());
+
+		for (int i=0; i < 1000; i++) {
+			assertTrue(results.get(i).indicatesSuccess());
+			assertEquals("user-" + i, results.get(i).getJWTClaimsSet().getSubject());
+			assertNull(results.get(i).getException());
+		}
+
+		assertFalse(results.get(1000).indicatesSuccess());
+		assertNull(results.get(1000).getJWTClaimsSet());
+		assertTrue(results.get(1000).getException() instanceof BadJWSException);
+		assertEquals("Signed JWT rejected: Invalid signature", results.get(1000).getException().getMessage());
+
+		assertTrue(results.get(1001).getException() instanceof BadJOSEException);
+		assertEquals("Signed JWT rejected: Another algorithm expected, or no matching key(s) found", results.get(1001).getException().getMessage());
+
+		assertTrue(results.get(1002).getException() instanceof BadJWTException);
+		assertEquals("Expired JWT", results.get(1002).getException().getMessage());
+
+		assertTrue(results.get(1003).getException() instanceof ParseException);
+
+		// Keys selected once per kid
+		assertEquals(3, retrievals.get());
+	}
+
+
+	public void testProcessAll_executorService()
+		throws Exception {
+
+		OctetSequenceKey jwk = new OctetSequenceKeyGenerator(256).keyID("1").generate();
+
+		DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+		processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.HS256, new ImmutableJWKSet<>(new JWKSet(jwk))));
+
+		List<String> jwtStrings = new ArrayList<>();
+		for (int i=0; i < 10; i++) {
+			SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("1").build(), new JWTClaimsSet.Builder().subject("user-" + i).build());
+			jwt.sign(new MACSigner(jwk));
+			jwtStrings.add(jwt.serialize());
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			List<JWTProcessingResult> results = processor.processAll(jwtStrings, null, executor);
+			for (int i=0; i < 10; i++) {
+				assertEquals("user-" + i, results.get(i).getJWTClaimsSet().getSubject());
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		// Rejected by executor
+		List<JWTProcessingResult> results = processor.processAll(jwtStrings, null, executor);
+		assertEquals(10, results.size());
+		for (JWTProcessingResult result: results) {
+			assertTrue(result.getException() instanceof RejectedExecutionException);
+		}
+		
+		assertTrue(processor.processAll(Collections.<String>emptyList(), null).isEmpty());
+	}
+
+
+	public void testProcessAll_signedJWTProcessingOverrideApplies()
+		throws Exception {
+
+		OctetSequenceKey jwk = new OctetSequenceKeyGenerator(256).keyID("1").generate();
+
+		DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<SecurityContext>() {
+			@Override
+			public JWTClaimsSet process(SignedJWT signedJWT, SecurityContext context)
+				throws BadJOSEException, JOSEException {
+
+				JWTClaimsSet claimsSet = super.process(signedJWT, context);
+				if ("bob".equals(claimsSet.getSubject())) {
+					throw new BadJWTException("Subject rejected");
+				}
+				return claimsSet;
+			}
+		};
+		processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.HS256, new ImmutableJWKSet<>(new JWKSet(jwk))));
+
+		List<String> jwtStrings = new ArrayList<>();
+		for (String subject: Arrays.asList("alice", "bob")) {
+			SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("1").build(), new JWTClaimsSet.Builder().subject(subject).build());
+			jwt.sign(new MACSigner(jwk));
+			jwtStrings.add(jwt.serialize());
+		}
+
+		List<JWTProcessingResult> results = processor.processAll(jwtStrings, null);
+		assertEquals("alice", results.get(0).getJWTClaimsSet().getSubject());
+		assertEquals("Subject rejected", results.get(1).getException().getMessage());
+	}
+
+
+	public void testProcessAll_noJWSKeySelector()
+		throws Exception {
+
+		OctetSequenceKey jwk = new OctetSequenceKeyGenerator(256).keyID("1").generate();
+
+		SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("1").build(), new JWTClaimsSet.Builder().subject("alice").build());
+		jwt.sign(new MACSigner(jwk));
+
+		List<JWTProcessingResult> results = new DefaultJWTProcessor<>().processAll(Collections.singletonList(jwt.serialize()), null);
+		assertEquals("Signed JWT rejected: No JWS key selector is configured", results.get(0).getException().getMessage());
+	}
+	
+	
+	public void testMultiTenantJWKSourceRegistryKeySelector()
+		throws Exception {
+		
+		final Map<String, String> jwkSets = new HashMap<>();
+		
+		OctetSequenceKey key1 = new OctetSequenceKeyGenerator(256).keyID("1").generate();
+		OctetSequenceKey key2 = new OctetSequenceKeyGenerator(256).keyID("2").generate();
+		
+		jwkSets.put("https://one.example.com/jwks.json", new JWKSet(key1).toString(false));
+		jwkSets.put("https://two.example.com/jwks.json", new JWKSet(key2).toString(false));
+		
+		JWKSourceRegistry<SecurityContext> registry = new JWKSourceRegistry.Builder<>()
+			.resourceRetriever(new ResourceRetriever() {
+				@Override
+				public Resource retrieveResource(final URL url) {
+					return new Resource(jwkSets.get(url.toString()), "application/json");
+				}
+			})
+			.build();
+		registry.register("https://one.example.com", new URL("https://one.example.com/jwks.json"));
+		registry.register("https://two.example.com", new URL("https://two.example.com/jwks.json"));
+		
+		JWKSourceRegistryJWSKeySelector<SecurityContext> keySelector = new JWKSourceRegistryJWSKeySelector<>(Collections.singleton(JWSAlgorithm.HS256), registry);
+		assertEquals(Collections.singleton(JWSAlgorithm.HS256), keySelector.getExpectedJWSAlgorithms());
+		assertSame(registry, keySelector.getJWKSourceRegistry());
+		
+		DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+		processor.setJWTClaimsSetAwareJWSKeySelector(keySelector);
+		
+		SignedJWT jwt1 = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("1").build(), new JWTClaimsSet.Builder().issuer("https://one.example.com").subject("alice").build());
+		jwt1.sign(new MACSigner(key1));
+		assertEquals("alice", processor.process(jwt1.serialize(), null).getSubject());
+		
+		SignedJWT jwt2 = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("2").build(), new JWTClaimsSet.Builder().issuer("https://two.example.com").subject("bob").build());
+		jwt2.sign(new MACSigner(key2));
+		assertEquals("bob", processor.process(jwt2.serialize(), null).getSubject());
+		
+		// Key of another tenant
+		SignedJWT jwt3 = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("1").build(), new JWTClaimsSet.Builder().issuer("https://two.example.com").subject("mallory").build());
+		jwt3.sign(new MACSigner(key1));
+		try {
+			processor.process(jwt3.serialize(), null);
+			fail();
+		} catch (BadJOSEException e) {
+			assertEquals("Signed JWT rejected: Another algorithm expected, or no matching key(s) found", e.getMessage());
+		}
+		
+		// Unregistered issuer
+		SignedJWT jwt4 = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("1").build(), new JWTClaimsSet.Builder().issuer("https://unknown.example.com").build());
+		jwt4.sign(new MACSigner(key1));
+		try {
+			processor.process(jwt4.serialize(), null);
+			fail();
+		} catch (BadJOSEException e) {
+			assertEquals("Signed JWT rejected: Another algorithm expected, or no matching key(s) found", e.getMessage());
+		}
+		
+		// The converted keys are retained between the calls
+		List<? extends Key> keys = keySelector.selectKeys(jwt1.getHeader(), jwt1.getJWTClaimsSet(), null);
+		assertEquals(1, keys.size());
+		assertSame(keys.get(0), keySelector.selectKeys(jwt1.getHeader(), jwt1.getJWTClaimsSet(), null).get(0));
+		
+		// Re-registration evicts the JWK source, new key selector
+		registry.unregister("https://one.example.com");
+		registry.register("https://one.example.com", new URL("https://one.example.com/jwks.json"));
+		List<? extends Key> reselectedKeys = keySelector.selectKeys(jwt1.getHeader(), jwt1.getJWTClaimsSet(), null);
+		assertEquals(1, reselectedKeys.size());
+		assertNotSame(keys.get(0), reselectedKeys.get(0));
+		assertEquals(keys.get(0), reselectedKeys.get(0));
+		
+		registry.close();
+	}
 }
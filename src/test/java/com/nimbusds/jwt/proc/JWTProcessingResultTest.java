@@ -0,0 +1,66 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jwt.proc;
+
+
+import junit.framework.TestCase;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+
+public class JWTProcessingResultTest extends TestCase {
+	
+	
+	public void testSuccess() {
+		
+		JWTClaimsSet claimsSet = new JWTClaimsSet.Builder().subject("alice").build();
+		JWTProcessingResult result = new JWTProcessingResult(claimsSet);
+		assertTrue(result.indicatesSuccess());
+		assertEquals(claimsSet, result.getJWTClaimsSet());
+		assertNull(result.getException());
+	}
+	
+	
+	public void testFailure() {
+		
+		JOSEException exception = new JOSEException("Failure");
+		JWTProcessingResult result = new JWTProcessingResult(exception);
+		assertFalse(result.indicatesSuccess());
+		assertNull(result.getJWTClaimsSet());
+		assertEquals(exception, result.getException());
+	}
+	
+	
+	public void testRejectNull() {
+		
+		try {
+			new JWTProcessingResult((JWTClaimsSet) null);
+			fail();
+		} catch (NullPointerException e) {
+			// ok
+		}
+		
+		try {
+			new JWTProcessingResult((Exception) null);
+			fail();
+		} catch (NullPointerException e) {
+			// ok
+		}
+	}
+}
@@ -0,0 +1,371 @@
+/*
+ * nimbus-jose-jwt
+ *
+ * Copyright 2012-2026, Connect2id Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use
+ * this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.nimbusds.jwt.proc;
+
+
+import java.security.Key;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.gen.OctetSequenceKeyGenerator;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.proc.SimpleSecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.PlainJWT;
+import com.nimbusds.jwt.SignedJWT;
+
+
+public class VerifiedJWTCacheTest extends TestCase {
+	
+	
+	private OctetSequenceKey jwk;
+	
+	private AtomicReference<JWKSet> jwkSet;
+	
+	private AtomicInteger verifierCount;
+	
+	private AtomicInteger claimsVerifierCount;
+	
+	private DefaultJWTProcessor<SecurityContext> processor;
+	
+	
+	@Override
+	public void setUp() throws Exception {
+		
+		jwk = new OctetSequenceKeyGenerator(256).keyID("1").generate();
+		jwkSet = new AtomicReference<>(new JWKSet(jwk));
+		verifierCount = new AtomicInteger();
+		claimsVerifierCount = new AtomicInteger();
+		
+		processor = new DefaultJWTProcessor<>();
+		processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.HS256, new JWKSource<SecurityContext>() {
+			@Override
+			public List<JWK> get(final JWKSelector jwkSelector, final SecurityContext context) {
+				return jwkSelector.select(jwkSet.get());
+			}
+		}));
+		processor.setJWSVerifierFactory(new DefaultJWSVerifierFactory() {
+			@Override
+			public JWSVerifier createJWSVerifier(final JWSHeader header, final Key key) throws JOSEException {
+				verifierCount.incrementAndGet();
+				return super.createJWSVerifier(header, key);
+			}
+		});
+		processor.setJWTClaimsSetVerifier(new DefaultJWTClaimsVerifier<SecurityContext>(null, null) {
+			@Override
+			public void verify(final JWTClaimsSet claimsSet, final SecurityContext context) throws BadJWTException {
+				claimsVerifierCount.incrementAndGet();
+				super.verify(claimsSet, context);
+			}
+		});
+	}
+	
+	
+	private String createJWT(final OctetSequenceKey key, final JWTClaimsSet claimsSet)
+		throws JOSEException {
+		
+		SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID(key.getKeyID()).build(), claimsSet);
+		jwt.sign(new MACSigner(key));
+		return jwt.serialize();
+	}
+	
+	
+	public void testDefaultConstructor() {
+		
+		VerifiedJWTCache<SecurityContext> cache = new VerifiedJWTCache<>(processor);
+		assertEquals(processor, cache.getJWTProcessor());
+		assertEquals(VerifiedJWTCache.DEFAULT_MAX_SIZE, cache.getMaxSize());
+		assertEquals(VerifiedJWTCache.DEFAULT_MAX_TIME_TO_LIVE, cache.getMaxTimeToLive());
+		assertEquals(0, cache.size());
+		assertEquals(0L, cache.getHitCount());
+		assertEquals(0L, cache.getMissCount());
+	}
+	
+	
+	public void testRejectIllegalArguments() {
+		
+		try {
+			new VerifiedJWTCache<>(processor, 0, 1000L);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The max cache size must be positive", e.getMessage());
+		}
+		
+		try {
+			new VerifiedJWTCache<>(processor, 10, 0L);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The max time-to-live must be positive", e.getMessage());
+		}
+	}
+	
+	
+	public void testHitAndMiss()
+		throws Exception {
+		
+		VerifiedJWTCache<SecurityContext> cache = new VerifiedJWTCache<>(processor);
+		
+		String jwt = createJWT(jwk, new JWTClaimsSet.Builder().subject("alice").build());
+		
+		assertEquals("alice", cache.process(jwt, null).getSubject());
+		assertEquals(1L, cache.getMissCount());
+		assertEquals(0L, cache.getHitCount());
+		assertEquals(1, cache.size());
+		assertEquals(1, verifierCount.get());
+		assertEquals(1, claimsVerifierCount.get());
+		
+		for (int i=1; i <= 10; i++) {
+			assertEquals("alice", cache.process(jwt, null).getSubject());
+			assertEquals(1L, cache.getMissCount());
+			assertEquals(i, cache.getHitCount());
+			// The claims are verified again, the signature not
+			assertEquals(1, verifierCount.get());
+			assertEquals(1 + i, claimsVerifierCount.get());
+		}
+		
+		// Parsed signed JWT
+		assertEquals("alice", cache.process(SignedJWT.parse(jwt), null).getSubject());
+		assertEquals(11L, cache.getHitCount());
+		
+		// Another JWT
+		assertEquals("bob", cache.process(createJWT(jwk, new JWTClaimsSet.Builder().subject("bob").build()), null).getSubject());
+		assertEquals(2L, cache.getMissCount());
+		assertEquals(2, cache.size());
+		
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+	
+	
+	public void testBadJWTNotCached()
+		throws Exception {
+		
+		VerifiedJWTCache<SecurityContext> cache = new VerifiedJWTCache<>(processor);
+		
+		OctetSequenceKey otherJWK = new OctetSequenceKeyGenerator(256).keyID("1").generate();
+		String jwt = createJWT(otherJWK, new JWTClaimsSet.Builder().subject("alice").build());
+		
+		for (int i=1; i <= 2; i++) {
+			try {
+				cache.process(jwt, null);
+				fail();
+			} catch (BadJOSEException e) {
+				assertEquals("Signed JWT rejected: Invalid signature", e.getMessage());
+			}
+			assertEquals(i, cache.getMissCount());
+			assertEquals(0, cache.size());
+		}
+	}
+	
+	
+	public void testExpiration()
+		throws Exception {
+		
+		VerifiedJWTCache<SecurityContext> cache = new VerifiedJWTCache<>(processor, 10, 50L);
+		
+		String jwt = createJWT(jwk, new JWTClaimsSet.Builder().subject("alice").build());
+		
+		cache.process(jwt, null);
+		cache.process(jwt, null);
+		assertEquals(1L, cache.getMissCount());
+		assertEquals(1L, cache.getHitCount());
+		
+		Thread.sleep(100L);
+		
+		cache.process(jwt, null);
+		assertEquals(2L, cache.getMissCount());
+		assertEquals(1L, cache.getHitCount());
+		assertEquals(2, verifierCount.get());
+	}
+	
+	
+	public void testExpiredJWTNotCached()
+		throws Exception {
+		
+		VerifiedJWTCache<SecurityContext> cache = new VerifiedJWTCache<>(processor);
+		
+		// Expired, but within the permitted clock skew
+		String jwt = createJWT(jwk, new JWTClaimsSet.Builder()
+			.subject("alice")
+			.expirationTime(new Date(new Date().getTime() - 10_000L))
+			.build());
+		
+		assertEquals("alice", cache.process(jwt, null).getSubject());
+		assertEquals(0, cache.size());
+	}
+	
+	
+	public void testKeyRotation()
+		throws Exception {
+		
+		VerifiedJWTCache<SecurityContext> cache = new VerifiedJWTCache<>(processor);
+		
+		String jwt = createJWT(jwk, new JWTClaimsSet.Builder().subject("alice").build());
+		
+		cache.process(jwt, null);
+		cache.process(jwt, null);
+		assertEquals(1L, cache.getHitCount());
+		
+		// New key added, entry still valid
+		OctetSequenceKey newJWK = new OctetSequenceKeyGenerator(256).keyID("2").generate();
+		jwkSet.set(new JWKSet(Arrays.asList((JWK) jwk, newJWK)));
+		cache.process(jwt, null);
+		assertEquals(2L, cache.getHitCount());
+		
+		// Old key removed
+		jwkSet.set(new JWKSet(newJWK));
+		try {
+			cache.process(jwt, null);
+			fail();
+		} catch (BadJOSEException e) {
+			assertEquals("Signed JWT rejected: Another algorithm expected, or no matching key(s) found", e.getMessage());
+		}
+		assertEquals(2L, cache.getHitCount());
+		assertEquals(2L, cache.getMissCount());
+		assertEquals(0, cache.size());
+	}
+	
+	
+	public void testKeyRotation_claimsSetAwareKeySelector()
+		throws Exception {
+		
+		DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+		processor.setJWTClaimsSetAwareJWSKeySelector(new JWTClaimsSetAwareJWSKeySelector<SecurityContext>() {
+			@Override
+			public List<? extends Key> selectKeys(final JWSHeader header, final JWTClaimsSet claimsSet, final SecurityContext context)
+				throws KeySourceException {
+				
+				List<Key> keys = new LinkedList<>();
+				for (JWK k: jwkSet.get().getKeys()) {
+					try {
+						keys.add(k.toOctetSequenceKey().toSecretKey());
+					} catch (Exception e) {
+						throw new KeySourceException(e.getMessage(), e);
+					}
+				}
+				return keys;
+			}
+		});
+		
+		VerifiedJWTCache<SecurityContext> cache = new VerifiedJWTCache<>(processor);
+		
+		String jwt = createJWT(jwk, new JWTClaimsSet.Builder().subject("alice").build());
+		
+		cache.process(jwt, null);
+		cache.process(jwt, null);
+		assertEquals(1L, cache.getHitCount());
+		assertEquals(1, cache.size());
+		
+		// Old key removed
+		jwkSet.set(new JWKSet(new OctetSequenceKeyGenerator(256).keyID("2").generate()));
+		try {
+			cache.process(jwt, null);
+			fail();
+		} catch (BadJOSEException e) {
+			assertEquals("Signed JWT rejected: Invalid signature", e.getMessage());
+		}
+		assertEquals(1L, cache.getHitCount());
+		assertEquals(2L, cache.getMissCount());
+		assertEquals(0, cache.size());
+	}
+	
+	
+	public void testContextDependentKeySelection()
+		throws Exception {
+		
+		DefaultJWTProcessor<SimpleSecurityContext> processor = new DefaultJWTProcessor<>();
+		processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.HS256, new JWKSource<SimpleSecurityContext>() {
+			@Override
+			public List<JWK> get(final JWKSelector jwkSelector, final SimpleSecurityContext context) {
+				if (context == null || ! "tenant-1".equals(context.get("tenant"))) {
+					return Collections.emptyList();
+				}
+				return jwkSelector.select(jwkSet.get());
+			}
+		}));
+		
+		VerifiedJWTCache<SimpleSecurityContext> cache = new VerifiedJWTCache<>(processor);
+		
+		SimpleSecurityContext tenant1 = new SimpleSecurityContext();
+		tenant1.put("tenant", "tenant-1");
+		
+		SimpleSecurityContext tenant2 = new SimpleSecurityContext();
+		tenant2.put("tenant", "tenant-2");
+		
+		String jwt = createJWT(jwk, new JWTClaimsSet.Builder().subject("alice").build());
+		
+		cache.process(jwt, tenant1);
+		cache.process(jwt, tenant1);
+		assertEquals(1L, cache.getHitCount());
+		
+		// Key not selected in other context
+		try {
+			cache.process(jwt, tenant2);
+			fail();
+		} catch (BadJOSEException e) {
+			assertEquals("Signed JWT rejected: Another algorithm expected, or no matching key(s) found", e.getMessage());
+		}
+		assertEquals(1L, cache.getHitCount());
+		assertEquals(2L, cache.getMissCount());
+	}
+	
+	
+	public void testMaxSize()
+		throws Exception {
+		
+		VerifiedJWTCache<SecurityContext> cache = new VerifiedJWTCache<>(processor, 2, 60_000L);
+		
+		for (int i=0; i < 5; i++) {
+			cache.process(createJWT(jwk, new JWTClaimsSet.Builder().subject("user-" + i).build()), null);
+			assertTrue(cache.size() <= 2);
+		}
+	}
+	
+	
+	public void testPlainJWTPassedThrough()
+		throws Exception {
+		
+		VerifiedJWTCache<SecurityContext> cache = new VerifiedJWTCache<>(processor);
+		
+		try {
+			cache.process(new PlainJWT(new JWTClaimsSet.Builder().subject("alice").build()).serialize(), null);
+			fail();
+		} catch (BadJOSEException e) {
+			assertEquals("Unsecured (plain) JWTs are rejected, extend class to handle", e.getMessage());
+		}
+		assertEquals(0L, cache.getMissCount());
+		assertEquals(0, cache.size());
+	}
+}
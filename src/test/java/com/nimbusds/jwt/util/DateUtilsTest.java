@@ -204,4 +204,24 @@ public class DateUtilsTest extends TestCase {
 		assertFalse(DateUtils.isWithin(tenSecondsAgo, ref, 9));
 		assertFalse(DateUtils.isWithin(tenSecondsAhead, ref, 9));
 	}
+
+
+	public void testIsAfterAndBeforeMillis() {
+
+		long now = 1_000_000L;
+		long skewSeconds = 60L;
+
+		assertTrue(DateUtils.isAfter(now - 59_999L, now, skewSeconds));
+		assertFalse(DateUtils.isAfter(now - 60_000L, now, skewSeconds));
+
+		assertTrue(DateUtils.isBefore(now + 59_999L, now, skewSeconds));
+		assertFalse(DateUtils.isBefore(now + 60_000L, now, skewSeconds));
+
+		assertEquals(
+			DateUtils.isAfter(new Date(now - 60_000L), new Date(now), skewSeconds),
+			DateUtils.isAfter(now - 60_000L, now, skewSeconds));
+		assertEquals(
+			DateUtils.isBefore(new Date(now + 60_000L), new Date(now), skewSeconds),
+			DateUtils.isBefore(now + 60_000L, now, skewSeconds));
+	}
 }